@@ -0,0 +1,143 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.antenna;
+
+import java.util.HashMap;
+
+/**
+ * Single-pass lexer for Antenna directives such as <code>//#if</code> or <code>//#endif</code>. Determines the kind of a directive and the start of its
+ * expression without compiling a regular expression for each line and each kind of directive.
+ */
+public final class AntennaDirectiveLexer {
+
+	/**
+	 * The kinds of directives that are relevant for checking presence conditions.
+	 */
+	public enum Directive {
+		IF, IFDEF, IFNDEF, CONDITION, ELIF, ELIFDEF, ELIFNDEF, ELSE, ENDIF,
+		/** Any other directive, such as <code>//#define</code> or <code>//#debug</code>. */
+		OTHER;
+
+		/**
+		 * @return {@code true} for directives that open a new block
+		 */
+		public boolean isOpening() {
+			return (this == IF) || (this == IFDEF) || (this == IFNDEF) || (this == CONDITION);
+		}
+
+		/**
+		 * @return {@code true} for directives that start an alternative block
+		 */
+		public boolean isAlternative() {
+			return (this == ELIF) || (this == ELIFDEF) || (this == ELIFNDEF) || (this == ELSE);
+		}
+
+		/**
+		 * @return {@code true} for directives whose expression has to be negated
+		 */
+		public boolean isNegative() {
+			return (this == IFNDEF) || (this == ELIFNDEF);
+		}
+	}
+
+	/**
+	 * A directive found in a line.
+	 */
+	public static final class Token {
+
+		private final Directive directive;
+		private final int start;
+		private final int expressionStart;
+
+		private Token(Directive directive, int start, int expressionStart) {
+			this.directive = directive;
+			this.start = start;
+			this.expressionStart = expressionStart;
+		}
+
+		public Directive getDirective() {
+			return directive;
+		}
+
+		/**
+		 * @return the index of the comment that contains the directive
+		 */
+		public int getStart() {
+			return start;
+		}
+
+		/**
+		 * @return the index of the first character after the directive and the following white space character
+		 */
+		public int getExpressionStart() {
+			return expressionStart;
+		}
+	}
+
+	private static final HashMap<String, Directive> DIRECTIVES = new HashMap<>();
+
+	static {
+		DIRECTIVES.put("if", Directive.IF);
+		DIRECTIVES.put("ifdef", Directive.IFDEF);
+		DIRECTIVES.put("ifndef", Directive.IFNDEF);
+		DIRECTIVES.put("condition", Directive.CONDITION);
+		DIRECTIVES.put("elif", Directive.ELIF);
+		DIRECTIVES.put("elifdef", Directive.ELIFDEF);
+		DIRECTIVES.put("elifndef", Directive.ELIFNDEF);
+		DIRECTIVES.put("else", Directive.ELSE);
+		DIRECTIVES.put("endif", Directive.ENDIF);
+	}
+
+	private AntennaDirectiveLexer() {}
+
+	/**
+	 * Searches the first directive in the given line.
+	 *
+	 * @param line the line
+	 * @return the directive or {@code null} if the line does not contain a directive
+	 */
+	public static Token lex(String line) {
+		final int length = line.length();
+		int start = line.indexOf("//");
+		while (start >= 0) {
+			int i = start + 2;
+			while ((i < length) && Character.isWhitespace(line.charAt(i))) {
+				i++;
+			}
+			if ((i < length) && (line.charAt(i) == '#')) {
+				final int keywordStart = ++i;
+				while ((i < length) && Character.isLetter(line.charAt(i))) {
+					i++;
+				}
+				final Directive directive = DIRECTIVES.get(line.substring(keywordStart, i));
+
+				// the expression starts after the next white space character
+				while ((i < length) && !Character.isWhitespace(line.charAt(i))) {
+					i++;
+				}
+				return new Token(directive != null ? directive : Directive.OTHER, start, Math.min(i + 1, length));
+			}
+			start = line.indexOf("//", start + 2);
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,386 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.antenna;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Stack;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.resources.IFile;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.NodeReader;
+import org.prop4j.Not;
+
+import de.ovgu.featureide.antenna.AntennaDirectiveLexer.Directive;
+import de.ovgu.featureide.antenna.AntennaDirectiveLexer.Token;
+import de.ovgu.featureide.antenna.model.AntennaModelBuilder;
+import de.ovgu.featureide.core.builder.preprocessor.PPComposerExtensionClass;
+import de.ovgu.featureide.core.builder.preprocessor.PPComposerExtensionClass.AnnotationStatus;
+import de.ovgu.featureide.core.builder.preprocessor.PresenceConditionChecker;
+import de.ovgu.featureide.fm.core.editing.NodeCreator;
+
+/**
+ * Analyzes the directives of Antenna source files.</br> Each file is analyzed independently of all other files, so the files can be analyzed in parallel.
+ * The results of the analysis are cached for each file together with a hash of its directive lines. Thus, a file is only analyzed again, if one of its
+ * directives changed or if the feature model changed (see {@link #setContext(PresenceConditionChecker, Collection)}). Code lines do not affect the hash, as
+ * they are rewritten by Antenna for each configuration. For the same reason, resource deltas are not used to invalidate the cache, as they also report
+ * the files written by the preprocessor itself.
+ *
+ * @see AntennaPreprocessor
+ */
+public class AntennaDirectiveScanner {
+
+	/**
+	 * A marker that results from the analysis of a directive.
+	 */
+	public static final class DirectiveMarker {
+
+		private final int lineNumber;
+		private final AnnotationStatus status;
+		private final List<Node> expressionStack;
+		private final String featureName;
+
+		private DirectiveMarker(int lineNumber, AnnotationStatus status, List<Node> expressionStack, String featureName) {
+			this.lineNumber = lineNumber;
+			this.status = status;
+			this.expressionStack = expressionStack;
+			this.featureName = featureName;
+		}
+
+		public int getLineNumber() {
+			return lineNumber;
+		}
+
+		/**
+		 * @return the status of the annotation or {@code null}, if this marker refers to a feature name
+		 */
+		public AnnotationStatus getStatus() {
+			return status;
+		}
+
+		/**
+		 * @return the expressions of the annotation and all enclosing annotations (from outer to inner)
+		 */
+		public List<Node> getExpressionStack() {
+			return expressionStack;
+		}
+
+		/**
+		 * @return the feature name that has to be checked for existence or {@code null}, if this marker refers to an annotation status
+		 */
+		public String getFeatureName() {
+			return featureName;
+		}
+	}
+
+	/**
+	 * The result of the analysis of one file.
+	 */
+	public static final class FileAnalysis {
+
+		private final long hash;
+		private final List<DirectiveMarker> markers = new ArrayList<>();
+		private final Set<String> usedFeatures = new HashSet<>();
+
+		private FileAnalysis(long hash) {
+			this.hash = hash;
+		}
+
+		/**
+		 * @return all markers of the file in order of their line numbers
+		 */
+		public List<DirectiveMarker> getMarkers() {
+			return Collections.unmodifiableList(markers);
+		}
+
+		/**
+		 * @return all features that are referenced in an expression of the file
+		 */
+		public Set<String> getUsedFeatures() {
+			return Collections.unmodifiableSet(usedFeatures);
+		}
+	}
+
+	private static final Pattern OPERATOR_PATTERN = Pattern.compile(AntennaModelBuilder.OPERATORS);
+
+	private final ConcurrentHashMap<IFile, FileAnalysis> cache = new ConcurrentHashMap<>();
+
+	private PresenceConditionChecker checker;
+	private Collection<String> featureList;
+
+	private int numberOfThreads = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * Sets the checker and the feature names that are used for the analysis. Clears the cache, if one of them changed.
+	 *
+	 * @param checker the checker for the current feature model
+	 * @param featureList the names of all features
+	 */
+	public synchronized void setContext(PresenceConditionChecker checker, Collection<String> featureList) {
+		if ((this.checker != checker) || (this.featureList == null) || !this.featureList.equals(featureList)) {
+			cache.clear();
+			this.checker = checker;
+			this.featureList = new ArrayList<>(featureList);
+		}
+	}
+
+	public int getNumberOfThreads() {
+		return numberOfThreads;
+	}
+
+	/**
+	 * @param numberOfThreads the number of threads that analyze files in parallel (default: number of available processors)
+	 */
+	public void setNumberOfThreads(int numberOfThreads) {
+		this.numberOfThreads = numberOfThreads;
+	}
+
+	/**
+	 * Analyzes the given files in parallel. Results of files whose directives did not change since the last call are taken from the cache. Cached results of
+	 * files that are not given are removed.
+	 *
+	 * @param files the files
+	 * @param contents the lines of each file
+	 * @return the analysis of each file in the order of the given files
+	 * @throws ExecutionException if the analysis of a file failed
+	 * @throws InterruptedException if the current thread was interrupted while waiting for the analysis
+	 */
+	public List<FileAnalysis> scan(List<IFile> files, List<? extends List<String>> contents) throws ExecutionException, InterruptedException {
+		final PresenceConditionChecker checker;
+		final Collection<String> featureList;
+		synchronized (this) {
+			checker = this.checker;
+			featureList = this.featureList;
+		}
+
+		final List<Callable<FileAnalysis>> tasks = new ArrayList<>(files.size());
+		for (int i = 0; i < files.size(); i++) {
+			final IFile file = files.get(i);
+			final List<String> lines = contents.get(i);
+			tasks.add(new Callable<FileAnalysis>() {
+
+				@Override
+				public FileAnalysis call() throws Exception {
+					return scan(file, lines, checker, featureList);
+				}
+			});
+		}
+
+		final List<FileAnalysis> analyses = new ArrayList<>(files.size());
+		if ((numberOfThreads <= 1) || (files.size() <= 1)) {
+			for (final Callable<FileAnalysis> task : tasks) {
+				try {
+					analyses.add(task.call());
+				} catch (final Exception e) {
+					throw new ExecutionException(e);
+				}
+			}
+		} else {
+			final ExecutorService pool = Executors.newFixedThreadPool(Math.min(numberOfThreads, files.size()));
+			try {
+				for (final Future<FileAnalysis> future : pool.invokeAll(tasks)) {
+					analyses.add(future.get());
+				}
+			} finally {
+				pool.shutdownNow();
+			}
+		}
+		// forget files that were removed
+		cache.keySet().retainAll(files);
+		return analyses;
+	}
+
+	private FileAnalysis scan(IFile file, List<String> lines, PresenceConditionChecker checker, Collection<String> featureList) {
+		final Token[] tokens = new Token[lines.size()];
+		final long hash = lex(lines, tokens);
+		final FileAnalysis cachedAnalysis = cache.get(file);
+		if ((cachedAnalysis != null) && (cachedAnalysis.hash == hash)) {
+			return cachedAnalysis;
+		}
+		final FileAnalysis analysis = analyze(lines, tokens, hash, checker, featureList);
+		cache.put(file, analysis);
+		return analysis;
+	}
+
+	/**
+	 * Analyzes the given lines without using the cache.
+	 *
+	 * @param lines the lines of a file
+	 * @param checker the checker for the feature model
+	 * @param featureList the names of all features
+	 * @return the analysis
+	 */
+	public static FileAnalysis analyze(List<String> lines, PresenceConditionChecker checker, Collection<String> featureList) {
+		final Token[] tokens = new Token[lines.size()];
+		final long hash = lex(lines, tokens);
+		return analyze(lines, tokens, hash, checker, featureList);
+	}
+
+	/**
+	 * Finds the directives of all lines.
+	 *
+	 * @return a hash of all directive lines and their line numbers
+	 */
+	private static long lex(List<String> lines, Token[] tokens) {
+		long hash = 1;
+		for (int i = 0; i < tokens.length; i++) {
+			final String line = lines.get(i);
+			final Token token = AntennaDirectiveLexer.lex(line);
+			if (token != null) {
+				tokens[i] = token;
+				hash = (hash * 1000003) + i;
+				hash = (hash * 1000003) + line.hashCode();
+			}
+		}
+		return hash;
+	}
+
+	private static FileAnalysis analyze(List<String> lines, Token[] tokens, long hash, PresenceConditionChecker checker, Collection<String> featureList) {
+		final FileAnalysis analysis = new FileAnalysis(hash);
+		final NodeReader nodeReader = new NodeReader();
+		nodeReader.setIgnoreMissingFeatures(true);
+		nodeReader.setIgnoreUnparsableSubExpressions(true);
+
+		final Stack<Node> expressionStack = new Stack<Node>();
+		// count of if, ifelse and else to remove after processing of else from stack
+		final Stack<Integer> ifelseCountStack = new Stack<Integer>();
+
+		for (int j = 0; j < tokens.length; j++) {
+			final Token token = tokens[j];
+			if (token == null) {
+				continue;
+			}
+			final Directive directive = token.getDirective();
+			final String line = lines.get(j);
+
+			if (directive.isOpening() || directive.isAlternative()) {
+				// if e1, elseif e2, ..., elseif en == if -e1 && -e2 && ... && en
+				// if e1, elseif e2, ..., else == if -e1 && -e2 && ...
+				if (directive.isAlternative()) {
+					if (!expressionStack.isEmpty()) {
+						final Node lastElement = new Not(expressionStack.pop().clone());
+						expressionStack.push(lastElement);
+					}
+				} else {
+					ifelseCountStack.push(0);
+				}
+
+				if (!ifelseCountStack.empty() && (directive != Directive.ELSE)) {
+					ifelseCountStack.push(ifelseCountStack.pop() + 1);
+				}
+
+				checkExpression(analysis, line, token, j + 1, expressionStack, nodeReader, checker, featureList);
+				addFeatureNames(analysis, line, token, j + 1);
+			} else if (directive == Directive.ENDIF) {
+				while (!ifelseCountStack.empty()) {
+					if (ifelseCountStack.peek() == 0) {
+						break;
+					}
+
+					if (!expressionStack.isEmpty()) {
+						expressionStack.pop();
+					}
+
+					ifelseCountStack.push(ifelseCountStack.pop() - 1);
+				}
+
+				if (!ifelseCountStack.empty()) {
+					ifelseCountStack.pop();
+				}
+			}
+		}
+		return analysis;
+	}
+
+	/**
+	 * Pushes the expression of the given directive on the stack and checks whether it is always <code>true</code> or <code>false</code>.
+	 */
+	private static void checkExpression(FileAnalysis analysis, String line, Token token, int lineNumber, Stack<Node> expressionStack, NodeReader nodeReader,
+			PresenceConditionChecker checker, Collection<String> featureList) {
+		final Directive directive = token.getDirective();
+		if (directive == Directive.ELSE) {
+			if (!expressionStack.isEmpty()) {
+				checkContradictionOrTautology(analysis, lineNumber, expressionStack, checker);
+			}
+			return;
+		}
+
+		// prepare expression for NodeReader()
+		String expression = line.substring(token.getExpressionStart());
+		expression = expression.trim();
+		expression = expression.replace("&&", "&");
+		expression = expression.replace("||", "|");
+		expression = expression.replace("!", "-");
+		expression = expression.replace("&", " and ");
+		expression = expression.replace("|", " or ");
+		expression = expression.replace("-", " not ");
+
+		// get all features and generate Node expression for given line
+		Node ppExpression = nodeReader.stringToNode(expression, featureList);
+
+		if (ppExpression != null) {
+			if (directive.isNegative()) {
+				ppExpression = new Not(ppExpression.clone());
+			}
+			expressionStack.push(ppExpression);
+
+			checkContradictionOrTautology(analysis, lineNumber, expressionStack, checker);
+		} else {
+			// if generating of expression failed, generate expression "true"
+			if (directive != Directive.CONDITION) {
+				expressionStack.push(new Literal(NodeCreator.varTrue));
+			}
+		}
+	}
+
+	private static void checkContradictionOrTautology(FileAnalysis analysis, int lineNumber, Stack<Node> expressionStack, PresenceConditionChecker checker) {
+		PPComposerExtensionClass.findLiterals(expressionStack.peek(), analysis.usedFeatures);
+
+		final AnnotationStatus status = PPComposerExtensionClass.isContradictionOrTautology(checker, expressionStack);
+		if ((status != AnnotationStatus.NORMAL) && (status != AnnotationStatus.VOID)) {
+			analysis.markers.add(new DirectiveMarker(lineNumber, status, new ArrayList<>(expressionStack), null));
+		}
+	}
+
+	/**
+	 * Adds all names in the expression of the given directive, which have to be checked for not existing or abstract features.
+	 */
+	private static void addFeatureNames(FileAnalysis analysis, String line, Token token, int lineNumber) {
+		for (final String linePart : OPERATOR_PATTERN.split(line.substring(token.getExpressionStart()), 0)) {
+			if (!linePart.isEmpty()) {
+				analysis.markers.add(new DirectiveMarker(lineNumber, null, null, linePart));
+			}
+		}
+	}
+
+}
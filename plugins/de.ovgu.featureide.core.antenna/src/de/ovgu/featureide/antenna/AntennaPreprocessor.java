@@ -36,9 +36,10 @@ import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Stack;
 import java.util.Vector;
-import java.util.regex.Pattern;
+import java.util.concurrent.ExecutionException;
 
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
@@ -51,12 +52,12 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
-import org.prop4j.Literal;
 import org.prop4j.Node;
-import org.prop4j.Not;
 
 import antenna.preprocessor.v3.PPException;
 import antenna.preprocessor.v3.Preprocessor;
+import de.ovgu.featureide.antenna.AntennaDirectiveScanner.DirectiveMarker;
+import de.ovgu.featureide.antenna.AntennaDirectiveScanner.FileAnalysis;
 import de.ovgu.featureide.antenna.documentation.DocumentationCommentParser;
 import de.ovgu.featureide.antenna.model.AntennaModelBuilder;
 import de.ovgu.featureide.core.CorePlugin;
@@ -69,7 +70,6 @@ import de.ovgu.featureide.core.signature.documentation.base.ADocumentationCommen
 import de.ovgu.featureide.fm.core.base.IFeature;
 import de.ovgu.featureide.fm.core.configuration.Configuration;
 import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
-import de.ovgu.featureide.fm.core.editing.NodeCreator;
 
 /**
  * Antenna: a purposely-simple Java preprocessor.
@@ -86,8 +86,8 @@ public class AntennaPreprocessor extends PPComposerExtensionClass {
 
 	private AntennaModelBuilder antennaModelBuilder;
 
-	/** pattern for replacing preprocessor commands like "//#if" */
-	static final Pattern replaceCommandPattern = Pattern.compile("//\\s*\\#(.+?)\\s");
+	/** analyzes the directives of all files in the source folder */
+	private final AntennaDirectiveScanner directiveScanner = new AntennaDirectiveScanner();
 
 	public AntennaPreprocessor() {
 		super(ANTENNA);
@@ -272,194 +272,105 @@ public class AntennaPreprocessor extends PPComposerExtensionClass {
 	 * @throws IOException
 	 */
 	private void preprocessSourceFiles(IFolder sourceFolder, boolean performFullBuild) throws CoreException, FileNotFoundException, IOException {
-		for (final IResource res : sourceFolder.members()) {
-			if (res instanceof IFolder) {
-				// for folders do recursively
-				preprocessSourceFiles((IFolder) res, performFullBuild);
-			} else if (res instanceof IFile) {
-				// delete all existing builder markers
-				if (performFullBuild) {
-					featureProject.deleteBuilderMarkers(res, 0);
-				}
-
-				// get all lines from file
-				final Vector<String> lines = loadStringsFromFile((IFile) res);
-
-				// do checking and some stuff
-				processLinesOfFile(lines, (IFile) res);
-
-				if (!performFullBuild) {
-					continue;
-				}
-
-				boolean changed = false;
-
-				try {
-					// run antenna preprocessor
-					changed = preprocessor.preprocess(lines, ((IFile) res).getCharset());
-				} catch (final PPException e) {
-					final int lineNumber = e.getLineNumber();
-					featureProject.createBuilderMarker(res, e.getMessage().replace("Line #" + lineNumber + " :", "Antenna:"), Math.max(lineNumber, 0) + 1,
-							IMarker.SEVERITY_ERROR);
-					AntennaCorePlugin.getDefault().logError(e);
-				}
-
-				// if preprocessor changed file: save & refresh
-				if (changed) {
-					FileOutputStream ostr = null;
-					try {
-						ostr = new FileOutputStream(res.getRawLocation().toOSString());
-						Preprocessor.saveStrings(lines, ostr, ((IFile) res).getCharset());
-					} finally {
-						if (ostr != null) {
-							ostr.close();
-						}
-					}
-					// use touch to support e.g. linux
-					res.touch(null);
-					res.refreshLocal(IResource.DEPTH_ZERO, null);
-				}
+		final List<IFile> files = new ArrayList<>();
+		collectFiles(sourceFolder, files);
+
+		final List<Vector<String>> contents = new ArrayList<>(files.size());
+		for (final IFile res : files) {
+			// delete all existing builder markers
+			if (performFullBuild) {
+				featureProject.deleteBuilderMarkers(res, 0);
 			}
-		}
-	}
-
-	/**
-	 * Do checking for all lines of file.
-	 *
-	 * @param lines all lines of file
-	 * @param res file
-	 */
-	synchronized private void processLinesOfFile(Vector<String> lines, IFile res) {
-		expressionStack = new Stack<Node>();
-
-		// count of if, ifelse and else to remove after processing of else from stack
-		ifelseCountStack = new Stack<Integer>();
-
-		// go line for line
-		for (int j = 0; j < lines.size(); ++j) {
-			final String line = lines.get(j);
-
-			// if line is preprocessor directive
-			if (containsPreprocessorDirective(line, "ifdef|ifndef|condition|elifdef|elifndef|if|else|elif")) {
-
-				// if e1, elseif e2, ..., elseif en == if -e1 && -e2 && ... && en
-				// if e1, elseif e2, ..., else == if -e1 && -e2 && ...
-				if (containsPreprocessorDirective(line, "elifdef|elifndef|else|elif")) {
-					if (!expressionStack.isEmpty()) {
-						final Node lastElement = new Not(expressionStack.pop().clone());
-						expressionStack.push(lastElement);
-					}
-				} else if (containsPreprocessorDirective(line, "ifdef|ifndef|condition|if")) {
-					ifelseCountStack.push(0);
-				}
-
-				if (!ifelseCountStack.empty() && !containsPreprocessorDirective(line, "else")) {
-					ifelseCountStack.push(ifelseCountStack.pop() + 1);
-				}
-
-				setMarkersContradictionalFeatures(line, res, j + 1);
 
-				setMarkersNotConcreteFeatures(line, res, j + 1);
-			} else if (containsPreprocessorDirective(line, "endif")) {
-				while (!ifelseCountStack.empty()) {
-					if (ifelseCountStack.peek() == 0) {
-						break;
-					}
-
-					if (!expressionStack.isEmpty()) {
-						expressionStack.pop();
-					}
-
-					ifelseCountStack.push(ifelseCountStack.pop() - 1);
-				}
-
-				if (!ifelseCountStack.empty()) {
-					ifelseCountStack.pop();
-				}
-			}
+			// get all lines from file
+			contents.add(loadStringsFromFile(res));
 		}
-	}
-
-	/**
-	 * Checks given line if it contains expressions which are always <code>true</code> or <code>false</code>.<br /> <br />
-	 *
-	 * Check in three steps: <ol> <li>just the given line</li> <li>the given line and the feature model</li> <li>the given line, the surrounding lines and the
-	 * feature model</li> </ol>
-	 *
-	 * @param line content of line
-	 * @param res file containing given line
-	 * @param lineNumber line number of given line
-	 */
-	private void setMarkersContradictionalFeatures(String line, IFile res, int lineNumber) {
-		if (containsPreprocessorDirective(line, "else")) {
-			if (!expressionStack.isEmpty()) {
-				checkContradictionOrTautology(lineNumber, res);
-			}
 
+		// do checking and some stuff for all files in parallel
+		final List<FileAnalysis> analyses;
+		try {
+			directiveScanner.setContext(getPresenceConditionChecker(), featureList);
+			analyses = directiveScanner.scan(files, contents);
+		} catch (final ExecutionException e) {
+			AntennaCorePlugin.getDefault().logError(e);
+			return;
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			AntennaCorePlugin.getDefault().logError(e);
 			return;
 		}
 
-		final boolean conditionIsSet = containsPreprocessorDirective(line, "condition");
-		final boolean negative = containsPreprocessorDirective(line, "ifndef|elifndef");
-
-		// remove "//#if ", "//ifdef", ...
-		line = replaceCommandPattern.matcher(line).replaceAll("");
+		for (int i = 0; i < files.size(); i++) {
+			final IFile res = files.get(i);
+			final Vector<String> lines = contents.get(i);
+			setDirectiveMarkers(analyses.get(i), res);
 
-		// prepare expression for NodeReader()
-		line = line.trim();
-		line = line.replace("&&", "&");
-		line = line.replace("||", "|");
-		line = line.replace("!", "-");
-		line = line.replace("&", " and ");
-		line = line.replace("|", " or ");
-		line = line.replace("-", " not ");
+			if (!performFullBuild) {
+				continue;
+			}
 
-		// get all features and generate Node expression for given line
-		Node ppExpression = nodereader.stringToNode(line, featureList);
+			boolean changed = false;
 
-		if (ppExpression != null) {
-			if (negative) {
-				ppExpression = new Not(ppExpression.clone());
+			try {
+				// run antenna preprocessor
+				changed = preprocessor.preprocess(lines, res.getCharset());
+			} catch (final PPException e) {
+				final int lineNumber = e.getLineNumber();
+				featureProject.createBuilderMarker(res, e.getMessage().replace("Line #" + lineNumber + " :", "Antenna:"), Math.max(lineNumber, 0) + 1,
+						IMarker.SEVERITY_ERROR);
+				AntennaCorePlugin.getDefault().logError(e);
 			}
-			expressionStack.push(ppExpression);
 
-			checkContradictionOrTautology(lineNumber, res);
-		} else {
-			// if generating of expression failed, generate expression "true"
-			if (!conditionIsSet) {
-				expressionStack.push(new Literal(NodeCreator.varTrue));
+			// if preprocessor changed file: save & refresh
+			if (changed) {
+				FileOutputStream ostr = null;
+				try {
+					ostr = new FileOutputStream(res.getRawLocation().toOSString());
+					Preprocessor.saveStrings(lines, ostr, res.getCharset());
+				} finally {
+					if (ostr != null) {
+						ostr.close();
+					}
+				}
+				// use touch to support e.g. linux
+				res.touch(null);
+				res.refreshLocal(IResource.DEPTH_ZERO, null);
 			}
 		}
-
 	}
 
 	/**
-	 * Checks given line if it contains not existing or abstract features.
-	 *
-	 * @param line content of line
-	 * @param res file containing given line
-	 * @param lineNumber line number of given line
+	 * Adds all files in the given folder and its sub folders to the given list.
 	 */
-	private void setMarkersNotConcreteFeatures(String line, IFile res, int lineNumber) {
-		final String[] splitted = line.replaceAll("\\s+#", "#").split(AntennaModelBuilder.OPERATORS, 0);
-
-		for (int i = 0; i < splitted.length; ++i) {
-			final String linePart = splitted[i];
-			if (!linePart.isEmpty() && !containsPreprocessorDirective(linePart, ".*")) {
-				setMarkersOnNotExistingOrAbstractFeature(linePart, lineNumber, res);
+	private static void collectFiles(IFolder folder, List<IFile> files) throws CoreException {
+		for (final IResource res : folder.members()) {
+			if (res instanceof IFolder) {
+				// for folders do recursively
+				collectFiles((IFolder) res, files);
+			} else if (res instanceof IFile) {
+				files.add((IFile) res);
 			}
 		}
 	}
 
 	/**
-	 * Checks whether the text contains the specified directive or not
+	 * Sets the markers that result from the analysis of the directives of a file.
 	 *
-	 * @param text text to check
-	 * @param directives directives splitted by |
-	 * @return true - if the specified directive is contained
+	 * @param analysis the analysis of the file
+	 * @param res file
 	 */
-	protected static boolean containsPreprocessorDirective(String text, String directives) {
-		return Pattern.compile("//\\s*\\#(" + directives + ")").matcher(text).find();
+	private synchronized void setDirectiveMarkers(FileAnalysis analysis, IFile res) {
+		usedFeatures.addAll(analysis.getUsedFeatures());
+		for (final DirectiveMarker marker : analysis.getMarkers()) {
+			if (marker.getStatus() != null) {
+				// the explanation of a marker is created for the expression stack
+				expressionStack = new Stack<Node>();
+				expressionStack.addAll(marker.getExpressionStack());
+				setMarkersOnContradictionOrTautology(marker.getStatus(), marker.getLineNumber(), res);
+			} else {
+				setMarkersOnNotExistingOrAbstractFeature(marker.getFeatureName(), marker.getLineNumber(), res);
+			}
+		}
 	}
 
 	@Override
@@ -587,7 +498,7 @@ public class AntennaPreprocessor extends PPComposerExtensionClass {
 
 				// do checking and some stuff
 				if (featureModel != null) {// TODO check why the FM is null when generating products
-					processLinesOfFile(lines, (IFile) res);
+					setDirectiveMarkers(AntennaDirectiveScanner.analyze(lines, getPresenceConditionChecker(), featureList), (IFile) res);
 				}
 				boolean changed = false;
 				try {
@@ -0,0 +1,192 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.featurehouse;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import builder.ArtifactBuilderInterface;
+import cide.gparser.ParseException;
+import composer.FSTGenComposer;
+import composer.FSTGenProcessor;
+import composer.FileLoader;
+import de.ovgu.cide.fstgen.ast.AbstractFSTParser;
+import de.ovgu.cide.fstgen.ast.FSTFeatureNode;
+import de.ovgu.cide.fstgen.ast.FSTNode;
+import de.ovgu.cide.fstgen.ast.FSTNonTerminal;
+import de.ovgu.cide.fstgen.ast.FSTTerminal;
+
+/**
+ * A {@link FSTGenComposer} that parses each feature folder only once. The parsed trees are kept in a {@link FSTCache} and every run composes deep clones of
+ * them.<br> FeatureHouse keeps the parsed nodes and the composition metadata in static fields, thus all runs of this composer are executed one after another.
+ * The generation of several products can still run in parallel jobs, because only the composition is serialized and not the compilation of the products.
+ */
+public class CachingFSTGenComposer extends FSTGenComposer {
+
+	/**
+	 * Guards the static fields of FeatureHouse, especially the list of parsed nodes.
+	 */
+	static final Object LOCK = new Object();
+
+	private final FSTCache cache;
+
+	private final ArrayList<FSTNode> fstnodes = new ArrayList<>();
+
+	public CachingFSTGenComposer(FSTCache cache) {
+		super(true);
+		this.cache = cache;
+		final FileLoader cachingFileLoader = new CachingFileLoader();
+		for (final ArtifactBuilderInterface builder : fileLoader.getArtifactBuilders()) {
+			cachingFileLoader.registerArtifactBuilder(builder);
+		}
+		fileLoader = cachingFileLoader;
+	}
+
+	@Override
+	public void run(String[] args) {
+		synchronized (LOCK) {
+			fstnodes.clear();
+			super.run(args);
+		}
+	}
+
+	@Override
+	public ArrayList<FSTNode> getFstnodes() {
+		return fstnodes;
+	}
+
+	/**
+	 * Creates a deep copy of a node. In contrast to {@link FSTNode#getDeepClone()}, the copy keeps the type of {@link FSTFeatureNode feature nodes}, the
+	 * contract composition keys, and the line numbers of the terminals.
+	 */
+	private static FSTNode copy(FSTNode node) {
+		if (node instanceof FSTTerminal) {
+			final FSTTerminal terminal = (FSTTerminal) node;
+			final FSTTerminal copy = (FSTTerminal) terminal.getShallowClone();
+			copy.setContractCompKey(terminal.getContractCompKey());
+			copy.beginLine = terminal.beginLine;
+			copy.endLine = terminal.endLine;
+			copy.index = terminal.index;
+			return copy;
+		}
+		final FSTNonTerminal nonTerminal = (FSTNonTerminal) node;
+		final FSTNonTerminal copy = (FSTNonTerminal) nonTerminal.getShallowClone();
+		copy.index = nonTerminal.index;
+		for (final FSTNode child : nonTerminal.getChildren()) {
+			copy.addChild(copy(child));
+		}
+		return copy;
+	}
+
+	/**
+	 * Adds the cached trees of the features of the equation file to the artifact builders instead of parsing the feature folders.
+	 */
+	private class CachingFileLoader extends FileLoader {
+
+		public CachingFileLoader() {
+			super(CachingFSTGenComposer.this);
+		}
+
+		@Override
+		public void loadFiles(String equationFileName, String equationBaseDirectoryName, boolean aheadEquationFile)
+				throws FileNotFoundException, ParseException {
+			final LinkedList<ArtifactBuilderInterface> builders = getArtifactBuilders();
+			for (final String featureName : readFeatures(equationFileName)) {
+				final File featureFolder = new File(equationBaseDirectoryName, featureName);
+				final String hash = FSTCache.hash(featureFolder);
+				FSTCache.Entry entry = (hash == null) ? null : cache.get(featureFolder, hash);
+				if (entry == null) {
+					final int numberOfErrors = errorFiles.size();
+					entry = parse(featureName, equationFileName, equationBaseDirectoryName, aheadEquationFile, hash);
+					if ((hash != null) && (errorFiles.size() == numberOfErrors)) {
+						cache.put(featureFolder, entry);
+					}
+				}
+				final FSTNonTerminal[] features = entry.getFeatures();
+				for (int i = 0; i < features.length; i++) {
+					builders.get(i).addFeature((FSTNonTerminal) copy(features[i]));
+				}
+				fstnodes.addAll(entry.getFstnodes());
+			}
+		}
+
+		/**
+		 * Parses a single feature with a new set of artifact builders. Parse errors are reported to the listeners of the composer.
+		 */
+		private FSTCache.Entry parse(String featureName, String equationFileName, String equationBaseDirectoryName, boolean aheadEquationFile, String hash)
+				throws FileNotFoundException, ParseException {
+			final FileLoader parser = new FileLoader(CachingFSTGenComposer.this);
+			final LinkedList<ArtifactBuilderInterface> builders = new FSTGenProcessor().getArtifactBuilders();
+			for (final ArtifactBuilderInterface builder : builders) {
+				parser.registerArtifactBuilder(builder);
+			}
+
+			// the parsers collect the nodes for the FSTModel in a static list, which is reset as in FSTGenComposer(false)
+			final ArrayList<FSTNode> parsedNodes = AbstractFSTParser.fstnodes;
+			parsedNodes.clear();
+			final List<FSTNode> featureNodes;
+			try {
+				parser.loadFiles(equationFileName, equationBaseDirectoryName, aheadEquationFile, new String[] { featureName });
+			} finally {
+				featureNodes = new ArrayList<>(parsedNodes);
+				parsedNodes.clear();
+			}
+
+			final FSTNonTerminal[] features = new FSTNonTerminal[builders.size()];
+			for (int i = 0; i < features.length; i++) {
+				features[i] = builders.get(i).getFeatures().getFirst();
+			}
+			return new FSTCache.Entry(hash, features, featureNodes);
+		}
+
+		private List<String> readFeatures(String equationFileName) throws FileNotFoundException {
+			final File equationFile = new File(equationFileName);
+			if (!equationFile.exists()) {
+				throw new FileNotFoundException(equationFileName);
+			}
+			final List<String> features = new ArrayList<>();
+			try (BufferedReader reader = Files.newBufferedReader(equationFile.toPath(), StandardCharsets.UTF_8)) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					if (!line.startsWith("#")) {
+						for (final String feature : line.split("\\s")) {
+							if (!feature.trim().isEmpty()) {
+								features.add(feature.trim());
+							}
+						}
+					}
+				}
+			} catch (final IOException e) {
+				FeatureHouseCorePlugin.getDefault().logError(e);
+			}
+			return features;
+		}
+
+	}
+
+}
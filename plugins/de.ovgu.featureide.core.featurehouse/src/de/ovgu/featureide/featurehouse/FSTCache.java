@@ -0,0 +1,130 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.featurehouse;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.ovgu.cide.fstgen.ast.FSTNode;
+import de.ovgu.cide.fstgen.ast.FSTNonTerminal;
+
+/**
+ * Stores the parsed feature structure trees of the features of a FeatureHouse project.<br> An entry is identified by the location of the feature folder and
+ * remains valid as long as the hash over the contents of all files in this folder is unchanged. The cached trees are never modified, the
+ * {@link CachingFSTGenComposer} composes deep clones of them.
+ */
+public class FSTCache {
+
+	/**
+	 * The parsed trees of one feature folder.
+	 */
+	static final class Entry {
+
+		private final String hash;
+		private final FSTNonTerminal[] features;
+		private final List<FSTNode> fstnodes;
+
+		Entry(String hash, FSTNonTerminal[] features, List<FSTNode> fstnodes) {
+			this.hash = hash;
+			this.features = features;
+			this.fstnodes = Collections.unmodifiableList(fstnodes);
+		}
+
+		/**
+		 * @return The feature node of each artifact builder in registration order.
+		 */
+		FSTNonTerminal[] getFeatures() {
+			return features;
+		}
+
+		/**
+		 * @return The nodes that the parsers have collected for the FSTModel.
+		 */
+		List<FSTNode> getFstnodes() {
+			return fstnodes;
+		}
+
+	}
+
+	private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+	/**
+	 * @param featureFolder The folder of the feature.
+	 * @param hash The current hash of the folder.
+	 * @return The cached entry or {@code null} if the folder was not parsed yet or has changed.
+	 */
+	Entry get(File featureFolder, String hash) {
+		final Entry entry = entries.get(featureFolder.getAbsolutePath());
+		return ((entry != null) && entry.hash.equals(hash)) ? entry : null;
+	}
+
+	void put(File featureFolder, Entry entry) {
+		entries.put(featureFolder.getAbsolutePath(), entry);
+	}
+
+	/**
+	 * Computes a hash over the relative paths and contents of all files in the given folder.
+	 *
+	 * @param featureFolder The folder of the feature.
+	 * @return The hash or {@code null} if a file could not be read.
+	 */
+	static String hash(File featureFolder) {
+		try {
+			final MessageDigest digest = MessageDigest.getInstance("MD5");
+			update(digest, featureFolder, "");
+			final StringBuilder sb = new StringBuilder();
+			for (final byte b : digest.digest()) {
+				sb.append(String.format("%02x", b));
+			}
+			return sb.toString();
+		} catch (NoSuchAlgorithmException | IOException e) {
+			FeatureHouseCorePlugin.getDefault().logError(e);
+			return null;
+		}
+	}
+
+	private static void update(MessageDigest digest, File folder, String path) throws IOException {
+		final File[] files = folder.listFiles();
+		if (files == null) {
+			return;
+		}
+		Arrays.sort(files);
+		for (final File file : files) {
+			final String filePath = path + '/' + file.getName();
+			digest.update(filePath.getBytes(StandardCharsets.UTF_8));
+			if (file.isDirectory()) {
+				update(digest, file, filePath);
+			} else {
+				digest.update((byte) 0);
+				digest.update(Files.readAllBytes(file.toPath()));
+			}
+		}
+	}
+
+}
@@ -0,0 +1,203 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.featurehouse;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import builder.ArtifactBuilderInterface;
+import cide.gparser.ParseException;
+import cide.gparser.TokenMgrError;
+import composer.FSTGenProcessor;
+import de.ovgu.cide.fstgen.ast.AbstractFSTParser;
+import de.ovgu.cide.fstgen.ast.FSTFeatureNode;
+import de.ovgu.cide.fstgen.ast.FSTNode;
+
+/**
+ * Stores the nodes that the FeatureHouse parsers collect for the {@link de.ovgu.featureide.core.fstmodel.FSTModel FSTModel} per source file.<br> The complete
+ * feature structure tree of a project is assembled from this cache, thus only files whose content has changed since the last build are parsed again. The
+ * cached nodes are never modified.
+ */
+public class FSTFileCache {
+
+	/**
+	 * The parsed nodes of one file.
+	 */
+	private static final class Entry {
+
+		private final String hash;
+		private final List<FSTNode> fstnodes;
+
+		Entry(String hash, List<FSTNode> fstnodes) {
+			this.hash = hash;
+			this.fstnodes = Collections.unmodifiableList(fstnodes);
+		}
+
+	}
+
+	private final Map<String, Entry> entries = new HashMap<>();
+
+	/**
+	 * Returns the nodes of all files of the given features in the same order as {@link composer.FSTGenComposerExtension#buildFullFST(String[], String[])}.
+	 * Parse errors are added to the error files of the given processor and reported to its listeners. Files with errors are not cached. In contrast to
+	 * <code>buildFullFST</code>, a lexical error in one file does not stop the parsing of the other files.
+	 *
+	 * @param basePath The source folder that contains the feature folders.
+	 * @param features The features in composition order.
+	 * @param processor The processor that reports parse errors.
+	 * @param lexicalErrors The lexical error of each file that could not be tokenized is added to this map.
+	 * @return The nodes for the FSTModel.
+	 */
+	public synchronized ArrayList<FSTNode> getFstnodes(String basePath, String[] features, FSTGenProcessor processor,
+			Map<File, TokenMgrError> lexicalErrors) {
+		final File baseDirectory = new File(basePath);
+		final Parser parser = new Parser(baseDirectory.getPath(), processor, lexicalErrors);
+		for (final String feature : features) {
+			final File featureFolder = new File(baseDirectory, feature);
+			if (featureFolder.isDirectory()) {
+				parser.addDirectory(featureFolder, feature);
+			}
+		}
+		// removed files are dropped from the cache
+		entries.clear();
+		entries.putAll(parser.visitedEntries);
+		return parser.fstnodes;
+	}
+
+	/**
+	 * Collects the nodes of one build. Parses the files that are not cached with a new set of artifact builders.
+	 */
+	private class Parser {
+
+		private final String baseDirectoryName;
+		private final FSTGenProcessor processor;
+		private final Map<File, TokenMgrError> lexicalErrors;
+		private final List<ArtifactBuilderInterface> builders;
+
+		private final Map<String, Entry> visitedEntries = new HashMap<>();
+		private final ArrayList<FSTNode> fstnodes = new ArrayList<>();
+
+		Parser(String baseDirectoryName, FSTGenProcessor processor, Map<File, TokenMgrError> lexicalErrors) {
+			this.baseDirectoryName = baseDirectoryName;
+			this.processor = processor;
+			this.lexicalErrors = lexicalErrors;
+			builders = new FSTGenProcessor().getArtifactBuilders();
+		}
+
+		void addDirectory(File directory, String feature) {
+			// modifications are not part of the FSTModel
+			if ("_mod".equals(directory.getName())) {
+				return;
+			}
+			final File[] files = directory.listFiles();
+			if (files == null) {
+				return;
+			}
+			for (final File file : files) {
+				if (file.isFile()) {
+					addFile(file, feature);
+				}
+			}
+			for (final File file : files) {
+				if (file.isDirectory()) {
+					addDirectory(file, feature);
+				}
+			}
+		}
+
+		private void addFile(File file, String feature) {
+			final String key = file.getAbsolutePath();
+			final String hash = hash(file);
+			Entry entry = entries.get(key);
+			if ((entry == null) || (hash == null) || !hash.equals(entry.hash)) {
+				final int numberOfErrors = processor.getErrorFiles().size();
+				entry = new Entry(hash, parse(file, feature));
+				if ((hash == null) || (processor.getErrorFiles().size() != numberOfErrors)) {
+					fstnodes.addAll(entry.fstnodes);
+					return;
+				}
+			}
+			visitedEntries.put(key, entry);
+			fstnodes.addAll(entry.fstnodes);
+		}
+
+		/**
+		 * Parses a single file with all artifact builders that accept it, as {@link composer.FileLoader} does.
+		 */
+		private List<FSTNode> parse(File file, String feature) {
+			final List<FSTNode> fileNodes = new ArrayList<>();
+			for (final ArtifactBuilderInterface builder : builders) {
+				if (builder.acceptFile(file)) {
+					builder.setBaseDirectoryName(baseDirectoryName);
+					builder.addFeature(new FSTFeatureNode(feature));
+					synchronized (CachingFSTGenComposer.LOCK) {
+						final ArrayList<FSTNode> parsedNodes = AbstractFSTParser.fstnodes;
+						parsedNodes.clear();
+						try {
+							builder.processFile(file);
+						} catch (final ParseException e) {
+							processor.getErrorFiles().add(file);
+							processor.fireParseErrorOccured(e);
+						} catch (final FileNotFoundException e) {
+							FeatureHouseCorePlugin.getDefault().logError(e);
+						} catch (final TokenMgrError e) {
+							processor.getErrorFiles().add(file);
+							lexicalErrors.put(file, e);
+						} catch (final Error e) {
+							processor.getErrorFiles().add(file);
+							throw e;
+						} finally {
+							fileNodes.addAll(parsedNodes);
+							parsedNodes.clear();
+						}
+					}
+				}
+			}
+			return fileNodes;
+		}
+
+	}
+
+	/**
+	 * @return The hash of the content of the file or {@code null} if the file could not be read.
+	 */
+	private static String hash(File file) {
+		try {
+			final byte[] digest = MessageDigest.getInstance("MD5").digest(Files.readAllBytes(file.toPath()));
+			return Arrays.toString(digest);
+		} catch (NoSuchAlgorithmException | IOException e) {
+			FeatureHouseCorePlugin.getDefault().logError(e);
+			return null;
+		}
+	}
+
+}
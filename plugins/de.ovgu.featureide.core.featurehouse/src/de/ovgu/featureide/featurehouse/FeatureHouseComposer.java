@@ -29,10 +29,13 @@ import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
@@ -147,6 +150,10 @@ public class FeatureHouseComposer extends ComposerExtensionClass {
 
 	public FeatureHouseModelBuilder fhModelBuilder;
 
+	private final FSTCache fstCache = new FSTCache();
+
+	private final FSTFileCache fstFileCache = new FSTFileCache();
+
 	private ErrorPropagation errorPropagation = null;
 
 	private final IParseErrorListener listener = createParseErrorListener();
@@ -233,9 +240,20 @@ public class FeatureHouseComposer extends ComposerExtensionClass {
 	 * @param message The message.
 	 */
 	protected void createBuilderProblemMarker(int line, String message) {
+		createBuilderProblemMarker(composer.getErrorFiles().getLast(), line, message);
+	}
+
+	/**
+	 * Creates an error marker to the given file.
+	 *
+	 * @param file The file containing the error.
+	 * @param line The line of the marker.
+	 * @param message The message.
+	 */
+	private void createBuilderProblemMarker(File file, int line, String message) {
 		message = detruncateString(message);
 		try {
-			final IMarker marker = getErrorFile().createMarker(FeatureHouseCorePlugin.BUILDER_PROBLEM_MARKER);
+			final IMarker marker = getFile(file).createMarker(FeatureHouseCorePlugin.BUILDER_PROBLEM_MARKER);
 			marker.setAttribute(IMarker.LINE_NUMBER, line);
 			marker.setAttribute(IMarker.MESSAGE, message);
 			marker.setAttribute(IMarker.SEVERITY, IMarker.SEVERITY_ERROR);
@@ -269,7 +287,11 @@ public class FeatureHouseComposer extends ComposerExtensionClass {
 	 * @return The file.
 	 */
 	protected IFile getErrorFile() {
-		return featureProject.getProject().getWorkspace().getRoot().findFilesForLocationURI(composer.getErrorFiles().getLast().toURI())[0];
+		return getFile(composer.getErrorFiles().getLast());
+	}
+
+	private IFile getFile(File file) {
+		return featureProject.getProject().getWorkspace().getRoot().findFilesForLocationURI(file.toURI())[0];
 	}
 
 	/**
@@ -402,7 +424,7 @@ public class FeatureHouseComposer extends ComposerExtensionClass {
 				buildDefaultMetaProduct(configPath, basePath, outputPath);
 			}
 		} else {
-			composer = new FSTGenComposer(false);
+			composer = new CachingFSTGenComposer(fstCache);
 			composer.addCompositionErrorListener(compositionErrorListener);
 			try {
 				composer.run(getArguments(configPath, basePath, outputPath, getContractParameter()));
@@ -859,9 +881,10 @@ public class FeatureHouseComposer extends ComposerExtensionClass {
 		 * It is necessary to also build the model of the current product, because the line numbers of generated elements (e.g., methods) are necessary for
 		 * error propagation.
 		 **/
-		fhModelBuilder.buildModel(composer.getFstnodes(), false);
+		// the composer returns the static list of the parsers, which is reused for parsing the complete fst model
+		final ArrayList<FSTNode> productNodes = (composer.getFstnodes() == null) ? null : new ArrayList<>(composer.getFstnodes());
 
-		// build the complete fst model
+		// build the complete fst model, only changed files are parsed again
 		final FSTGenComposerExtension composerExtension = new FSTGenComposerExtension();
 		composer = composerExtension;
 		composerExtension.addParseErrorListener(listener);
@@ -871,16 +894,60 @@ public class FeatureHouseComposer extends ComposerExtensionClass {
 		for (final String f : featureOrder) {
 			features[i++] = f;
 		}
+		final ArrayList<FSTNode> fstnodes = getFstnodes(basePath, features, composerExtension);
+		if (fstnodes != null) {
+			fhModelBuilder.updateModel(productNodes, fstnodes);
+		} else {
+			// build the complete model from scratch as before the file cache was introduced
+			fhModelBuilder.buildModel(productNodes, false);
+			final ArrayList<FSTNode> completeNodes = buildFullFST(configPath, basePath, outputPath, features);
+			if (completeNodes != null) {
+				fhModelBuilder.buildModel(completeNodes, true);
+			}
+		}
+	}
+
+	/**
+	 * Returns the nodes of all features from the {@link FSTFileCache}. Lexical errors are marked at the files they occur in.
+	 *
+	 * @param basePath The source folder
+	 * @param features The features in composition order
+	 * @param composerExtension The composer that reports the parse errors
+	 * @return The nodes of all features or <code>null</code> if the files could not be parsed.
+	 */
+	private ArrayList<FSTNode> getFstnodes(String basePath, String[] features, FSTGenComposerExtension composerExtension) {
+		final Map<File, TokenMgrError> lexicalErrors = new LinkedHashMap<>();
+		ArrayList<FSTNode> fstnodes = null;
 		try {
-			composerExtension.buildFullFST(getArguments(configPath, basePath, outputPath, getContractParameter()), features);
-		} catch (final TokenMgrError e) {
-			createBuilderProblemMarker(getTokenMgrErrorLine(e.getMessage()), getTokenMgrErrorMessage(e.getMessage()));
+			fstnodes = fstFileCache.getFstnodes(basePath, features, composerExtension, lexicalErrors);
 		} catch (final Error e) {
 			LOGGER.logError(e);
 		}
-		final ArrayList<FSTNode> fstnodes = composer.getFstnodes();
-		if (fstnodes != null) {
-			fhModelBuilder.buildModel(fstnodes, true);
+		for (final Entry<File, TokenMgrError> lexicalError : lexicalErrors.entrySet()) {
+			final String message = lexicalError.getValue().getMessage();
+			createBuilderProblemMarker(lexicalError.getKey(), getTokenMgrErrorLine(message), getTokenMgrErrorMessage(message));
+		}
+		return fstnodes;
+	}
+
+	/**
+	 * Parses all features at once with {@link FSTGenComposerExtension#buildFullFST(String[], String[])}.
+	 *
+	 * @return The nodes of all features or <code>null</code> if the files could not be parsed.
+	 */
+	private ArrayList<FSTNode> buildFullFST(String configPath, String basePath, String outputPath, String[] features) {
+		final FSTGenComposerExtension composerExtension = new FSTGenComposerExtension();
+		composer = composerExtension;
+		composerExtension.addParseErrorListener(listener);
+		synchronized (CachingFSTGenComposer.LOCK) {
+			try {
+				composerExtension.buildFullFST(getArguments(configPath, basePath, outputPath, getContractParameter()), features);
+			} catch (final TokenMgrError e) {
+				createBuilderProblemMarker(getTokenMgrErrorLine(e.getMessage()), getTokenMgrErrorMessage(e.getMessage()));
+			} catch (final Error e) {
+				LOGGER.logError(e);
+			}
+			return (composerExtension.getFstnodes() == null) ? null : new ArrayList<>(composerExtension.getFstnodes());
 		}
 	}
 
@@ -1027,18 +1094,14 @@ public class FeatureHouseComposer extends ComposerExtensionClass {
 			features[i++] = f;
 		}
 
-		try {
-			composerExtension.buildFullFST(getArguments(configPath, basePath, outputPath, getContractParameter()), features);
-		} catch (final TokenMgrError e) {
-			createBuilderProblemMarker(getTokenMgrErrorLine(e.getMessage()), getTokenMgrErrorMessage(e.getMessage()));
-		} catch (final Error e) {
-			LOGGER.logError(e);
-		}
-
-		final ArrayList<FSTNode> fstnodes = composer.getFstnodes();
+		final ArrayList<FSTNode> fstnodes = getFstnodes(basePath, features, composerExtension);
 		if (fstnodes != null) {
-			fhModelBuilder.buildModel(fstnodes, false);
-			fstnodes.clear();
+			fhModelBuilder.updateModel(new ArrayList<FSTNode>(), fstnodes);
+		} else {
+			final ArrayList<FSTNode> completeNodes = buildFullFST(configPath, basePath, outputPath, features);
+			if (completeNodes != null) {
+				fhModelBuilder.buildModel(completeNodes, false);
+			}
 		}
 	}
 
@@ -1046,7 +1109,7 @@ public class FeatureHouseComposer extends ComposerExtensionClass {
 	public void buildConfiguration(IFolder folder, Configuration configuration, String congurationName) {
 		super.buildConfiguration(folder, configuration, congurationName);
 		final IFile configurationFile = folder.getFile(congurationName + '.' + getConfigurationExtension());
-		final FSTGenComposer composer = new FSTGenComposer(false);
+		final FSTGenComposer composer = new CachingFSTGenComposer(fstCache);
 		composer.addParseErrorListener(createParseErrorListener());
 		composer.addCompositionErrorListener(createCompositionErrorListener());
 		final Path temporaryConfigrationFile = createTemporaryConfigrationFile(configurationFile);
@@ -1066,15 +1129,17 @@ public class FeatureHouseComposer extends ComposerExtensionClass {
 				LOGGER.logError(e);
 			}
 		}
-		fhModelBuilder.buildModel(composer.getFstnodes(), false);
+		synchronized (fhModelBuilder) {
+			fhModelBuilder.buildModel(composer.getFstnodes(), false);
+		}
 	}
 
 	/**
-	 * FeatureHouse causes access violation errors if it is executed parallel.
+	 * FeatureHouse is not thread-safe, but the {@link CachingFSTGenComposer} executes the compositions one after another.
 	 */
 	@Override
 	public boolean canGeneratInParallelJobs() {
-		return false;
+		return true;
 	}
 
 	@Override
@@ -34,6 +34,7 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ConcurrentModificationException;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.Set;
@@ -51,11 +52,11 @@ import de.ovgu.featureide.core.fstmodel.FSTMethod;
 import de.ovgu.featureide.core.fstmodel.FSTRole;
 import de.ovgu.featureide.core.signature.ProjectSignatures;
 import de.ovgu.featureide.core.signature.ProjectSignatures.SignatureIterator;
+import de.ovgu.featureide.core.signature.SignatureIndex;
 import de.ovgu.featureide.core.signature.base.AbstractFieldSignature;
 import de.ovgu.featureide.core.signature.base.AbstractMethodSignature;
 import de.ovgu.featureide.core.signature.base.AbstractSignature;
 import de.ovgu.featureide.core.signature.base.FOPFeatureData;
-import de.ovgu.featureide.core.signature.filter.MethodFilter;
 import de.ovgu.featureide.featurehouse.ExtendedFujiSignaturesJob;
 import de.ovgu.featureide.featurehouse.FeatureHouseCorePlugin;
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
@@ -149,8 +150,7 @@ public class FeatureStubsGenerator {
 
 						for (final FSTMethod meth : role.getClassFragment().getMethods()) {
 							boolean contractChanged = false;
-							final SignatureIterator sigIterator = signatures.iterator();
-							sigIterator.addFilter(new MethodFilter());
+							final SignatureIterator sigIterator = getMethodSignatures(signatures, featureID, meth.getName());
 
 							while (sigIterator.hasNext()) {
 								final AbstractSignature curSig = sigIterator.next();
@@ -216,6 +216,22 @@ public class FeatureStubsGenerator {
 
 	}
 
+	/**
+	 * Looks up the methods of a feature with the given name in the index of the signatures.
+	 */
+	private static SignatureIterator getMethodSignatures(ProjectSignatures signatures, int featureID, String methodName) {
+		while (true) {
+			final SignatureIndex index = signatures.getIndex();
+			final int[] positions = SignatureIndex.intersect(index.getKindSignatures(SignatureIndex.KIND_METHOD), index.getFeatureSignatures(featureID),
+					index.getNameSignatures(methodName));
+			try {
+				return signatures.iterator(index, positions);
+			} catch (final ConcurrentModificationException e) {
+				// the signatures were sorted in the meantime, thus the positions are looked up in the new index
+			}
+		}
+	}
+
 	private void getFeatures(final ProjectSignatures signatures) {
 		final LinkedList<FSTFeature> features = new LinkedList<FSTFeature>(featureProject.getFSTModel().getFeatures());
 		featureStubFolder = CorePlugin.createFolder(featureProject.getProject(), featureProject.getFeaturestubPath());
@@ -22,8 +22,14 @@ package de.ovgu.featureide.featurehouse.model;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
@@ -45,6 +51,8 @@ import de.ovgu.featureide.core.fstmodel.FSTRole;
 import de.ovgu.featureide.featurehouse.FeatureHouseComposer;
 import de.ovgu.featureide.featurehouse.FeatureHouseCorePlugin;
 import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.event.FeatureIDEEvent;
+import de.ovgu.featureide.fm.core.base.event.FeatureIDEEvent.EventType;
 
 /**
  * This builder builds the {@link FSTModel} for FeatureHouse projects, by parsing the FeatureHouse internal FSTModel.
@@ -64,6 +72,12 @@ public class FeatureHouseModelBuilder implements FHNodeTypes {
 
 	private FSTFeature currentFeature;
 
+	/**
+	 * The fingerprints of the nodes of each role since the last call of {@link #updateModel(ArrayList, ArrayList)}. <code>null</code> if the model was built
+	 * by {@link #buildModel(ArrayList, boolean)} afterwards.
+	 */
+	private Map<List<String>, Long> roleFingerprints = null;
+
 	public FeatureHouseModelBuilder(IFeatureProject featureProject) {
 		if (featureProject == null) {
 			return;
@@ -107,29 +121,140 @@ public class FeatureHouseModelBuilder implements FHNodeTypes {
 		if (!completeModel) {
 			model.reset();
 		}
+		roleFingerprints = null;
 		for (final FSTNode node : (ArrayList<FSTNode>) nodes.clone()) {
+			buildNode(node);
+			addArbitraryFiles();
+		}
+	}
+
+	private void buildNode(FSTNode node) {
+		if (NODE_TYPE_FEATURE.equals(node.getType())) {
+			caseAddFeature(node);
+		} else if (NODE_TYPE_CLASS.equals(node.getType())) {
+			caseAddClass(node);
+		} else if (NODE_COMPILATIONUNIT.equals(node.getType())) {
+			caseCompileUnit(node);
+		} else if (JAVA_NODE_CLASS_DECLARATION.equals(node.getType())) {
+			caseClassDeclaration(node);
+		} else if (C_NODE_SEQUENCE_CODEUNIT_TOPLEVEL.equals(node.getType())) {
+			caseClassDeclaration(node);
+		} else if (CSHARP_NODE_CLASS_MEMBER_DECLARATION.equals(node.getType())) {
+			caseClassDeclaration(node);
+		} else if (HASKELL_NODE_DEFINITIONS.equals(node.getType())) {
+			caseClassDeclaration(node);
+		} else if (HASKELL_NODE_DATA_DECLARATION.equals(node.getType())) {
+			caseClassDeclaration(node);
+		} else if (ASMETAL_MODULE_DECLARATION.equals(node.getType())) {
+			caseClassDeclaration(node);
+		}
+	}
+
+	/**
+	 * Updates the model in place. In contrast to {@link #buildModel(ArrayList, boolean)}, only the roles whose nodes have changed since the last update are
+	 * built again. The listeners of the model are notified about each added, removed, or changed role.
+	 *
+	 * @param productNodes The fstNodes of the current product
+	 * @param completeNodes The fstNodes of all features
+	 */
+	public synchronized void updateModel(ArrayList<FSTNode> productNodes, ArrayList<FSTNode> completeNodes) {
+		final Set<String> featureNames = new LinkedHashSet<>();
+		final Map<List<String>, RoleNodes> roles = new LinkedHashMap<>();
+		groupNodes(productNodes, featureNames, roles);
+		groupNodes(completeNodes, featureNames, roles);
+
+		final Map<List<String>, Long> fingerprints = new HashMap<>();
+		for (final RoleNodes role : roles.values()) {
+			fingerprints.put(role.getKey(), role.getFingerprint());
+		}
+
+		if (roleFingerprints == null) {
+			model.reset();
+			for (final RoleNodes role : roles.values()) {
+				buildRole(role);
+			}
+			for (final String featureName : featureNames) {
+				model.addFeature(featureName);
+			}
+			addArbitraryFiles();
+			roleFingerprints = fingerprints;
+			model.fireEvent(new FeatureIDEEvent(model, EventType.MODEL_DATA_OVERRIDDEN));
+			return;
+		}
+
+		for (final List<String> key : roleFingerprints.keySet()) {
+			if (!roles.containsKey(key)) {
+				final FSTRole oldRole = model.removeRole(key.get(0), key.get(1));
+				if (oldRole != null) {
+					model.fireEvent(new FeatureIDEEvent(model, EventType.ROLE_REMOVED, oldRole, null));
+				}
+			}
+		}
+		for (final RoleNodes role : roles.values()) {
+			final Long oldFingerprint = roleFingerprints.get(role.getKey());
+			if ((oldFingerprint != null) && (oldFingerprint.longValue() == role.getFingerprint())
+				&& (model.getRole(role.featureName, role.className) != null)) {
+				continue;
+			}
+			final FSTRole oldRole = model.removeRole(role.featureName, role.className);
+			final FSTRole newRole = buildRole(role);
+			model.fireEvent(new FeatureIDEEvent(model, (oldRole == null) ? EventType.ROLE_ADDED : EventType.ROLE_CHANGED, oldRole, newRole));
+		}
+		for (final FSTFeature feature : new ArrayList<>(model.getFeatures())) {
+			if (!featureNames.contains(feature.getName())) {
+				model.removeFeature(feature.getName());
+			}
+		}
+		for (final String featureName : featureNames) {
+			model.addFeature(featureName);
+		}
+		addArbitraryFiles();
+		roleFingerprints = fingerprints;
+	}
+
+	/**
+	 * Assigns the nodes to the roles they belong to. The nodes of a file start with its class node and end before the next feature node.
+	 */
+	private void groupNodes(ArrayList<FSTNode> nodes, Set<String> featureNames, Map<List<String>, RoleNodes> roles) {
+		if (nodes == null) {
+			FeatureHouseCorePlugin.getDefault().logError("FST could not be build!", null);
+			return;
+		}
+		String featureName = null;
+		RoleNodes role = null;
+		for (final FSTNode node : nodes) {
 			if (NODE_TYPE_FEATURE.equals(node.getType())) {
-				caseAddFeature(node);
+				featureName = node.getName();
+				featureNames.add(featureName);
+				role = null;
 			} else if (NODE_TYPE_CLASS.equals(node.getType())) {
-				caseAddClass(node);
-			} else if (NODE_COMPILATIONUNIT.equals(node.getType())) {
-				caseCompileUnit(node);
-			} else if (JAVA_NODE_CLASS_DECLARATION.equals(node.getType())) {
-				caseClassDeclaration(node);
-			} else if (C_NODE_SEQUENCE_CODEUNIT_TOPLEVEL.equals(node.getType())) {
-				caseClassDeclaration(node);
-			} else if (CSHARP_NODE_CLASS_MEMBER_DECLARATION.equals(node.getType())) {
-				caseClassDeclaration(node);
-			} else if (HASKELL_NODE_DEFINITIONS.equals(node.getType())) {
-				caseClassDeclaration(node);
-			} else if (HASKELL_NODE_DATA_DECLARATION.equals(node.getType())) {
-				caseClassDeclaration(node);
-			} else if (ASMETAL_MODULE_DECLARATION.equals(node.getType())) {
-				caseClassDeclaration(node);
+				role = null;
+				final IFile file = getFile(node.getName());
+				if ((featureName != null) && canCompose(file)) {
+					final String className = model.getAbsoluteClassName(file);
+					final List<String> key = Arrays.asList(featureName, className);
+					role = roles.get(key);
+					if (role == null) {
+						role = new RoleNodes(featureName, className);
+						roles.put(key, role);
+					}
+					role.nodes.add(node);
+				}
+			} else if (role != null) {
+				role.nodes.add(node);
 			}
+		}
+	}
 
-			addArbitraryFiles();
+	private FSTRole buildRole(RoleNodes role) {
+		currentFeature = model.addFeature(role.featureName);
+		currentRole = null;
+		currentFile = null;
+		classFragmentStack.clear();
+		for (final FSTNode node : role.nodes) {
+			buildNode(node);
 		}
+		return model.getRole(role.featureName, role.className);
 	}
 
 	private void addArbitraryFiles() {
@@ -189,10 +314,14 @@ public class FeatureHouseModelBuilder implements FHNodeTypes {
 	}
 
 	private boolean canCompose() {
-		if (currentFile == null) {
+		return canCompose(currentFile);
+	}
+
+	private static boolean canCompose(IFile file) {
+		if (file == null) {
 			return false;
 		}
-		return FeatureHouseComposer.EXTENSIONS.contains(currentFile.getFileExtension()) && currentFile.exists();
+		return FeatureHouseComposer.EXTENSIONS.contains(file.getFileExtension()) && file.exists();
 	}
 
 	private void caseClassDeclaration(FSTNode node) {
@@ -305,4 +434,66 @@ public class FeatureHouseModelBuilder implements FHNodeTypes {
 		return featureProject.getProject().getFile(new Path(name));
 	}
 
+	/**
+	 * The nodes of a single role of the current product and of the complete feature structure tree.
+	 */
+	private static final class RoleNodes {
+
+		private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+		private static final long FNV_PRIME = 0x100000001b3L;
+
+		private final String featureName;
+		private final String className;
+		private final List<FSTNode> nodes = new ArrayList<>();
+
+		RoleNodes(String featureName, String className) {
+			this.featureName = featureName;
+			this.className = className;
+		}
+
+		List<String> getKey() {
+			return Arrays.asList(featureName, className);
+		}
+
+		/**
+		 * @return A hash over the types, names, bodies, and positions of all nodes of this role.
+		 */
+		long getFingerprint() {
+			long hash = FNV_OFFSET_BASIS;
+			for (final FSTNode node : nodes) {
+				hash = update(hash, node);
+			}
+			return hash;
+		}
+
+		private static long update(long hash, FSTNode node) {
+			hash = update(hash, node.getType());
+			hash = update(hash, node.getName());
+			if (node instanceof FSTTerminal) {
+				final FSTTerminal terminal = (FSTTerminal) node;
+				hash = update(hash, terminal.getBody());
+				hash = update(hash, terminal.getSpecialTokenPrefix());
+				hash = update(hash, terminal.getCompositionMechanism());
+				hash = update(hash, terminal.getContractCompKey());
+				hash = update(hash, terminal.beginLine + ":" + terminal.endLine);
+			} else if (node instanceof FSTNonTerminal) {
+				for (final FSTNode child : ((FSTNonTerminal) node).getChildren()) {
+					hash = update(hash, child);
+				}
+				hash = update(hash, "}");
+			}
+			return hash;
+		}
+
+		private static long update(long hash, String value) {
+			if (value != null) {
+				for (int i = 0; i < value.length(); i++) {
+					hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+				}
+			}
+			return (hash ^ 0xffff) * FNV_PRIME;
+		}
+
+	}
+
 }
@@ -34,10 +34,10 @@ import de.ovgu.featureide.core.CorePlugin;
 import de.ovgu.featureide.core.mpl.InterfaceProject;
 import de.ovgu.featureide.core.mpl.MPLPlugin;
 import de.ovgu.featureide.core.signature.ProjectSignatures;
+import de.ovgu.featureide.core.signature.ProjectSignatures.IFeatureQuery;
 import de.ovgu.featureide.core.signature.ProjectSignatures.SignatureIterator;
 import de.ovgu.featureide.core.signature.ProjectStructure;
 import de.ovgu.featureide.core.signature.base.AbstractClassFragment;
-import de.ovgu.featureide.core.signature.filter.FeatureFilter;
 import de.ovgu.featureide.fm.core.configuration.SelectableFeature;
 import de.ovgu.featureide.fm.core.io.FileSystem;
 import de.ovgu.featureide.fm.core.job.AProjectJob;
@@ -68,7 +68,7 @@ public class PrintFeatureInterfacesJob extends AProjectJob<PrintFeatureInterface
 	}
 
 	@Override
-	public Boolean execute(IMonitor workMonitor) throws Exception {
+	public Boolean execute(final IMonitor workMonitor) throws Exception {
 		this.workMonitor = workMonitor;
 		final InterfaceProject interfaceProject = MPLPlugin.getDefault().getInterfaceProject(arguments.project);
 		if (interfaceProject == null) {
@@ -88,15 +88,23 @@ public class PrintFeatureInterfacesJob extends AProjectJob<PrintFeatureInterface
 		}
 
 		workMonitor.setRemainingWork(features.size());
-		final int[] curFeature = new int[1];
-		final SignatureIterator it = interfaceProject.getProjectSignatures().iterator();
+		final int[] featureIDs = new int[features.size()];
+		for (int i = 0; i < featureIDs.length; i++) {
+			featureIDs[i] = interfaceProject.getFeatureID(features.get(i).getName());
+		}
+		// the structures of all features are constructed in parallel, only the files are written one after another
+		final List<ProjectStructure> structures = projectSignatures.queryFeatures(featureIDs, new IFeatureQuery<ProjectStructure>() {
 
-		for (final SelectableFeature feature : features) {
-			curFeature[0] = interfaceProject.getFeatureID(feature.getName());
-			it.clearFilter();
-			it.addFilter(new FeatureFilter(curFeature));
+			@Override
+			public ProjectStructure query(int featureID, SignatureIterator signatures) {
+				workMonitor.checkCancel();
+				return new ProjectStructure(signatures);
+			}
+		});
 
-			final ProjectStructure structure = new ProjectStructure(it);
+		for (int i = 0; i < featureIDs.length; i++) {
+			final SelectableFeature feature = features.get(i);
+			final ProjectStructure structure = structures.get(i);
 			for (final AbstractClassFragment role : structure.getClasses()) {
 				final String packagename = role.getSignature().getPackage();
 
@@ -23,6 +23,8 @@ package de.ovgu.featureide.munge.signatures;
 import static de.ovgu.featureide.fm.core.localization.StringTable.EXTENDS;
 import static de.ovgu.featureide.fm.core.localization.StringTable.IMPLEMENTS;
 
+import java.util.HashSet;
+
 import de.ovgu.featureide.core.signature.base.AbstractClassFragment;
 import de.ovgu.featureide.core.signature.base.AbstractFieldSignature;
 import de.ovgu.featureide.core.signature.base.AbstractMethodSignature;
@@ -43,8 +45,9 @@ public class MungeStringBuilder {
 				sb.append(LINE_SEPARATOR);
 			}
 
-			if (!cls.getSignature().getImportList().isEmpty()) {
-				for (final String importClass : cls.getSignature().getImportList()) {
+			final HashSet<String> importList = cls.getImportList();
+			if (!importList.isEmpty()) {
+				for (final String importClass : importList) {
 					sb.append(importClass);
 					sb.append(LINE_SEPARATOR);
 				}
@@ -26,7 +26,6 @@ import static de.ovgu.featureide.fm.core.localization.StringTable.PREPROCESSOR;
 
 import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -42,12 +41,9 @@ import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
-import org.prop4j.And;
 import org.prop4j.Literal;
 import org.prop4j.Node;
 import org.prop4j.NodeReader;
-import org.prop4j.Not;
-import org.prop4j.SatSolver;
 import org.sat4j.specs.TimeoutException;
 
 import de.ovgu.featureide.core.CorePlugin;
@@ -161,6 +157,13 @@ public abstract class PPComposerExtensionClass extends ComposerExtensionClass {
 	/** contains all used features at any source file **/
 	protected HashSet<String> usedFeatures = new HashSet<>();
 
+	/**
+	 * Checks annotations using one solver for the feature model. Created for {@link #featureModel} by {@link #getPresenceConditionChecker()}.
+	 */
+	private PresenceConditionChecker presenceConditionChecker = null;
+	private Node presenceConditionCheckerModel = null;
+	private String presenceConditionCheckerModelString = null;
+
 	/**
 	 * Sets the name of the plug-in
 	 */
@@ -214,11 +217,7 @@ public abstract class PPComposerExtensionClass extends ComposerExtensionClass {
 
 		// create expression of feature model
 		featureModel = AdvancedNodeCreator.createNodes(fm);
-		try {
-			voidFeatureModel = !new SatSolver(featureModel, 1000).isSatisfiable();
-		} catch (final TimeoutException e) {
-			voidFeatureModel = false;
-		}
+		voidFeatureModel = getPresenceConditionChecker().isVoidFeatureModel();
 
 		featureList = Functional.toList(FeatureUtils.extractFeatureNames(fm.getFeatures()));
 
@@ -231,63 +230,45 @@ public abstract class PPComposerExtensionClass extends ComposerExtensionClass {
 	 * @return the status of the annotation
 	 */
 	protected AnnotationStatus isContradictionOrTautology() {
-		final Node expression = expressionStack.peek();
+		return isContradictionOrTautology(getPresenceConditionChecker(), expressionStack);
+	}
 
-		Node nestedExpressions = null;
-		if (expressionStack.size() > 1) {
-			Node[] children = expressionStack.toArray(new Node[expressionStack.size()]);
-			children = Arrays.copyOfRange(children, 0, children.length - 1); // Exclude the topmost expression because it is examined separately.
-			nestedExpressions = new And(children);
-		}
+	/**
+	 * Checks the expression on top of the given expression stack for a contradiction or a tautology. Does not set any markers.
+	 *
+	 * @param checker the checker for the feature model
+	 * @param expressionStack the expressions of the annotation and all enclosing annotations (from outer to inner)
+	 * @return the status of the annotation
+	 */
+	public static AnnotationStatus isContradictionOrTautology(PresenceConditionChecker checker, List<Node> expressionStack) {
+		final Node expression = expressionStack.get(expressionStack.size() - 1);
+		// Exclude the topmost expression because it is examined separately.
+		final List<Node> nestedExpressions = new ArrayList<>(expressionStack.subList(0, expressionStack.size() - 1));
 
 		try {
-			return isContradictionOrTautology(expression, featureModel, nestedExpressions);
+			return checker.check(expression, nestedExpressions);
 		} catch (final TimeoutException e) {
 			CorePlugin.getDefault().logError(e);
 			return AnnotationStatus.NORMAL;
 		}
 	}
 
-	private AnnotationStatus isContradictionOrTautology(Node expression, Node featureModel, Node nestedExpressions) throws TimeoutException {
-		if (voidFeatureModel) {
-			return AnnotationStatus.VOID;
-		}
-
-		/*
-		 * -SAT(expression)
-		 */
-		if (!new SatSolver(expression, 1000).isSatisfiable()) {
-			return AnnotationStatus.CONTRADICTION;
-		}
-
-		/*
-		 * -SAT(-expression)
-		 */
-		if (!new SatSolver(new Not(expression), 1000).isSatisfiable()) {
-			return AnnotationStatus.TAUTOLOGY;
-		}
-
-		Node context = featureModel;
-		if (nestedExpressions != null) {
-			context = new And(context, nestedExpressions);
-		}
-
-		/*
-		 * -SAT(FM & nestedExpressions & expression)
-		 */
-		if (!new SatSolver(new And(context, expression), 1000).isSatisfiable()) {
-			return AnnotationStatus.DEAD;
-		}
-
-		/*
-		 * TAUT(FM & nestedExpressions => expression) = -SAT(-(FM & nestedExpressions => expression)) = -SAT(-(-(FM & nestedExpressions) | expression)) =
-		 * -SAT(-(-FM | -nestedExpressions | expression)) = -SAT(FM & nestedExpressions & -expression)
-		 */
-		if (!new SatSolver(new And(context, new Not(expression)), 1000).isSatisfiable()) {
-			return AnnotationStatus.SUPERFLUOUS;
+	/**
+	 * Returns the checker for the current {@link #featureModel}. All annotations of a build share one solver. The checker is kept for following builds as
+	 * long as the formula of the feature model does not change, so results of previous builds can be reused.
+	 *
+	 * @return the checker for annotations
+	 */
+	protected synchronized PresenceConditionChecker getPresenceConditionChecker() {
+		if ((presenceConditionChecker == null) || (presenceConditionCheckerModel != featureModel)) {
+			final String featureModelString = featureModel.toString();
+			if ((presenceConditionChecker == null) || !featureModelString.equals(presenceConditionCheckerModelString)) {
+				presenceConditionChecker = new PresenceConditionChecker(featureModel);
+				presenceConditionCheckerModelString = featureModelString;
+			}
+			presenceConditionCheckerModel = featureModel;
 		}
-
-		return AnnotationStatus.NORMAL;
+		return presenceConditionChecker;
 	}
 
 	/**
@@ -361,17 +342,23 @@ public abstract class PPComposerExtensionClass extends ComposerExtensionClass {
 	 * @param res file containing the expression
 	 */
 	protected void checkContradictionOrTautology(int lineNumber, IFile res) {
-		findLiterals(expressionStack.peek());
+		findLiterals(expressionStack.peek(), usedFeatures);
 		final AnnotationStatus status = isContradictionOrTautology();
 		setMarkersOnContradictionOrTautology(status, lineNumber, res);
 	}
 
-	private void findLiterals(Node ppExpression) {
+	/**
+	 * Adds the names of all variables in the given expression to the given collection.
+	 *
+	 * @param ppExpression the expression of an annotation
+	 * @param usedFeatures the collection of used feature names
+	 */
+	public static void findLiterals(Node ppExpression, Collection<String> usedFeatures) {
 		if (ppExpression instanceof Literal) {
 			usedFeatures.add(((Literal) ppExpression).var.toString());
 		} else {
 			for (final Node child : ppExpression.getChildren()) {
-				findLiterals(child);
+				findLiterals(child, usedFeatures);
 			}
 		}
 	}
@@ -0,0 +1,365 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.core.builder.preprocessor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.prop4j.And;
+import org.prop4j.Equals;
+import org.prop4j.Implies;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.Not;
+import org.prop4j.Or;
+import org.sat4j.core.VecInt;
+import org.sat4j.minisat.SolverFactory;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.IConstr;
+import org.sat4j.specs.ISolver;
+import org.sat4j.specs.TimeoutException;
+
+import de.ovgu.featureide.core.builder.preprocessor.PPComposerExtensionClass.AnnotationStatus;
+
+/**
+ * Checks presence conditions of preprocessor annotations for contradictions and tautologies.</br> The CNF of the feature model is loaded into one incremental
+ * solver once. An annotation is checked by adding a Tseitin encoding of its expression and its nesting context and solving under assumptions instead of
+ * creating a new solver containing the whole feature model. All clauses of one encoding are guarded by a fresh activation variable. After the check, these
+ * clauses are removed and the activation variable is disabled. Thus, clauses learned by the solver remain valid and the auxiliary variables can be reused by
+ * the next check, so the size of the solver does not grow with the number of annotations. Results are memoized by the normalized expression and nesting context.</br> Instances are thread-safe and are meant
+ * to be created once per build.
+ *
+ * @see PPComposerExtensionClass#isContradictionOrTautology()
+ */
+public class PresenceConditionChecker {
+
+	/**
+	 * Default maximum number of conflicts for one satisfiability test.
+	 */
+	public static final int DEFAULT_CONFLICT_LIMIT = 100000;
+
+	/**
+	 * Contains the clauses of the feature model and the encodings of the current check.
+	 */
+	private final ISolver modelSolver;
+	/**
+	 * Contains only the encodings of the current check.
+	 */
+	private final ISolver expressionSolver;
+
+	private final boolean voidFeatureModel;
+
+	private final HashMap<Object, Integer> variables = new HashMap<>();
+	private final HashMap<List<Node>, AnnotationStatus> results = new HashMap<>();
+
+	/**
+	 * Auxiliary variables of the Tseitin encoding, which are reused for each check.
+	 */
+	private final ArrayList<Integer> auxiliaryVariables = new ArrayList<>();
+	private final HashMap<Node, Integer> encodings = new HashMap<>();
+	private final ArrayList<IConstr> modelConstraints = new ArrayList<>();
+	private final ArrayList<IConstr> expressionConstraints = new ArrayList<>();
+	private int usedAuxiliaryVariables = 0;
+	private int activationVariable = 0;
+
+	private int variableCount = 0;
+
+	public PresenceConditionChecker(Node featureModel) {
+		this(featureModel, DEFAULT_CONFLICT_LIMIT);
+	}
+
+	/**
+	 * Creates a new checker for the given feature model.
+	 *
+	 * @param featureModel the formula of the feature model
+	 * @param conflictLimit the maximum number of conflicts for one satisfiability test
+	 */
+	public PresenceConditionChecker(Node featureModel, int conflictLimit) {
+		modelSolver = createSolver(conflictLimit);
+		expressionSolver = createSolver(conflictLimit);
+
+		final Node cnf = featureModel.isConjunctiveNormalForm() ? featureModel : featureModel.toRegularCNF();
+		boolean contradiction = false;
+		for (final Node clause : cnf instanceof And ? cnf.getChildren() : new Node[] { cnf }) {
+			final Node[] literals = clause instanceof Literal ? new Node[] { clause } : clause.getChildren();
+			final int[] intLiterals = new int[literals.length];
+			for (int i = 0; i < literals.length; i++) {
+				intLiterals[i] = getLiteral((Literal) literals[i]);
+			}
+			try {
+				modelSolver.newVar(variableCount);
+				modelSolver.addClause(new VecInt(intLiterals));
+			} catch (final ContradictionException e) {
+				contradiction = true;
+				break;
+			}
+		}
+
+		boolean satisfiable;
+		try {
+			satisfiable = !contradiction && modelSolver.isSatisfiable();
+		} catch (final TimeoutException e) {
+			satisfiable = true;
+		}
+		voidFeatureModel = !satisfiable;
+	}
+
+	/**
+	 * @return {@code true} if the feature model is void
+	 */
+	public boolean isVoidFeatureModel() {
+		return voidFeatureModel;
+	}
+
+	/**
+	 * Checks an expression within its nesting context.
+	 *
+	 * @param expression the expression of the annotation
+	 * @param context the expressions of all enclosing annotations (may be empty)
+	 * @return the status of the annotation
+	 * @throws TimeoutException if the solver could not decide one of the checks within the conflict limit
+	 */
+	public synchronized AnnotationStatus check(Node expression, Collection<Node> context) throws TimeoutException {
+		if (voidFeatureModel) {
+			return AnnotationStatus.VOID;
+		}
+
+		final Node normalizedExpression = normalize(expression);
+		final Node[] normalizedContext = new Node[context.size()];
+		int i = 0;
+		for (final Node contextExpression : context) {
+			normalizedContext[i++] = normalize(contextExpression);
+		}
+		final List<Node> key = Arrays.<Node> asList(normalizedExpression, flatten(new And((Object[]) normalizedContext)));
+		final AnnotationStatus cachedStatus = results.get(key);
+		if (cachedStatus != null) {
+			return cachedStatus;
+		}
+
+		activationVariable = newVariable();
+		try {
+			final int expressionLiteral = encode(normalizedExpression);
+			final int[] assumptions = new int[normalizedContext.length + 2];
+			for (i = 0; i < normalizedContext.length; i++) {
+				assumptions[i] = encode(normalizedContext[i]);
+			}
+			assumptions[normalizedContext.length] = activationVariable;
+
+			final AnnotationStatus status;
+			if (!isSatisfiable(expressionSolver, expressionLiteral)) {
+				status = AnnotationStatus.CONTRADICTION;
+			} else if (!isSatisfiable(expressionSolver, -expressionLiteral)) {
+				status = AnnotationStatus.TAUTOLOGY;
+			} else if (!isSatisfiable(modelSolver, assumptions, expressionLiteral)) {
+				// -SAT(FM & nestedExpressions & expression)
+				status = AnnotationStatus.DEAD;
+			} else if (!isSatisfiable(modelSolver, assumptions, -expressionLiteral)) {
+				// TAUT(FM & nestedExpressions => expression) = -SAT(FM & nestedExpressions & -expression)
+				status = AnnotationStatus.SUPERFLUOUS;
+			} else {
+				status = AnnotationStatus.NORMAL;
+			}
+			results.put(key, status);
+			return status;
+		} finally {
+			removeConstraints(modelSolver, modelConstraints);
+			removeConstraints(expressionSolver, expressionConstraints);
+			// clauses learned from the removed clauses contain the negated activation variable
+			try {
+				modelSolver.addClause(new VecInt(new int[] { -activationVariable }));
+				expressionSolver.addClause(new VecInt(new int[] { -activationVariable }));
+			} catch (final ContradictionException e) {
+				throw new AssertionError(e);
+			}
+			encodings.clear();
+			usedAuxiliaryVariables = 0;
+		}
+	}
+
+	private static void removeConstraints(ISolver solver, List<IConstr> constraints) {
+		// removing the constraints in reverse order is cheap, as each of them is the last one in the solver
+		for (int i = constraints.size() - 1; i >= 0; i--) {
+			solver.removeSubsumedConstr(constraints.get(i));
+		}
+		constraints.clear();
+	}
+
+	private static ISolver createSolver(int conflictLimit) {
+		final ISolver solver = SolverFactory.newDefault();
+		// a conflict limit avoids starting a timer thread for each test
+		solver.setTimeoutOnConflicts(conflictLimit);
+		solver.setDBSimplificationAllowed(true);
+		return solver;
+	}
+
+	private boolean isSatisfiable(ISolver solver, int literal) throws TimeoutException {
+		return solver.isSatisfiable(new VecInt(new int[] { activationVariable, literal }));
+	}
+
+	private static boolean isSatisfiable(ISolver solver, int[] assumptions, int literal) throws TimeoutException {
+		assumptions[assumptions.length - 1] = literal;
+		return solver.isSatisfiable(new VecInt(assumptions));
+	}
+
+	private int getLiteral(Literal literal) {
+		Integer variable = variables.get(literal.var);
+		if (variable == null) {
+			variable = newVariable();
+			variables.put(literal.var, variable);
+		}
+		return literal.positive ? variable : -variable;
+	}
+
+	private int newVariable() {
+		final int variable = ++variableCount;
+		modelSolver.newVar(variableCount);
+		expressionSolver.newVar(variableCount);
+		return variable;
+	}
+
+	private int getAuxiliaryVariable() {
+		if (usedAuxiliaryVariables == auxiliaryVariables.size()) {
+			auxiliaryVariables.add(newVariable());
+		}
+		return auxiliaryVariables.get(usedAuxiliaryVariables++);
+	}
+
+	/**
+	 * Returns a literal that is equivalent to the given normalized expression in both solvers if the current activation variable is assumed. Adds the
+	 * necessary clauses if the expression was not encoded in the current check before.
+	 */
+	private int encode(Node node) {
+		if (node instanceof Literal) {
+			return getLiteral((Literal) node);
+		}
+		if (node instanceof Not) {
+			return -encode(node.getChildren()[0]);
+		}
+		final Integer encoding = encodings.get(node);
+		if (encoding != null) {
+			return encoding;
+		}
+
+		final Node[] children = node.getChildren();
+		final int[] childLiterals = new int[children.length];
+		for (int i = 0; i < children.length; i++) {
+			childLiterals[i] = encode(children[i]);
+		}
+		final int variable = getAuxiliaryVariable();
+
+		// node is either And or Or (see normalize)
+		final int sign = node instanceof And ? 1 : -1;
+		final int[] longClause = new int[childLiterals.length + 2];
+		for (int i = 0; i < childLiterals.length; i++) {
+			// And: variable => child, Or: child => variable
+			addClause(-activationVariable, -sign * variable, sign * childLiterals[i]);
+			longClause[i] = -sign * childLiterals[i];
+		}
+		// And: all children => variable, Or: variable => any child
+		longClause[childLiterals.length] = sign * variable;
+		longClause[childLiterals.length + 1] = -activationVariable;
+		addClause(longClause);
+
+		encodings.put(node, variable);
+		return variable;
+	}
+
+	private void addClause(int... clause) {
+		try {
+			addConstraint(modelConstraints, modelSolver.addClause(new VecInt(clause)));
+			addConstraint(expressionConstraints, expressionSolver.addClause(new VecInt(clause)));
+		} catch (final ContradictionException e) {
+			// cannot happen, as each clause contains the activation variable, which is not assigned yet
+			throw new AssertionError(e);
+		}
+	}
+
+	private static void addConstraint(List<IConstr> constraints, IConstr constraint) {
+		// the solver does not add clauses that are already satisfied
+		if (constraint != null) {
+			constraints.add(constraint);
+		}
+	}
+
+	/**
+	 * Converts the expression into an equivalent expression that contains only literals, negations, conjunctions, and disjunctions. Nested conjunctions and
+	 * disjunctions are merged, duplicate children and double negations are removed.
+	 */
+	private static Node normalize(Node node) {
+		if (node instanceof Literal) {
+			return node;
+		} else if (node instanceof Not) {
+			final Node child = normalize(node.getChildren()[0]);
+			if (child instanceof Literal) {
+				final Literal literal = (Literal) child;
+				return new Literal(literal.var, !literal.positive);
+			} else if (child instanceof Not) {
+				return child.getChildren()[0];
+			}
+			return new Not(child);
+		} else if (node instanceof And) {
+			return flatten(new And((Object[]) normalizeChildren(node)));
+		} else if (node instanceof Or) {
+			return flatten(new Or((Object[]) normalizeChildren(node)));
+		} else if (node instanceof Implies) {
+			final Node[] children = node.getChildren();
+			return normalize(new Or(new Not(children[0]), children[1]));
+		} else if (node instanceof Equals) {
+			final Node[] children = node.getChildren();
+			return normalize(new And(new Or(new Not(children[0]), children[1]), new Or(children[0], new Not(children[1]))));
+		} else {
+			return normalize(node.toRegularCNF());
+		}
+	}
+
+	private static Node[] normalizeChildren(Node node) {
+		final Node[] children = node.getChildren();
+		final Node[] normalizedChildren = new Node[children.length];
+		for (int i = 0; i < children.length; i++) {
+			normalizedChildren[i] = normalize(children[i]);
+		}
+		return normalizedChildren;
+	}
+
+	/**
+	 * Merges children of the same type into the given conjunction or disjunction and removes duplicates.
+	 */
+	private static Node flatten(Node node) {
+		final LinkedHashSet<Node> children = new LinkedHashSet<>();
+		for (final Node child : node.getChildren()) {
+			if (child.getClass() == node.getClass()) {
+				children.addAll(Arrays.asList(child.getChildren()));
+			} else {
+				children.add(child);
+			}
+		}
+		if (children.size() == 1) {
+			return children.iterator().next();
+		}
+		final Object[] newChildren = new ArrayList<>(children).toArray();
+		return node instanceof And ? new And(newChildren) : new Or(newChildren);
+	}
+
+}
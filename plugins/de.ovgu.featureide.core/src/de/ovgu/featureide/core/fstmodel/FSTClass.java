@@ -58,6 +58,10 @@ public class FSTClass {
 		roles.put(featureName, role);
 	}
 
+	public FSTRole removeRole(String featureName) {
+		return roles.remove(featureName);
+	}
+
 	public FSTRole getRole(String featureName) {
 		return roles.get(featureName);
 	}
@@ -100,6 +100,10 @@ public class FSTFeature {
 		roles.put(className, role);
 	}
 
+	public FSTRole removeRole(String className) {
+		return roles.remove(className);
+	}
+
 	@Override
 	public boolean equals(Object feature) {
 		if (feature == this) {
@@ -33,14 +33,19 @@ import org.eclipse.core.runtime.IPath;
 
 import de.ovgu.featureide.core.IFeatureProject;
 import de.ovgu.featureide.core.signature.ProjectSignatures;
+import de.ovgu.featureide.fm.core.base.event.DefaultEventManager;
+import de.ovgu.featureide.fm.core.base.event.FeatureIDEEvent;
+import de.ovgu.featureide.fm.core.base.event.IEventListener;
+import de.ovgu.featureide.fm.core.base.event.IEventManager;
 
 /**
  * The FSTModel represents the projects structure.<br> {@link FSTClass}es and {@link FSTFeature}s can have a shared {@link FSTRole}.<br> For a visualization of
- * the FSTModels structure see <i>lib/FSTModel.jpg<i>.
+ * the FSTModels structure see <i>lib/FSTModel.jpg<i>.<br> Model builders that update single roles in place notify the listeners of the model with
+ * {@link FeatureIDEEvent}s of the types <code>ROLE_ADDED</code>, <code>ROLE_REMOVED</code>, and <code>ROLE_CHANGED</code>.
  *
  * @author Jens Meinicke
  */
-public class FSTModel {
+public class FSTModel implements IEventManager {
 
 	private final Map<String, FSTClass> classes = new HashMap<String, FSTClass>();
 	private final Map<String, FSTFeature> features = new HashMap<String, FSTFeature>();
@@ -49,6 +54,8 @@ public class FSTModel {
 
 	private ProjectSignatures projectSignatures = null;
 
+	private final IEventManager eventManager = new DefaultEventManager();
+
 	public FSTModel(IFeatureProject featureProject) {
 		this.featureProject = featureProject;
 	}
@@ -109,6 +116,45 @@ public class FSTModel {
 		return role;
 	}
 
+	/**
+	 * Removes the role of the given feature and class. Classes without roles are removed as well.
+	 *
+	 * @return the removed role or <code>null</code> if there was no such role
+	 */
+	public FSTRole removeRole(String featureName, String className) {
+		final FSTClass c = classes.get(className);
+		if (c == null) {
+			return null;
+		}
+		final FSTRole role = c.removeRole(featureName);
+		if (role != null) {
+			final FSTFeature feature = features.get(featureName);
+			if (feature != null) {
+				feature.removeRole(className);
+			}
+			if (c.getRoles().isEmpty()) {
+				classes.remove(className);
+			}
+		}
+		return role;
+	}
+
+	/**
+	 * Removes the feature and all of its roles.
+	 */
+	public void removeFeature(String featureName) {
+		final FSTFeature feature = features.remove(featureName);
+		if (feature != null) {
+			for (final FSTRole role : feature.getRoles()) {
+				final FSTClass c = role.getFSTClass();
+				c.removeRole(featureName);
+				if (c.getRoles().isEmpty()) {
+					classes.remove(c.getName());
+				}
+			}
+		}
+	}
+
 	public FSTRole getRole(String featureName, String className) {
 		final FSTClass c = classes.get(className);
 		return (c == null) ? null : c.getRole(featureName);
@@ -176,6 +222,21 @@ public class FSTModel {
 		this.projectSignatures = projectSignatures;
 	}
 
+	@Override
+	public void addListener(IEventListener listener) {
+		eventManager.addListener(listener);
+	}
+
+	@Override
+	public void removeListener(IEventListener listener) {
+		eventManager.removeListener(listener);
+	}
+
+	@Override
+	public void fireEvent(FeatureIDEEvent event) {
+		eventManager.fireEvent(event);
+	}
+
 	public String getAbsoluteClassName(IFile file) {
 		return getAbsoluteClassName(file, featureProject);
 	}
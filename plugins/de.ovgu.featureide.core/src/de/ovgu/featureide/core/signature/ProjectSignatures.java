@@ -20,13 +20,21 @@
  */
 package de.ovgu.featureide.core.signature;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import de.ovgu.featureide.core.signature.base.AFeatureData;
 import de.ovgu.featureide.core.signature.base.AbstractClassSignature;
@@ -36,6 +44,7 @@ import de.ovgu.featureide.core.signature.base.AbstractSignature;
 import de.ovgu.featureide.fm.core.base.IFeature;
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
 import de.ovgu.featureide.fm.core.filter.base.IFilter;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor.MethodCancelException;
 
 /**
  * Holds the signature information for a whole java project.
@@ -118,8 +127,22 @@ public class ProjectSignatures implements Iterable<AbstractSignature> {
 		public void remove() {}
 	}
 
+	/**
+	 * A query for the signatures of a single feature, which is executed by {@link ProjectSignatures#queryFeatures(int[], IFeatureQuery)}.
+	 */
+	public static interface IFeatureQuery<T> {
+
+		/**
+		 * @param featureID the id of the feature
+		 * @param signatures an iterator over the signatures of the feature
+		 * @return the result for the feature
+		 */
+		T query(int featureID, SignatureIterator signatures) throws Exception;
+	}
+
 	private final String[] featureNames;
 	private AbstractSignature[] signatureArray = null;
+	private SignatureIndex index = null;
 
 	private final IFeatureModel featureModel;
 
@@ -153,8 +176,96 @@ public class ProjectSignatures implements Iterable<AbstractSignature> {
 		return it;
 	}
 
-	public void sort(Comparator<AbstractSignature> comparator) {
+	/**
+	 * @param index the index that returned the positions
+	 * @param positions positions in the signature array, i.e., results of the queries of the given index
+	 * @return an iterator over the signatures at the given positions
+	 * @throws ConcurrentModificationException if the signature array was changed or sorted since the index was created
+	 */
+	public synchronized SignatureIterator iterator(SignatureIndex index, int[] positions) {
+		if (index != this.index) {
+			throw new ConcurrentModificationException("The signature array was changed since the index was created.");
+		}
+		final AbstractSignature[] signatures = new AbstractSignature[positions.length];
+		for (int i = 0; i < positions.length; i++) {
+			signatures[i] = signatureArray[positions[i]];
+		}
+		return new SignatureIterator(signatures);
+	}
+
+	public AbstractSignature getSignature(int position) {
+		return signatureArray[position];
+	}
+
+	/**
+	 * Returns the index over the current signature array. The index is created on the first call and discarded when the array is changed.
+	 *
+	 * @return the index
+	 */
+	public synchronized SignatureIndex getIndex() {
+		if (index == null) {
+			index = new SignatureIndex(signatureArray, featureNames.length);
+		}
+		return index;
+	}
+
+	/**
+	 * Executes the query for the signatures of each given feature. The queries are executed in parallel and the signatures of a feature are looked up in
+	 * the {@link #getIndex() index}.
+	 *
+	 * @param featureIDs the ids of the features
+	 * @param query the query
+	 * @return the result of the query for each feature in the order of the given ids
+	 * @throws ExecutionException if the query for a feature failed
+	 * @throws MethodCancelException if the query for a feature was canceled
+	 * @throws InterruptedException if the current thread was interrupted while waiting for the queries
+	 */
+	public <T> List<T> queryFeatures(int[] featureIDs, final IFeatureQuery<T> query) throws ExecutionException, InterruptedException {
+		final SignatureIndex index = getIndex();
+		final List<Callable<T>> tasks = new ArrayList<>(featureIDs.length);
+		for (final int featureID : featureIDs) {
+			tasks.add(new Callable<T>() {
+
+				@Override
+				public T call() throws Exception {
+					return query.query(featureID, iterator(index, index.getFeatureSignatures(featureID)));
+				}
+			});
+		}
+
+		final List<T> results = new ArrayList<>(featureIDs.length);
+		final int numberOfThreads = Math.min(Runtime.getRuntime().availableProcessors(), featureIDs.length);
+		if (numberOfThreads <= 1) {
+			for (final Callable<T> task : tasks) {
+				try {
+					results.add(task.call());
+				} catch (final MethodCancelException e) {
+					throw e;
+				} catch (final Exception e) {
+					throw new ExecutionException(e);
+				}
+			}
+		} else {
+			final ExecutorService pool = Executors.newFixedThreadPool(numberOfThreads);
+			try {
+				for (final Future<T> future : pool.invokeAll(tasks)) {
+					results.add(future.get());
+				}
+			} catch (final ExecutionException e) {
+				if (e.getCause() instanceof MethodCancelException) {
+					throw (MethodCancelException) e.getCause();
+				}
+				throw e;
+			} finally {
+				pool.shutdownNow();
+			}
+		}
+		return results;
+	}
+
+	public synchronized void sort(Comparator<AbstractSignature> comparator) {
 		Arrays.sort(signatureArray, comparator);
+		index = null;
 	}
 
 	public int[] getFeatureIDs(Collection<String> featureNames) {
@@ -204,8 +315,9 @@ public class ProjectSignatures implements Iterable<AbstractSignature> {
 		return featureModel;
 	}
 
-	public void setSignatureArray(AbstractSignature[] signatureArray) {
+	public synchronized void setSignatureArray(AbstractSignature[] signatureArray) {
 		this.signatureArray = signatureArray;
+		index = null;
 	}
 
 	@Override
@@ -75,9 +75,9 @@ public class ProjectStructure {
 				addClass(parentClass);
 			} else {
 				if (sig instanceof AbstractClassSignature) {
-					final AbstractClassSignature parentSig = parentClass.getSignature();
+					// the signatures are shared with the structures of other features, thus the imports are added to the class of this structure
 					for (final String newImport : ((AbstractClassSignature) sig).getImportList()) {
-						parentSig.addImport(newImport);
+						parentClass.addImport(newImport);
 					}
 				}
 			}
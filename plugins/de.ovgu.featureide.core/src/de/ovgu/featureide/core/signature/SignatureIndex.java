@@ -0,0 +1,313 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.core.signature;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import de.ovgu.featureide.core.signature.base.AFeatureData;
+import de.ovgu.featureide.core.signature.base.AbstractClassSignature;
+import de.ovgu.featureide.core.signature.base.AbstractFieldSignature;
+import de.ovgu.featureide.core.signature.base.AbstractMethodSignature;
+import de.ovgu.featureide.core.signature.base.AbstractSignature;
+
+/**
+ * Index over the signature array of {@link ProjectSignatures}.<br> For each feature id, simple name, top-level class, and kind of signature, the index stores
+ * the sorted positions of all matching signatures in the array. Queries therefore take time proportional to the number of results instead of the number of
+ * all signatures. The index is immutable and can be queried from several threads.
+ */
+public class SignatureIndex {
+
+	public static final int KIND_CLASS = 0;
+	public static final int KIND_FIELD = 1;
+	public static final int KIND_METHOD = 2;
+
+	private static final int[] EMPTY = new int[0];
+
+	private final int size;
+	private final int[][] featureIndex;
+	private final int[] allFeaturesIndex;
+	private final int[][] kindIndex;
+	private final Map<String, int[]> nameIndex;
+	private final Map<String, int[]> classIndex;
+
+	SignatureIndex(AbstractSignature[] signatureArray, int featureCount) {
+		size = signatureArray.length;
+
+		final int[] featureCounts = new int[featureCount];
+		final int[] kindCounts = new int[3];
+		final Map<String, int[]> nameCounts = new HashMap<>();
+		final Map<String, int[]> classCounts = new HashMap<>();
+		int allFeaturesCount = 0;
+		for (final AbstractSignature signature : signatureArray) {
+			final int[] ids = getFeatureIDs(signature, featureCount);
+			if (ids == null) {
+				allFeaturesCount++;
+			} else {
+				for (final int id : ids) {
+					featureCounts[id]++;
+				}
+			}
+			final int kind = getKind(signature);
+			if (kind >= 0) {
+				kindCounts[kind]++;
+			}
+			increment(nameCounts, signature.getName());
+			increment(classCounts, getTopLevelClassName(signature));
+		}
+
+		featureIndex = new int[featureCount][];
+		for (int i = 0; i < featureCount; i++) {
+			featureIndex[i] = new int[featureCounts[i] + allFeaturesCount];
+		}
+		allFeaturesIndex = new int[allFeaturesCount];
+		kindIndex = new int[3][];
+		for (int i = 0; i < kindIndex.length; i++) {
+			kindIndex[i] = new int[kindCounts[i]];
+		}
+		nameIndex = allocate(nameCounts);
+		classIndex = allocate(classCounts);
+
+		Arrays.fill(featureCounts, 0);
+		Arrays.fill(kindCounts, 0);
+		allFeaturesCount = 0;
+		for (int position = 0; position < signatureArray.length; position++) {
+			final AbstractSignature signature = signatureArray[position];
+			final int[] ids = getFeatureIDs(signature, featureCount);
+			if (ids == null) {
+				allFeaturesIndex[allFeaturesCount++] = position;
+				for (int id = 0; id < featureCount; id++) {
+					featureIndex[id][featureCounts[id]++] = position;
+				}
+			} else {
+				for (final int id : ids) {
+					featureIndex[id][featureCounts[id]++] = position;
+				}
+			}
+			final int kind = getKind(signature);
+			if (kind >= 0) {
+				kindIndex[kind][kindCounts[kind]++] = position;
+			}
+			add(nameIndex, nameCounts, signature.getName(), position);
+			add(classIndex, classCounts, getTopLevelClassName(signature), position);
+		}
+	}
+
+	/**
+	 * @return the distinct ids of the features of the signature or {@code null} if the signature belongs to all features
+	 */
+	private static int[] getFeatureIDs(AbstractSignature signature, int featureCount) {
+		final AFeatureData[] featureData = signature.getFeatureData();
+		if (featureData == null) {
+			return EMPTY;
+		}
+		final boolean[] contained = new boolean[featureCount];
+		final int[] ids = new int[featureData.length];
+		int count = 0;
+		for (final AFeatureData data : featureData) {
+			final int id = data.getID();
+			if (id == -1) {
+				return null;
+			}
+			if ((id >= 0) && (id < featureCount) && !contained[id]) {
+				contained[id] = true;
+				ids[count++] = id;
+			}
+		}
+		return (count == ids.length) ? ids : Arrays.copyOf(ids, count);
+	}
+
+	private static int getKind(AbstractSignature signature) {
+		if (signature instanceof AbstractClassSignature) {
+			return KIND_CLASS;
+		} else if (signature instanceof AbstractFieldSignature) {
+			return KIND_FIELD;
+		} else if (signature instanceof AbstractMethodSignature) {
+			return KIND_METHOD;
+		}
+		return -1;
+	}
+
+	private static String getTopLevelClassName(AbstractSignature signature) {
+		AbstractSignature topLevelSignature = signature;
+		while (topLevelSignature.getParent() != null) {
+			topLevelSignature = topLevelSignature.getParent();
+		}
+		return topLevelSignature.getFullName();
+	}
+
+	private static void increment(Map<String, int[]> counts, String key) {
+		final int[] count = counts.get(key);
+		if (count == null) {
+			counts.put(key, new int[] { 1 });
+		} else {
+			count[0]++;
+		}
+	}
+
+	private static Map<String, int[]> allocate(Map<String, int[]> counts) {
+		final Map<String, int[]> index = new HashMap<>(counts.size() << 1);
+		for (final Entry<String, int[]> entry : counts.entrySet()) {
+			index.put(entry.getKey(), new int[entry.getValue()[0]]);
+			entry.getValue()[0] = 0;
+		}
+		return index;
+	}
+
+	private static void add(Map<String, int[]> index, Map<String, int[]> counts, String key, int position) {
+		index.get(key)[counts.get(key)[0]++] = position;
+	}
+
+	/**
+	 * @return the number of indexed signatures
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * @param featureID the id of a feature (see {@link ProjectSignatures#getFeatureID(String)})
+	 * @return the positions of all signatures that belong to the feature. As for {@link de.ovgu.featureide.core.signature.filter.FeatureFilter}, these are
+	 *         only the signatures of all features if the id is -1 or unknown.
+	 */
+	public int[] getFeatureSignatures(int featureID) {
+		return ((featureID >= 0) && (featureID < featureIndex.length)) ? featureIndex[featureID] : allFeaturesIndex;
+	}
+
+	/**
+	 * @param featureIDs the ids of several features
+	 * @return the positions of all signatures that belong to at least one of the features
+	 */
+	public int[] getFeatureSignatures(int... featureIDs) {
+		final int[][] lists = new int[featureIDs.length][];
+		for (int i = 0; i < featureIDs.length; i++) {
+			lists[i] = getFeatureSignatures(featureIDs[i]);
+		}
+		return union(lists);
+	}
+
+	/**
+	 * @param kind one of {@link #KIND_CLASS}, {@link #KIND_FIELD}, and {@link #KIND_METHOD}
+	 * @return the positions of all signatures of the kind
+	 */
+	public int[] getKindSignatures(int kind) {
+		return ((kind >= 0) && (kind < kindIndex.length)) ? kindIndex[kind] : EMPTY;
+	}
+
+	/**
+	 * @param name the simple name of a class, field, or method
+	 * @return the positions of all signatures with this name
+	 */
+	public int[] getNameSignatures(String name) {
+		final int[] positions = nameIndex.get(name);
+		return (positions == null) ? EMPTY : positions;
+	}
+
+	/**
+	 * @param className the full name of a top-level class (see {@link AbstractSignature#getFullName()})
+	 * @return the positions of the class and of all of its members and inner classes
+	 */
+	public int[] getClassSignatures(String className) {
+		final int[] positions = classIndex.get(className);
+		return (positions == null) ? EMPTY : positions;
+	}
+
+	/**
+	 * @return the full names of all top-level classes
+	 */
+	public Set<String> getClassNames() {
+		return Collections.unmodifiableSet(classIndex.keySet());
+	}
+
+	/**
+	 * Intersects sorted lists of positions.
+	 *
+	 * @param lists sorted lists of positions, e.g., results of the query methods of this index
+	 * @return the sorted positions contained in all lists
+	 */
+	public static int[] intersect(int[]... lists) {
+		if (lists.length == 0) {
+			return EMPTY;
+		}
+		int[] result = lists[0];
+		for (int i = 1; i < lists.length; i++) {
+			final int[] list = lists[i];
+			final int[] intersection = new int[Math.min(result.length, list.length)];
+			int count = 0;
+			for (int j = 0, k = 0; (j < result.length) && (k < list.length);) {
+				if (result[j] < list[k]) {
+					j++;
+				} else if (result[j] > list[k]) {
+					k++;
+				} else {
+					intersection[count++] = result[j];
+					j++;
+					k++;
+				}
+			}
+			result = (count == intersection.length) ? intersection : Arrays.copyOf(intersection, count);
+		}
+		return result;
+	}
+
+	/**
+	 * Unites sorted lists of positions.
+	 *
+	 * @param lists sorted lists of positions, e.g., results of the query methods of this index
+	 * @return the sorted positions contained in at least one list
+	 */
+	public static int[] union(int[]... lists) {
+		if (lists.length == 0) {
+			return EMPTY;
+		}
+		int[] result = lists[0];
+		for (int i = 1; i < lists.length; i++) {
+			final int[] list = lists[i];
+			final int[] union = new int[result.length + list.length];
+			int count = 0;
+			int j = 0;
+			int k = 0;
+			while ((j < result.length) && (k < list.length)) {
+				if (result[j] < list[k]) {
+					union[count++] = result[j++];
+				} else if (result[j] > list[k]) {
+					union[count++] = list[k++];
+				} else {
+					union[count++] = result[j++];
+					k++;
+				}
+			}
+			while (j < result.length) {
+				union[count++] = result[j++];
+			}
+			while (k < list.length) {
+				union[count++] = list[k++];
+			}
+			result = (count == union.length) ? union : Arrays.copyOf(union, count);
+		}
+		return result;
+	}
+
+}
@@ -21,6 +21,7 @@
 package de.ovgu.featureide.core.signature.base;
 
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -42,6 +43,8 @@ public abstract class AbstractClassFragment {
 	protected Collection<AbstractSignature> members;
 	protected Map<String, AbstractClassFragment> innerClasses;
 
+	protected final HashSet<String> additionalImports = new HashSet<String>();
+
 	protected AbstractClassFragment(AbstractClassSignature signature) {
 		this.signature = signature;
 	}
@@ -62,6 +65,19 @@ public abstract class AbstractClassFragment {
 		return innerClasses.get(classSignatureName);
 	}
 
+	/**
+	 * @return the imports of the class signature and of the signatures of the same class that were merged into this class
+	 */
+	public HashSet<String> getImportList() {
+		final HashSet<String> importList = new HashSet<String>(signature.getImportList());
+		importList.addAll(additionalImports);
+		return importList;
+	}
+
+	public void addImport(String imp) {
+		additionalImports.add(imp);
+	}
+
 	public int getMemberCount() {
 		int innerMembers = 0;
 		for (final AbstractClassFragment innerClass : innerClasses.values()) {
@@ -20,6 +20,8 @@
  */
 package de.ovgu.featureide.core.signature.java;
 
+import java.util.HashSet;
+
 import de.ovgu.featureide.core.signature.base.AbstractClassFragment;
 import de.ovgu.featureide.core.signature.base.AbstractFieldSignature;
 import de.ovgu.featureide.core.signature.base.AbstractMethodSignature;
@@ -40,8 +42,9 @@ public class JavaStringBuilder {
 				sb.append(LINE_SEPARATOR);
 			}
 
-			if (!cls.getSignature().getImportList().isEmpty()) {
-				for (final String importClass : cls.getSignature().getImportList()) {
+			final HashSet<String> importList = cls.getImportList();
+			if (!importList.isEmpty()) {
+				for (final String importClass : importList) {
 					sb.append(importClass);
 					sb.append(LINE_SEPARATOR);
 				}
@@ -34,6 +34,7 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 
 import org.prop4j.And;
@@ -45,6 +46,7 @@ import org.prop4j.Not;
 import org.prop4j.Or;
 import org.prop4j.SatSolver;
 import org.prop4j.analyses.FeatureModelAnalysis;
+import org.prop4j.analyses.IncrementalCoreDeadAnalysis;
 import org.sat4j.specs.TimeoutException;
 
 import de.ovgu.featureide.fm.core.base.FeatureUtils;
@@ -57,16 +59,21 @@ import de.ovgu.featureide.fm.core.base.IFeatureStructure;
 import de.ovgu.featureide.fm.core.base.event.FeatureIDEEvent;
 import de.ovgu.featureide.fm.core.base.event.IEventListener;
 import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
+import de.ovgu.featureide.fm.core.conf.worker.base.AWorkerThread;
 import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.CNFType;
+import de.ovgu.featureide.fm.core.editing.CNFCache;
 import de.ovgu.featureide.fm.core.editing.NodeCreator;
 import de.ovgu.featureide.fm.core.explanations.Explanation;
 import de.ovgu.featureide.fm.core.explanations.fm.DeadFeatureExplanation;
 import de.ovgu.featureide.fm.core.explanations.fm.DeadFeatureExplanationCreator;
 import de.ovgu.featureide.fm.core.explanations.fm.FalseOptionalFeatureExplanation;
 import de.ovgu.featureide.fm.core.explanations.fm.FalseOptionalFeatureExplanationCreator;
+import de.ovgu.featureide.fm.core.explanations.fm.FeatureModelExplanation;
 import de.ovgu.featureide.fm.core.explanations.fm.FeatureModelExplanationCreatorFactory;
 import de.ovgu.featureide.fm.core.explanations.fm.RedundantConstraintExplanation;
 import de.ovgu.featureide.fm.core.explanations.fm.RedundantConstraintExplanationCreator;
+import de.ovgu.featureide.fm.core.explanations.fm.impl.mus.MusFeatureModelExplanationsJob;
 import de.ovgu.featureide.fm.core.functional.Functional;
 import de.ovgu.featureide.fm.core.functional.Functional.IFunction;
 import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
@@ -113,6 +120,15 @@ public class FeatureModelAnalyzer implements IEventListener {
 	 */
 	private final RedundantConstraintExplanationCreator redundantConstraintExplanationCreator =
 		explanationCreatorFactory.getRedundantConstraintExplanationCreator();
+	/**
+	 * Counts how often the explanations have been cleared. Explanations calculated in the background are only remembered if this has not changed meanwhile.
+	 */
+	private long explanationRevision = 0;
+	/**
+	 * The maximum amount of minimal unsatisfiable subsets computed for each element when {@link #calculateExplanations(IMonitor) calculating all
+	 * explanations}.
+	 */
+	public int maxExplanationMusCount = 1;
 
 	public static enum Attribute {
 		Mandatory, Optional, Alternative, Or, Abstract, Concrete, Hidden, Dead, FalseOptional, IndetHidden, UnsatisfiableConst, TautologyConst, VoidModelConst, RedundantConst
@@ -128,11 +144,6 @@ public class FeatureModelAnalyzer implements IEventListener {
 	private Boolean cachedValidity = null;
 
 	private final IFeatureModel fm;
-	/**
-	 * The feature model as a formula in conjunctive normal form. Created lazily. Resets when the feature model changes.
-	 */
-	private Node cnf;
-
 	/**
 	 * Defines whether features should be included into calculations. If features are not analyzed, then constraints a also NOT analyzed.
 	 */
@@ -157,6 +168,19 @@ public class FeatureModelAnalyzer implements IEventListener {
 	 * Defines whether analysis should be performed automatically.
 	 */
 	public boolean runCalculationAutomatically = true;
+	/**
+	 * Defines whether core and dead features should be calculated incrementally, i.e., by reusing the solver of the previous analysis.
+	 */
+	public boolean calculateIncrementally = true;
+	/**
+	 * Defines the number of threads that are used to calculate core, dead, and false-optional features.
+	 */
+	public int numberOfThreads = AWorkerThread.getDefaultNumberOfThreads();
+
+	/**
+	 * Computes core and dead features. Kept alive between analyses, so only the changes of the feature model have to be processed.
+	 */
+	private final IncrementalCoreDeadAnalysis incrementalCoreDeadAnalysis;
 
 	/**
 	 * A flag indicating that the calculation should be canceled.
@@ -185,12 +209,14 @@ public class FeatureModelAnalyzer implements IEventListener {
 
 	public FeatureModelAnalyzer(IFeatureModel fm) {
 		this.fm = fm;
+		incrementalCoreDeadAnalysis = new IncrementalCoreDeadAnalysis(fm);
 		fm.addListener(this);
 		clearExplanations();
 	}
 
 	public FeatureModelAnalyzer(FeatureModelAnalyzer oldAnalyzer, IFeatureModel newFM) {
 		fm = newFM;
+		incrementalCoreDeadAnalysis = new IncrementalCoreDeadAnalysis(fm);
 		fm.addListener(this);
 		clearExplanations();
 
@@ -201,6 +227,9 @@ public class FeatureModelAnalyzer implements IEventListener {
 		calculateRedundantConstraints = oldAnalyzer.calculateRedundantConstraints;
 		calculateTautologyConstraints = oldAnalyzer.calculateTautologyConstraints;
 		runCalculationAutomatically = oldAnalyzer.runCalculationAutomatically;
+		calculateIncrementally = oldAnalyzer.calculateIncrementally;
+		numberOfThreads = oldAnalyzer.numberOfThreads;
+		maxExplanationMusCount = oldAnalyzer.maxExplanationMusCount;
 	}
 
 	/**
@@ -602,6 +631,8 @@ public class FeatureModelAnalyzer implements IEventListener {
 		analysis.setCalculateTautologyConstraints(calculateTautologyConstraints);
 		analysis.setCalculateDeadConstraints(calculateDeadConstraints);
 		analysis.setCalculateFOConstraints(calculateFOConstraints);
+		analysis.setIncrementalCoreDeadAnalysis(calculateIncrementally ? incrementalCoreDeadAnalysis : null);
+		analysis.setNumberOfThreads(numberOfThreads);
 		final HashMap<Object, Object> newAttributes = LongRunningWrapper.runMethod(analysis, this.monitor);
 		cachedValidity = analysis.isValid();
 		cachedCoreFeatures = analysis.getCoreFeatures();
@@ -641,6 +672,8 @@ public class FeatureModelAnalyzer implements IEventListener {
 		final FeatureModelAnalysis analysis = new FeatureModelAnalysis(fm);
 		analysis.setCalculateFeatures(true);
 		analysis.setCalculateConstraints(false);
+		analysis.setIncrementalCoreDeadAnalysis(calculateIncrementally ? incrementalCoreDeadAnalysis : null);
+		analysis.setNumberOfThreads(numberOfThreads);
 		analysis.updateFeatures();
 		cachedValidity = analysis.isValid();
 		cachedCoreFeatures = analysis.getCoreFeatures();
@@ -812,34 +845,11 @@ public class FeatureModelAnalyzer implements IEventListener {
 	}
 
 	/**
-	 * Listens to feature model changes. Resets its formula if necessary.
+	 * Listens to feature model changes. The formula of the feature model is reset by the {@link CNFCache}.
 	 */
 	@Override
 	public void propertyChange(FeatureIDEEvent event) {
-		switch (event.getEventType()) {
-		case ALL_FEATURES_CHANGED_NAME_TYPE: // Required because feature names are used as variable names.
-		case CHILDREN_CHANGED:
-		case CONSTRAINT_ADD:
-		case CONSTRAINT_DELETE:
-		case CONSTRAINT_MODIFY:
-		case FEATURE_ADD:
-		case FEATURE_ADD_ABOVE:
-		case FEATURE_DELETE:
-		case FEATURE_MODIFY: // TODO If a formula reset is required for this event type, remove this comment. Otherwise, remove this case.
-		case FEATURE_NAME_CHANGED: // Required because feature names are used as variable names.
-		case GROUP_TYPE_CHANGED:
-		case HIDDEN_CHANGED: // TODO If a formula reset is required for this event type, remove this comment. Otherwise, remove this case.
-		case MANDATORY_CHANGED:
-		case MODEL_DATA_CHANGED:
-		case MODEL_DATA_LOADED:
-		case MODEL_DATA_OVERRIDDEN:
-		case PARENT_CHANGED:
-		case STRUCTURE_CHANGED:
-			cnf = null;
-			break;
-		default:
-			break;
-		}
+		incrementalCoreDeadAnalysis.propertyChange(event);
 	}
 
 	/**
@@ -852,19 +862,10 @@ public class FeatureModelAnalyzer implements IEventListener {
 	 * @see {@link #getNode()} if the formula does not have to be in conjunctive normal form
 	 */
 	public Node getCnf() {
-		if (cnf == null) {
-			cnf = createCnf();
-		}
-		return cnf;
-	}
-
-	/**
-	 * Creates the feature model as a formula in conjunctive normal form.
-	 *
-	 * @return the feature model as a formula in conjunctive normal form; not null
-	 */
-	private Node createCnf() {
-		return AdvancedNodeCreator.createRegularCNF(fm);
+		final AdvancedNodeCreator nodeCreator = new AdvancedNodeCreator(fm);
+		nodeCreator.setCnfType(CNFType.Regular);
+		nodeCreator.setIncludeBooleanValues(false);
+		return CNFCache.getInstance().getNodes(nodeCreator);
 	}
 
 	/**
@@ -948,7 +949,7 @@ public class FeatureModelAnalyzer implements IEventListener {
 	 * @param feature potentially dead feature; not null
 	 * @return an explanation; null if it cannot be explained
 	 */
-	public DeadFeatureExplanation getDeadFeatureExplanation(IFeatureModel fm, IFeature feature) {
+	public synchronized DeadFeatureExplanation getDeadFeatureExplanation(IFeatureModel fm, IFeature feature) {
 		if (!deadFeatureExplanations.containsKey(feature)) {
 			addDeadFeatureExplanation(fm, feature);
 		}
@@ -990,7 +991,7 @@ public class FeatureModelAnalyzer implements IEventListener {
 	 * @param feature potentially false-optional feature; not null
 	 * @return an explanation; null if it cannot be explained
 	 */
-	public FalseOptionalFeatureExplanation getFalseOptionalFeatureExplanation(IFeatureModel fm, IFeature feature) {
+	public synchronized FalseOptionalFeatureExplanation getFalseOptionalFeatureExplanation(IFeatureModel fm, IFeature feature) {
 		if (!falseOptionalFeatureExplanations.containsKey(feature)) {
 			addFalseOptionalFeatureExplanation(fm, feature);
 		}
@@ -1031,7 +1032,7 @@ public class FeatureModelAnalyzer implements IEventListener {
 	 * @param constraint potentially redundant constraint; not null
 	 * @return an explanation; null if it cannot be explained
 	 */
-	public RedundantConstraintExplanation getRedundantConstraintExplanation(IFeatureModel fm, IConstraint constraint) {
+	public synchronized RedundantConstraintExplanation getRedundantConstraintExplanation(IFeatureModel fm, IConstraint constraint) {
 		if (!redundantConstraintExplanations.containsKey(constraint)) {
 			addRedundantConstraintExplanation(fm, constraint);
 		}
@@ -1062,7 +1063,8 @@ public class FeatureModelAnalyzer implements IEventListener {
 	/**
 	 * Clears all explanations.
 	 */
-	public void clearExplanations() {
+	public synchronized void clearExplanations() {
+		explanationRevision++;
 		deadFeatureExplanations.clear();
 		falseOptionalFeatureExplanations.clear();
 		redundantConstraintExplanations.clear();
@@ -1072,6 +1074,73 @@ public class FeatureModelAnalyzer implements IEventListener {
 
 	}
 
+	/**
+	 * <p> Calculates the explanations for all dead features, false-optional features, and redundant constraints found by the last analysis at once. </p>
+	 *
+	 * <p> This is much faster than explaining each element on its own, as the elements share an incremental oracle. It is intended to be run in the
+	 * background after each analysis. If the explanations are cleared while calculating, the results are discarded. </p>
+	 *
+	 * @param monitor the monitor; not null
+	 */
+	public void calculateExplanations(IMonitor monitor) {
+		final long revision;
+		final MusFeatureModelExplanationsJob job = new MusFeatureModelExplanationsJob(fm);
+		synchronized (this) {
+			revision = explanationRevision;
+			if (Boolean.FALSE.equals(cachedValidity)) {
+				job.setDeadFeatures(Collections.singletonList(FeatureUtils.getRoot(fm)));
+			} else {
+				job.setDeadFeatures(filterUnexplained(cachedDeadFeatures, deadFeatureExplanations));
+				job.setFalseOptionalFeatures(filterUnexplained(cachedFalseOptionalFeatures, falseOptionalFeatureExplanations));
+				final List<IConstraint> redundantConstraints = new ArrayList<>();
+				for (final IConstraint constraint : fm.getConstraints()) {
+					if (constraint.getConstraintAttribute() == ConstraintAttribute.REDUNDANT) {
+						redundantConstraints.add(constraint);
+					}
+				}
+				job.setRedundantConstraints(filterUnexplained(redundantConstraints, redundantConstraintExplanations));
+			}
+		}
+		job.setMaxMusCount(maxExplanationMusCount);
+
+		final Map<IFeatureModelElement, FeatureModelExplanation<?>> explanations = LongRunningWrapper.runMethod(job, monitor);
+		if (explanations == null) {
+			return;
+		}
+		synchronized (this) {
+			if (revision != explanationRevision) {
+				return;
+			}
+			for (final Entry<IFeatureModelElement, FeatureModelExplanation<?>> entry : explanations.entrySet()) {
+				final FeatureModelExplanation<?> explanation = entry.getValue();
+				if (explanation instanceof DeadFeatureExplanation) {
+					deadFeatureExplanations.put((IFeature) entry.getKey(), (DeadFeatureExplanation) explanation);
+				} else if (explanation instanceof FalseOptionalFeatureExplanation) {
+					falseOptionalFeatureExplanations.put((IFeature) entry.getKey(), (FalseOptionalFeatureExplanation) explanation);
+				} else if (explanation instanceof RedundantConstraintExplanation) {
+					redundantConstraintExplanations.put((IConstraint) entry.getKey(), (RedundantConstraintExplanation) explanation);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the given elements without the ones that already have an explanation.
+	 *
+	 * @param elements the elements to filter; not null
+	 * @param explanations the remembered explanations; not null
+	 * @return the elements without an explanation
+	 */
+	private static <T> List<T> filterUnexplained(Collection<T> elements, Map<T, ?> explanations) {
+		final List<T> unexplained = new ArrayList<>(elements.size());
+		for (final T element : elements) {
+			if (!explanations.containsKey(element)) {
+				unexplained.add(element);
+			}
+		}
+		return unexplained;
+	}
+
 	public FeatureModelAnalyzer clone(IFeatureModel newFeatureModel) {
 		return new FeatureModelAnalyzer(this, newFeatureModel);
 	}
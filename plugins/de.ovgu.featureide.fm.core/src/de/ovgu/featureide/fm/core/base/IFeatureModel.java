@@ -753,6 +753,24 @@ public interface IFeatureModel extends Cloneable, IEventManager {
 	 */
 	long getNextElementId();
 
+	/**
+	 * Returns the modification counter of this feature model. The counter is increased by every change of the features, the feature structure, or the
+	 * constraints of this feature model, regardless of whether an event is fired for the change. Thus, data that is derived from the feature model (e.g.,
+	 * its CNF) can be identified by the value of the counter at the time of its creation.
+	 *
+	 * @see #incModificationCount()
+	 *
+	 * @return the current value of the modification counter
+	 */
+	long getModificationCount();
+
+	/**
+	 * Increases the modification counter of this feature model. Called by the feature model and its elements after each change.
+	 *
+	 * @see #getModificationCount()
+	 */
+	void incModificationCount();
+
 	/**
 	 * Overwrites the constraint stored in this feature model at position <code>index</code> with the constraint provided by the parameter
 	 * <code>constraint</code>.
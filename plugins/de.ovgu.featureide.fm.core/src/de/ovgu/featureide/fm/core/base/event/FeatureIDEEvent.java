@@ -176,6 +176,18 @@ public class FeatureIDEEvent {
 		 * so the feature model element does not have to look for it itself.
 		 */
 		ACTIVE_REASON_CHANGED,
+		/**
+		 * A role was added to an FSTModel.
+		 */
+		ROLE_ADDED,
+		/**
+		 * A role was removed from an FSTModel.
+		 */
+		ROLE_REMOVED,
+		/**
+		 * A role of an FSTModel was replaced, because the content of its file changed.
+		 */
+		ROLE_CHANGED,
 		/**
 		 * Default. Do nothing.
 		 */
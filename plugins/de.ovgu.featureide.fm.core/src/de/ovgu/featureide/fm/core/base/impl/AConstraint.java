@@ -190,6 +190,7 @@ public abstract class AConstraint extends AFeatureModelElement implements IConst
 	@Override
 	public void setNode(Node node) {
 		propNode = node;
+		featureModel.incModificationCount();
 	}
 
 	@Override
@@ -150,6 +150,7 @@ public abstract class AFeature extends AFeatureModelElement implements IFeature
 	public void setName(String name) {
 		final String oldName = this.name;
 		super.setName(name);
+		featureModel.incModificationCount();
 		fireEvent(new FeatureIDEEvent(this, EventType.FEATURE_NAME_CHANGED, oldName, name));
 	}
 
@@ -29,6 +29,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.prop4j.NodeWriter;
 
@@ -75,6 +76,18 @@ public class FeatureModel implements IFeatureModel {
 		return nextElementId++;
 	}
 
+	private final AtomicLong modificationCount = new AtomicLong();
+
+	@Override
+	public long getModificationCount() {
+		return modificationCount.get();
+	}
+
+	@Override
+	public void incModificationCount() {
+		modificationCount.incrementAndGet();
+	}
+
 	protected final String factoryID;
 
 	protected final FeatureModelAnalyzer analyser;
@@ -155,11 +168,13 @@ public class FeatureModel implements IFeatureModel {
 	@Override
 	public void addConstraint(IConstraint constraint) {
 		constraints.add(constraint);
+		incModificationCount();
 	}
 
 	@Override
 	public void addConstraint(IConstraint constraint, int index) {
 		constraints.add(index, constraint);
+		incModificationCount();
 	}
 
 	@Override
@@ -169,6 +184,7 @@ public class FeatureModel implements IFeatureModel {
 			return false;
 		}
 		featureTable.put(name.toString(), feature);
+		incModificationCount();
 		return true;
 	}
 
@@ -235,12 +251,14 @@ public class FeatureModel implements IFeatureModel {
 		parent.removeChild(feature.getStructure());
 		featureTable.remove(name);
 		featureOrderList.remove(name);
+		incModificationCount();
 		return true;
 	}
 
 	@Override
 	public void deleteFeatureFromTable(IFeature feature) {
 		featureTable.remove(feature.getName());
+		incModificationCount();
 	}
 
 	@Override
@@ -383,12 +401,13 @@ public class FeatureModel implements IFeatureModel {
 	@Override
 	public void removeConstraint(IConstraint constraint) {
 		constraints.remove(constraint);
+		incModificationCount();
 	}
 
 	@Override
 	public void removeConstraint(int index) {
 		constraints.remove(index);
-
+		incModificationCount();
 	}
 
 	@Override
@@ -397,6 +416,7 @@ public class FeatureModel implements IFeatureModel {
 			throw new NullPointerException();
 		}
 		constraints.set(index, constraint);
+		incModificationCount();
 	}
 
 	@Override
@@ -410,12 +430,14 @@ public class FeatureModel implements IFeatureModel {
 
 		property.reset();
 		nextElementId = 0;
+		incModificationCount();
 	}
 
 	@Override
 	public void setConstraints(Iterable<IConstraint> constraints) {
 		this.constraints.clear();
 		this.constraints.addAll(Functional.toList(constraints));
+		incModificationCount();
 	}
 
 	@Override
@@ -437,6 +459,7 @@ public class FeatureModel implements IFeatureModel {
 	public void setFeatureTable(Hashtable<String, IFeature> featureTable) {
 		this.featureTable.clear();
 		this.featureTable.putAll(featureTable);
+		incModificationCount();
 	}
 
 	@Override
@@ -530,6 +553,7 @@ public class FeatureModel implements IFeatureModel {
 	@Override
 	public void setConstraint(int index, IConstraint constraint) {
 		constraints.set(index, constraint);
+		incModificationCount();
 	}
 
 	@Override
@@ -98,11 +98,13 @@ public class FeatureStructure implements IFeatureStructure {
 			children.add(index, newChild);
 		}
 		newChild.setParent(this);
+		incModificationCount();
 	}
 
 	protected void addNewChild(IFeatureStructure newChild) {
 		children.add(newChild);
 		newChild.setParent(this);
+		incModificationCount();
 	}
 
 	@Override
@@ -112,6 +114,7 @@ public class FeatureStructure implements IFeatureStructure {
 		}
 		and = false;
 		multiple = false;
+		incModificationCount();
 		fireChildrenChanged();
 	}
 
@@ -119,6 +122,7 @@ public class FeatureStructure implements IFeatureStructure {
 	public void changeToAnd() {
 		and = true;
 		multiple = false;
+		incModificationCount();
 		fireChildrenChanged();
 	}
 
@@ -129,6 +133,7 @@ public class FeatureStructure implements IFeatureStructure {
 		}
 		and = false;
 		multiple = true;
+		incModificationCount();
 		fireChildrenChanged();
 	}
 
@@ -137,6 +142,13 @@ public class FeatureStructure implements IFeatureStructure {
 		return new FeatureStructure(this, newFeatureModel);
 	}
 
+	/**
+	 * Increases the modification counter of the feature model after a change of this structure.
+	 */
+	protected void incModificationCount() {
+		correspondingFeature.getFeatureModel().incModificationCount();
+	}
+
 	protected void fireAttributeChanged() {
 		final FeatureIDEEvent event = new FeatureIDEEvent(this, EventType.ATTRIBUTE_CHANGED);
 		correspondingFeature.fireEvent(event);
@@ -336,6 +348,7 @@ public class FeatureStructure implements IFeatureStructure {
 			throw new NoSuchElementException();
 		}
 		child.setParent(null);
+		incModificationCount();
 		fireChildrenChanged();
 	}
 
@@ -343,6 +356,7 @@ public class FeatureStructure implements IFeatureStructure {
 	public IFeatureStructure removeLastChild() {
 		final IFeatureStructure child = children.removeLast();
 		child.setParent(null);
+		incModificationCount();
 		fireChildrenChanged();
 		return child;
 	}
@@ -353,12 +367,14 @@ public class FeatureStructure implements IFeatureStructure {
 		children.set(index, newChild);
 		oldChild.setParent(null);
 		newChild.setParent(this);
+		incModificationCount();
 		fireChildrenChanged();
 	}
 
 	@Override
 	public void setAbstract(boolean value) {
 		concrete = !value;
+		incModificationCount();
 		fireAttributeChanged();
 	}
 
@@ -366,16 +382,19 @@ public class FeatureStructure implements IFeatureStructure {
 	public void setAlternative() {
 		and = false;
 		multiple = false;
+		incModificationCount();
 	}
 
 	@Override
 	public void setAnd() {
 		and = true;
+		incModificationCount();
 	}
 
 	@Override
 	public void setAND(boolean and) {
 		this.and = and;
+		incModificationCount();
 		fireChildrenChanged();
 	}
 
@@ -385,24 +404,28 @@ public class FeatureStructure implements IFeatureStructure {
 		for (final IFeatureStructure child : children) {
 			addNewChild(child);
 		}
+		incModificationCount();
 		fireChildrenChanged();
 	}
 
 	@Override
 	public void setHidden(boolean hid) {
 		hidden = hid;
+		incModificationCount();
 		fireHiddenChanged();
 	}
 
 	@Override
 	public void setMandatory(boolean mandatory) {
 		this.mandatory = mandatory;
+		incModificationCount();
 		fireMandatoryChanged();
 	}
 
 	@Override
 	public void setMultiple(boolean multiple) {
 		this.multiple = multiple;
+		incModificationCount();
 		fireChildrenChanged();
 	}
 
@@ -410,6 +433,7 @@ public class FeatureStructure implements IFeatureStructure {
 	public void setOr() {
 		and = false;
 		multiple = true;
+		incModificationCount();
 	}
 
 	@Override
@@ -418,6 +442,7 @@ public class FeatureStructure implements IFeatureStructure {
 			return;
 		}
 		parent = newParent;
+		incModificationCount();
 	}
 
 	@Override
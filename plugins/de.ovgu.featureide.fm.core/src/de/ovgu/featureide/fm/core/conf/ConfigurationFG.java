@@ -28,6 +28,8 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 
+import org.prop4j.analyses.FGBuilder;
+import org.prop4j.solver.SatInstance;
 import org.sat4j.specs.TimeoutException;
 
 import de.ovgu.featureide.fm.core.base.FeatureUtils;
@@ -40,6 +42,7 @@ import de.ovgu.featureide.fm.core.configuration.Configuration;
 import de.ovgu.featureide.fm.core.configuration.FeatureNotFoundException;
 import de.ovgu.featureide.fm.core.configuration.SelectableFeature;
 import de.ovgu.featureide.fm.core.configuration.Selection;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
 import de.ovgu.featureide.fm.core.functional.Functional;
 import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
@@ -63,6 +66,7 @@ public class ConfigurationFG extends Configuration {
 	public final static int PARAM_IGNOREABSTRACT = 0x02;
 	public final static int PARAM_PROPAGATE = 0x04;
 	public final static int PARAM_LAZY = 0x08;
+	public final static int PARAM_SPARSE = 0x10;
 
 	final ArrayList<SelectableFeature> features = new ArrayList<SelectableFeature>();
 	final Hashtable<String, SelectableFeature> table = new Hashtable<String, SelectableFeature>();
@@ -76,6 +80,18 @@ public class ConfigurationFG extends Configuration {
 	private final VariableConfiguration variableConfiguration;
 	private final ConfigurationChanger propagator;
 
+	/**
+	 * Creates a new configuration object and builds the corresponding feature graph.
+	 *
+	 * @param featureModel the corresponding feature model.
+	 * @param options one or more of:</br> &nbsp;&nbsp;&nbsp;{@link #PARAM_IGNOREABSTRACT},</br> &nbsp;&nbsp;&nbsp;{@link #PARAM_LAZY},</br>
+	 *        &nbsp;&nbsp;&nbsp;{@link #PARAM_PROPAGATE},</br> &nbsp;&nbsp;&nbsp;{@link #PARAM_SPARSE} (builds a {@link SparseFeatureGraph} instead of a
+	 *        {@link MatrixFeatureGraph})
+	 */
+	public ConfigurationFG(IFeatureModel featureModel, int options) {
+		this(featureModel, buildFeatureGraph(featureModel, (options & PARAM_SPARSE) != 0), options);
+	}
+
 	/**
 	 * Creates a new configuration object.
 	 *
@@ -110,6 +126,14 @@ public class ConfigurationFG extends Configuration {
 		}
 	}
 
+	private static IFeatureGraph buildFeatureGraph(IFeatureModel featureModel, boolean sparse) {
+		final SatInstance satInstance = new SatInstance(AdvancedNodeCreator.createRegularCNF(featureModel),
+				Functional.mapToList(featureModel.getFeatures(), FeatureUtils.GET_FEATURE_NAME));
+		final FGBuilder builder = new FGBuilder(satInstance);
+		builder.setSparse(sparse);
+		return LongRunningWrapper.runMethod(builder);
+	}
+
 	private void initFeatures(SelectableFeature sFeature, IFeature feature) {
 		if ((sFeature != null) && (sFeature.getName() != null)) {
 			features.add(sFeature);
@@ -0,0 +1,113 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.conf;
+
+import java.nio.ByteBuffer;
+
+import org.prop4j.solver.SatInstance;
+
+/**
+ * Feature graph whose adjacency matrix is stored in a {@link ByteBuffer}, typically a memory-mapped region of a file written by
+ * {@link de.ovgu.featureide.fm.core.io.BinaryFeatureGraphFormat}. Thus, the edges are only loaded on demand and not kept on the heap.<br/> <br/>
+ * If the buffer is read-only, it is copied to the heap before the first modification.<br/> <br/>
+ * When serialized, this graph is replaced by a {@link MatrixFeatureGraph} with the same edges. To persist large graphs, use
+ * {@link de.ovgu.featureide.fm.core.io.BinaryFeatureGraphFormat}.
+ */
+public class MappedFeatureGraph extends AFeatureGraph {
+
+	private static final long serialVersionUID = -4428911462208117096L;
+
+	private transient ByteBuffer adjMatrix;
+
+	public MappedFeatureGraph(SatInstance satInstance, int[] index, ByteBuffer adjMatrix) {
+		super(satInstance, index);
+		if (adjMatrix.capacity() < ((long) size * size)) {
+			throw new IllegalArgumentException("Buffer too small for " + size + " features.");
+		}
+		this.adjMatrix = adjMatrix;
+	}
+
+	/**
+	 * Replaces this graph by a {@link MatrixFeatureGraph} with the same edges when serialized, as the buffer itself cannot be serialized.
+	 *
+	 * @return a heap copy of this graph
+	 */
+	private Object writeReplace() {
+		final byte[] edges = new byte[size * size];
+		final ByteBuffer source = adjMatrix.duplicate();
+		source.clear();
+		source.get(edges);
+		return new MatrixFeatureGraph(satInstance, index, edges);
+	}
+
+	@Override
+	public void copyValues(IFeatureGraph otherGraph) {
+		super.copyValues(otherGraph);
+		final MappedFeatureGraph mappedGraph = (MappedFeatureGraph) otherGraph;
+		adjMatrix = mappedGraph.adjMatrix.duplicate();
+	}
+
+	@Override
+	public boolean setEdge(int from, int to, byte edgeType) {
+		if (from == to) {
+			return false;
+		}
+		final int index = (from * size) + to;
+
+		final byte oldValue = adjMatrix.get(index);
+		final byte newValue = mergeEdge(oldValue, edgeType);
+		if (oldValue == newValue) {
+			return false;
+		}
+		if (adjMatrix.isReadOnly()) {
+			final ByteBuffer copy = ByteBuffer.allocate(size * size);
+			final ByteBuffer source = adjMatrix.duplicate();
+			source.clear();
+			source.limit(size * size);
+			copy.put(source);
+			adjMatrix = copy;
+		}
+		adjMatrix.put(index, newValue);
+		return true;
+	}
+
+	@Override
+	public byte getEdge(int fromIndex, int toIndex) {
+		return adjMatrix.get((fromIndex * size) + toIndex);
+	}
+
+	@Override
+	public byte getValue(int fromIndex, int toIndex, boolean fromSelected) {
+		final byte edge = adjMatrix.get((fromIndex * size) + toIndex);
+		return (byte) (((fromSelected ? (edge >>> 4) : edge)) & 0x0000000f);
+	}
+
+	@Override
+	public byte getValueInternal(int fromIndex, int toIndex, boolean fromSelected) {
+		final int internalFrom = index[fromIndex];
+		final int internalTo = index[toIndex];
+		if ((internalFrom < 0) || (internalTo < 0)) {
+			return -1;
+		}
+		return getValue(internalFrom, internalTo, fromSelected);
+	}
+
+}
@@ -0,0 +1,222 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.conf;
+
+import java.util.Arrays;
+
+import org.prop4j.solver.SatInstance;
+
+/**
+ * Feature graph that only stores existing edges.<br/> Each row holds a sorted array of entries, where every entry packs the index of the target node
+ * (upper 24 bits) and the edge type (lower 8 bits) into a single int. Thus, the memory consumption is proportional to the number of edges instead of
+ * the square of the number of nodes, while lookups use a binary search on the row.
+ */
+public class SparseFeatureGraph extends AFeatureGraph {
+
+	private static final long serialVersionUID = -2319580911203421563L;
+
+	/**
+	 * Maximum number of nodes that can be encoded in the upper bits of an entry.
+	 */
+	public static final int MAX_SIZE = 1 << 24;
+
+	private static final int[] EMPTY_ROW = new int[0];
+
+	private int[][] rows;
+	private int[] rowLengths;
+
+	public SparseFeatureGraph(SatInstance satInstance, int[] index) {
+		super(satInstance, index);
+		if (size > MAX_SIZE) {
+			throw new IllegalArgumentException("Too many features for a sparse feature graph: " + size);
+		}
+		rows = new int[size][];
+		Arrays.fill(rows, EMPTY_ROW);
+		rowLengths = new int[size];
+	}
+
+	public SparseFeatureGraph() {
+		super();
+	}
+
+	@Override
+	public void copyValues(IFeatureGraph otherGraph) {
+		super.copyValues(otherGraph);
+		final SparseFeatureGraph sparseGraph = (SparseFeatureGraph) otherGraph;
+		rows = new int[size][];
+		rowLengths = Arrays.copyOf(sparseGraph.rowLengths, size);
+		for (int i = 0; i < size; i++) {
+			rows[i] = Arrays.copyOf(sparseGraph.rows[i], rowLengths[i]);
+		}
+	}
+
+	@Override
+	public boolean setEdge(int from, int to, byte edgeType) {
+		if (from == to) {
+			return false;
+		}
+		final int[] row = rows[from];
+		final int rowLength = rowLengths[from];
+		final int position = find(row, rowLength, to);
+
+		final byte oldValue = (position >= 0) ? getEdgeType(row[position]) : EDGE_NONE;
+		final byte newValue = mergeEdge(oldValue, edgeType);
+		if (oldValue == newValue) {
+			return false;
+		}
+
+		if (position >= 0) {
+			if (newValue == EDGE_NONE) {
+				System.arraycopy(row, position + 1, row, position, rowLength - position - 1);
+				rowLengths[from]--;
+			} else {
+				row[position] = toEntry(to, newValue);
+			}
+		} else {
+			final int insertPosition = -(position + 1);
+			final int[] newRow;
+			if (rowLength == row.length) {
+				newRow = new int[Math.max(4, rowLength + (rowLength >> 1))];
+				System.arraycopy(row, 0, newRow, 0, insertPosition);
+				rows[from] = newRow;
+			} else {
+				newRow = row;
+			}
+			System.arraycopy(row, insertPosition, newRow, insertPosition + 1, rowLength - insertPosition);
+			newRow[insertPosition] = toEntry(to, newValue);
+			rowLengths[from]++;
+		}
+		return true;
+	}
+
+	@Override
+	public byte getEdge(int fromIndex, int toIndex) {
+		final int position = find(rows[fromIndex], rowLengths[fromIndex], toIndex);
+		return (position >= 0) ? getEdgeType(rows[fromIndex][position]) : EDGE_NONE;
+	}
+
+	@Override
+	public byte getValue(int fromIndex, int toIndex, boolean fromSelected) {
+		final byte edge = getEdge(fromIndex, toIndex);
+		return (byte) (((fromSelected ? (edge >>> 4) : edge)) & 0x0000000f);
+	}
+
+	@Override
+	public byte getValueInternal(int fromIndex, int toIndex, boolean fromSelected) {
+		final int internalFrom = index[fromIndex];
+		final int internalTo = index[toIndex];
+		if ((internalFrom < 0) || (internalTo < 0)) {
+			return -1;
+		}
+		return getValue(internalFrom, internalTo, fromSelected);
+	}
+
+	/**
+	 * Returns the number of edges starting at the given node.
+	 *
+	 * @param fromIndex the internal index of the node
+	 * @return the number of outgoing edges
+	 */
+	public int getNumberOfEdges(int fromIndex) {
+		return rowLengths[fromIndex];
+	}
+
+	/**
+	 * Returns the target of an outgoing edge.
+	 *
+	 * @param fromIndex the internal index of the node
+	 * @param position the position of the edge in the row ({@code 0 <= position < }{@link #getNumberOfEdges(int)})
+	 * @return the internal index of the target node
+	 */
+	public int getEdgeTarget(int fromIndex, int position) {
+		return rows[fromIndex][position] >>> 8;
+	}
+
+	/**
+	 * Returns the type of an outgoing edge.
+	 *
+	 * @param fromIndex the internal index of the node
+	 * @param position the position of the edge in the row ({@code 0 <= position < }{@link #getNumberOfEdges(int)})
+	 * @return the edge type
+	 */
+	public byte getEdgeType(int fromIndex, int position) {
+		return getEdgeType(rows[fromIndex][position]);
+	}
+
+	/**
+	 * Replaces all outgoing edges of a node.
+	 *
+	 * @param fromIndex the internal index of the node
+	 * @param targets the internal indices of the target nodes in ascending order
+	 * @param edgeTypes the edge types (same length as {@code targets})
+	 */
+	public void setRow(int fromIndex, int[] targets, byte[] edgeTypes) {
+		final int[] row = new int[targets.length];
+		int lastTarget = -1;
+		for (int i = 0; i < targets.length; i++) {
+			final int target = targets[i];
+			if ((target <= lastTarget) || (target >= size) || (target == fromIndex)) {
+				throw new IllegalArgumentException("Invalid edge target " + target + " for node " + fromIndex);
+			}
+			row[i] = toEntry(target, edgeTypes[i]);
+			lastTarget = target;
+		}
+		rows[fromIndex] = (row.length == 0) ? EMPTY_ROW : row;
+		rowLengths[fromIndex] = row.length;
+	}
+
+	/**
+	 * Shrinks all rows to their actual length.
+	 */
+	public void trimToSize() {
+		for (int i = 0; i < size; i++) {
+			if (rows[i].length > rowLengths[i]) {
+				rows[i] = (rowLengths[i] == 0) ? EMPTY_ROW : Arrays.copyOf(rows[i], rowLengths[i]);
+			}
+		}
+	}
+
+	private static int toEntry(int to, byte edgeType) {
+		return (to << 8) | (edgeType & 0x000000ff);
+	}
+
+	private static byte getEdgeType(int entry) {
+		return (byte) entry;
+	}
+
+	private static int find(int[] row, int rowLength, int to) {
+		int low = 0;
+		int high = rowLength - 1;
+		while (low <= high) {
+			final int mid = (low + high) >>> 1;
+			final int midTo = row[mid] >>> 8;
+			if (midTo < to) {
+				low = mid + 1;
+			} else if (midTo > to) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -(low + 1);
+	}
+
+}
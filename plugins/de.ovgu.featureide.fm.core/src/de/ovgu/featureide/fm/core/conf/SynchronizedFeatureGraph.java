@@ -0,0 +1,91 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.conf;
+
+import org.prop4j.solver.SatInstance;
+
+/**
+ * Decorator for an {@link IFeatureGraph} object that provides synchronized access to the edges of the graph. Thus, multiple threads can read and add
+ * edges at the same time.
+ */
+public class SynchronizedFeatureGraph implements IFeatureGraph {
+
+	private static final long serialVersionUID = 4217302624467470530L;
+
+	private final IFeatureGraph featureGraph;
+
+	public SynchronizedFeatureGraph(IFeatureGraph featureGraph) {
+		this.featureGraph = featureGraph;
+	}
+
+	/**
+	 * @return the decorated feature graph
+	 */
+	public IFeatureGraph getFeatureGraph() {
+		return featureGraph;
+	}
+
+	@Override
+	public synchronized boolean setEdge(int from, int to, byte edgeType) {
+		return featureGraph.setEdge(from, to, edgeType);
+	}
+
+	@Override
+	public synchronized byte getEdge(int fromIndex, int toIndex) {
+		return featureGraph.getEdge(fromIndex, toIndex);
+	}
+
+	@Override
+	public synchronized byte getValue(int fromIndex, int toIndex, boolean fromSelected) {
+		return featureGraph.getValue(fromIndex, toIndex, fromSelected);
+	}
+
+	@Override
+	public synchronized byte getValueInternal(int fromIndex, int toIndex, boolean fromSelected) {
+		return featureGraph.getValueInternal(fromIndex, toIndex, fromSelected);
+	}
+
+	@Override
+	public synchronized void copyValues(IFeatureGraph otherGraph) {
+		featureGraph.copyValues(otherGraph);
+	}
+
+	@Override
+	public int getSize() {
+		return featureGraph.getSize();
+	}
+
+	@Override
+	public int[] getIndex() {
+		return featureGraph.getIndex();
+	}
+
+	@Override
+	public SatInstance getSatInstance() {
+		return featureGraph.getSatInstance();
+	}
+
+	@Override
+	public int getFeatureIndex(String name) {
+		return featureGraph.getFeatureIndex(name);
+	}
+
+}
@@ -32,6 +32,15 @@ public abstract class AWorkerThread<T> implements Runnable {
 		NUMBER_OF_THREADS = (processors == 1) ? processors : processors >> 1;
 	}
 
+	/**
+	 * Returns the number of threads that is used if no explicit number is given.
+	 *
+	 * @return half the number of available processors, but at least one
+	 */
+	public static int getDefaultNumberOfThreads() {
+		return NUMBER_OF_THREADS;
+	}
+
 	private final MasterThread<T> masterThread;
 
 	public AWorkerThread(AWorkerThread<T> oldWorker) {
@@ -20,6 +20,7 @@
  */
 package de.ovgu.featureide.fm.core.configuration;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -346,6 +347,19 @@ public class Configuration implements Cloneable {
 		return LongRunningWrapper.runMethod(propagator.number(timeout, includeHiddenFeatures));
 	}
 
+	/**
+	 * Counts the exact number of possible solutions. In contrast to {@link #number(long, boolean)}, the result is not limited to the range of {@code long}.
+	 *
+	 * @param timeout Timeout in milliseconds.
+	 * @param includeHiddenFeatures {@code true} if hidden feature should be considered, {@code false} otherwise
+	 *
+	 * @return a positive value equal to the number of solutions (if the method terminated in time)</br> or a negative value (if a timeout occured) that
+	 *         indicates that there are more solutions than the absolute value
+	 */
+	public BigInteger exactNumber(long timeout, boolean includeHiddenFeatures) {
+		return LongRunningWrapper.runMethod(propagator.exactNumber(timeout, includeHiddenFeatures));
+	}
+
 	public void resetValues() {
 		for (final SelectableFeature feature : features) {
 			feature.setManual(Selection.UNDEFINED);
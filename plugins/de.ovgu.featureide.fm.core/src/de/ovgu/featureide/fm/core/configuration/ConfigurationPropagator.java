@@ -20,6 +20,7 @@
  */
 package de.ovgu.featureide.fm.core.configuration;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -35,10 +36,13 @@ import org.prop4j.analyses.AbstractAnalysis;
 import org.prop4j.analyses.ConditionallyCoreDeadAnalysis;
 import org.prop4j.analyses.CountSolutionAnalysis;
 import org.prop4j.analyses.CoverAnalysis;
+import org.prop4j.analyses.DDNNFCompiler;
 import org.prop4j.analyses.GetSolutionAnalysis;
+import org.prop4j.analyses.IncrementalConditionallyCoreDeadAnalysis;
 import org.prop4j.analyses.RedundantAnalysis;
 import org.prop4j.analyses.ResolveAnalysis;
 import org.prop4j.solver.BasicSolver;
+import org.prop4j.solver.DDNNF;
 import org.prop4j.solver.ISatSolver.SatResult;
 import org.prop4j.solver.SatInstance;
 import org.sat4j.specs.ContradictionException;
@@ -50,6 +54,7 @@ import de.ovgu.featureide.fm.core.base.FeatureUtils;
 import de.ovgu.featureide.fm.core.base.IFeature;
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
 import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+import de.ovgu.featureide.fm.core.editing.CNFCache;
 import de.ovgu.featureide.fm.core.filter.AbstractFeatureFilter;
 import de.ovgu.featureide.fm.core.filter.HiddenFeatureFilter;
 import de.ovgu.featureide.fm.core.filter.base.IFilter;
@@ -204,8 +209,29 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 
 		@Override
 		public Long execute(IMonitor monitor) {
+			final BigInteger result = new CountExactSolutionsMethod(timeout, includeHiddenFeatures).execute(monitor);
+			return result.bitLength() < Long.SIZE ? result.longValue() : Long.MIN_VALUE;
+		}
+	}
+
+	/**
+	 * Counts the number of solutions using a {@link DDNNF d-DNNF} of the feature model. The d-DNNF is compiled once and reused for all further counts. If
+	 * the compilation does not finish in time, the solutions are enumerated instead.
+	 */
+	public class CountExactSolutionsMethod implements LongRunningMethod<BigInteger> {
+
+		private final long timeout;
+		private final boolean includeHiddenFeatures;
+
+		public CountExactSolutionsMethod(long timeout, boolean includeHiddenFeatures) {
+			this.timeout = timeout;
+			this.includeHiddenFeatures = includeHiddenFeatures;
+		}
+
+		@Override
+		public BigInteger execute(IMonitor monitor) {
 			if (rootNode == null) {
-				return 0L;
+				return BigInteger.ZERO;
 			}
 			final List<Literal> definedFeatures = new ArrayList<>();
 
@@ -216,10 +242,15 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 			}
 
 			final SatInstance node = includeHiddenFeatures ? rootNode : rootNodeWithoutHidden;
+			final DDNNF ddnnf = getDDNNF(includeHiddenFeatures, timeout);
+			if (ddnnf != null) {
+				return ddnnf.countSolutions(node.convertToInt(definedFeatures));
+			}
+
 			final CountSolutionAnalysis analysis = new CountSolutionAnalysis(node, timeout);
 			analysis.setAssumptions(node.convertToInt(definedFeatures));
 			final Long result = LongRunningWrapper.runMethod(analysis);
-			return result == null ? 0 : result;
+			return result == null ? BigInteger.ZERO : BigInteger.valueOf(result);
 		}
 	}
 
@@ -480,6 +511,26 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 		}
 	}
 
+	/**
+	 * Gets the sat instance for a node creator from the {@link CNFCache}.
+	 */
+	private static final class CreateSatInstanceMethod implements LongRunningMethod<SatInstance> {
+
+		private final AdvancedNodeCreator nodeCreator;
+		private final List<String> variables;
+
+		private CreateSatInstanceMethod(AdvancedNodeCreator nodeCreator, List<String> variables) {
+			this.nodeCreator = nodeCreator;
+			this.variables = variables;
+		}
+
+		@Override
+		public SatInstance execute(IMonitor monitor) throws Exception {
+			return CNFCache.getInstance().getSatInstance(nodeCreator, variables, monitor);
+		}
+
+	}
+
 	public class LoadMethod implements LongRunningMethod<Void> {
 
 		@Override
@@ -507,8 +558,11 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 			nodeCreator1.setIncludeBooleanValues(false);
 			nodeCreator2.setIncludeBooleanValues(false);
 
-			final IRunner<Node> buildThread1 = LongRunningWrapper.getThread(nodeCreator1);
-			final IRunner<Node> buildThread2 = LongRunningWrapper.getThread(nodeCreator2);
+			final Iterable<IFeature> features = featureModel.getFeatures();
+			final IRunner<SatInstance> buildThread1 = LongRunningWrapper.getThread(new CreateSatInstanceMethod(nodeCreator1,
+					Functional.mapToList(features, new InverseFilter<>(filter1), FeatureUtils.GET_FEATURE_NAME)));
+			final IRunner<SatInstance> buildThread2 = LongRunningWrapper.getThread(new CreateSatInstanceMethod(nodeCreator2,
+					Functional.mapToList(features, filter2 == null ? null : new InverseFilter<>(filter2), FeatureUtils.GET_FEATURE_NAME)));
 
 			buildThread1.schedule();
 			buildThread2.schedule();
@@ -520,11 +574,8 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 				throw new MethodCancelException();
 			}
 
-			final Iterable<IFeature> features = featureModel.getFeatures();
-			rootNodeWithoutHidden =
-				new SatInstance(buildThread1.getResults(), Functional.mapToList(features, new InverseFilter<>(filter1), FeatureUtils.GET_FEATURE_NAME));
-			rootNode = new SatInstance(buildThread2.getResults(),
-					Functional.mapToList(features, filter2 == null ? null : new InverseFilter<>(filter2), FeatureUtils.GET_FEATURE_NAME));
+			rootNodeWithoutHidden = buildThread1.getResults();
+			rootNode = buildThread2.getResults();
 			return null;
 		}
 
@@ -568,10 +619,19 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 			workMonitor.setRemainingWork(manualLiterals.size() + 1);
 			Collections.reverse(manualLiterals);
 
-			final ConditionallyCoreDeadAnalysis analysis = new ConditionallyCoreDeadAnalysis(rootNode);
 			final int[] intLiterals = rootNode.convertToInt(manualLiterals);
-			analysis.setAssumptions(intLiterals);
-			final int[] impliedFeatures = LongRunningWrapper.runMethod(analysis, workMonitor.subTask(1));
+			final int[] impliedFeatures;
+			if (isIncremental()) {
+				final IncrementalConditionallyCoreDeadAnalysis analysis = getIncrementalAnalysis();
+				synchronized (analysis) {
+					analysis.setAssumptions(intLiterals);
+					impliedFeatures = LongRunningWrapper.runMethod(analysis, workMonitor.subTask(1));
+				}
+			} else {
+				final ConditionallyCoreDeadAnalysis analysis = new ConditionallyCoreDeadAnalysis(rootNode);
+				analysis.setAssumptions(intLiterals);
+				impliedFeatures = LongRunningWrapper.runMethod(analysis, workMonitor.subTask(1));
+			}
 
 			// if there is a contradiction within the configuration
 			if (impliedFeatures == null) {
@@ -642,6 +702,21 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 
 	private SatInstance rootNode = null, rootNodeWithoutHidden = null;
 
+	/**
+	 * Compiled forms of {@link #rootNode} and {@link #rootNodeWithoutHidden}. Created lazily when counting solutions.
+	 */
+	private DDNNF ddnnf = null, ddnnfWithoutHidden = null;
+	/**
+	 * The largest timeout for which the compilation of the respective d-DNNF failed (to avoid repeating the same compilation).
+	 */
+	private long ddnnfFailedTimeout = -1, ddnnfWithoutHiddenFailedTimeout = -1;
+
+	/**
+	 * Whether {@link UpdateMethod} reuses the solver and the results of the previous update.
+	 */
+	private boolean incremental = true;
+	private IncrementalConditionallyCoreDeadAnalysis incrementalAnalysis = null;
+
 	/**
 	 * This method creates a clone of the given {@link ConfigurationPropagator}
 	 *
@@ -660,6 +735,59 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 		if (propagator.isLoaded()) {
 			rootNode = propagator.rootNode;
 			rootNodeWithoutHidden = propagator.rootNodeWithoutHidden;
+			synchronized (propagator) {
+				ddnnf = propagator.ddnnf;
+				ddnnfWithoutHidden = propagator.ddnnfWithoutHidden;
+				ddnnfFailedTimeout = propagator.ddnnfFailedTimeout;
+				ddnnfWithoutHiddenFailedTimeout = propagator.ddnnfWithoutHiddenFailedTimeout;
+			}
+		}
+		synchronized (propagator) {
+			incremental = propagator.incremental;
+		}
+	}
+
+	private synchronized IncrementalConditionallyCoreDeadAnalysis getIncrementalAnalysis() {
+		if (incrementalAnalysis == null) {
+			incrementalAnalysis = new IncrementalConditionallyCoreDeadAnalysis(rootNode);
+		}
+		return incrementalAnalysis;
+	}
+
+	public synchronized boolean isIncremental() {
+		return incremental;
+	}
+
+	/**
+	 * Sets whether updates are computed incrementally. If enabled, {@link #update()} keeps one solver together with the implied features of the last update
+	 * and only tests features whose status may have changed due to the changed manual selections.
+	 *
+	 * @param incremental {@code true} for incremental updates (default), {@code false} to recompute all features on every update
+	 */
+	public synchronized void setIncremental(boolean incremental) {
+		this.incremental = incremental;
+		if (!incremental) {
+			incrementalAnalysis = null;
+		}
+	}
+
+	private synchronized DDNNF getDDNNF(boolean includeHiddenFeatures, long timeout) {
+		if (includeHiddenFeatures) {
+			if ((ddnnf == null) && (timeout > ddnnfFailedTimeout)) {
+				ddnnf = LongRunningWrapper.runMethod(new DDNNFCompiler(rootNode, timeout));
+				if (ddnnf == null) {
+					ddnnfFailedTimeout = timeout;
+				}
+			}
+			return ddnnf;
+		} else {
+			if ((ddnnfWithoutHidden == null) && (timeout > ddnnfWithoutHiddenFailedTimeout)) {
+				ddnnfWithoutHidden = LongRunningWrapper.runMethod(new DDNNFCompiler(rootNodeWithoutHidden, timeout));
+				if (ddnnfWithoutHidden == null) {
+					ddnnfWithoutHiddenFailedTimeout = timeout;
+				}
+			}
+			return ddnnfWithoutHidden;
 		}
 	}
 
@@ -737,6 +865,16 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 		return new CountSolutionsMethod(timeout, includeHiddenFeatures);
 	}
 
+	/**
+	 * Counts the exact number of possible solutions.
+	 *
+	 * @return the number of solutions (if the method terminated in time)</br> or a negative value (if a timeout occurred) that indicates that there are
+	 *         more solutions than the absolute value
+	 */
+	public CountExactSolutionsMethod exactNumber(long timeout, boolean includeHiddenFeatures) {
+		return new CountExactSolutionsMethod(timeout, includeHiddenFeatures);
+	}
+
 	@Override
 	public UpdateMethod update(boolean redundantManual, List<SelectableFeature> featureOrder) {
 		return new UpdateMethod(redundantManual, featureOrder);
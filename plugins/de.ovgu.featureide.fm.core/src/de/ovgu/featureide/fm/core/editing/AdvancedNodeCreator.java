@@ -24,21 +24,25 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
 
 import org.prop4j.And;
 import org.prop4j.Literal;
 import org.prop4j.Node;
 import org.prop4j.Not;
 import org.prop4j.Or;
+import org.prop4j.solver.SatInstance;
 
 import de.ovgu.featureide.fm.core.base.FeatureUtils;
 import de.ovgu.featureide.fm.core.base.IConstraint;
 import de.ovgu.featureide.fm.core.base.IFeature;
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
 import de.ovgu.featureide.fm.core.base.IFeatureStructure;
+import de.ovgu.featureide.fm.core.editing.cnf.ClauseStore;
 import de.ovgu.featureide.fm.core.editing.remove.FeatureRemover;
 import de.ovgu.featureide.fm.core.filter.base.IFilter;
 import de.ovgu.featureide.fm.core.functional.Functional;
@@ -415,6 +419,148 @@ public class AdvancedNodeCreator implements LongRunningMethod<Node> {
 		return new And(new Node[0]);
 	}
 
+	/**
+	 * Creates a {@link SatInstance} for the current settings.<br> If possible, the clauses are written directly into a {@link ClauseStore} as integer
+	 * literals, without creating {@link Node nodes} for the feature tree. Removing features, recording the trace model, and including boolean values require
+	 * the node representation. In these cases, the instance is created from {@link #createNodes()}. The same holds if the model contains a variable that is
+	 * not contained in the given variables (e.g., in a constraint), as only the node representation can keep such a variable.
+	 *
+	 * @param variables the variables of the instance, usually the names of all features
+	 * @return the sat instance
+	 */
+	public SatInstance createSatInstance(Collection<?> variables) {
+		return createSatInstance(variables, new NullMonitor());
+	}
+
+	public SatInstance createSatInstance(Collection<?> variables, IMonitor monitor) {
+		if ((featureModel == null) || (cnfType == CNFType.None) || includeBooleanValues || isRecordingTraceModel()
+				|| ((excludedFeatureNames != null) && !excludedFeatureNames.isEmpty())) {
+			return new SatInstance(createNodes(monitor), variables);
+		}
+
+		final Map<Object, Integer> variableIndex = new HashMap<>();
+		int index = 0;
+		for (final Object variable : variables) {
+			variableIndex.put(variable.toString(), ++index);
+		}
+
+		final int numberOfFeatures = featureModel.getNumberOfFeatures();
+		final ClauseStore clauses = new ClauseStore(numberOfFeatures * 2, numberOfFeatures * 4);
+		switch (modelType) {
+		case All:
+			createStructuralClauses(clauses, variableIndex);
+			createConstraintClauses(clauses, variableIndex);
+			break;
+		case OnlyConstraints:
+			createConstraintClauses(clauses, variableIndex);
+			break;
+		case OnlyStructure:
+			createStructuralClauses(clauses, variableIndex);
+			break;
+		default:
+			break;
+		}
+		for (int i = 0; i < clauses.getNumberOfLiterals(); i++) {
+			if (clauses.getLiteral(i) == 0) {
+				return new SatInstance(createNodes(monitor), variables);
+			}
+		}
+		clauses.trimToSize();
+		return new SatInstance(clauses, variables);
+	}
+
+	/**
+	 * Writes the same clauses as {@link #createStructuralNodes()}.
+	 */
+	private void createStructuralClauses(ClauseStore clauses, Map<Object, Integer> variableIndex) {
+		final IFeature root = FeatureUtils.getRoot(featureModel);
+		if (root == null) {
+			return;
+		}
+		if (!optionalRoot) {
+			clauses.addClause(getLiteral(root, true, variableIndex));
+		}
+
+		for (final IFeature feature : featureModel.getFeatures()) {
+			final IFeatureStructure structure = feature.getStructure();
+			final int positiveParent = getLiteral(feature, true, variableIndex);
+			for (final IFeatureStructure child : structure.getChildren()) {
+				clauses.addClause(positiveParent, getLiteral(child.getFeature(), false, variableIndex));
+			}
+
+			if (structure.hasChildren()) {
+				if (structure.isAnd()) {
+					for (final IFeatureStructure child : structure.getChildren()) {
+						if (child.isMandatory()) {
+							clauses.addClause(getLiteral(child.getFeature(), true, variableIndex), -positiveParent);
+						}
+					}
+				} else if (structure.isOr() || structure.isAlternative()) {
+					for (final IFeatureStructure child : structure.getChildren()) {
+						clauses.addLiteral(getLiteral(child.getFeature(), true, variableIndex));
+					}
+					clauses.addLiteral(-positiveParent);
+					clauses.closeClause();
+
+					if (structure.isAlternative()) {
+						final List<IFeatureStructure> children = structure.getChildren();
+						for (int i = 0; i < children.size(); i++) {
+							final int negativeSibling1 = getLiteral(children.get(i).getFeature(), false, variableIndex);
+							for (int j = i + 1; j < children.size(); j++) {
+								clauses.addClause(negativeSibling1, getLiteral(children.get(j).getFeature(), false, variableIndex));
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Writes the same clauses as {@link #createConstraintNodes()}.
+	 */
+	private void createConstraintClauses(ClauseStore clauses, Map<Object, Integer> variableIndex) {
+		for (final IConstraint constraint : featureModel.getConstraints()) {
+			final Node cnfNode = constraint.getNode().toCNF();
+			if (cnfNode instanceof And) {
+				for (final Node andChild : cnfNode.getChildren()) {
+					addClause(clauses, andChild, variableIndex);
+				}
+			} else {
+				addClause(clauses, cnfNode, variableIndex);
+			}
+		}
+	}
+
+	private void addClause(ClauseStore clauses, Node clause, Map<Object, Integer> variableIndex) {
+		if (clause instanceof Literal) {
+			clauses.addLiteral(getLiteral((Literal) clause, variableIndex));
+		} else {
+			for (final Node literal : clause.getChildren()) {
+				clauses.addLiteral(getLiteral((Literal) literal, variableIndex));
+			}
+		}
+		clauses.closeClause();
+	}
+
+	private int getLiteral(IFeature feature, boolean positive, Map<Object, Integer> variableIndex) {
+		final int variable = getVariableIndex(getVariable(feature), variableIndex);
+		return positive ? variable : -variable;
+	}
+
+	private int getLiteral(Literal literal, Map<Object, Integer> variableIndex) {
+		final int variable = getVariableIndex(literal.var, variableIndex);
+		return literal.positive ? variable : -variable;
+	}
+
+	/**
+	 * @return the index of the variable or 0 if the variable is unknown
+	 */
+	private int getVariableIndex(Object variable, Map<Object, Integer> variableIndex) {
+		final Integer index = variableIndex.get(variable);
+		return (index == null) ? 0 : index;
+	}
+
 	private Literal getLiteral(IFeature feature, boolean positive) {
 		return new Literal(getVariable(feature), positive);
 	}
@@ -457,6 +603,10 @@ public class AdvancedNodeCreator implements LongRunningMethod<Node> {
 		this.cnfType = cnfType;
 	}
 
+	public boolean useOldNames() {
+		return useOldNames;
+	}
+
 	public void setUseOldNames(boolean useOldNames) {
 		this.useOldNames = useOldNames;
 	}
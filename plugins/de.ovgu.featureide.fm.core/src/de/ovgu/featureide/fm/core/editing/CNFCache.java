@@ -0,0 +1,338 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.editing;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.prop4j.Node;
+import org.prop4j.solver.SatInstance;
+
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.event.FeatureIDEEvent;
+import de.ovgu.featureide.fm.core.base.event.FeatureIDEEvent.EventType;
+import de.ovgu.featureide.fm.core.base.event.IEventListener;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
+
+/**
+ * Caches the formulas created by {@link AdvancedNodeCreator} for all analyses.<br> Entries are identified by the feature model instance, the
+ * {@link IFeatureModel#getModificationCount() modification counter} of the feature model, and the options of the node creator. Thus, every change of the
+ * features, the structure, or the constraints discards the cached formulas, even if no event is fired. Additionally, the formulas are discarded by every
+ * {@link FeatureIDEEvent} that changes the formula of the feature model and by {@link #invalidate(IFeatureModel)}.<br> <br> The cached objects are shared
+ * and must not be modified by the caller. Feature models are only weakly referenced.
+ */
+public final class CNFCache {
+
+	private static final CNFCache INSTANCE = new CNFCache();
+
+	public static CNFCache getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Returns whether the given event type changes the formula of a feature model.
+	 *
+	 * @param eventType the event type
+	 * @return {@code true} if formulas of the feature model must be recreated
+	 */
+	public static boolean changesFormula(EventType eventType) {
+		switch (eventType) {
+		case ALL_FEATURES_CHANGED_NAME_TYPE: // Required because feature names are used as variable names.
+		case CHILDREN_CHANGED:
+		case CONSTRAINT_ADD:
+		case CONSTRAINT_DELETE:
+		case CONSTRAINT_MODIFY:
+		case FEATURE_ADD:
+		case FEATURE_ADD_ABOVE:
+		case FEATURE_DELETE:
+		case FEATURE_MODIFY:
+		case FEATURE_NAME_CHANGED: // Required because feature names are used as variable names.
+		case GROUP_TYPE_CHANGED:
+		case HIDDEN_CHANGED:
+		case MANDATORY_CHANGED:
+		case MODEL_DATA_CHANGED:
+		case MODEL_DATA_LOADED:
+		case MODEL_DATA_OVERRIDDEN:
+		case PARENT_CHANGED:
+		case STRUCTURE_CHANGED:
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Weak reference to a feature model that uses the identity of the feature model. Clones of a feature model are equal to the original, but can be changed
+	 * independently.
+	 */
+	private static final class ModelReference extends WeakReference<IFeatureModel> {
+
+		private final int hashCode;
+
+		private ModelReference(IFeatureModel featureModel, ReferenceQueue<IFeatureModel> queue) {
+			super(featureModel, queue);
+			hashCode = System.identityHashCode(featureModel);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof ModelReference)) {
+				return false;
+			}
+			final IFeatureModel featureModel = get();
+			return (featureModel != null) && (featureModel == ((ModelReference) obj).get());
+		}
+
+	}
+
+	/**
+	 * The options of a node creator and, for sat instances, the list of variables.
+	 */
+	private static final class Key {
+
+		private final AdvancedNodeCreator.CNFType cnfType;
+		private final AdvancedNodeCreator.ModelType modelType;
+		private final boolean includeBooleanValues;
+		private final boolean useOldNames;
+		private final boolean optionalRoot;
+		private final List<String> excludedFeatureNames;
+		private final List<Object> variables;
+
+		private Key(AdvancedNodeCreator nodeCreator, Collection<?> variables) {
+			cnfType = nodeCreator.getCnfType();
+			modelType = nodeCreator.getModelType();
+			includeBooleanValues = nodeCreator.includeBooleanValues();
+			useOldNames = nodeCreator.useOldNames();
+			optionalRoot = nodeCreator.optionalRoot();
+			final Collection<String> excluded = nodeCreator.getExcludedFeatureNames();
+			excludedFeatureNames = excluded == null ? new ArrayList<String>(0) : new ArrayList<>(excluded);
+			this.variables = variables == null ? null : new ArrayList<Object>(variables);
+		}
+
+		@Override
+		public int hashCode() {
+			int result = (31 * cnfType.hashCode()) + modelType.hashCode();
+			result = (31 * result) + (includeBooleanValues ? 1 : 0);
+			result = (31 * result) + (useOldNames ? 1 : 0);
+			result = (31 * result) + (optionalRoot ? 1 : 0);
+			result = (31 * result) + excludedFeatureNames.hashCode();
+			result = (31 * result) + (variables == null ? 0 : variables.hashCode());
+			return result;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if ((obj == null) || (getClass() != obj.getClass())) {
+				return false;
+			}
+			final Key other = (Key) obj;
+			return (cnfType == other.cnfType) && (modelType == other.modelType) && (includeBooleanValues == other.includeBooleanValues)
+				&& (useOldNames == other.useOldNames) && (optionalRoot == other.optionalRoot) && excludedFeatureNames.equals(other.excludedFeatureNames)
+				&& (variables == null ? other.variables == null : variables.equals(other.variables));
+		}
+
+	}
+
+	/**
+	 * The cached formulas of one feature model. Listens to the feature model and discards all formulas when the feature model changes.
+	 */
+	private static final class ModelEntry implements IEventListener {
+
+		private final HashMap<Key, Object> formulas = new HashMap<>();
+		private long revision = 0;
+		/**
+		 * The modification counter of the feature model for which the cached formulas were created.
+		 */
+		private long modificationCount = -1;
+
+		@Override
+		public void propertyChange(FeatureIDEEvent event) {
+			if (changesFormula(event.getEventType())) {
+				invalidate();
+			}
+		}
+
+		private synchronized void invalidate() {
+			revision++;
+			formulas.clear();
+		}
+
+	}
+
+	private final HashMap<ModelReference, ModelEntry> entries = new HashMap<>();
+	private final ReferenceQueue<IFeatureModel> queue = new ReferenceQueue<>();
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	private CNFCache() {}
+
+	/**
+	 * Returns the result of {@link AdvancedNodeCreator#createNodes()} for the current settings of the given node creator.
+	 *
+	 * @param nodeCreator the node creator
+	 * @return the formula; must not be modified
+	 */
+	public Node getNodes(AdvancedNodeCreator nodeCreator) {
+		return getNodes(nodeCreator, new NullMonitor());
+	}
+
+	public Node getNodes(AdvancedNodeCreator nodeCreator, IMonitor monitor) {
+		return (Node) get(nodeCreator, null, monitor);
+	}
+
+	/**
+	 * Returns the result of {@link AdvancedNodeCreator#createSatInstance(Collection)} for the current settings of the given node creator.
+	 *
+	 * @param nodeCreator the node creator
+	 * @param variables the variables of the instance
+	 * @return the sat instance; must not be modified
+	 */
+	public SatInstance getSatInstance(AdvancedNodeCreator nodeCreator, Collection<?> variables) {
+		return getSatInstance(nodeCreator, variables, new NullMonitor());
+	}
+
+	public SatInstance getSatInstance(AdvancedNodeCreator nodeCreator, Collection<?> variables, IMonitor monitor) {
+		return (SatInstance) get(nodeCreator, variables, monitor);
+	}
+
+	/**
+	 * Discards all formulas of the given feature model. Changes of the feature model are detected by its modification counter, so this is only required
+	 * for changes that do not increase the counter.
+	 *
+	 * @param featureModel the feature model
+	 */
+	public void invalidate(IFeatureModel featureModel) {
+		final ModelEntry entry;
+		synchronized (entries) {
+			entry = entries.get(new ModelReference(featureModel, null));
+		}
+		if (entry != null) {
+			entry.invalidate();
+		}
+	}
+
+	/**
+	 * Discards all formulas.
+	 */
+	public void clear() {
+		synchronized (entries) {
+			for (final ModelEntry entry : entries.values()) {
+				entry.invalidate();
+			}
+		}
+	}
+
+	/**
+	 * @return the number of requests that were answered from the cache
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * @return the number of requests that required to create a formula
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	public void resetStatistics() {
+		hits.set(0);
+		misses.set(0);
+	}
+
+	/**
+	 * Looks up the formula and creates it if necessary. The formula is created without holding a lock, so different formulas can be created in parallel.
+	 * Formulas that were created for an outdated revision are returned, but not cached.
+	 */
+	private Object get(AdvancedNodeCreator nodeCreator, Collection<?> variables, IMonitor monitor) {
+		if ((nodeCreator.getFeatureModel() == null) || nodeCreator.isRecordingTraceModel()) {
+			misses.incrementAndGet();
+			return create(nodeCreator, variables, monitor);
+		}
+
+		final IFeatureModel featureModel = nodeCreator.getFeatureModel();
+		final ModelEntry entry = getEntry(featureModel);
+		final Key key = new Key(nodeCreator, variables);
+		final long revision;
+		final long modificationCount = featureModel.getModificationCount();
+		synchronized (entry) {
+			if (entry.modificationCount != modificationCount) {
+				entry.invalidate();
+				entry.modificationCount = modificationCount;
+			}
+			final Object formula = entry.formulas.get(key);
+			if (formula != null) {
+				hits.incrementAndGet();
+				return formula;
+			}
+			revision = entry.revision;
+		}
+
+		misses.incrementAndGet();
+		final Object formula = create(nodeCreator, variables, monitor);
+		synchronized (entry) {
+			if ((entry.revision == revision) && (featureModel.getModificationCount() == modificationCount)) {
+				entry.formulas.put(key, formula);
+			}
+		}
+		return formula;
+	}
+
+	private Object create(AdvancedNodeCreator nodeCreator, Collection<?> variables, IMonitor monitor) {
+		return variables == null ? nodeCreator.createNodes(monitor) : nodeCreator.createSatInstance(variables, monitor);
+	}
+
+	private ModelEntry getEntry(IFeatureModel featureModel) {
+		synchronized (entries) {
+			for (Object reference = queue.poll(); reference != null; reference = queue.poll()) {
+				entries.remove(reference);
+			}
+			final ModelReference reference = new ModelReference(featureModel, queue);
+			ModelEntry entry = entries.get(reference);
+			if (entry == null) {
+				entry = new ModelEntry();
+				entries.put(reference, entry);
+				featureModel.addListener(entry);
+			}
+			return entry;
+		}
+	}
+
+}
@@ -0,0 +1,143 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.editing.cnf;
+
+import java.util.Arrays;
+
+/**
+ * Stores the clauses of a CNF in a flat array of literals.<br> The literals of clause <code>i</code> are located between the offsets <code>i</code> and
+ * <code>i + 1</code>. Thus, no object is created per clause or literal.
+ *
+ * @see Clause
+ */
+public class ClauseStore {
+
+	private int[] literals;
+	private int[] offsets;
+
+	private int numberOfClauses = 0;
+	private int numberOfLiterals = 0;
+
+	public ClauseStore() {
+		this(16, 64);
+	}
+
+	public ClauseStore(int clauseCapacity, int literalCapacity) {
+		literals = new int[Math.max(1, literalCapacity)];
+		offsets = new int[Math.max(1, clauseCapacity) + 1];
+	}
+
+	/**
+	 * Adds a literal to the current clause. The clause is completed by calling {@link #closeClause()}.
+	 *
+	 * @param literal the literal to add
+	 */
+	public void addLiteral(int literal) {
+		if (numberOfLiterals == literals.length) {
+			literals = Arrays.copyOf(literals, literals.length << 1);
+		}
+		literals[numberOfLiterals++] = literal;
+	}
+
+	/**
+	 * Completes the current clause.
+	 */
+	public void closeClause() {
+		if ((numberOfClauses + 1) == offsets.length) {
+			offsets = Arrays.copyOf(offsets, offsets.length << 1);
+		}
+		offsets[++numberOfClauses] = numberOfLiterals;
+	}
+
+	public void addClause(int... clauseLiterals) {
+		for (final int literal : clauseLiterals) {
+			addLiteral(literal);
+		}
+		closeClause();
+	}
+
+	public int size() {
+		return numberOfClauses;
+	}
+
+	public int getNumberOfLiterals() {
+		return numberOfLiterals;
+	}
+
+	/**
+	 * @param clauseIndex the index of the clause
+	 * @return the index of the first literal of the clause within {@link #getLiterals()}
+	 */
+	public int getClauseStart(int clauseIndex) {
+		return offsets[clauseIndex];
+	}
+
+	/**
+	 * @param clauseIndex the index of the clause
+	 * @return the index after the last literal of the clause within {@link #getLiterals()}
+	 */
+	public int getClauseEnd(int clauseIndex) {
+		return offsets[clauseIndex + 1];
+	}
+
+	public int getClauseLength(int clauseIndex) {
+		return offsets[clauseIndex + 1] - offsets[clauseIndex];
+	}
+
+	public int getLiteral(int literalIndex) {
+		return literals[literalIndex];
+	}
+
+	/**
+	 * Returns the internal array of literals. Must not be modified. May contain unused entries after {@link #getNumberOfLiterals()}.
+	 *
+	 * @return the literals of all clauses
+	 */
+	public int[] getLiterals() {
+		return literals;
+	}
+
+	/**
+	 * @param clauseIndex the index of the clause
+	 * @return a copy of the literals of the clause
+	 */
+	public int[] getClause(int clauseIndex) {
+		return Arrays.copyOfRange(literals, offsets[clauseIndex], offsets[clauseIndex + 1]);
+	}
+
+	public void trimToSize() {
+		literals = Arrays.copyOf(literals, Math.max(1, numberOfLiterals));
+		offsets = Arrays.copyOf(offsets, numberOfClauses + 1);
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder("ClauseStore [");
+		for (int i = 0; i < numberOfClauses; i++) {
+			if (i > 0) {
+				sb.append(", ");
+			}
+			sb.append(Arrays.toString(getClause(i)));
+		}
+		return sb.append(']').toString();
+	}
+
+}
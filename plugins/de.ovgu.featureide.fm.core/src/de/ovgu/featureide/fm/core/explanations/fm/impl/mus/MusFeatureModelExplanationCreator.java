@@ -20,6 +20,10 @@
  */
 package de.ovgu.featureide.fm.core.explanations.fm.impl.mus;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
 import org.prop4j.explain.solvers.MusExtractor;
 import org.prop4j.explain.solvers.SatSolverFactory;
 
@@ -39,6 +43,8 @@ public abstract class MusFeatureModelExplanationCreator<S, E extends FeatureMode
 
 	/** The solver factory used to create the oracle. */
 	private final SatSolverFactory solverFactory;
+	/** The maximum amount of minimal unsatisfiable subsets computed for each explanation. */
+	private int maxMusCount = Integer.MAX_VALUE;
 
 	/**
 	 * Constructs a new instance of this class.
@@ -61,10 +67,59 @@ public abstract class MusFeatureModelExplanationCreator<S, E extends FeatureMode
 		return solverFactory;
 	}
 
+	/**
+	 * Returns the maximum amount of minimal unsatisfiable subsets computed for each explanation.
+	 *
+	 * @return the maximum amount of minimal unsatisfiable subsets
+	 */
+	public int getMaxMusCount() {
+		return maxMusCount;
+	}
+
+	/**
+	 * Sets the maximum amount of minimal unsatisfiable subsets computed for each explanation. If it is 1, only a single MUS is extracted, which is usually much
+	 * faster than enumerating all of them.
+	 *
+	 * @param maxMusCount the maximum amount of minimal unsatisfiable subsets; at least 1
+	 * @throws IllegalArgumentException if the given amount is less than 1
+	 */
+	public void setMaxMusCount(int maxMusCount) throws IllegalArgumentException {
+		if (maxMusCount < 1) {
+			throw new IllegalArgumentException("At least one MUS is required");
+		}
+		this.maxMusCount = maxMusCount;
+	}
+
 	@Override
 	protected MusExtractor createOracle() {
 		final MusExtractor oracle = getSatSolverFactory().getMusExtractor();
 		oracle.addFormula(getCnf());
 		return oracle;
 	}
+
+	/**
+	 * Lets this instance reason with the oracle of the given instance instead of creating its own. Both instances must use the same feature model and the same
+	 * CNF so that the clause indexes of the oracle match the trace model of this instance.
+	 *
+	 * @param other instance whose oracle to use; not null
+	 */
+	void shareOracle(MusFeatureModelExplanationCreator<?, ?> other) {
+		getCnf(); // The trace model is only recorded while creating the CNF.
+		setOracle(other.getOracle());
+	}
+
+	/**
+	 * Returns the minimal unsatisfiable subsets of the current problem of the oracle, but at most {@link #getMaxMusCount()} many.
+	 *
+	 * @return the minimal unsatisfiable subsets referenced by index; not null
+	 * @throws IllegalStateException if the formula in the oracle is satisfiable
+	 */
+	protected List<Set<Integer>> getMinimalUnsatisfiableSubsetIndexes() throws IllegalStateException {
+		final MusExtractor oracle = getOracle();
+		if (maxMusCount == 1) {
+			return Collections.singletonList(oracle.getMinimalUnsatisfiableSubsetIndexes());
+		}
+		final List<Set<Integer>> muses = oracle.getAllMinimalUnsatisfiableSubsetIndexes();
+		return muses.size() > maxMusCount ? muses.subList(0, maxMusCount) : muses;
+	}
 }
@@ -0,0 +1,196 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.explanations.fm.impl.mus;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.prop4j.explain.solvers.MusExtractor;
+import org.prop4j.explain.solvers.SatSolverFactory;
+
+import de.ovgu.featureide.fm.core.base.IConstraint;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureModelElement;
+import de.ovgu.featureide.fm.core.explanations.fm.FeatureModelExplanation;
+import de.ovgu.featureide.fm.core.explanations.fm.FeatureModelExplanationCreator;
+import de.ovgu.featureide.fm.core.job.LongRunningMethod;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+
+/**
+ * <p> Computes explanations for all defective elements of a feature model at once using a {@link MusExtractor MUS extractor}. </p>
+ *
+ * <p> Dead and false-optional features are explained with one shared oracle that only differs in its assumptions. Redundant constraints are explained with a
+ * second oracle to which each constraint that is not explained is added only once. By default, only a single MUS is computed for each element. </p>
+ */
+public class MusFeatureModelExplanationsJob implements LongRunningMethod<Map<IFeatureModelElement, FeatureModelExplanation<?>>> {
+
+	/** The feature model containing the defective elements. */
+	private final IFeatureModel fm;
+	/** The solver factory used to create the oracles. */
+	private final SatSolverFactory solverFactory;
+
+	/** The dead features to explain. */
+	private final List<IFeature> deadFeatures = new ArrayList<>();
+	/** The false-optional features to explain. */
+	private final List<IFeature> falseOptionalFeatures = new ArrayList<>();
+	/** The redundant constraints to explain. */
+	private final List<IConstraint> redundantConstraints = new ArrayList<>();
+
+	/** The maximum amount of minimal unsatisfiable subsets computed for each element. */
+	private int maxMusCount = 1;
+
+	/**
+	 * Constructs a new instance of this class.
+	 *
+	 * @param fm the feature model containing the defective elements; not null
+	 */
+	public MusFeatureModelExplanationsJob(IFeatureModel fm) {
+		this(fm, null);
+	}
+
+	/**
+	 * Constructs a new instance of this class.
+	 *
+	 * @param fm the feature model containing the defective elements; not null
+	 * @param solverFactory the solver factory used to create the oracles
+	 */
+	public MusFeatureModelExplanationsJob(IFeatureModel fm, SatSolverFactory solverFactory) {
+		if (solverFactory == null) {
+			solverFactory = SatSolverFactory.getDefault();
+		}
+		this.fm = fm;
+		this.solverFactory = solverFactory;
+	}
+
+	/**
+	 * Sets the dead features to explain.
+	 *
+	 * @param deadFeatures the dead features to explain; not null
+	 */
+	public void setDeadFeatures(Collection<IFeature> deadFeatures) {
+		this.deadFeatures.clear();
+		this.deadFeatures.addAll(deadFeatures);
+	}
+
+	/**
+	 * Sets the false-optional features to explain.
+	 *
+	 * @param falseOptionalFeatures the false-optional features to explain; not null
+	 */
+	public void setFalseOptionalFeatures(Collection<IFeature> falseOptionalFeatures) {
+		this.falseOptionalFeatures.clear();
+		this.falseOptionalFeatures.addAll(falseOptionalFeatures);
+	}
+
+	/**
+	 * Sets the redundant constraints to explain.
+	 *
+	 * @param redundantConstraints the redundant constraints to explain; not null
+	 */
+	public void setRedundantConstraints(Collection<IConstraint> redundantConstraints) {
+		this.redundantConstraints.clear();
+		this.redundantConstraints.addAll(redundantConstraints);
+	}
+
+	/**
+	 * Returns the maximum amount of minimal unsatisfiable subsets computed for each element.
+	 *
+	 * @return the maximum amount of minimal unsatisfiable subsets
+	 */
+	public int getMaxMusCount() {
+		return maxMusCount;
+	}
+
+	/**
+	 * Sets the maximum amount of minimal unsatisfiable subsets computed for each element.
+	 *
+	 * @param maxMusCount the maximum amount of minimal unsatisfiable subsets; at least 1
+	 * @throws IllegalArgumentException if the given amount is less than 1
+	 * @see MusFeatureModelExplanationCreator#setMaxMusCount(int)
+	 */
+	public void setMaxMusCount(int maxMusCount) throws IllegalArgumentException {
+		if (maxMusCount < 1) {
+			throw new IllegalArgumentException("At least one MUS is required");
+		}
+		this.maxMusCount = maxMusCount;
+	}
+
+	/**
+	 * Returns the explanation for each element to explain. Elements that turn out not to be defective are mapped to null.
+	 */
+	@Override
+	public Map<IFeatureModelElement, FeatureModelExplanation<?>> execute(IMonitor monitor) throws Exception {
+		monitor.setRemainingWork(deadFeatures.size() + falseOptionalFeatures.size() + redundantConstraints.size());
+		final Map<IFeatureModelElement, FeatureModelExplanation<?>> explanations = new LinkedHashMap<>();
+
+		if (!deadFeatures.isEmpty() || !falseOptionalFeatures.isEmpty()) {
+			final MusDeadFeatureExplanationCreator deadFeatureCreator = new MusDeadFeatureExplanationCreator(solverFactory);
+			deadFeatureCreator.setFeatureModel(fm);
+			deadFeatureCreator.setMaxMusCount(maxMusCount);
+			for (final IFeature feature : deadFeatures) {
+				monitor.checkCancel();
+				deadFeatureCreator.setSubject(feature);
+				explanations.put(feature, getExplanation(deadFeatureCreator));
+				monitor.step();
+			}
+
+			if (!falseOptionalFeatures.isEmpty()) {
+				final MusFalseOptionalFeatureExplanationCreator falseOptionalFeatureCreator = new MusFalseOptionalFeatureExplanationCreator(solverFactory);
+				falseOptionalFeatureCreator.setFeatureModel(fm);
+				falseOptionalFeatureCreator.setMaxMusCount(maxMusCount);
+				falseOptionalFeatureCreator.shareOracle(deadFeatureCreator);
+				for (final IFeature feature : falseOptionalFeatures) {
+					monitor.checkCancel();
+					falseOptionalFeatureCreator.setSubject(feature);
+					explanations.put(feature, getExplanation(falseOptionalFeatureCreator));
+					monitor.step();
+				}
+			}
+		}
+
+		if (!redundantConstraints.isEmpty()) {
+			final MusRedundantConstraintExplanationCreator redundantConstraintCreator = new MusRedundantConstraintExplanationCreator(solverFactory);
+			redundantConstraintCreator.setFeatureModel(fm);
+			redundantConstraintCreator.setMaxMusCount(maxMusCount);
+			explanations.putAll(redundantConstraintCreator.getExplanations(redundantConstraints, monitor));
+		}
+
+		return explanations;
+	}
+
+	/**
+	 * Returns the explanation of the given creator for its current subject.
+	 *
+	 * @param creator the explanation creator; not null
+	 * @return an explanation; null if the subject is not defective
+	 */
+	private static FeatureModelExplanation<?> getExplanation(FeatureModelExplanationCreator<?, ?> creator) {
+		try {
+			return creator.getExplanation();
+		} catch (final IllegalStateException e) {
+			return null;
+		}
+	}
+}
@@ -20,6 +20,12 @@
  */
 package de.ovgu.featureide.fm.core.explanations.fm.impl.mus;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
 import org.prop4j.Node;
 import org.prop4j.explain.solvers.MusExtractor;
 import org.prop4j.explain.solvers.SatSolverFactory;
@@ -30,6 +36,7 @@ import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.ModelType;
 import de.ovgu.featureide.fm.core.explanations.Reason;
 import de.ovgu.featureide.fm.core.explanations.fm.RedundantConstraintExplanation;
 import de.ovgu.featureide.fm.core.explanations.fm.RedundantConstraintExplanationCreator;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
 
 /**
  * Implementation of {@link RedundantConstraintExplanationCreator} using a {@link MusExtractor MUS extractor}.
@@ -86,13 +93,72 @@ public class MusRedundantConstraintExplanationCreator extends MusFeatureModelExp
 
 	@Override
 	public RedundantConstraintExplanation getExplanation() throws IllegalStateException {
+		if (getFeatureModel() == null) {
+			throw new IllegalStateException("Feature model not set");
+		}
+		return createExplanation(getFeatureModel().getConstraints());
+	}
+
+	/**
+	 * <p> Returns explanations for all the given redundant constraints. </p>
+	 *
+	 * <p> Reuses the same oracle for all of them. Any constraint that is not to be explained is added to the oracle only once instead of once for each
+	 * explanation. Constraints that turn out not to be redundant are mapped to null. </p>
+	 *
+	 * @param redundantConstraints the potentially redundant constraints; not null
+	 * @param monitor the monitor to report progress to; not null
+	 * @return an explanation for each given constraint; not null
+	 * @throws IllegalStateException if the feature model is not set
+	 */
+	public Map<IConstraint, RedundantConstraintExplanation> getExplanations(Collection<IConstraint> redundantConstraints, IMonitor monitor)
+			throws IllegalStateException {
+		final Set<IConstraint> subjects = new LinkedHashSet<>(redundantConstraints);
+		final Map<IConstraint, RedundantConstraintExplanation> explanations = new LinkedHashMap<>();
+		final MusExtractor oracle = getOracle();
+		oracle.push();
+		int constraintClauseCount = 0;
+		try {
+			// Add each constraint that is not explained only once.
+			for (final IConstraint constraint : getFeatureModel().getConstraints()) {
+				if (!subjects.contains(constraint)) {
+					constraintClauseCount += addConstraint(constraint, true);
+				}
+			}
+
+			for (final IConstraint subject : subjects) {
+				monitor.checkCancel();
+				setSubject(subject);
+				RedundantConstraintExplanation explanation;
+				try {
+					explanation = createExplanation(subjects);
+				} catch (final IllegalStateException e) {
+					explanation = null; // The constraint is not redundant.
+				}
+				explanations.put(subject, explanation);
+				monitor.step();
+			}
+		} finally {
+			oracle.pop();
+			getTraceModel().removeTraces(constraintClauseCount);
+		}
+		return explanations;
+	}
+
+	/**
+	 * Returns an explanation why the subject is redundant with respect to the given constraints and the clauses already in the oracle.
+	 *
+	 * @param constraints the constraints to add to the oracle besides the subject; not null
+	 * @return an explanation
+	 * @throws IllegalStateException if the subject is not redundant
+	 */
+	private RedundantConstraintExplanation createExplanation(Iterable<IConstraint> constraints) throws IllegalStateException {
 		final RedundantConstraintExplanation explanation;
 		final MusExtractor oracle = getOracle();
 		oracle.push();
 		int constraintClauseCount = 0;
 		try {
 			// Add each constraint but the redundant one.
-			for (final IConstraint constraint : getFeatureModel().getConstraints()) {
+			for (final IConstraint constraint : constraints) {
 				if (constraint == getSubject()) {
 					continue;
 				}
@@ -104,7 +170,7 @@ public class MusRedundantConstraintExplanationCreator extends MusFeatureModelExp
 			constraintClauseCount += redundantConstraintClauseCount;
 
 			// Get the explanation.
-			explanation = getExplanation(oracle.getAllMinimalUnsatisfiableSubsetIndexes());
+			explanation = getExplanation(getMinimalUnsatisfiableSubsetIndexes());
 		} finally {
 			oracle.pop();
 			getTraceModel().removeTraces(constraintClauseCount);
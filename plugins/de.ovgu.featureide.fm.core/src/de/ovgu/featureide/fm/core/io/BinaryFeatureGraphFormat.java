@@ -0,0 +1,258 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.prop4j.And;
+import org.prop4j.solver.SatInstance;
+
+import de.ovgu.featureide.fm.core.conf.IFeatureGraph;
+import de.ovgu.featureide.fm.core.conf.MappedFeatureGraph;
+import de.ovgu.featureide.fm.core.conf.SparseFeatureGraph;
+
+/**
+ * Reads / Writes a feature graph in a compact binary format.<br/> The file consists of a header (magic number, version, encoding, size, number of
+ * variables), the variable names, the variable index, and the edges of the graph. The edges are either stored as adjacency matrix (one byte per edge),
+ * which is memory-mapped when reading, so large graphs can be opened without loading them on the heap, or as adjacency lists for a
+ * {@link SparseFeatureGraph}.<br/> <br/> Binary content cannot be passed through the string-based
+ * {@link IPersistentFormat} interface, so this format reads from and writes to files directly.
+ *
+ * @see MappedFeatureGraph
+ * @see SparseFeatureGraph
+ */
+public class BinaryFeatureGraphFormat {
+
+	/**
+	 * "FIFG" in ASCII.
+	 */
+	public static final int MAGIC_NUMBER = 0x46494647;
+	public static final int VERSION = 1;
+
+	/**
+	 * The adjacency matrix is stored row by row with one byte per edge.
+	 */
+	public static final int ENCODING_MATRIX = 0;
+	/**
+	 * Each row is stored as number of edges followed by pairs of target index (int) and edge type (byte).
+	 */
+	public static final int ENCODING_SPARSE = 1;
+
+	private static final Charset CHARSET = Charset.forName("UTF-8");
+
+	/**
+	 * Writes the given feature graph to a file.<br/> The graph is first written to a temporary file in the same folder, which then replaces the target
+	 * file. Thus, an existing file is never truncated while a previously read {@link MappedFeatureGraph} may still have it mapped.
+	 *
+	 * @param featureGraph the feature graph (must contain a {@link SatInstance})
+	 * @param path the file path
+	 *
+	 * @throws IOException if the file cannot be written
+	 */
+	public void write(IFeatureGraph featureGraph, Path path) throws IOException {
+		final Path absolutePath = path.toAbsolutePath();
+		final Path tempPath = Files.createTempFile(absolutePath.getParent(), absolutePath.getFileName().toString(), ".tmp");
+		try {
+			writeFile(featureGraph, tempPath);
+			try {
+				Files.move(tempPath, absolutePath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (final AtomicMoveNotSupportedException e) {
+				Files.move(tempPath, absolutePath, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(tempPath);
+		}
+	}
+
+	private void writeFile(IFeatureGraph featureGraph, Path path) throws IOException {
+		final SatInstance satInstance = featureGraph.getSatInstance();
+		final int numberOfVariables = satInstance.getNumberOfVariables();
+		final int size = featureGraph.getSize();
+		final int[] index = featureGraph.getIndex();
+		final int encoding = (featureGraph instanceof SparseFeatureGraph) ? ENCODING_SPARSE : ENCODING_MATRIX;
+
+		final byte[][] names = new byte[numberOfVariables][];
+		int headerSize = 5 * 4;
+		for (int i = 0; i < numberOfVariables; i++) {
+			names[i] = String.valueOf(satInstance.getVariableObject(i + 1)).getBytes(CHARSET);
+			headerSize += 4 + names[i].length + 4;
+		}
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+			final ByteBuffer header = ByteBuffer.allocate(headerSize);
+			header.putInt(MAGIC_NUMBER);
+			header.putInt(VERSION);
+			header.putInt(encoding);
+			header.putInt(size);
+			header.putInt(numberOfVariables);
+			for (final byte[] name : names) {
+				header.putInt(name.length);
+				header.put(name);
+			}
+			for (int i = 0; i < numberOfVariables; i++) {
+				header.putInt(index[i]);
+			}
+			header.flip();
+			writeFully(channel, header);
+
+			if (encoding == ENCODING_SPARSE) {
+				writeSparse((SparseFeatureGraph) featureGraph, channel);
+			} else {
+				writeMatrix(featureGraph, channel);
+			}
+		}
+	}
+
+	private void writeMatrix(IFeatureGraph featureGraph, FileChannel channel) throws IOException {
+		final int size = featureGraph.getSize();
+		final ByteBuffer row = ByteBuffer.allocate(size);
+		for (int i = 0; i < size; i++) {
+			row.clear();
+			for (int j = 0; j < size; j++) {
+				row.put(featureGraph.getEdge(i, j));
+			}
+			row.flip();
+			writeFully(channel, row);
+		}
+	}
+
+	private void writeSparse(SparseFeatureGraph featureGraph, FileChannel channel) throws IOException {
+		final int size = featureGraph.getSize();
+		for (int i = 0; i < size; i++) {
+			final int numberOfEdges = featureGraph.getNumberOfEdges(i);
+			final ByteBuffer row = ByteBuffer.allocate(4 + (5 * numberOfEdges));
+			row.putInt(numberOfEdges);
+			for (int j = 0; j < numberOfEdges; j++) {
+				row.putInt(featureGraph.getEdgeTarget(i, j));
+				row.put(featureGraph.getEdgeType(i, j));
+			}
+			row.flip();
+			writeFully(channel, row);
+		}
+	}
+
+	/**
+	 * Reads a feature graph from a file. An adjacency matrix is memory-mapped in read-only mode, so changes of the graph are never written back to the
+	 * file. Adjacency lists are loaded into a {@link SparseFeatureGraph}.
+	 *
+	 * @param path the file path
+	 * @return the feature graph
+	 *
+	 * @throws IOException if the file cannot be read or has an unsupported format
+	 */
+	public IFeatureGraph read(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			final long fileSize = channel.size();
+			if (fileSize > Integer.MAX_VALUE) {
+				throw new IOException("Feature graph file is too large (" + fileSize + " bytes).");
+			}
+			final MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, fileSize);
+			try {
+				if (buffer.getInt() != MAGIC_NUMBER) {
+					throw new IOException("Not a feature graph file: " + path);
+				}
+				final int version = buffer.getInt();
+				if (version != VERSION) {
+					throw new IOException("Unsupported feature graph version: " + version);
+				}
+				final int encoding = buffer.getInt();
+				if ((encoding != ENCODING_MATRIX) && (encoding != ENCODING_SPARSE)) {
+					throw new IOException("Unsupported feature graph encoding: " + encoding);
+				}
+				final int size = buffer.getInt();
+				final int numberOfVariables = buffer.getInt();
+
+				final String[] names = new String[numberOfVariables];
+				for (int i = 0; i < numberOfVariables; i++) {
+					final byte[] name = new byte[buffer.getInt()];
+					buffer.get(name);
+					names[i] = new String(name, CHARSET);
+				}
+				final int[] index = new int[numberOfVariables];
+				for (int i = 0; i < numberOfVariables; i++) {
+					index[i] = buffer.getInt();
+				}
+
+				final SatInstance satInstance = new SatInstance(new And(), Arrays.asList(names));
+				if (encoding == ENCODING_SPARSE) {
+					final SparseFeatureGraph featureGraph = new SparseFeatureGraph(satInstance, index);
+					for (int i = 0; i < size; i++) {
+						final int numberOfEdges = buffer.getInt();
+						final int[] targets = new int[numberOfEdges];
+						final byte[] edgeTypes = new byte[numberOfEdges];
+						for (int j = 0; j < numberOfEdges; j++) {
+							targets[j] = buffer.getInt();
+							edgeTypes[j] = buffer.get();
+						}
+						featureGraph.setRow(i, targets, edgeTypes);
+					}
+					return featureGraph;
+				} else {
+					if (buffer.remaining() < ((long) size * size)) {
+						throw new IOException("Feature graph file is truncated: " + path);
+					}
+					return new MappedFeatureGraph(satInstance, index, buffer.slice());
+				}
+			} catch (final RuntimeException e) {
+				throw new IOException("Corrupt feature graph file: " + path, e);
+			}
+		}
+	}
+
+	/**
+	 * Checks whether the given file starts with the magic number of this format.
+	 *
+	 * @param path the file path
+	 * @return {@code true} if the file can be read by this format, {@code false} otherwise
+	 */
+	public boolean supportsContent(Path path) {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			final ByteBuffer header = ByteBuffer.allocate(4);
+			while (header.hasRemaining()) {
+				if (channel.read(header) < 0) {
+					return false;
+				}
+			}
+			header.flip();
+			return header.getInt() == MAGIC_NUMBER;
+		} catch (final IOException e) {
+			return false;
+		}
+	}
+
+	private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+}
@@ -32,7 +32,8 @@ import de.ovgu.featureide.fm.core.PluginID;
 import de.ovgu.featureide.fm.core.conf.IFeatureGraph;
 
 /**
- * Reads / Writes a feature graph.
+ * Reads / Writes a feature graph using Java serialization in a string-based encoding.
+ * This format is kept for reading older files, new graphs are written with {@link BinaryFeatureGraphFormat}.
  *
  * @author Sebastian Krieter
  */
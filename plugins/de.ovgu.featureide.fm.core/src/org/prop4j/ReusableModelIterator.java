@@ -30,6 +30,10 @@ import org.sat4j.specs.ISolver;
 import org.sat4j.specs.IVecInt;
 import org.sat4j.specs.TimeoutException;
 
+/**
+ * Iterates over the solutions of a solver by adding a blocking clause for each found solution. Thus, the solver grows with each solution until
+ * {@link #reset()} is called. For large numbers of solutions use {@link org.prop4j.solver.SolutionIterator} instead.
+ */
 public class ReusableModelIterator implements Iterator<int[]> {
 
 	private final ISolver solver;
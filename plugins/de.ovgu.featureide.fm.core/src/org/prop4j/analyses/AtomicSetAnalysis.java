@@ -60,31 +60,14 @@ public class AtomicSetAnalysis extends AbstractAnalysis<List<int[]>> {
 
 			final byte[] done = new byte[model1.length];
 
-			final int[] model1Copy = Arrays.copyOf(model1, model1.length);
-
-			SatInstance.updateModel(model1Copy, model2);
-			for (int i = 0; i < model1Copy.length; i++) {
-				final int varX = model1Copy[i];
-				if (varX != 0) {
-					solver.assignmentPush(-varX);
-					switch (solver.isSatisfiable()) {
-					case FALSE:
-						done[i] = 2;
-						solver.assignmentReplaceLast(varX);
-						break;
-					case TIMEOUT:
-						solver.assignmentPop();
-						break;
-					case TRUE:
-						solver.assignmentPop();
-						SatInstance.updateModel(model1Copy, solver.getModel());
-						solver.shuffleOrder();
-						break;
-					}
-				}
-			}
+			new BackboneAnalysis(solver).computeBackbone(model1, model2, monitor);
+			solver.setSelectionStrategy(SelectionStrategy.POSITIVE);
 			final int fixedSize = solver.getAssignment().size();
-			result.add(solver.getAssignmentArray(0, fixedSize));
+			final int[] fixedLiterals = solver.getAssignmentArray(0, fixedSize);
+			for (final int literal : fixedLiterals) {
+				done[Math.abs(literal) - 1] = 2;
+			}
+			result.add(fixedLiterals);
 
 			for (int i = 0; i < model1.length; i++) {
 				if (done[i] == 0) {
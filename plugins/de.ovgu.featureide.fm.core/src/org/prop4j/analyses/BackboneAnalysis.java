@@ -0,0 +1,332 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.analyses;
+
+import java.util.Arrays;
+
+import org.prop4j.solver.FixedLiteralSelectionStrategy;
+import org.prop4j.solver.ISatSolver;
+import org.prop4j.solver.ISatSolver.SelectionStrategy;
+import org.prop4j.solver.SatInstance;
+import org.prop4j.solver.VarOrderHeap2;
+import org.sat4j.minisat.core.Solver;
+import org.sat4j.specs.IVecInt;
+
+import de.ovgu.featureide.fm.core.editing.cnf.ClauseStore;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+
+/**
+ * Computes the backbone (i.e., all literals that are implied by the formula and the current assignment of the solver), which corresponds to core and dead
+ * features.</br> Candidates are filtered by every solution found. Instead of testing one candidate at a time, the negations of several candidates (a chunk) are
+ * assumed at once. If this is satisfiable, all candidates of the chunk are refuted by a single solution. Otherwise, the unsatisfiable core of the assumptions
+ * is used to identify a backbone literal without further tests. The chunk size adapts to the results.</br> If the clauses of the solver are known (see
+ * {@link #setClauses(ClauseStore)}), each solution is additionally checked for rotatable literals (i.e., literals that can be flipped without violating a
+ * clause). These literals cannot be part of the backbone.</br> All found backbone literals remain on the assignment of the solver when called via
+ * {@link #computeBackbone(int[], int[], IMonitor)}, so other analyses can continue from there.
+ *
+ * @see CoreDeadAnalysis
+ */
+public class BackboneAnalysis extends AbstractAnalysis<int[]> {
+
+	/**
+	 * Default maximal number of candidates that are tested with one solver call.
+	 */
+	public static final int DEFAULT_CHUNK_SIZE = 16;
+
+	private int[] features = null;
+	private int chunkSize = DEFAULT_CHUNK_SIZE;
+	private ClauseStore clauses = null;
+
+	private int[] necessary = new int[0];
+	private int necessaryMark = 0;
+
+	/**
+	 * Creates a new analysis with its own solver for the given instance. Rotatable literals are detected using the clauses of the instance.
+	 */
+	public BackboneAnalysis(SatInstance satInstance) {
+		this(satInstance, null);
+	}
+
+	public BackboneAnalysis(SatInstance satInstance, int[] features) {
+		super(satInstance);
+		this.features = features;
+		clauses = satInstance.getClauses();
+	}
+
+	/**
+	 * Creates a new analysis for the given solver. As the solver may contain additional clauses, rotatable literals are only detected if the clauses are set
+	 * explicitly.
+	 */
+	public BackboneAnalysis(ISatSolver solver) {
+		this(solver, null);
+	}
+
+	public BackboneAnalysis(ISatSolver solver, int[] features) {
+		super(solver);
+		this.features = features;
+	}
+
+	/**
+	 * Returns the backbone literals of the candidate variables. Literals that are already assigned to the solver are not part of the result.
+	 *
+	 * @return the backbone literals (an empty array if the formula is unsatisfiable)
+	 */
+	@Override
+	public int[] analyze(IMonitor monitor) throws Exception {
+		solver.setSelectionStrategy(SelectionStrategy.POSITIVE);
+		final int[] model1 = solver.findModel();
+		if (model1 == null) {
+			return new int[0];
+		}
+		solver.setSelectionStrategy(SelectionStrategy.NEGATIVE);
+		final int[] model2 = solver.findModel();
+		return computeBackbone(model1, model2, monitor);
+	}
+
+	/**
+	 * Computes the backbone literals of the candidate variables starting from two known solutions. Found backbone literals are pushed to the assignment of
+	 * the solver.
+	 *
+	 * @param model1 a solution of the solver under its current assignment
+	 * @param model2 another solution or {@code null}
+	 * @param monitor the monitor, which is invoked for each backbone literal
+	 * @return the backbone literals
+	 */
+	public int[] computeBackbone(int[] model1, int[] model2, IMonitor monitor) {
+		final int orgAssignmentSize = solver.getAssignment().size();
+
+		final int[] candidates;
+		if (features != null) {
+			candidates = new int[model1.length];
+			for (final int feature : features) {
+				final int index = Math.abs(feature) - 1;
+				if (index >= 0) {
+					candidates[index] = model1[index];
+				}
+			}
+		} else {
+			candidates = Arrays.copyOf(model1, model1.length);
+		}
+		final IVecInt assignment = solver.getAssignment();
+		for (int i = 0; i < orgAssignmentSize; i++) {
+			final int index = Math.abs(assignment.get(i)) - 1;
+			if (index < candidates.length) {
+				candidates[index] = 0;
+			}
+		}
+		filter(candidates, model1);
+		if (model2 != null) {
+			filter(candidates, model2);
+		}
+
+		((Solver<?>) solver.getInternalSolver()).setOrder(new VarOrderHeap2(new FixedLiteralSelectionStrategy(candidates, true), solver.getOrder()));
+
+		int candidateCount = 0;
+		final int[] queue = new int[candidates.length];
+		for (int i = 0; i < candidates.length; i++) {
+			if (candidates[i] != 0) {
+				queue[candidateCount++] = i;
+			}
+		}
+
+		final int[] chunk = new int[Math.max(1, chunkSize)];
+		int currentChunkSize = chunk.length;
+		int head = 0;
+		while (head < candidateCount) {
+			monitor.checkCancel();
+			if (candidates[queue[head]] == 0) {
+				head++;
+				continue;
+			}
+
+			int size = 0;
+			for (int j = head; (j < candidateCount) && (size < currentChunkSize); j++) {
+				final int varX = candidates[queue[j]];
+				if (varX != 0) {
+					chunk[size++] = varX;
+				}
+			}
+
+			if (size == 1) {
+				testSingle(candidates, chunk[0], monitor);
+				continue;
+			}
+
+			for (int j = 0; j < size; j++) {
+				solver.assignmentPush(-chunk[j]);
+			}
+			switch (solver.isSatisfiable()) {
+			case FALSE:
+				solver.assignmentClear(assignment.size() - size);
+				final int backboneLiteral = getSingleCoreLiteral(chunk, size);
+				if (backboneLiteral != 0) {
+					addBackboneLiteral(candidates, backboneLiteral, monitor);
+				} else {
+					testSingle(candidates, chunk[0], monitor);
+				}
+				currentChunkSize = Math.max(1, currentChunkSize >> 1);
+				break;
+			case TIMEOUT:
+				solver.assignmentClear(assignment.size() - size);
+				testSingle(candidates, chunk[0], monitor);
+				break;
+			case TRUE:
+				solver.assignmentClear(assignment.size() - size);
+				filter(candidates, solver.getModel());
+				solver.shuffleOrder();
+				currentChunkSize = Math.min(chunk.length, currentChunkSize << 1);
+				break;
+			}
+		}
+
+		return solver.getAssignmentArray(orgAssignmentSize, solver.getAssignment().size());
+	}
+
+	public int[] getFeatures() {
+		return features;
+	}
+
+	/**
+	 * @param features the variables to test or {@code null} to test all variables
+	 */
+	public void setFeatures(int[] features) {
+		this.features = features;
+	}
+
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	/**
+	 * @param chunkSize the maximal number of candidates tested at once ({@code 1} tests each candidate separately)
+	 */
+	public void setChunkSize(int chunkSize) {
+		if (chunkSize < 1) {
+			throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+		}
+		this.chunkSize = chunkSize;
+	}
+
+	public ClauseStore getClauses() {
+		return clauses;
+	}
+
+	/**
+	 * Sets the clauses used to detect rotatable literals. The clauses must be equivalent to all clauses of the solver.
+	 *
+	 * @param clauses the clauses of the solver or {@code null} to disable the detection of rotatable literals
+	 */
+	public void setClauses(ClauseStore clauses) {
+		this.clauses = clauses;
+	}
+
+	private void testSingle(int[] candidates, int varX, IMonitor monitor) {
+		solver.assignmentPush(-varX);
+		switch (solver.isSatisfiable()) {
+		case FALSE:
+			solver.assignmentReplaceLast(varX);
+			candidates[Math.abs(varX) - 1] = 0;
+			monitor.invoke(varX);
+			break;
+		case TIMEOUT:
+			solver.assignmentPop();
+			candidates[Math.abs(varX) - 1] = 0;
+			break;
+		case TRUE:
+			solver.assignmentPop();
+			filter(candidates, solver.getModel());
+			solver.shuffleOrder();
+			break;
+		}
+	}
+
+	private void addBackboneLiteral(int[] candidates, int varX, IMonitor monitor) {
+		solver.assignmentPush(varX);
+		candidates[Math.abs(varX) - 1] = 0;
+		monitor.invoke(varX);
+	}
+
+	/**
+	 * Checks whether the unsatisfiable core of the last solver call contains only one of the negated chunk literals.
+	 *
+	 * @return the chunk literal whose negation was the only one in the core or {@code 0} if there is no such literal
+	 */
+	private int getSingleCoreLiteral(int[] chunk, int size) {
+		final IVecInt explanation = solver.getInternalSolver().unsatExplanation();
+		if (explanation == null) {
+			return 0;
+		}
+		int coreLiteral = 0;
+		for (int i = 0; i < size; i++) {
+			if (explanation.contains(-chunk[i])) {
+				if (coreLiteral != 0) {
+					return 0;
+				}
+				coreLiteral = chunk[i];
+			}
+		}
+		return coreLiteral;
+	}
+
+	/**
+	 * Removes all candidates that are not contained in the given solution or that are rotatable in the solution.
+	 */
+	private void filter(int[] candidates, int[] model) {
+		SatInstance.updateModel(candidates, model);
+		if (clauses == null) {
+			return;
+		}
+
+		if (necessary.length < candidates.length) {
+			necessary = new int[candidates.length];
+			necessaryMark = 0;
+		}
+		if (++necessaryMark == Integer.MAX_VALUE) {
+			Arrays.fill(necessary, 0);
+			necessaryMark = 1;
+		}
+
+		final int clauseCount = clauses.size();
+		for (int i = 0; i < clauseCount; i++) {
+			final int end = clauses.getClauseEnd(i);
+			int trueLiteral = 0;
+			for (int j = clauses.getClauseStart(i); j < end; j++) {
+				final int literal = clauses.getLiteral(j);
+				if ((model[Math.abs(literal) - 1] == literal) && (literal != trueLiteral)) {
+					if (trueLiteral != 0) {
+						trueLiteral = 0;
+						break;
+					}
+					trueLiteral = literal;
+				}
+			}
+			if (trueLiteral != 0) {
+				necessary[Math.abs(trueLiteral) - 1] = necessaryMark;
+			}
+		}
+		for (int i = 0; i < candidates.length; i++) {
+			if ((candidates[i] != 0) && (necessary[i] != necessaryMark)) {
+				candidates[i] = 0;
+			}
+		}
+	}
+
+}
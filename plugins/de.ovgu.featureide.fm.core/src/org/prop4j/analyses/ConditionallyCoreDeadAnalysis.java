@@ -20,67 +20,38 @@
  */
 package org.prop4j.analyses;
 
-import org.prop4j.solver.FixedLiteralSelectionStrategy;
 import org.prop4j.solver.ISatSolver;
-import org.prop4j.solver.ISatSolver.SelectionStrategy;
 import org.prop4j.solver.SatInstance;
-import org.prop4j.solver.VarOrderHeap2;
-import org.sat4j.minisat.core.Solver;
 
+import de.ovgu.featureide.fm.core.editing.cnf.ClauseStore;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
 
 /**
- * Finds core and dead features.
+ * Finds features that are core or dead under the current assumptions using a {@link BackboneAnalysis}.
  *
  * @author Sebastian Krieter
  */
 public class ConditionallyCoreDeadAnalysis extends AbstractAnalysis<int[]> {
 
+	/**
+	 * The clauses of the solver if known, which allows the detection of rotatable literals.
+	 */
+	private ClauseStore clauses = null;
+
 	public ConditionallyCoreDeadAnalysis(ISatSolver solver) {
 		super(solver);
 	}
 
 	public ConditionallyCoreDeadAnalysis(SatInstance satInstance) {
 		super(satInstance);
+		clauses = satInstance.getClauses();
 	}
 
 	@Override
 	public int[] analyze(IMonitor monitor) throws Exception {
-		solver.setSelectionStrategy(SelectionStrategy.POSITIVE);
-		final int[] model1 = solver.findModel();
-
-		if (model1 != null) {
-			solver.setSelectionStrategy(SelectionStrategy.NEGATIVE);
-			final int[] model2 = solver.findModel();
-
-			SatInstance.updateModel(model1, model2);
-			for (int i = 0; i < assumptions.length; i++) {
-				model1[Math.abs(assumptions[i]) - 1] = 0;
-			}
-
-			((Solver<?>) solver.getInternalSolver()).setOrder(new VarOrderHeap2(new FixedLiteralSelectionStrategy(model1, true), solver.getOrder()));
-
-			for (int i = 0; i < model1.length; i++) {
-				final int varX = model1[i];
-				if (varX != 0) {
-					solver.assignmentPush(-varX);
-					switch (solver.isSatisfiable()) {
-					case FALSE:
-						solver.assignmentReplaceLast(varX);
-						break;
-					case TIMEOUT:
-						solver.assignmentPop();
-						break;
-					case TRUE:
-						solver.assignmentPop();
-						SatInstance.updateModel(model1, solver.getModel());
-						solver.shuffleOrder();
-						break;
-					}
-				}
-			}
-		}
-		return solver.getAssignmentArray(assumptions.length, solver.getAssignment().size());
+		final BackboneAnalysis backboneAnalysis = new BackboneAnalysis(solver);
+		backboneAnalysis.setClauses(clauses);
+		return backboneAnalysis.analyze(monitor);
 	}
 
 }
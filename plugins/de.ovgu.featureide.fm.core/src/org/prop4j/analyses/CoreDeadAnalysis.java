@@ -20,17 +20,14 @@
  */
 package org.prop4j.analyses;
 
-import org.prop4j.solver.FixedLiteralSelectionStrategy;
 import org.prop4j.solver.ISatSolver;
-import org.prop4j.solver.ISatSolver.SelectionStrategy;
 import org.prop4j.solver.SatInstance;
-import org.prop4j.solver.VarOrderHeap2;
-import org.sat4j.minisat.core.Solver;
 
+import de.ovgu.featureide.fm.core.editing.cnf.ClauseStore;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
 
 /**
- * Finds core and dead features.
+ * Finds core and dead features using a {@link BackboneAnalysis}.
  *
  * @author Sebastian Krieter
  */
@@ -42,6 +39,11 @@ public class CoreDeadAnalysis extends AbstractAnalysis<int[]> {
 
 	private int[] features;
 
+	/**
+	 * The clauses of the solver if known, which allows the detection of rotatable literals.
+	 */
+	private ClauseStore clauses = null;
+
 	public CoreDeadAnalysis(SatInstance satInstance) {
 		this(satInstance, null);
 	}
@@ -49,6 +51,7 @@ public class CoreDeadAnalysis extends AbstractAnalysis<int[]> {
 	public CoreDeadAnalysis(SatInstance satInstance, int[] features) {
 		super(satInstance);
 		setFeatures(features);
+		clauses = satInstance.getClauses();
 	}
 
 	public CoreDeadAnalysis(ISatSolver solver, int[] features) {
@@ -58,51 +61,9 @@ public class CoreDeadAnalysis extends AbstractAnalysis<int[]> {
 
 	@Override
 	public int[] analyze(IMonitor monitor) throws Exception {
-		final int orgAssignmentSize = solver.getAssignment().size();
-		solver.setSelectionStrategy(SelectionStrategy.POSITIVE);
-		int[] model1 = solver.findModel();
-
-		if (model1 != null) {
-			solver.setSelectionStrategy(SelectionStrategy.NEGATIVE);
-			final int[] model2 = solver.findModel();
-
-			if (features != null) {
-				final int[] model3 = new int[model1.length];
-				for (int i = 0; i < features.length; i++) {
-					final int index = features[i] - 1;
-					if (index >= 0) {
-						model3[index] = model1[index];
-					}
-				}
-				model1 = model3;
-			}
-
-			SatInstance.updateModel(model1, model2);
-			((Solver<?>) solver.getInternalSolver()).setOrder(new VarOrderHeap2(new FixedLiteralSelectionStrategy(model1, true), solver.getOrder()));
-
-			for (int i = 0; i < model1.length; i++) {
-				final int varX = model1[i];
-				if (varX != 0) {
-					solver.assignmentPush(-varX);
-					switch (solver.isSatisfiable()) {
-					case FALSE:
-						solver.assignmentReplaceLast(varX);
-						monitor.invoke(varX);
-						break;
-					case TIMEOUT:
-						solver.assignmentPop();
-						break;
-					case TRUE:
-						solver.assignmentPop();
-						SatInstance.updateModel(model1, solver.getModel());
-						solver.shuffleOrder();
-						break;
-					}
-				}
-			}
-		}
-
-		return solver.getAssignmentArray(orgAssignmentSize, solver.getAssignment().size());
+		final BackboneAnalysis backboneAnalysis = new BackboneAnalysis(solver, features);
+		backboneAnalysis.setClauses(clauses);
+		return backboneAnalysis.analyze(monitor);
 	}
 
 	public int[] getFeatures() {
@@ -0,0 +1,464 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.analyses;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map.Entry;
+
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.solver.DDNNF;
+import org.prop4j.solver.SatInstance;
+
+import de.ovgu.featureide.fm.core.job.LongRunningMethod;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+
+/**
+ * Compiles the CNF of a {@link SatInstance} into a {@link DDNNF}.<br/> Uses an exhaustive DPLL search with unit propagation, decomposition into
+ * independent components, and caching of already compiled components. The trace of this search forms a smooth d-DNNF.<br/> <br/> Returns {@code null} if
+ * the compilation exceeds the given timeout or the maximum number of nodes.
+ *
+ * @see DDNNF
+ */
+public class DDNNFCompiler implements LongRunningMethod<DDNNF> {
+
+	private static class CompilationAbortedException extends RuntimeException {
+
+		private static final long serialVersionUID = -1817233455307834744L;
+
+	}
+
+	private static final class ComponentKey {
+
+		private final int[] literals;
+		private final int hashCode;
+
+		public ComponentKey(int[][] clauses) {
+			int size = clauses.length;
+			for (final int[] clause : clauses) {
+				size += clause.length;
+			}
+			literals = new int[size];
+			int i = 0;
+			for (final int[] clause : clauses) {
+				System.arraycopy(clause, 0, literals, i, clause.length);
+				i += clause.length + 1;
+			}
+			hashCode = Arrays.hashCode(literals);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return (obj instanceof ComponentKey) && Arrays.equals(literals, ((ComponentKey) obj).literals);
+		}
+
+	}
+
+	private static final Comparator<int[]> clauseComparator = new Comparator<int[]>() {
+
+		@Override
+		public int compare(int[] clause1, int[] clause2) {
+			final int length = Math.min(clause1.length, clause2.length);
+			for (int i = 0; i < length; i++) {
+				final int diff = Integer.compare(clause1[i], clause2[i]);
+				if (diff != 0) {
+					return diff;
+				}
+			}
+			return clause1.length - clause2.length;
+		}
+	};
+
+	private final SatInstance satInstance;
+
+	private long timeout = 0;
+	private int maxNumberOfNodes = 1 << 22;
+
+	private List<int[]> nodes;
+	private HashMap<ComponentKey, Integer> cache;
+	private int[] literalNodes;
+	private int[] freeNodes;
+
+	private byte[] assignment;
+	private int[] occurrences;
+	private int[] unionFind;
+
+	private IMonitor monitor;
+	private long endTime;
+	private int steps;
+
+	public DDNNFCompiler(SatInstance satInstance) {
+		this.satInstance = satInstance;
+	}
+
+	public DDNNFCompiler(SatInstance satInstance, long timeout) {
+		this.satInstance = satInstance;
+		this.timeout = timeout;
+	}
+
+	@Override
+	public DDNNF execute(IMonitor monitor) throws Exception {
+		this.monitor = monitor;
+		final int numberOfVariables = satInstance.getNumberOfVariables();
+
+		nodes = new ArrayList<>();
+		cache = new HashMap<>();
+		literalNodes = new int[(numberOfVariables + 1) << 1];
+		freeNodes = new int[numberOfVariables + 1];
+		assignment = new byte[numberOfVariables + 1];
+		occurrences = new int[numberOfVariables + 1];
+		unionFind = new int[numberOfVariables + 1];
+		endTime = System.currentTimeMillis() + timeout;
+		steps = 0;
+
+		nodes.add(new int[] { DDNNF.FALSE });
+		nodes.add(new int[] { DDNNF.TRUE });
+
+		try {
+			final int[][] clauses = getClauses();
+			final int root;
+			if (clauses == null) {
+				root = DDNNF.FALSE;
+			} else {
+				final int[] variables = new int[numberOfVariables];
+				for (int i = 0; i < numberOfVariables; i++) {
+					variables[i] = i + 1;
+				}
+				root = compile(clauses, variables);
+			}
+			return new DDNNF(satInstance, nodes.toArray(new int[nodes.size()][]), root);
+		} catch (CompilationAbortedException | StackOverflowError e) {
+			return null;
+		} finally {
+			nodes = null;
+			cache = null;
+		}
+	}
+
+	/**
+	 * Converts the CNF into sorted integer clauses without duplicate literals and tautologies.
+	 *
+	 * @return the clauses or {@code null} if the CNF contains an empty clause
+	 */
+	private int[][] getClauses() {
+		final Node[] cnfChildren = satInstance.getCnf().getChildren();
+		final List<int[]> clauses = new ArrayList<>(cnfChildren.length);
+		clauseLoop: for (final Node clauseNode : cnfChildren) {
+			final Node[] literals = clauseNode.getChildren();
+			final int[] clause = new int[literals.length];
+			for (int i = 0; i < literals.length; i++) {
+				clause[i] = satInstance.getSignedVariable((Literal) literals[i]);
+			}
+			Arrays.sort(clause);
+			int size = 0;
+			for (int i = 0; i < clause.length; i++) {
+				final int literal = clause[i];
+				if ((size == 0) || (clause[size - 1] != literal)) {
+					if (Arrays.binarySearch(clause, -literal) >= 0) {
+						continue clauseLoop;
+					}
+					clause[size++] = literal;
+				}
+			}
+			if (size == 0) {
+				return null;
+			}
+			clauses.add(Arrays.copyOf(clause, size));
+		}
+		return clauses.toArray(new int[clauses.size()][]);
+	}
+
+	/**
+	 * Compiles the given clauses.
+	 *
+	 * @param clauses the clauses (each sorted)
+	 * @param variables all variables that have to be covered by the resulting node (superset of the variables in the clauses)
+	 * @return the index of the resulting node
+	 */
+	private int compile(int[][] clauses, int[] variables) {
+		step();
+
+		final int[] implied = new int[variables.length];
+		int impliedCount = 0;
+		try {
+			int[][] current = clauses;
+
+			// unit propagation
+			while (true) {
+				final int oldImpliedCount = impliedCount;
+				for (final int[] clause : current) {
+					if (clause.length == 1) {
+						final int literal = clause[0];
+						final int var = Math.abs(literal);
+						final byte sign = (byte) (literal > 0 ? 1 : -1);
+						if (assignment[var] == 0) {
+							assignment[var] = sign;
+							implied[impliedCount++] = literal;
+						} else if (assignment[var] != sign) {
+							return DDNNF.FALSE;
+						}
+					}
+				}
+				if (oldImpliedCount == impliedCount) {
+					break;
+				}
+				current = simplify(current);
+				if (current == null) {
+					return DDNNF.FALSE;
+				}
+			}
+
+			final List<Integer> children = new ArrayList<>();
+			for (int i = 0; i < impliedCount; i++) {
+				children.add(getLiteralNode(implied[i]));
+			}
+
+			// decomposition into independent components
+			for (final int[] clause : current) {
+				final int root = find(Math.abs(clause[0]));
+				for (int i = 1; i < clause.length; i++) {
+					final int otherRoot = find(Math.abs(clause[i]));
+					if (root != otherRoot) {
+						unionFind[otherRoot] = root;
+					}
+				}
+				for (int i = 0; i < clause.length; i++) {
+					occurrences[Math.abs(clause[i])]++;
+				}
+			}
+
+			final LinkedHashMap<Integer, List<int[]>> componentClauses = new LinkedHashMap<>();
+			for (final int[] clause : current) {
+				final Integer root = find(Math.abs(clause[0]));
+				List<int[]> list = componentClauses.get(root);
+				if (list == null) {
+					list = new ArrayList<>();
+					componentClauses.put(root, list);
+				}
+				list.add(clause);
+			}
+			final HashMap<Integer, List<Integer>> componentVariables = new HashMap<>();
+			for (final int var : variables) {
+				if (occurrences[var] > 0) {
+					final Integer root = find(var);
+					List<Integer> list = componentVariables.get(root);
+					if (list == null) {
+						list = new ArrayList<>();
+						componentVariables.put(root, list);
+					}
+					list.add(var);
+				} else if (assignment[var] == 0) {
+					children.add(getFreeNode(var));
+				}
+			}
+			for (final int var : variables) {
+				occurrences[var] = 0;
+				unionFind[var] = 0;
+			}
+
+			for (final Entry<Integer, List<int[]>> entry : componentClauses.entrySet()) {
+				final List<Integer> varList = componentVariables.get(entry.getKey());
+				final int[] componentVars = new int[varList.size()];
+				for (int i = 0; i < componentVars.length; i++) {
+					componentVars[i] = varList.get(i);
+				}
+				final List<int[]> clauseList = entry.getValue();
+				final int child = compileComponent(clauseList.toArray(new int[clauseList.size()][]), componentVars);
+				if (child == DDNNF.FALSE) {
+					return DDNNF.FALSE;
+				}
+				children.add(child);
+			}
+
+			return and(children);
+		} finally {
+			for (int i = 0; i < impliedCount; i++) {
+				assignment[Math.abs(implied[i])] = 0;
+			}
+		}
+	}
+
+	private int compileComponent(int[][] clauses, int[] variables) {
+		Arrays.sort(clauses, clauseComparator);
+		final ComponentKey key = new ComponentKey(clauses);
+		final Integer cachedNode = cache.get(key);
+		if (cachedNode != null) {
+			return cachedNode;
+		}
+
+		for (final int[] clause : clauses) {
+			for (final int literal : clause) {
+				occurrences[Math.abs(literal)]++;
+			}
+		}
+		int decisionVar = variables[0];
+		for (final int var : variables) {
+			if (occurrences[var] > occurrences[decisionVar]) {
+				decisionVar = var;
+			}
+		}
+		for (final int var : variables) {
+			occurrences[var] = 0;
+		}
+
+		final int[][] extendedClauses = Arrays.copyOf(clauses, clauses.length + 1);
+		extendedClauses[clauses.length] = new int[] { decisionVar };
+		final int positiveNode = compile(extendedClauses, variables);
+		extendedClauses[clauses.length] = new int[] { -decisionVar };
+		final int negativeNode = compile(extendedClauses, variables);
+
+		final int node = or(positiveNode, negativeNode);
+		cache.put(key, node);
+		return node;
+	}
+
+	/**
+	 * Removes all satisfied clauses and all falsified literals according to the current assignment.
+	 *
+	 * @return the simplified clauses or {@code null} if a clause became empty
+	 */
+	private int[][] simplify(int[][] clauses) {
+		final List<int[]> simplifiedClauses = new ArrayList<>(clauses.length);
+		clauseLoop: for (final int[] clause : clauses) {
+			int falsified = 0;
+			for (final int literal : clause) {
+				final byte value = assignment[Math.abs(literal)];
+				if (value != 0) {
+					if ((value > 0) == (literal > 0)) {
+						continue clauseLoop;
+					}
+					falsified++;
+				}
+			}
+			if (falsified == 0) {
+				simplifiedClauses.add(clause);
+			} else if (falsified == clause.length) {
+				return null;
+			} else {
+				final int[] newClause = new int[clause.length - falsified];
+				int i = 0;
+				for (final int literal : clause) {
+					if (assignment[Math.abs(literal)] == 0) {
+						newClause[i++] = literal;
+					}
+				}
+				simplifiedClauses.add(newClause);
+			}
+		}
+		return simplifiedClauses.toArray(new int[simplifiedClauses.size()][]);
+	}
+
+	private int find(int var) {
+		int root = var;
+		while ((unionFind[root] != 0) && (unionFind[root] != root)) {
+			root = unionFind[root];
+		}
+		unionFind[root] = root;
+		while (var != root) {
+			final int next = unionFind[var];
+			unionFind[var] = root;
+			var = next;
+		}
+		return root;
+	}
+
+	private void step() {
+		if ((++steps & 0xF) == 0) {
+			monitor.checkCancel();
+			if (((timeout > 0) && (System.currentTimeMillis() > endTime)) || (nodes.size() > maxNumberOfNodes)) {
+				throw new CompilationAbortedException();
+			}
+		}
+	}
+
+	private int getLiteralNode(int literal) {
+		final int index = (Math.abs(literal) << 1) + (literal < 0 ? 1 : 0);
+		if (literalNodes[index] == 0) {
+			literalNodes[index] = addNode(new int[] { DDNNF.LITERAL, literal });
+		}
+		return literalNodes[index];
+	}
+
+	private int getFreeNode(int var) {
+		if (freeNodes[var] == 0) {
+			freeNodes[var] = or(getLiteralNode(var), getLiteralNode(-var));
+		}
+		return freeNodes[var];
+	}
+
+	private int and(List<Integer> children) {
+		switch (children.size()) {
+		case 0:
+			return DDNNF.TRUE;
+		case 1:
+			return children.get(0);
+		default:
+			final int[] node = new int[children.size() + 1];
+			node[0] = DDNNF.AND;
+			for (int i = 1; i < node.length; i++) {
+				node[i] = children.get(i - 1);
+			}
+			return addNode(node);
+		}
+	}
+
+	private int or(int child1, int child2) {
+		if (child1 == DDNNF.FALSE) {
+			return child2;
+		} else if (child2 == DDNNF.FALSE) {
+			return child1;
+		} else {
+			return addNode(new int[] { DDNNF.OR, child1, child2 });
+		}
+	}
+
+	private int addNode(int[] node) {
+		nodes.add(node);
+		return nodes.size() - 1;
+	}
+
+	public long getTimeout() {
+		return timeout;
+	}
+
+	public void setTimeout(long timeout) {
+		this.timeout = timeout;
+	}
+
+	public int getMaxNumberOfNodes() {
+		return maxNumberOfNodes;
+	}
+
+	public void setMaxNumberOfNodes(int maxNumberOfNodes) {
+		this.maxNumberOfNodes = maxNumberOfNodes;
+	}
+
+}
@@ -23,6 +23,9 @@ package org.prop4j.analyses;
 import java.util.Arrays;
 import java.util.Deque;
 import java.util.LinkedList;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import org.prop4j.Literal;
 import org.prop4j.Node;
@@ -33,7 +36,10 @@ import org.prop4j.solver.SatInstance;
 import de.ovgu.featureide.fm.core.conf.AFeatureGraph;
 import de.ovgu.featureide.fm.core.conf.IFeatureGraph;
 import de.ovgu.featureide.fm.core.conf.MatrixFeatureGraph;
+import de.ovgu.featureide.fm.core.conf.SparseFeatureGraph;
+import de.ovgu.featureide.fm.core.conf.SynchronizedFeatureGraph;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+import de.ovgu.featureide.fm.core.job.monitor.SyncMonitor;
 
 /**
  * Finds certain solutions of propositional formulas.
@@ -42,9 +48,10 @@ import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
  */
 public class FGBuilder extends AbstractAnalysis<IFeatureGraph> {
 
+	private static final int CHUNKS_PER_THREAD = 8;
+
 	private byte[] core = new byte[0];
 
-	private final Deque<Integer> parentStack = new LinkedList<>();
 	private byte[] recArray = new byte[0];
 
 	private byte[] visited;
@@ -52,6 +59,9 @@ public class FGBuilder extends AbstractAnalysis<IFeatureGraph> {
 	private int[] index;
 	private IFeatureGraph featureGraph;
 
+	private boolean sparse = false;
+	private int numberOfThreads = 1;
+
 	public FGBuilder(ISatSolver solver) {
 		super(solver);
 	}
@@ -62,8 +72,6 @@ public class FGBuilder extends AbstractAnalysis<IFeatureGraph> {
 
 	@Override
 	public IFeatureGraph analyze(IMonitor monitor) throws Exception {
-		parentStack.clear();
-
 		solver.initSolutionList(Integer.MAX_VALUE);
 		// Math.min(solver.getSatInstance().getNumberOfVariables(),
 		// ISatSolver.MAX_SOLUTION_BUFFER));
@@ -125,7 +133,11 @@ public class FGBuilder extends AbstractAnalysis<IFeatureGraph> {
 			}
 
 			final SatInstance satInstance = solver.getSatInstance();
-			featureGraph = new MatrixFeatureGraph(satInstance, index);
+			if (sparse) {
+				featureGraph = new SparseFeatureGraph(satInstance, index);
+			} else {
+				featureGraph = new MatrixFeatureGraph(satInstance, index);
+			}
 
 			final Node cnf = satInstance.getCnf();
 			outer: for (final Node clause : cnf.getChildren()) {
@@ -203,12 +215,14 @@ public class FGBuilder extends AbstractAnalysis<IFeatureGraph> {
 			}
 
 			Arrays.fill(recArray, (byte) 0);
-			for (int i = 0; i < model1.length; i++) {
-				if (core[i] == 0) {
-					parentStack.add((i + 1));
-					testVariable();
-					parentStack.add(-(i + 1));
-					testVariable();
+			monitor.setRemainingWork(model1.length);
+			if (numberOfThreads > 1) {
+				testVariablesParallel(model1.length, monitor);
+			} else {
+				final VariableTester tester = new VariableTester(solver);
+				for (int i = 0; i < model1.length; i++) {
+					tester.testVariables(i);
+					monitor.step();
 				}
 			}
 
@@ -221,11 +235,42 @@ public class FGBuilder extends AbstractAnalysis<IFeatureGraph> {
 				complete[i] = true;
 			}
 
+			if (sparse) {
+				((SparseFeatureGraph) featureGraph).trimToSize();
+			}
 			return featureGraph;
 		}
 		return null;
 	}
 
+	public boolean isSparse() {
+		return sparse;
+	}
+
+	/**
+	 * Sets whether the resulting feature graph should be a {@link SparseFeatureGraph} instead of a {@link MatrixFeatureGraph}.
+	 * A sparse graph needs less memory for large models with few dependencies between features, but is slower on lookups.
+	 *
+	 * @param sparse {@code true} for a sparse graph, {@code false} for a matrix graph (default)
+	 */
+	public void setSparse(boolean sparse) {
+		this.sparse = sparse;
+	}
+
+	public int getNumberOfThreads() {
+		return numberOfThreads;
+	}
+
+	/**
+	 * Sets the number of threads used to compute the implications between variables.
+	 * If greater than 1, the variables are split into ranges that are processed in a {@link ForkJoinPool}, where each worker uses its own copy of the solver.
+	 *
+	 * @param numberOfThreads the number of threads (default 1)
+	 */
+	public void setNumberOfThreads(int numberOfThreads) {
+		this.numberOfThreads = numberOfThreads;
+	}
+
 	private void addRelation(final int x, final int y) {
 		final int indexX = index[Math.abs(x) - 1];
 		final int indexY = index[Math.abs(y) - 1];
@@ -249,79 +294,179 @@ public class FGBuilder extends AbstractAnalysis<IFeatureGraph> {
 		}
 	}
 
-	private void testVariable() {
-		final int mx1 = parentStack.peek();
-		final int i = Math.abs(mx1) - 1;
-		final boolean positive = mx1 > 0;
-		final byte compareB = (byte) (positive ? 1 : 2);
+	private void testVariablesParallel(int numberOfVariables, IMonitor monitor) {
+		final IFeatureGraph graph = featureGraph;
+		featureGraph = new SynchronizedFeatureGraph(graph);
+		final ForkJoinPool pool = new ForkJoinPool(numberOfThreads);
+		try {
+			final int chunkSize = Math.max(1, numberOfVariables / (numberOfThreads * CHUNKS_PER_THREAD));
+			pool.invoke(new TestVariablesTask(0, numberOfVariables, chunkSize, new SyncMonitor(monitor), new ConcurrentLinkedQueue<ISatSolver>()));
+		} finally {
+			pool.shutdown();
+			featureGraph = graph;
+		}
+	}
+
+	private ISatSolver cloneSolver() {
+		final ISatSolver clonedSolver = solver.clone();
+		clonedSolver.initSolutionList(Integer.MAX_VALUE);
+		for (final int[] solution : solver.getSolutionList()) {
+			clonedSolver.getSolutionList().add(solution);
+		}
+		clonedSolver.setSelectionStrategy(SelectionStrategy.POSITIVE);
+		return clonedSolver;
+	}
 
+	/**
+	 * Marks a variable as tested for the given value.
+	 *
+	 * @return {@code true} if the variable was not tested before, {@code false} otherwise
+	 */
+	private synchronized boolean markTested(int i, byte compareB) {
 		if ((core[i] == 0) && ((recArray[i] & compareB) == 0)) {
 			recArray[i] |= compareB;
+			return true;
+		}
+		return false;
+	}
 
-			int[] xModel1 = null;
-			for (final int[] solution : solver.getSolutionList()) {
-				if (mx1 == solution[i]) {
-					xModel1 = solution;
-					break;
+	/**
+	 * Tests a range of variables. The range is split until it is smaller than the chunk size.
+	 * Each chunk borrows a solver from the shared queue (or clones a new one) and returns it afterwards.
+	 */
+	private final class TestVariablesTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int from, to, chunkSize;
+		private final IMonitor monitor;
+		private final ConcurrentLinkedQueue<ISatSolver> solvers;
+
+		public TestVariablesTask(int from, int to, int chunkSize, IMonitor monitor, ConcurrentLinkedQueue<ISatSolver> solvers) {
+			this.from = from;
+			this.to = to;
+			this.chunkSize = chunkSize;
+			this.monitor = monitor;
+			this.solvers = solvers;
+		}
+
+		@Override
+		protected void compute() {
+			if ((to - from) > chunkSize) {
+				final int mid = (from + to) >>> 1;
+				invokeAll(new TestVariablesTask(from, mid, chunkSize, monitor, solvers), new TestVariablesTask(mid, to, chunkSize, monitor, solvers));
+			} else {
+				ISatSolver taskSolver = solvers.poll();
+				if (taskSolver == null) {
+					taskSolver = cloneSolver();
+				}
+				try {
+					final VariableTester tester = new VariableTester(taskSolver);
+					for (int i = from; i < to; i++) {
+						tester.testVariables(i);
+						monitor.step();
+					}
+				} finally {
+					solvers.add(taskSolver);
 				}
 			}
+		}
+	}
 
-			solver.assignmentPush(mx1);
+	/**
+	 * Computes the implications of variables using a single solver.
+	 */
+	private final class VariableTester {
 
-			if (xModel1 == null) {
-				xModel1 = solver.findModel();
-				if (xModel1 == null) {
-					throw new RuntimeException();
-				}
+		private final ISatSolver solver;
+		private final Deque<Integer> parentStack = new LinkedList<>();
+
+		public VariableTester(ISatSolver solver) {
+			this.solver = solver;
+		}
+
+		public void testVariables(int i) {
+			if (core[i] == 0) {
+				parentStack.push(i + 1);
+				testVariable();
+				parentStack.push(-(i + 1));
+				testVariable();
 			}
+		}
 
-			int c = 0;
+		private void testVariable() {
+			final int mx1 = parentStack.peek();
+			final int i = Math.abs(mx1) - 1;
+			final boolean positive = mx1 > 0;
+			final byte compareB = (byte) (positive ? 1 : 2);
 
-			inner1: for (int j = i + 1; j < xModel1.length; j++) {
-				if (core[j] != 0) {
-					continue;
+			if (markTested(i, compareB)) {
+				int[] xModel1 = null;
+				for (final int[] solution : solver.getSolutionList()) {
+					if (mx1 == solution[i]) {
+						xModel1 = solution;
+						break;
+					}
 				}
-				final byte b = getRelation(i, j);
-				if (AFeatureGraph.isWeakEdge(b)
-					&& ((positive && !(AFeatureGraph.isEdge(b, AFeatureGraph.EDGE_10Q) || AFeatureGraph.isEdge(b, AFeatureGraph.EDGE_11Q)))
-						|| (!positive && !(AFeatureGraph.isEdge(b, AFeatureGraph.EDGE_00Q) || AFeatureGraph.isEdge(b, AFeatureGraph.EDGE_01Q))))) {
-
-					final int my1 = xModel1[j];
-					for (final int[] solution : solver.getSolutionList()) {
-						final int mxI = solution[i];
-						final int myI = solution[j];
-						if ((mx1 == mxI) && (my1 != myI)) {
-							continue inner1;
-						}
+
+				solver.assignmentPush(mx1);
+
+				if (xModel1 == null) {
+					xModel1 = solver.findModel();
+					if (xModel1 == null) {
+						throw new RuntimeException();
 					}
+				}
 
-					solver.assignmentPush(-my1);
-					solver.setSelectionStrategy(((c++ % 2) != 0) ? SelectionStrategy.POSITIVE : SelectionStrategy.NEGATIVE);
+				int c = 0;
 
-					switch (solver.isSatisfiable()) {
-					case FALSE:
-						for (final int mx0 : parentStack) {
-							addRelation(-mx0, my1);
+				inner1: for (int j = i + 1; j < xModel1.length; j++) {
+					if (core[j] != 0) {
+						continue;
+					}
+					final byte b = getRelation(i, j);
+					if (AFeatureGraph.isWeakEdge(b)
+						&& ((positive && !(AFeatureGraph.isEdge(b, AFeatureGraph.EDGE_10Q) || AFeatureGraph.isEdge(b, AFeatureGraph.EDGE_11Q)))
+							|| (!positive && !(AFeatureGraph.isEdge(b, AFeatureGraph.EDGE_00Q) || AFeatureGraph.isEdge(b, AFeatureGraph.EDGE_01Q))))) {
+
+						final int my1 = xModel1[j];
+						for (final int[] solution : solver.getSolutionList()) {
+							final int mxI = solution[i];
+							final int myI = solution[j];
+							if ((mx1 == mxI) && (my1 != myI)) {
+								continue inner1;
+							}
+						}
+
+						solver.assignmentPush(-my1);
+						solver.setSelectionStrategy(((c++ % 2) != 0) ? SelectionStrategy.POSITIVE : SelectionStrategy.NEGATIVE);
+
+						switch (solver.isSatisfiable()) {
+						case FALSE:
+							for (final int mx0 : parentStack) {
+								addRelation(-mx0, my1);
+							}
+							parentStack.push(my1);
+							solver.assignmentPop();
+							solver.assignmentPop();
+							testVariable();
+							solver.assignmentPush(mx1);
+							break;
+						case TIMEOUT:
+							solver.assignmentPop();
+							break;
+						case TRUE:
+							solver.shuffleOrder();
+							solver.assignmentPop();
+							break;
 						}
-						parentStack.push(my1);
-						solver.assignmentPop();
-						solver.assignmentPop();
-						testVariable();
-						solver.assignmentPush(mx1);
-						break;
-					case TIMEOUT:
-						solver.assignmentPop();
-						break;
-					case TRUE:
-						solver.shuffleOrder();
-						solver.assignmentPop();
-						break;
 					}
 				}
+				solver.assignmentPop();
 			}
-			solver.assignmentPop();
+			parentStack.pop();
 		}
-		parentStack.pop();
+
 	}
 
 	private byte getRelation(int indexX, int indexY) {
@@ -21,17 +21,23 @@
 package org.prop4j.analyses;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
+import org.prop4j.Literal;
 import org.prop4j.Node;
 import org.prop4j.Not;
 import org.prop4j.solver.BasicSolver;
 import org.prop4j.solver.ISatSolver.SatResult;
 import org.prop4j.solver.ModifiableSolver;
 import org.prop4j.solver.SatInstance;
+import org.prop4j.solver.SelectorSolver;
 import org.sat4j.specs.ContradictionException;
 import org.sat4j.specs.IConstr;
 
@@ -42,9 +48,11 @@ import de.ovgu.featureide.fm.core.base.FeatureUtils;
 import de.ovgu.featureide.fm.core.base.IConstraint;
 import de.ovgu.featureide.fm.core.base.IFeature;
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.conf.worker.base.AWorkerThread;
 import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
 import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.CNFType;
 import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.ModelType;
+import de.ovgu.featureide.fm.core.editing.CNFCache;
 import de.ovgu.featureide.fm.core.filter.HiddenFeatureFilter;
 import de.ovgu.featureide.fm.core.functional.Functional;
 import de.ovgu.featureide.fm.core.job.LongRunningMethod;
@@ -62,6 +70,290 @@ import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
  */
 public class FeatureModelAnalysis implements LongRunningMethod<HashMap<Object, Object>> {
 
+	/**
+	 * Number of constraint blocks per thread used by the parallel dead and false-optional check.
+	 */
+	private static final int BLOCKS_PER_THREAD = 4;
+
+	/**
+	 * A phase of a {@link FeatureModelAnalysis}. All stages of one run share the sat instances and the solver of the analysis.
+	 *
+	 * @see FeatureModelAnalysis#getFeatureStages()
+	 * @see FeatureModelAnalysis#getConstraintStages()
+	 */
+	public static interface IAnalysisStage {
+
+		String getName();
+
+		void execute(FeatureModelAnalysis analysis, IMonitor monitor) throws Exception;
+
+	}
+
+	private abstract static class DefaultStage implements IAnalysisStage {
+
+		private final String name;
+
+		public DefaultStage(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public String getName() {
+			return name;
+		}
+
+		@Override
+		public void execute(FeatureModelAnalysis analysis, IMonitor monitor) throws Exception {
+			execute();
+		}
+
+		protected abstract void execute() throws Exception;
+
+	}
+
+	/**
+	 * Checks for each constraint whether it is implied by the feature model structure and all other constraints. A constraint that is not implied by all other
+	 * constraints cannot be redundant.
+	 */
+	private static class RedundantCandidateThread extends AWorkerThread<Integer> {
+
+		private final SatInstance si;
+		private final List<Node> cnfNodes;
+		private final boolean[] candidates;
+
+		private SelectorSolver solver;
+
+		public RedundantCandidateThread(SatInstance si, List<Node> cnfNodes, boolean[] candidates, IMonitor monitor) {
+			super(monitor);
+			this.si = si;
+			this.cnfNodes = cnfNodes;
+			this.candidates = candidates;
+		}
+
+		private RedundantCandidateThread(RedundantCandidateThread oldThread) {
+			super(oldThread);
+			si = oldThread.si;
+			cnfNodes = oldThread.cnfNodes;
+			candidates = oldThread.candidates;
+		}
+
+		@Override
+		protected boolean beforeWork() {
+			try {
+				solver = new SelectorSolver(si, cnfNodes);
+				return true;
+			} catch (final ContradictionException e) {
+				Logger.logError(e);
+				return false;
+			}
+		}
+
+		@Override
+		protected void work(Integer index) {
+			solver.setActive(index, false);
+			candidates[index] = solver.isImplied(cnfNodes.get(index));
+			solver.setActive(index, true);
+		}
+
+		@Override
+		protected AWorkerThread<Integer> newThread() {
+			return new RedundantCandidateThread(this);
+		}
+
+	}
+
+	/**
+	 * Checks for each constraint whether it contradicts the feature model structure on its own.
+	 */
+	private static class UnsatisfiableCandidateThread extends AWorkerThread<Integer> {
+
+		private final SatInstance si;
+		private final List<Node> cnfNodes;
+		private final ConstraintAttribute[] attributes;
+
+		private SelectorSolver solver;
+
+		public UnsatisfiableCandidateThread(SatInstance si, List<Node> cnfNodes, ConstraintAttribute[] attributes, IMonitor monitor) {
+			super(monitor);
+			this.si = si;
+			this.cnfNodes = cnfNodes;
+			this.attributes = attributes;
+		}
+
+		private UnsatisfiableCandidateThread(UnsatisfiableCandidateThread oldThread) {
+			super(oldThread);
+			si = oldThread.si;
+			cnfNodes = oldThread.cnfNodes;
+			attributes = oldThread.attributes;
+		}
+
+		@Override
+		protected boolean beforeWork() {
+			try {
+				solver = new SelectorSolver(si, cnfNodes);
+				for (int i = 0; i < cnfNodes.size(); i++) {
+					solver.setActive(i, false);
+				}
+				return true;
+			} catch (final ContradictionException e) {
+				Logger.logError(e);
+				return false;
+			}
+		}
+
+		@Override
+		protected void work(Integer index) {
+			solver.setActive(index, true);
+			if (solver.isSatisfiable() != SatResult.TRUE) {
+				attributes[index] = getUnsatisfiableAttribute(cnfNodes.get(index));
+			}
+			solver.setActive(index, false);
+		}
+
+		@Override
+		protected AWorkerThread<Integer> newThread() {
+			return new UnsatisfiableCandidateThread(this);
+		}
+
+	}
+
+	/**
+	 * Computes for a block of constraints at which constraint a dead or false-optional feature is found for the first time. Each worker creates a solver
+	 * containing the feature model structure and all constraints before its block.
+	 */
+	private static class DeadFalseOptionalThread extends AWorkerThread<Integer> {
+
+		private final SatInstance si;
+		private final List<Node> cnfNodes;
+		private final boolean[] normal;
+		private final int[] blockStarts;
+		private final int[] deadVars;
+		private final List<int[]> foPairs;
+		private final int[] firstDead;
+		private final int[] firstFalseOptional;
+
+		public DeadFalseOptionalThread(SatInstance si, List<Node> cnfNodes, boolean[] normal, int[] blockStarts, int[] deadVars, List<int[]> foPairs,
+				IMonitor monitor) {
+			super(monitor);
+			this.si = si;
+			this.cnfNodes = cnfNodes;
+			this.normal = normal;
+			this.blockStarts = blockStarts;
+			this.deadVars = deadVars;
+			this.foPairs = foPairs;
+			firstDead = new int[deadVars.length];
+			firstFalseOptional = new int[foPairs.size()];
+			Arrays.fill(firstDead, -1);
+			Arrays.fill(firstFalseOptional, -1);
+		}
+
+		private DeadFalseOptionalThread(DeadFalseOptionalThread oldThread) {
+			super(oldThread);
+			si = oldThread.si;
+			cnfNodes = oldThread.cnfNodes;
+			normal = oldThread.normal;
+			blockStarts = oldThread.blockStarts;
+			deadVars = oldThread.deadVars;
+			foPairs = oldThread.foPairs;
+			firstDead = oldThread.firstDead;
+			firstFalseOptional = oldThread.firstFalseOptional;
+		}
+
+		@Override
+		protected void work(Integer block) {
+			final int start = blockStarts[block];
+			final int end = blockStarts[block + 1];
+			final BasicSolver solver;
+			try {
+				solver = new BasicSolver(si);
+				for (int i = 0; i < start; i++) {
+					solver.addClauses(cnfNodes.get(i));
+				}
+			} catch (final ContradictionException e) {
+				Logger.logError(e);
+				return;
+			}
+
+			// features found before the block start belong to a previous block
+			final List<Integer> remainingDead = new ArrayList<>();
+			for (int j = 0; j < deadVars.length; j++) {
+				remainingDead.add(j);
+			}
+			final List<Integer> remainingFalseOptional = new ArrayList<>();
+			for (int j = 0; j < foPairs.size(); j++) {
+				remainingFalseOptional.add(j);
+			}
+			if (start > 0) {
+				removeDead(solver, remainingDead);
+				removeFalseOptional(solver, remainingFalseOptional);
+			}
+
+			for (int i = start; i < end; i++) {
+				try {
+					solver.addClauses(cnfNodes.get(i));
+				} catch (final ContradictionException e) {
+					Logger.logError(e);
+					return;
+				}
+				if (normal[i] || (i == (end - 1))) {
+					for (final Integer j : removeDead(solver, remainingDead)) {
+						firstDead[j] = i;
+					}
+					for (final Integer j : removeFalseOptional(solver, remainingFalseOptional)) {
+						firstFalseOptional[j] = i;
+					}
+				}
+			}
+		}
+
+		private List<Integer> removeDead(BasicSolver solver, List<Integer> remaining) {
+			if (remaining.isEmpty()) {
+				return Collections.emptyList();
+			}
+			final int[] vars = new int[remaining.size()];
+			for (int j = 0; j < vars.length; j++) {
+				vars[j] = deadVars[remaining.get(j)];
+			}
+			final int[] solution = LongRunningWrapper.runMethod(new CoreDeadAnalysis(solver, vars));
+			final List<Integer> removed = new ArrayList<>();
+			for (final int var : solution) {
+				if (var < 0) {
+					for (final Integer j : remaining) {
+						if (deadVars[j] == -var) {
+							removed.add(j);
+							break;
+						}
+					}
+				}
+			}
+			remaining.removeAll(removed);
+			return removed;
+		}
+
+		private List<Integer> removeFalseOptional(BasicSolver solver, List<Integer> remaining) {
+			if (remaining.isEmpty()) {
+				return Collections.emptyList();
+			}
+			final List<int[]> pairs = new ArrayList<>(remaining.size());
+			for (final Integer j : remaining) {
+				pairs.add(foPairs.get(j));
+			}
+			final List<int[]> solution = LongRunningWrapper.runMethod(new ImplicationAnalysis(solver, pairs));
+			final List<Integer> removed = new ArrayList<>();
+			for (final int[] pair : solution) {
+				removed.add(remaining.get(pairs.indexOf(pair)));
+			}
+			remaining.removeAll(removed);
+			return removed;
+		}
+
+		@Override
+		protected AWorkerThread<Integer> newThread() {
+			return new DeadFalseOptionalThread(this);
+		}
+
+	}
+
 	/**
 	 * Defines whether constraints should be included into calculations.
 	 */
@@ -96,9 +388,29 @@ public class FeatureModelAnalysis implements LongRunningMethod<HashMap<Object, O
 	private final IFeatureModel fm;
 	private final AdvancedNodeCreator nodeCreator;
 
+	/**
+	 * If set, core and dead features are computed incrementally by this analysis.
+	 */
+	private IncrementalCoreDeadAnalysis incrementalCoreDeadAnalysis = null;
+
+	/**
+	 * The number of threads used to compute core, dead, and false-optional features as well as the constraint attributes. If greater than one, the parallel
+	 * analyses are used. The results of the parallel constraint checks do not depend on the number of threads.
+	 */
+	private int numberOfThreads = 1;
+
 	private IMonitor monitor = new NullMonitor();
 
-	public FeatureModelAnalysis(IFeatureModel fm) {
+	private final List<IAnalysisStage> featureStages = new ArrayList<>();
+	private final List<IAnalysisStage> constraintStages = new ArrayList<>();
+	private final LinkedHashMap<String, Long> stageTimes = new LinkedHashMap<>();
+
+	private SatInstance satInstance = null;
+	private SatInstance structureSatInstance = null;
+	private BasicSolver solver = null;
+	private boolean contradiction = false;
+
+	public FeatureModelAnalysis(final IFeatureModel fm) {
 		this.fm = fm;
 
 		deadFeatures = new ArrayList<>();
@@ -109,6 +421,83 @@ public class FeatureModelAnalysis implements LongRunningMethod<HashMap<Object, O
 		nodeCreator.setCnfType(CNFType.Regular);
 		nodeCreator.setIncludeBooleanValues(false);
 		nodeCreator.setUseOldNames(false);
+
+		featureStages.add(new DefaultStage("Reset Features") {
+
+			@Override
+			protected void execute() {
+				resetFeatures();
+			}
+		});
+		featureStages.add(new DefaultStage("Validity") {
+
+			@Override
+			protected void execute() {
+				checkValidity();
+			}
+		});
+		featureStages.add(new DefaultStage("False-Optional Features") {
+
+			@Override
+			protected void execute() {
+				if (valid) {
+					checkFeatureFalseOptional(fm.getFeatures());
+				}
+			}
+		});
+		featureStages.add(new DefaultStage("Core and Dead Features") {
+
+			@Override
+			protected void execute() {
+				if (valid) {
+					checkFeatureDead();
+				}
+			}
+		});
+		featureStages.add(new DefaultStage("Indeterminate Hidden Features") {
+
+			@Override
+			protected void execute() {
+				if (valid) {
+					checkFeatureHidden(fm.getFeatures());
+				}
+			}
+		});
+
+		constraintStages.add(new DefaultStage("Reset Constraints") {
+
+			@Override
+			protected void execute() {
+				resetConstraints();
+			}
+		});
+		constraintStages.add(new DefaultStage("Redundant Constraints") {
+
+			@Override
+			protected void execute() throws ContradictionException {
+				if (valid) {
+					checkConstraintRedundant(fm.getConstraints());
+				}
+			}
+		});
+		constraintStages.add(new DefaultStage("Dead and False-Optional Constraints") {
+
+			@Override
+			protected void execute() throws ContradictionException {
+				if (valid) {
+					checkConstraintDeadAndFalseOptional(fm.getConstraints());
+				}
+			}
+		});
+		constraintStages.add(new DefaultStage("Unsatisfiable Constraints") {
+
+			@Override
+			protected void execute() throws ContradictionException {
+				if (!valid) {
+					checkConstraintUnsatisfiable(fm.getConstraints());
+				}
+			}
+		});
 	}
 
 	public boolean isCalculateConstraints() {
@@ -167,6 +556,82 @@ public class FeatureModelAnalysis implements LongRunningMethod<HashMap<Object, O
 		this.calculateDeadConstraints = calculateDeadConstraints;
 	}
 
+	public IncrementalCoreDeadAnalysis getIncrementalCoreDeadAnalysis() {
+		return incrementalCoreDeadAnalysis;
+	}
+
+	public void setIncrementalCoreDeadAnalysis(IncrementalCoreDeadAnalysis incrementalCoreDeadAnalysis) {
+		this.incrementalCoreDeadAnalysis = incrementalCoreDeadAnalysis;
+	}
+
+	public int getNumberOfThreads() {
+		return numberOfThreads;
+	}
+
+	public void setNumberOfThreads(int numberOfThreads) {
+		this.numberOfThreads = numberOfThreads;
+	}
+
+	public List<IAnalysisStage> getFeatureStages() {
+		return featureStages;
+	}
+
+	public List<IAnalysisStage> getConstraintStages() {
+		return constraintStages;
+	}
+
+	/**
+	 * Returns the time spent in each stage of the last run.
+	 *
+	 * @return a map from the stage names to the elapsed time in nanoseconds, in the order in which the stages were executed
+	 */
+	public Map<String, Long> getStageTimes() {
+		return Collections.unmodifiableMap(stageTimes);
+	}
+
+	/**
+	 * Returns the sat instance of the complete feature model, which is shared by all stages of a run.
+	 *
+	 * @return the sat instance containing the structure and all cross-tree constraints
+	 */
+	public SatInstance getSatInstance() {
+		if (satInstance == null) {
+			nodeCreator.setModelType(ModelType.All);
+			satInstance = CNFCache.getInstance().getSatInstance(nodeCreator, FeatureUtils.getFeatureNamesPreorder(fm));
+		}
+		return satInstance;
+	}
+
+	/**
+	 * Returns the sat instance of the feature model structure, which is shared by all stages of a run.
+	 *
+	 * @return the sat instance containing only the structure of the feature model
+	 */
+	public SatInstance getStructureSatInstance() {
+		if (structureSatInstance == null) {
+			nodeCreator.setModelType(ModelType.OnlyStructure);
+			structureSatInstance = CNFCache.getInstance().getSatInstance(nodeCreator, FeatureUtils.getFeatureNamesPreorder(fm));
+		}
+		return structureSatInstance;
+	}
+
+	/**
+	 * Returns the solver for the complete feature model, which is shared by all stages of a run. Thus, clauses learned by one stage are available to the
+	 * following stages. Stages must not add clauses to this solver.
+	 *
+	 * @return the solver for {@link #getSatInstance()} or {@code null} if the formula is contradictory
+	 */
+	public BasicSolver getSolver() {
+		if ((solver == null) && !contradiction) {
+			try {
+				solver = new BasicSolver(getSatInstance());
+			} catch (final ContradictionException e) {
+				contradiction = true;
+			}
+		}
+		return solver;
+	}
+
 	/**
 	 * @return Hashmap: key entry is Feature/Constraint, value usually indicating the kind of attribute (non-Javadoc)
 	 */
@@ -175,14 +640,19 @@ public class FeatureModelAnalysis implements LongRunningMethod<HashMap<Object, O
 		this.monitor = monitor;
 		int work = 0;
 		if (calculateFeatures) {
-			work += 5;
+			work += featureStages.size();
 			if (calculateConstraints) {
-				work += 2;
+				work += constraintStages.size();
 			}
 		}
 		monitor.setRemainingWork(work);
 
 		changedAttributes.clear();
+		stageTimes.clear();
+		satInstance = null;
+		structureSatInstance = null;
+		solver = null;
+		contradiction = false;
 
 		deadFeatures.clear();
 		coreFeatures.clear();
@@ -208,34 +678,38 @@ public class FeatureModelAnalysis implements LongRunningMethod<HashMap<Object, O
 	}
 
 	public void updateFeatures() {
-		final Iterable<IFeature> features = fm.getFeatures();
-		for (final IFeature feature : features) {
-			feature.getProperty().setFeatureStatus(FeatureStatus.NORMAL, false);
-			FeatureUtils.setRelevantConstraints(feature);
-		}
-		monitor.step();
-
-		nodeCreator.setModelType(ModelType.All);
-		final SatInstance si = new SatInstance(nodeCreator.createNodes(), FeatureUtils.getFeatureNamesPreorder(fm));
-
-		checkValidity(si);
-		monitor.step();
+		runStages(featureStages);
+	}
 
-		if (valid) {
-			checkFeatureFalseOptional(features, si);
-			monitor.step();
+	public void updateConstraints() {
+		runStages(constraintStages);
+	}
 
-			checkFeatureDead(si);
+	private void runStages(List<IAnalysisStage> stages) {
+		for (final IAnalysisStage stage : stages) {
+			final long startTime = System.nanoTime();
+			try {
+				stage.execute(this, monitor);
+			} catch (final RuntimeException e) {
+				throw e;
+			} catch (final Exception e) {
+				Logger.logError(e);
+			}
+			final Long time = stageTimes.get(stage.getName());
+			stageTimes.put(stage.getName(), ((time != null) ? time : 0) + (System.nanoTime() - startTime));
 			monitor.step();
+		}
+	}
 
-			checkFeatureHidden(features);
-			monitor.step();
+	private void resetFeatures() {
+		for (final IFeature feature : fm.getFeatures()) {
+			feature.getProperty().setFeatureStatus(FeatureStatus.NORMAL, false);
+			FeatureUtils.setRelevantConstraints(feature);
 		}
 	}
 
-	public void updateConstraints() {
-		final List<IConstraint> constraints = fm.getConstraints();
-		for (final IConstraint constraint : constraints) {
+	private void resetConstraints() {
+		for (final IConstraint constraint : fm.getConstraints()) {
 			constraint.setConstraintAttribute(ConstraintAttribute.NORMAL, false);
 			constraint.setContainedFeatures();
 			constraint.setFalseOptionalFeatures(Collections.<IFeature> emptyList());
@@ -243,26 +717,11 @@ public class FeatureModelAnalysis implements LongRunningMethod<HashMap<Object, O
 		}
 
 		if (!calculateFeatures) {
-			checkValidity(new SatInstance(nodeCreator.createNodes(), FeatureUtils.getFeatureNamesPreorder(fm)));
-		}
-
-		try {
-			if (valid) {
-				checkConstraintRedundant(constraints);
-				monitor.step();
-				checkConstraintDeadAndFalseOptional(constraints);
-				monitor.step();
-			} else {
-				checkConstraintUnsatisfiable(constraints);
-				monitor.step();
-				monitor.step();
-			}
-		} catch (final ContradictionException e) {
-			Logger.logError(e);
+			checkValidity();
 		}
 	}
 
-	private boolean checkConstraintContradiction(Node constraintNode) {
+	private static boolean checkConstraintContradiction(Node constraintNode) {
 		return LongRunningWrapper.runMethod(new ValidAnalysis(new SatInstance(constraintNode))) == null;
 	}
 
@@ -270,8 +729,11 @@ public class FeatureModelAnalysis implements LongRunningMethod<HashMap<Object, O
 		if (!calculateFOConstraints && !calculateDeadConstraints) {
 			return;
 		}
-		nodeCreator.setModelType(ModelType.OnlyStructure);
-		final SatInstance si = new SatInstance(nodeCreator.createNodes(), FeatureUtils.getFeatureNamesPreorder(fm));
+		final SatInstance si = getStructureSatInstance();
+		if (numberOfThreads > 1) {
+			checkConstraintDeadAndFalseOptionalParallel(constraints, si);
+			return;
+		}
 		final BasicSolver modSat = new BasicSolver(si);
 
 		final List<IFeature> deadList = new LinkedList<>(deadFeatures);
@@ -309,59 +771,37 @@ public class FeatureModelAnalysis implements LongRunningMethod<HashMap<Object, O
 	/**
 	 * Detects redundancy of a constraint by checking if the model without the new (possibly redundant) constraint implies the model with the new constraint and
 	 * the other way round. If this is the case, both models are equivalent and the constraint is redundant. If a redundant constraint has been detected, it is
-	 * explained.
+	 * explained.<br/> Constraints are deactivated via selector variables instead of being removed from the solver, since removing clauses can discard unit
+	 * clauses of other constraints. If more than one thread is used, the constraints that cannot be redundant are filtered out in parallel first.
 	 *
 	 * @param constraint The constraint to check whether it is redundant
 	 */
 	private void checkConstraintRedundant(final List<IConstraint> constraints) throws ContradictionException {
 		if (calculateRedundantConstraints) {
-			nodeCreator.setModelType(ModelType.OnlyStructure);
-			final SatInstance si = new SatInstance(nodeCreator.createNodes(), FeatureUtils.getFeatureNamesPreorder(fm));
-			final ModifiableSolver redundantSat = new ModifiableSolver(si);
-
-			final List<List<IConstr>> constraintMarkers = new ArrayList<>();
-			final List<Node> cnfNodes = new ArrayList<>();
-			for (final IConstraint constraint : constraints) {
-				final Node cnf = constraint.getNode().toRegularCNF();
-				cnfNodes.add(cnf);
-
-				constraintMarkers.add(redundantSat.addClauses(cnf));
+			final SatInstance si = getStructureSatInstance();
+			final List<Node> cnfNodes = getConstraintCNFs(constraints);
+			if (cnfNodes.isEmpty()) {
+				return;
 			}
+			final boolean[] candidates = (numberOfThreads > 1) ? getRedundantCandidates(cnfNodes, si) : null;
 			monitor.checkCancel();
 
-			int i = -1;
+			final SelectorSolver redundantSat = new SelectorSolver(si, cnfNodes);
+			int i = 0;
 			for (final IConstraint constraint : constraints) {
-				i++;
-				if (calculateRedundantConstraints) {
-					boolean redundant = true;
-					boolean removedAtLeastOne = false;
-					for (final IConstr cm : constraintMarkers.get(i)) {
-						if (cm != null) {
-							removedAtLeastOne = true;
-							redundantSat.removeConstraint(cm);
-						}
-					}
-					if (removedAtLeastOne) {
-						final Node constraintNode = cnfNodes.get(i);
-
-						final Node[] clauses = constraintNode.getChildren();
-						for (int j = 0; j < clauses.length; j++) {
-							if (!redundantSat.isImplied(clauses[j].getChildren())) {
-								redundant = false;
-								redundantSat.addClauses(constraintNode);
-								break;
-							}
-						}
-					}
-
-					if (redundant) {
+				if ((candidates == null) || candidates[i]) {
+					redundantSat.setActive(i, false);
+					if (redundantSat.isImplied(cnfNodes.get(i))) {
 						if (checkConstraintTautology(constraint.getNode())) {
 							setConstraintAttribute(constraint, ConstraintAttribute.TAUTOLOGY);
 						} else {
 							setConstraintAttribute(constraint, ConstraintAttribute.REDUNDANT);
 						}
+					} else {
+						redundantSat.setActive(i, true);
 					}
 				}
+				i++;
 				monitor.checkCancel();
 			}
 		} else if (calculateTautologyConstraints) {
@@ -374,13 +814,28 @@ public class FeatureModelAnalysis implements LongRunningMethod<HashMap<Object, O
 		}
 	}
 
-	private boolean checkConstraintTautology(Node constraintNode) {
+	/**
+	 * Checks all constraints in parallel whether they are implied by the feature model structure and all other constraints. Only these constraints can be
+	 * redundant.
+	 */
+	private boolean[] getRedundantCandidates(final List<Node> cnfNodes, final SatInstance si) {
+		final boolean[] candidates = new boolean[cnfNodes.size()];
+		final RedundantCandidateThread worker = new RedundantCandidateThread(si, cnfNodes, candidates, monitor.subTask(0));
+		worker.addObjects(getIndices(cnfNodes.size()));
+		worker.start(Math.min(numberOfThreads, cnfNodes.size()));
+		return candidates;
+	}
+
+	private static boolean checkConstraintTautology(Node constraintNode) {
 		return checkConstraintContradiction(new Not(constraintNode).toRegularCNF());
 	}
 
 	private void checkConstraintUnsatisfiable(final List<IConstraint> constraints) throws ContradictionException {
-		nodeCreator.setModelType(ModelType.OnlyStructure);
-		final SatInstance si = new SatInstance(nodeCreator.createNodes(), FeatureUtils.getFeatureNamesPreorder(fm));
+		final SatInstance si = getStructureSatInstance();
+		if (numberOfThreads > 1) {
+			checkConstraintUnsatisfiableParallel(constraints, si);
+			return;
+		}
 		final ModifiableSolver unsat = new ModifiableSolver(si);
 		monitor.checkCancel();
 
@@ -417,10 +872,218 @@ public class FeatureModelAnalysis implements LongRunningMethod<HashMap<Object, O
 		}
 	}
 
-	private void checkFeatureDead(final SatInstance si) {
+	/**
+	 * Parallel version of {@link #checkConstraintUnsatisfiable(List)}. First, all constraints are checked in parallel against the feature model structure.
+	 * A constraint that is satisfiable together with the structure cannot be a contradiction. For all other constraints, the contradiction check is computed
+	 * in parallel as well. Afterwards, the constraints are added in the same order and with the same precedence as in the sequential check. The solver is
+	 * only called if the constraint is not already known to be unsatisfiable and the last found solution does not satisfy it.
+	 */
+	private void checkConstraintUnsatisfiableParallel(final List<IConstraint> constraints, final SatInstance si) throws ContradictionException {
+		final List<Node> cnfNodes = getConstraintCNFs(constraints);
+		if (cnfNodes.isEmpty()) {
+			return;
+		}
+		final ConstraintAttribute[] attributes = new ConstraintAttribute[cnfNodes.size()];
+		final UnsatisfiableCandidateThread worker = new UnsatisfiableCandidateThread(si, cnfNodes, attributes, monitor.subTask(0));
+		worker.addObjects(getIndices(cnfNodes.size()));
+		worker.start(Math.min(numberOfThreads, cnfNodes.size()));
+		monitor.checkCancel();
+
+		final ModifiableSolver unsat = new ModifiableSolver(si);
+		int[] model = null;
+		int i = 0;
+		for (final IConstraint constraint : constraints) {
+			final Node cnf = cnfNodes.get(i);
+
+			List<IConstr> constraintMarkers = null;
+			boolean satisfiable;
+			try {
+				constraintMarkers = unsat.addClauses(cnf);
+				if (attributes[i] != null) {
+					satisfiable = false;
+				} else if ((model != null) && isSatisfied(model, cnf, si)) {
+					satisfiable = true;
+				} else {
+					satisfiable = unsat.isSatisfiable() == SatResult.TRUE;
+					if (satisfiable) {
+						model = unsat.getModel();
+					}
+				}
+			} catch (final ContradictionException e) {
+				satisfiable = false;
+			}
+
+			if (!satisfiable) {
+				if (constraintMarkers != null) {
+					for (final IConstr constr : constraintMarkers) {
+						if (constr != null) {
+							unsat.removeConstraint(constr);
+						}
+					}
+					setConstraintAttribute(constraint, (attributes[i] != null) ? attributes[i] : ConstraintAttribute.VOID_MODEL);
+				} else {
+					setConstraintAttribute(constraint, ConstraintAttribute.UNSATISFIABLE);
+				}
+			}
+			i++;
+			monitor.checkCancel();
+		}
+	}
+
+	private static ConstraintAttribute getUnsatisfiableAttribute(Node cnf) {
+		return checkConstraintContradiction(cnf) ? ConstraintAttribute.UNSATISFIABLE : ConstraintAttribute.VOID_MODEL;
+	}
+
+	/**
+	 * Parallel version of {@link #checkConstraintDeadAndFalseOptional(List)}. The constraints are split into consecutive blocks. For each block, a worker
+	 * computes the constraint index at which a dead or false-optional feature is found for the first time. Afterwards, each feature is assigned to the first
+	 * normal constraint at or after this index, which is the same constraint the sequential check would assign it to.
+	 */
+	private void checkConstraintDeadAndFalseOptionalParallel(final List<IConstraint> constraints, final SatInstance si) {
+		final List<Node> cnfNodes = getConstraintCNFs(constraints);
+		if (cnfNodes.isEmpty()) {
+			return;
+		}
+
+		final boolean[] normal = new boolean[cnfNodes.size()];
+		int i = 0;
+		for (final IConstraint constraint : constraints) {
+			normal[i++] = constraint.getConstraintAttribute() == ConstraintAttribute.NORMAL;
+		}
+
+		// the sequential check reports dead features in the order of their variables
+		final List<IFeature> deadList = calculateDeadConstraints ? new ArrayList<>(deadFeatures) : new ArrayList<IFeature>();
+		Collections.sort(deadList, new Comparator<IFeature>() {
+
+			@Override
+			public int compare(IFeature o1, IFeature o2) {
+				return si.getVariable(o1.getName()) - si.getVariable(o2.getName());
+			}
+		});
+		final int[] deadVars = new int[deadList.size()];
+		for (int j = 0; j < deadVars.length; j++) {
+			deadVars[j] = si.getVariable(deadList.get(j).getName());
+		}
+		final List<IFeature> foList = new ArrayList<>();
+		final List<int[]> foPairs = new ArrayList<>();
+		if (calculateFOConstraints) {
+			for (final IFeature feature : falseOptionalFeatures) {
+				final IFeature parent = FeatureUtils.getParent(feature);
+				if ((parent != null) && (!feature.getStructure().isMandatorySet() || !parent.getStructure().isAnd())) {
+					foList.add(feature);
+					foPairs.add(new int[] { -si.getVariable(parent.getName()), si.getVariable(feature.getName()) });
+				}
+			}
+		}
+		if (deadList.isEmpty() && foList.isEmpty()) {
+			return;
+		}
+
+		final int numberOfBlocks = Math.min(cnfNodes.size(), numberOfThreads * BLOCKS_PER_THREAD);
+		final int[] blockStarts = new int[numberOfBlocks + 1];
+		for (int b = 0; b <= numberOfBlocks; b++) {
+			blockStarts[b] = (int) (((long) b * cnfNodes.size()) / numberOfBlocks);
+		}
+
+		final DeadFalseOptionalThread worker = new DeadFalseOptionalThread(si, cnfNodes, normal, blockStarts, deadVars, foPairs, monitor.subTask(0));
+		worker.addObjects(getIndices(numberOfBlocks));
+		worker.start(Math.min(numberOfThreads, numberOfBlocks));
+		monitor.checkCancel();
+
+		final int[] nextNormal = new int[normal.length];
+		int next = -1;
+		for (int j = normal.length - 1; j >= 0; j--) {
+			if (normal[j]) {
+				next = j;
+			}
+			nextNormal[j] = next;
+		}
+		final List<List<IFeature>> newDeadFeatures = getConstraintFeatureLists(deadList, worker.firstDead, nextNormal);
+		final List<List<IFeature>> newFOFeatures = getConstraintFeatureLists(foList, worker.firstFalseOptional, nextNormal);
+
+		i = 0;
+		for (final IConstraint constraint : constraints) {
+			final List<IFeature> newDeadFeature = newDeadFeatures.get(i);
+			if (!newDeadFeature.isEmpty()) {
+				constraint.setDeadFeatures(newDeadFeature);
+				setConstraintAttribute(constraint, ConstraintAttribute.DEAD);
+			}
+			final List<IFeature> newFOFeature = newFOFeatures.get(i);
+			if (!newFOFeature.isEmpty()) {
+				constraint.setFalseOptionalFeatures(newFOFeature);
+				if (constraint.getConstraintAttribute() == ConstraintAttribute.NORMAL) {
+					setConstraintAttribute(constraint, ConstraintAttribute.FALSE_OPTIONAL);
+				}
+			}
+			i++;
+		}
+	}
+
+	private static List<List<IFeature>> getConstraintFeatureLists(List<IFeature> features, int[] firstIndex, int[] nextNormal) {
+		final List<List<IFeature>> lists = new ArrayList<>(nextNormal.length);
+		for (int i = 0; i < nextNormal.length; i++) {
+			lists.add(new ArrayList<IFeature>());
+		}
+		for (int j = 0; j < firstIndex.length; j++) {
+			if (firstIndex[j] >= 0) {
+				final int constraintIndex = nextNormal[firstIndex[j]];
+				if (constraintIndex >= 0) {
+					lists.get(constraintIndex).add(features.get(j));
+				}
+			}
+		}
+		return lists;
+	}
+
+	private static List<Node> getConstraintCNFs(final List<IConstraint> constraints) {
+		final List<Node> cnfNodes = new ArrayList<>(constraints.size());
+		for (final IConstraint constraint : constraints) {
+			cnfNodes.add(constraint.getNode().toRegularCNF());
+		}
+		return cnfNodes;
+	}
+
+	private static List<Integer> getIndices(int size) {
+		final List<Integer> indices = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			indices.add(i);
+		}
+		return indices;
+	}
+
+	private static boolean isSatisfied(int[] model, Node cnf, SatInstance si) {
+		clauseLoop: for (final Node clause : cnf.getChildren()) {
+			for (final Node literal : clause.getChildren()) {
+				final int var = si.getSignedVariable((Literal) literal);
+				if (model[Math.abs(var) - 1] == var) {
+					continue clauseLoop;
+				}
+			}
+			return false;
+		}
+		return true;
+	}
+
+	private void checkFeatureDead() {
+		SatInstance si = getSatInstance();
 		deadFeatures.clear();
 		coreFeatures.clear();
-		final int[] solution2 = LongRunningWrapper.runMethod(new CoreDeadAnalysis(si), monitor.subTask(0));
+		int[] solution2 = null;
+		if (incrementalCoreDeadAnalysis != null) {
+			solution2 = LongRunningWrapper.runMethod(incrementalCoreDeadAnalysis, monitor.subTask(0));
+			if (solution2 != null) {
+				si = incrementalCoreDeadAnalysis.getSatInstance();
+			}
+		}
+		if (solution2 == null) {
+			if (numberOfThreads > 1) {
+				final ParallelCoreDeadAnalysis parallelAnalysis = new ParallelCoreDeadAnalysis(getSolver());
+				parallelAnalysis.setNumberOfThreads(numberOfThreads);
+				solution2 = LongRunningWrapper.runMethod(parallelAnalysis, monitor.subTask(0));
+			} else {
+				solution2 = LongRunningWrapper.runMethod(new CoreDeadAnalysis(getSolver()), monitor.subTask(0));
+			}
+		}
 		monitor.checkCancel();
 		for (int i = 0; i < solution2.length; i++) {
 			monitor.checkCancel();
@@ -455,7 +1118,8 @@ public class FeatureModelAnalysis implements LongRunningMethod<HashMap<Object, O
 		return result;
 	}
 
-	private void checkFeatureFalseOptional(final Iterable<IFeature> features, final SatInstance si) {
+	private void checkFeatureFalseOptional(final Iterable<IFeature> features) {
+		final SatInstance si = getSatInstance();
 		final List<int[]> possibleFOFeatures = new ArrayList<>();
 		for (final IFeature feature : features) {
 			final IFeature parent = FeatureUtils.getParent(feature);
@@ -463,7 +1127,14 @@ public class FeatureModelAnalysis implements LongRunningMethod<HashMap<Object, O
 				possibleFOFeatures.add(new int[] { -si.getVariable(parent.getName()), si.getVariable(feature.getName()) });
 			}
 		}
-		final List<int[]> solution3 = LongRunningWrapper.runMethod(new ImplicationAnalysis(si, possibleFOFeatures), monitor.subTask(0));
+		final List<int[]> solution3;
+		if (numberOfThreads > 1) {
+			final ParallelImplicationAnalysis parallelAnalysis = new ParallelImplicationAnalysis(getSolver(), possibleFOFeatures);
+			parallelAnalysis.setNumberOfThreads(numberOfThreads);
+			solution3 = LongRunningWrapper.runMethod(parallelAnalysis, monitor.subTask(0));
+		} else {
+			solution3 = LongRunningWrapper.runMethod(new ImplicationAnalysis(getSolver(), possibleFOFeatures), monitor.subTask(0));
+		}
 		monitor.checkCancel();
 		falseOptionalFeatures.clear();
 		for (final int[] pair : solution3) {
@@ -504,8 +1175,7 @@ public class FeatureModelAnalysis implements LongRunningMethod<HashMap<Object, O
 			return;
 		}
 
-		nodeCreator.setModelType(ModelType.All);
-		final SatInstance si = new SatInstance(nodeCreator.createNodes(), FeatureUtils.getFeatureNamesPreorder(fm));
+		final SatInstance si = getSatInstance();
 
 		final Iterable<IFeature> hiddenFeatures = Functional.filter(features, new HiddenFeatureFilter());
 		final List<String> hiddenLiterals = Functional.toList(Functional.map(hiddenFeatures, new Functional.IFunction<IFeature, String>() {
@@ -516,14 +1186,14 @@ public class FeatureModelAnalysis implements LongRunningMethod<HashMap<Object, O
 			}
 		}));
 
-		final int[] determinedHidden = LongRunningWrapper.runMethod(new IndeterminedAnalysis(si, hiddenLiterals));
+		final int[] determinedHidden = LongRunningWrapper.runMethod(new IndeterminedAnalysis(getSolver(), hiddenLiterals));
 		for (final int feature : determinedHidden) {
 			setFeatureAttribute(fm.getFeature(si.getVariableObject(feature).toString()), FeatureStatus.INDETERMINATE_HIDDEN);
 		}
 	}
 
-	private void checkValidity(final SatInstance si) {
-		valid = LongRunningWrapper.runMethod(new ValidAnalysis(si)) != null;
+	private void checkValidity() {
+		valid = LongRunningWrapper.runMethod(new ValidAnalysis(getSolver())) != null;
 		if (!valid) {
 			changedAttributes.put(fm.getStructure().getRoot().getFeature(), FeatureStatus.DEAD);
 		}
@@ -25,13 +25,12 @@ import java.util.Collections;
 import java.util.List;
 
 import org.prop4j.solver.SatInstance;
-import org.sat4j.core.VecInt;
-import org.sat4j.specs.ContradictionException;
+import org.prop4j.solver.SolutionIterator;
 
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
 
 /**
- * Computes valid solutions for the given {@link SatInstance}.
+ * Computes valid solutions for the given {@link SatInstance}. Unique solutions are enumerated via a {@link SolutionIterator}.
  *
  * @author Sebastian Krieter
  */
@@ -53,6 +52,16 @@ public class GetSolutionAnalysis extends AbstractAnalysis<List<int[]>> {
 	@Override
 	public List<int[]> analyze(IMonitor monitor) throws Exception {
 		final List<int[]> solutions = new ArrayList<>();
+		if (uniqueSolutions) {
+			// enumerate without blocking clauses, such that the solver does not grow with the number of solutions
+			final SolutionIterator it = new SolutionIterator(solver);
+			while ((solutions.size() < maxSolutions) && it.hasNext()) {
+				monitor.checkCancel();
+				solutions.add(it.next());
+			}
+			it.reset();
+			return it.isTimeout() ? Collections.<int[]> emptyList() : solutions;
+		}
 		solutionLoop: for (int i = 0; i < maxSolutions; i++) {
 			switch (solver.isSatisfiable()) {
 			case TIMEOUT:
@@ -62,13 +71,6 @@ public class GetSolutionAnalysis extends AbstractAnalysis<List<int[]>> {
 			case TRUE:
 				final int[] model = solver.getModel();
 				solutions.add(model);
-				if (uniqueSolutions) {
-					try {
-						solver.getInternalSolver().addClause(new VecInt(SatInstance.negateModel(model)));
-					} catch (final ContradictionException e) {
-						break solutionLoop;
-					}
-				}
 				solver.shuffleOrder();
 				break;
 			default:
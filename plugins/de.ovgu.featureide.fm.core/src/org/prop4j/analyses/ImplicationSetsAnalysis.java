@@ -152,29 +152,11 @@ public class ImplicationSetsAnalysis extends AbstractAnalysis<Set<Relationship>>
 			// find core/dead features
 			core = new byte[model1.length];
 			recArray = new byte[model1.length];
-			final int[] model1Copy = Arrays.copyOf(model1, model1.length);
-			SatInstance.updateModel(model1Copy, model2);
-			for (int i = 0; i < model1Copy.length; i++) {
-				final int varX = model1Copy[i];
-				if (varX != 0) {
-					solver.assignmentPush(-varX);
-					// solver.shuffleOrder();
-					switch (solver.isSatisfiable()) {
-					case FALSE:
-						core[i] = (byte) (varX > 0 ? 1 : -1);
-						solver.assignmentReplaceLast(varX);
-						break;
-					case TIMEOUT:
-						solver.assignmentPop();
-						break;
-					case TRUE:
-						solver.assignmentPop();
-						SatInstance.updateModel(model1Copy, solver.getModel());
-						solver.shuffleOrder();
-						break;
-					}
-				}
+			new BackboneAnalysis(solver).computeBackbone(model1, model2, monitor);
+			for (final int literal : solver.getAssignmentArray(0, solver.getAssignment().size())) {
+				core[Math.abs(literal) - 1] = (byte) (literal > 0 ? 1 : -1);
 			}
+			solver.setSelectionStrategy(SelectionStrategy.POSITIVE);
 			numVariables = model1.length;
 			combinations = new byte[numVariables * numVariables];
 
@@ -220,11 +202,11 @@ public class ImplicationSetsAnalysis extends AbstractAnalysis<Set<Relationship>>
 
 			do {
 				incomplete = false;
-				for (int x1 = 0; x1 < model1Copy.length; x1++) {
-					for (int y1 = 0; y1 < model1Copy.length; y1++) {
+				for (int x1 = 0; x1 < numVariables; x1++) {
+					for (int y1 = 0; y1 < numVariables; y1++) {
 						final int combinationIndexX1Y1 = (x1 * numVariables) + y1;
 						if ((combinations[combinationIndexX1Y1] & BIT_CHECK) != 0) {
-							for (int x2 = 0; x2 < model1Copy.length; x2++) {
+							for (int x2 = 0; x2 < numVariables; x2++) {
 								final int combinationIndexY1X2 = (y1 * numVariables) + x2;
 								if ((combinations[combinationIndexY1X2] & BIT_CHECK) != 0) {
 									final int combinationIndexX1X2 = (x1 * numVariables) + x2;
@@ -0,0 +1,261 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.analyses;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import org.prop4j.solver.BasicSolver;
+import org.prop4j.solver.FixedLiteralSelectionStrategy;
+import org.prop4j.solver.ISatSolver.SelectionStrategy;
+import org.prop4j.solver.SatInstance;
+import org.prop4j.solver.VarOrderHeap2;
+import org.sat4j.minisat.core.Solver;
+import org.sat4j.specs.ContradictionException;
+
+import de.ovgu.featureide.fm.core.job.LongRunningMethod;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+
+/**
+ * Finds conditionally core and dead features incrementally.</br> Keeps one {@link BasicSolver} alive between calls together with the assumptions and the
+ * implied literals (backbone) of the last call and a bounded number of solutions found so far. If assumptions are only added, all previously implied literals
+ * stay implied and only the remaining open variables are tested. If assumptions are only removed, all previously open variables stay open and only the
+ * previously implied variables are tested. Variables that take different values in the stored solutions that satisfy the current assumptions are open without
+ * any further test.
+ *
+ * @see ConditionallyCoreDeadAnalysis
+ */
+public class IncrementalConditionallyCoreDeadAnalysis implements LongRunningMethod<int[]> {
+
+	/**
+	 * Maximal number of stored solutions.
+	 */
+	private static final int MAX_SOLUTIONS = 32;
+
+	private final SatInstance satInstance;
+	private final int numberOfVariables;
+
+	private final ArrayDeque<int[]> solutions = new ArrayDeque<>(MAX_SOLUTIONS);
+
+	private BasicSolver solver = null;
+
+	private int[] assumptions = new int[0];
+
+	/**
+	 * Assumptions and implied literals of the last call indexed by variable ({@code 0} if unknown or open).
+	 */
+	private int[] lastAssumptions = null;
+	private int[] lastImplied = null;
+
+	public IncrementalConditionallyCoreDeadAnalysis(SatInstance satInstance) {
+		this.satInstance = satInstance;
+		numberOfVariables = satInstance.getNumberOfVariables();
+	}
+
+	/**
+	 * Returns the literals that are implied by the current assumptions. The assumptions themselves are not contained in the result.
+	 *
+	 * @return the implied literals or {@code null} if the assumptions are contradicting
+	 */
+	@Override
+	public synchronized int[] execute(IMonitor monitor) throws Exception {
+		if (solver == null) {
+			try {
+				solver = new BasicSolver(satInstance);
+			} catch (final ContradictionException e) {
+				return null;
+			}
+		}
+
+		final int[] assigned = new int[numberOfVariables + 1];
+		for (final int assumption : assumptions) {
+			final int var = Math.abs(assumption);
+			if (assigned[var] == -assumption) {
+				lastAssumptions = null;
+				lastImplied = null;
+				return null;
+			}
+			assigned[var] = assumption;
+		}
+
+		boolean added = lastAssumptions == null;
+		boolean removed = lastAssumptions == null;
+		if (lastAssumptions != null) {
+			for (int var = 1; var <= numberOfVariables; var++) {
+				if (assigned[var] != lastAssumptions[var]) {
+					if (assigned[var] != 0) {
+						added = true;
+					}
+					if (lastAssumptions[var] != 0) {
+						removed = true;
+					}
+				}
+			}
+		}
+
+		final int[] implied = new int[numberOfVariables + 1];
+		// model1 contains all candidates that have to be tested (with the value of a solution)
+		final int[] model1 = new int[numberOfVariables];
+		int[] firstSolution = null;
+		for (final int[] solution : solutions) {
+			if (isConsistent(solution, assumptions)) {
+				firstSolution = solution;
+				break;
+			}
+		}
+
+		try {
+			for (final int assumption : assumptions) {
+				solver.assignmentPush(assumption);
+			}
+			if (firstSolution == null) {
+				solver.setSelectionStrategy(SelectionStrategy.POSITIVE);
+				firstSolution = findSolution();
+				if (firstSolution == null) {
+					lastAssumptions = null;
+					lastImplied = null;
+					return null;
+				}
+				solver.setSelectionStrategy(SelectionStrategy.NEGATIVE);
+				findSolution();
+			}
+
+			for (int var = 1; var <= numberOfVariables; var++) {
+				if (assigned[var] == 0) {
+					if (added && removed) {
+						model1[var - 1] = firstSolution[var - 1];
+					} else if (added) {
+						if (lastImplied[var] != 0) {
+							implied[var] = lastImplied[var];
+						} else {
+							model1[var - 1] = firstSolution[var - 1];
+						}
+					} else if (removed) {
+						if ((lastImplied[var] != 0) || (lastAssumptions[var] != 0)) {
+							model1[var - 1] = firstSolution[var - 1];
+						}
+					} else {
+						implied[var] = lastImplied[var];
+					}
+				}
+			}
+			for (final int[] solution : solutions) {
+				if (isConsistent(solution, assumptions)) {
+					SatInstance.updateModel(model1, solution);
+				}
+			}
+
+			((Solver<?>) solver.getInternalSolver()).setOrder(new VarOrderHeap2(new FixedLiteralSelectionStrategy(model1, true), solver.getOrder()));
+
+			boolean complete = true;
+			for (int i = 0; i < model1.length; i++) {
+				monitor.checkCancel();
+				final int varX = model1[i];
+				if (varX != 0) {
+					solver.assignmentPush(-varX);
+					switch (solver.isSatisfiable()) {
+					case FALSE:
+						solver.assignmentReplaceLast(varX);
+						implied[i + 1] = varX;
+						break;
+					case TIMEOUT:
+						solver.assignmentPop();
+						complete = false;
+						break;
+					case TRUE:
+						solver.assignmentPop();
+						SatInstance.updateModel(model1, addSolution(solver.getModel()));
+						solver.shuffleOrder();
+						break;
+					}
+				}
+			}
+
+			if (complete) {
+				lastAssumptions = assigned;
+				lastImplied = implied;
+			} else {
+				lastAssumptions = null;
+				lastImplied = null;
+			}
+		} finally {
+			solver.assignmentClear(0);
+		}
+
+		int count = 0;
+		for (int var = 1; var <= numberOfVariables; var++) {
+			if (implied[var] != 0) {
+				count++;
+			}
+		}
+		final int[] result = new int[count];
+		count = 0;
+		for (int var = 1; var <= numberOfVariables; var++) {
+			if (implied[var] != 0) {
+				result[count++] = implied[var];
+			}
+		}
+		return result;
+	}
+
+	public synchronized int[] getAssumptions() {
+		return Arrays.copyOf(assumptions, assumptions.length);
+	}
+
+	public synchronized void setAssumptions(int[] assumptions) {
+		this.assumptions = Arrays.copyOf(assumptions, assumptions.length);
+	}
+
+	/**
+	 * Discards the solver, the stored solutions, and the results of the last call. The next call will start from scratch.
+	 */
+	public synchronized void reset() {
+		solver = null;
+		solutions.clear();
+		lastAssumptions = null;
+		lastImplied = null;
+	}
+
+	private int[] findSolution() {
+		final int[] solution = solver.findModel();
+		return solution != null ? addSolution(solution) : null;
+	}
+
+	private int[] addSolution(int[] solution) {
+		final int[] copy = Arrays.copyOf(solution, solution.length);
+		if (solutions.size() == MAX_SOLUTIONS) {
+			solutions.removeLast();
+		}
+		solutions.addFirst(copy);
+		return copy;
+	}
+
+	private static boolean isConsistent(int[] solution, int[] assumptions) {
+		for (final int assumption : assumptions) {
+			if (solution[Math.abs(assumption) - 1] != assumption) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
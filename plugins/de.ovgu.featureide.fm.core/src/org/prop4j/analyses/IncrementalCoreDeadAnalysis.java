@@ -0,0 +1,596 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.analyses;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map.Entry;
+
+import org.prop4j.And;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.solver.ISatSolver.SatResult;
+import org.prop4j.solver.ModifiableSolver;
+import org.prop4j.solver.SatInstance;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.IConstr;
+
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IConstraint;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureStructure;
+import de.ovgu.featureide.fm.core.base.event.FeatureIDEEvent;
+import de.ovgu.featureide.fm.core.base.event.IEventListener;
+import de.ovgu.featureide.fm.core.editing.cnf.Clause;
+import de.ovgu.featureide.fm.core.job.LongRunningMethod;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+
+/**
+ * Finds core and dead features of a feature model incrementally.</br> Keeps one {@link ModifiableSolver} alive between changes of the feature model. The
+ * clauses of each model element (the root feature, the children of a feature, and each cross-tree constraint) are guarded by an activation literal that is
+ * passed to the solver as assumption. Thus, clauses of changed elements can be retracted without discarding the clauses learned by the solver. After a
+ * change, only the variables whose status may have changed are tested again.</br> Changes are detected by comparing the clauses of each model element with
+ * the clauses of the previous analysis, as not every modification of a feature model fires an event. The CNF of a constraint is only recomputed if the
+ * constraint has changed.
+ *
+ * @see CoreDeadAnalysis
+ */
+public class IncrementalCoreDeadAnalysis implements LongRunningMethod<int[]>, IEventListener {
+
+	/**
+	 * Key of the clause group containing the root feature.
+	 */
+	private static final Object ROOT = new Object();
+
+	/**
+	 * Minimal number of unbound variables that are reserved for activation literals and new features.
+	 */
+	private static final int MIN_RESERVE = 256;
+
+	/**
+	 * Variable mapping that allows to bind feature names to reserved variables.
+	 */
+	private static final class VariableSatInstance extends SatInstance {
+
+		private final ArrayDeque<Integer> freeVariables = new ArrayDeque<>();
+
+		private VariableSatInstance(List<String> names, int reserve) {
+			super(new And(), createVariableList(names, reserve));
+			varToInt.clear();
+			for (int i = 1; i <= names.size(); i++) {
+				varToInt.put(intToVar[i], i);
+			}
+			for (int i = intToVar.length - 1; i > names.size(); i--) {
+				freeVariables.push(i);
+			}
+		}
+
+		private static List<Object> createVariableList(List<String> names, int reserve) {
+			final List<Object> variables = new ArrayList<Object>(names);
+			for (int i = 0; i < reserve; i++) {
+				variables.add("#" + i);
+			}
+			return variables;
+		}
+
+		/**
+		 * @return a variable that is not bound to any name or {@code 0} if there is no unbound variable left
+		 */
+		private int reserveVariable() {
+			return freeVariables.isEmpty() ? 0 : freeVariables.pop();
+		}
+
+		/**
+		 * @return the variable bound to the given name or {@code 0} if there is no unbound variable left
+		 */
+		private int bindVariable(Object name) {
+			final Integer index = varToInt.get(name);
+			if (index != null) {
+				return index;
+			}
+			final int newIndex = reserveVariable();
+			if (newIndex != 0) {
+				intToVar[newIndex] = name;
+				varToInt.put(name, newIndex);
+			}
+			return newIndex;
+		}
+
+		private void releaseUnusedVariables(HashSet<Integer> usedVariables) {
+			for (final Iterator<Integer> iterator = varToInt.values().iterator(); iterator.hasNext();) {
+				final Integer index = iterator.next();
+				if (!usedVariables.contains(index)) {
+					iterator.remove();
+					freeVariables.push(index);
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * Clauses that were added to the solver together and share one activation literal.
+	 */
+	private static final class Segment {
+
+		private final int selector;
+		private final List<Clause> clauses;
+		private final List<IConstr> constraints;
+
+		public Segment(int selector, List<Clause> clauses) {
+			this.selector = selector;
+			this.clauses = clauses;
+			constraints = new ArrayList<>(clauses.size());
+		}
+
+	}
+
+	/**
+	 * All clauses that were created for one model element.
+	 */
+	private static final class ClauseGroup {
+
+		private final HashMap<Clause, Segment> clauses = new HashMap<>();
+		private final List<Segment> segments = new ArrayList<>();
+
+		private String constraintString = null;
+		private Node constraintCNF = null;
+
+	}
+
+	private final IFeatureModel featureModel;
+
+	private final HashMap<Object, ClauseGroup> groups = new HashMap<>();
+
+	private final HashMap<String, Boolean> fixedFeatures = new HashMap<>();
+	private final HashSet<String> analyzedFeatures = new HashSet<>();
+
+	private VariableSatInstance satInstance = null;
+	private ModifiableSolver solver = null;
+
+	private boolean strengthened = false;
+	private boolean weakened = false;
+
+	private boolean valid = false;
+	private int[] result = null;
+
+	public IncrementalCoreDeadAnalysis(IFeatureModel featureModel) {
+		this.featureModel = featureModel;
+	}
+
+	/**
+	 * Returns the core and dead features of the feature model. Core features are represented by positive and dead features by negative variables of
+	 * {@link #getSatInstance()}.
+	 *
+	 * @return the core and dead features or {@code null} if the feature model is void or the analysis timed out
+	 */
+	@Override
+	public synchronized int[] execute(IMonitor monitor) throws Exception {
+		if ((solver == null) || !updateGroups()) {
+			rebuild();
+		}
+
+		if (!strengthened && !weakened) {
+			return valid ? result : null;
+		}
+		monitor.checkCancel();
+
+		final List<String> featureNames = FeatureUtils.getFeatureNamesPreorder(featureModel);
+		final boolean complete = !valid || (strengthened && weakened);
+
+		final int[] selectors = getSelectors();
+		final int[] assumptions = Arrays.copyOf(selectors, selectors.length + featureNames.size());
+		int assumptionCount = selectors.length;
+		final int[] candidates = new int[featureNames.size()];
+		int candidateCount = 0;
+		final HashMap<String, Boolean> newFixedFeatures = new HashMap<>();
+
+		for (final String name : featureNames) {
+			final int variable = satInstance.bindVariable(name);
+			if (variable == 0) {
+				rebuild();
+				return execute(monitor);
+			}
+			final Boolean fixed = fixedFeatures.get(name);
+			if (complete) {
+				candidates[candidateCount++] = variable;
+			} else if (strengthened) {
+				if (fixed != null) {
+					assumptions[assumptionCount++] = fixed ? variable : -variable;
+					newFixedFeatures.put(name, fixed);
+				} else {
+					candidates[candidateCount++] = variable;
+				}
+			} else if ((fixed != null) || !analyzedFeatures.contains(name)) {
+				candidates[candidateCount++] = variable;
+			}
+		}
+
+		for (int i = 0; i < assumptionCount; i++) {
+			solver.assignmentPush(assumptions[i]);
+		}
+		final SatResult satResult = solver.isSatisfiable();
+		solver.assignmentClear(0);
+		switch (satResult) {
+		case FALSE:
+			valid = false;
+			result = null;
+			fixedFeatures.clear();
+			analyzedFeatures.clear();
+			strengthened = false;
+			weakened = false;
+			return null;
+		case TIMEOUT:
+			return null;
+		case TRUE:
+		default:
+			break;
+		}
+
+		final CoreDeadAnalysis analysis = new CoreDeadAnalysis(solver, Arrays.copyOf(candidates, candidateCount));
+		analysis.setAssumptions(Arrays.copyOf(assumptions, assumptionCount));
+		for (final int literal : analysis.execute(monitor)) {
+			newFixedFeatures.put((String) satInstance.getVariableObject(literal), literal > 0);
+		}
+
+		fixedFeatures.clear();
+		fixedFeatures.putAll(newFixedFeatures);
+		analyzedFeatures.clear();
+		analyzedFeatures.addAll(featureNames);
+		strengthened = false;
+		weakened = false;
+		valid = true;
+
+		final int[] newResult = new int[fixedFeatures.size()];
+		int i = 0;
+		for (final String name : featureNames) {
+			final Boolean fixed = fixedFeatures.get(name);
+			if (fixed != null) {
+				final int variable = satInstance.bindVariable(name);
+				newResult[i++] = fixed ? variable : -variable;
+			}
+		}
+		result = newResult;
+		return result;
+	}
+
+	/**
+	 * Returns the variable mapping of the last analysis. Variables of features may change after the feature model was modified.
+	 *
+	 * @return the current variable mapping
+	 */
+	public synchronized SatInstance getSatInstance() {
+		return satInstance;
+	}
+
+	/**
+	 * @return {@code true} if the feature model was not void during the last analysis
+	 */
+	public synchronized boolean isValid() {
+		return valid;
+	}
+
+	/**
+	 * Discards the solver and all results. The next analysis will start from scratch.
+	 */
+	public synchronized void reset() {
+		solver = null;
+		satInstance = null;
+		groups.clear();
+		fixedFeatures.clear();
+		analyzedFeatures.clear();
+		result = null;
+		valid = false;
+	}
+
+	/**
+	 * Listens to feature model changes. Discards the solver if the whole feature model was replaced, as there are no clauses left to reuse.
+	 */
+	@Override
+	public void propertyChange(FeatureIDEEvent event) {
+		switch (event.getEventType()) {
+		case MODEL_DATA_LOADED:
+		case MODEL_DATA_OVERRIDDEN:
+			reset();
+			break;
+		default:
+			break;
+		}
+	}
+
+	private void rebuild() throws ContradictionException {
+		final List<String> featureNames = FeatureUtils.getFeatureNamesPreorder(featureModel);
+		int reserve = Math.max(MIN_RESERVE, 2 * (featureNames.size() + featureModel.getConstraintCount()));
+		do {
+			groups.clear();
+			satInstance = new VariableSatInstance(featureNames, reserve);
+			solver = new ModifiableSolver(satInstance);
+			reserve <<= 1;
+		} while (!updateGroups());
+		fixedFeatures.clear();
+		analyzedFeatures.clear();
+		strengthened = true;
+		weakened = true;
+		valid = false;
+	}
+
+	/**
+	 * Computes the clauses of the model elements and replaces all clauses in the solver that have changed.
+	 *
+	 * @return {@code false} if there are not enough free variables left, {@code true} otherwise
+	 */
+	private boolean updateGroups() throws ContradictionException {
+		final HashSet<Object> elements = new HashSet<>();
+		elements.add(ROOT);
+		for (final IFeature feature : featureModel.getFeatures()) {
+			elements.add(feature);
+		}
+		for (final IConstraint constraint : featureModel.getConstraints()) {
+			elements.add(constraint);
+		}
+
+		for (final Iterator<Entry<Object, ClauseGroup>> iterator = groups.entrySet().iterator(); iterator.hasNext();) {
+			final Entry<Object, ClauseGroup> entry = iterator.next();
+			if (!elements.contains(entry.getKey())) {
+				for (final Segment segment : entry.getValue().segments) {
+					retire(segment);
+				}
+				weakened = true;
+				iterator.remove();
+			}
+		}
+
+		for (final Object element : elements) {
+			final List<Clause> clauses;
+			if (element instanceof IConstraint) {
+				clauses = createConstraintClauses((IConstraint) element, groups.get(element));
+			} else if (element instanceof IFeature) {
+				clauses = createStructureClauses((IFeature) element);
+			} else {
+				clauses = createRootClauses();
+			}
+			if ((clauses == null) || !replaceClauses(element, clauses)) {
+				return false;
+			}
+		}
+
+		final HashSet<Integer> usedVariables = new HashSet<>();
+		for (final ClauseGroup group : groups.values()) {
+			for (final Clause clause : group.clauses.keySet()) {
+				for (final int literal : clause.getLiterals()) {
+					usedVariables.add(Math.abs(literal));
+				}
+			}
+		}
+		for (final IFeature feature : featureModel.getFeatures()) {
+			final int variable = satInstance.bindVariable(feature.getName());
+			if (variable == 0) {
+				return false;
+			}
+			usedVariables.add(variable);
+		}
+		satInstance.releaseUnusedVariables(usedVariables);
+		return true;
+	}
+
+	/**
+	 * Replaces the clauses of a model element. Segments that contain a removed clause are retired. All remaining and new clauses are added as a new segment.
+	 *
+	 * @return {@code false} if there are not enough free variables left, {@code true} otherwise
+	 */
+	private boolean replaceClauses(Object element, List<Clause> newClauses) throws ContradictionException {
+		ClauseGroup group = groups.get(element);
+		if (group == null) {
+			if (newClauses.isEmpty()) {
+				return true;
+			}
+			group = new ClauseGroup();
+			groups.put(element, group);
+		}
+
+		final HashSet<Clause> newClauseSet = new HashSet<>(newClauses);
+		final List<Clause> addedClauses = new ArrayList<>();
+		for (final Clause clause : newClauseSet) {
+			if (!group.clauses.containsKey(clause)) {
+				addedClauses.add(clause);
+			}
+		}
+		if (!addedClauses.isEmpty()) {
+			strengthened = true;
+		}
+
+		for (final ListIterator<Segment> iterator = group.segments.listIterator(); iterator.hasNext();) {
+			final Segment segment = iterator.next();
+			boolean retire = false;
+			for (final Clause clause : segment.clauses) {
+				if (!newClauseSet.contains(clause)) {
+					retire = true;
+					break;
+				}
+			}
+			if (retire) {
+				weakened = true;
+				for (final Clause clause : segment.clauses) {
+					group.clauses.remove(clause);
+					if (newClauseSet.contains(clause)) {
+						addedClauses.add(clause);
+					}
+				}
+				retire(segment);
+				iterator.remove();
+			}
+		}
+
+		if (!addedClauses.isEmpty()) {
+			final int selector = satInstance.reserveVariable();
+			if (selector == 0) {
+				return false;
+			}
+			final Segment segment = new Segment(selector, addedClauses);
+			for (final Clause clause : addedClauses) {
+				final int[] literals = clause.getLiterals();
+				final int[] guardedLiterals = Arrays.copyOf(literals, literals.length + 1);
+				guardedLiterals[literals.length] = -selector;
+				segment.constraints.add(solver.addClause(guardedLiterals));
+				group.clauses.put(clause, segment);
+			}
+			group.segments.add(segment);
+		}
+
+		if (group.segments.isEmpty() && (group.constraintCNF == null)) {
+			groups.remove(element);
+		}
+		return true;
+	}
+
+	/**
+	 * Removes the clauses of a segment from the solver and permanently disables its activation literal. Clauses learned from the segment are satisfied from
+	 * now on.
+	 */
+	private void retire(Segment segment) throws ContradictionException {
+		for (final IConstr constr : segment.constraints) {
+			solver.removeConstraint(constr);
+		}
+		solver.addClause(new int[] { -segment.selector });
+	}
+
+	private int[] getSelectors() {
+		int size = 0;
+		for (final ClauseGroup group : groups.values()) {
+			size += group.segments.size();
+		}
+		final int[] selectors = new int[size];
+		int i = 0;
+		for (final ClauseGroup group : groups.values()) {
+			for (final Segment segment : group.segments) {
+				selectors[i++] = segment.selector;
+			}
+		}
+		return selectors;
+	}
+
+	private List<Clause> createRootClauses() {
+		final IFeature root = FeatureUtils.getRoot(featureModel);
+		if (root == null) {
+			return new ArrayList<>(0);
+		}
+		final int rootVariable = satInstance.bindVariable(root.getName());
+		if (rootVariable == 0) {
+			return null;
+		}
+		final List<Clause> clauses = new ArrayList<>(1);
+		clauses.add(new Clause(rootVariable));
+		return clauses;
+	}
+
+	/**
+	 * Creates the clauses that describe the relationship between a feature and its children (see {@link AdvancedNodeCreator}).
+	 */
+	private List<Clause> createStructureClauses(IFeature feature) {
+		final IFeatureStructure structure = feature.getStructure();
+		final List<IFeatureStructure> children = structure.getChildren();
+		final List<Clause> clauses = new ArrayList<>(children.size() << 1);
+		if (children.isEmpty()) {
+			return clauses;
+		}
+
+		final int parentVariable = satInstance.bindVariable(feature.getName());
+		final int[] childVariables = new int[children.size()];
+		int i = 0;
+		for (final IFeatureStructure child : children) {
+			final int childVariable = satInstance.bindVariable(child.getFeature().getName());
+			if ((childVariable == 0) || (parentVariable == 0)) {
+				return null;
+			}
+			childVariables[i++] = childVariable;
+			clauses.add(new Clause(parentVariable, -childVariable));
+		}
+
+		if (structure.isAnd()) {
+			i = 0;
+			for (final IFeatureStructure child : children) {
+				if (child.isMandatory()) {
+					clauses.add(new Clause(childVariables[i], -parentVariable));
+				}
+				i++;
+			}
+		} else if (structure.isOr() || structure.isAlternative()) {
+			final int[] groupLiterals = Arrays.copyOf(childVariables, childVariables.length + 1);
+			groupLiterals[childVariables.length] = -parentVariable;
+			clauses.add(new Clause(groupLiterals));
+			if (structure.isAlternative()) {
+				for (int j = 0; j < childVariables.length; j++) {
+					for (int k = j + 1; k < childVariables.length; k++) {
+						clauses.add(new Clause(-childVariables[j], -childVariables[k]));
+					}
+				}
+			}
+		}
+		return clauses;
+	}
+
+	/**
+	 * Creates the clauses of a cross-tree constraint. The conversion into CNF is only repeated if the constraint has changed.
+	 */
+	private List<Clause> createConstraintClauses(IConstraint constraint, ClauseGroup group) {
+		final Node node = constraint.getNode();
+		final String constraintString = node.toString();
+		final Node cnf;
+		if ((group != null) && constraintString.equals(group.constraintString)) {
+			cnf = group.constraintCNF;
+		} else {
+			cnf = node.toRegularCNF();
+		}
+
+		final Node[] cnfChildren = cnf.getChildren();
+		final List<Clause> clauses = new ArrayList<>(cnfChildren.length);
+		for (final Node clauseNode : cnfChildren) {
+			final Node[] literalNodes = clauseNode.getChildren();
+			final int[] literals = new int[literalNodes.length];
+			for (int i = 0; i < literalNodes.length; i++) {
+				final Literal literal = (Literal) literalNodes[i];
+				final int variable = satInstance.bindVariable(literal.var.toString());
+				if (variable == 0) {
+					return null;
+				}
+				literals[i] = literal.positive ? variable : -variable;
+			}
+			clauses.add(new Clause(literals));
+		}
+
+		ClauseGroup newGroup = group;
+		if (newGroup == null) {
+			newGroup = new ClauseGroup();
+			groups.put(constraint, newGroup);
+		}
+		newGroup.constraintString = constraintString;
+		newGroup.constraintCNF = cnf;
+		return clauses;
+	}
+
+}
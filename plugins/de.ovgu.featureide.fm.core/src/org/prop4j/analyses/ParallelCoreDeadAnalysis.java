@@ -0,0 +1,240 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.analyses;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.prop4j.solver.FixedLiteralSelectionStrategy;
+import org.prop4j.solver.ISatSolver;
+import org.prop4j.solver.ISatSolver.SelectionStrategy;
+import org.prop4j.solver.SatInstance;
+import org.prop4j.solver.VarOrderHeap2;
+import org.sat4j.minisat.core.Solver;
+
+import de.ovgu.featureide.fm.core.conf.worker.base.AWorkerThread;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+
+/**
+ * Finds core and dead features using multiple threads.<br/> The candidate literals are distributed among several workers, each using its own clone of the
+ * given solver. Solutions found by one worker are shared with all other workers to discard candidates, and found core and dead features are used as
+ * additional assumptions by all workers.<br/> <br/> <b>Note:</b> The solver is copied via {@link ISatSolver#clone()}. Thus, all of its clauses must be contained
+ * in its {@link SatInstance}.
+ *
+ * @see CoreDeadAnalysis
+ */
+public class ParallelCoreDeadAnalysis extends AbstractAnalysis<int[]> {
+
+	private static class SharedObjects {
+
+		private final int[] candidates;
+		private final List<Integer> fixedLiterals = new ArrayList<>();
+
+		public SharedObjects(int[] candidates) {
+			this.candidates = candidates;
+		}
+
+		private synchronized int getCandidate(int index) {
+			return candidates[index];
+		}
+
+		private synchronized void updateCandidates(int[] model) {
+			SatInstance.updateModel(candidates, model);
+		}
+
+		private synchronized void addFixedLiteral(int literal) {
+			fixedLiterals.add(literal);
+		}
+
+		private synchronized int[] getFixedLiterals(int fromIndex) {
+			final int size = fixedLiterals.size();
+			final int[] result = new int[size - fromIndex];
+			for (int i = fromIndex; i < size; i++) {
+				result[i - fromIndex] = fixedLiterals.get(i);
+			}
+			return result;
+		}
+	}
+
+	private static class CoreDeadThread extends AWorkerThread<Integer> {
+
+		private final SharedObjects sharedObjects;
+		private final ISatSolver solver;
+		private final IMonitor monitor;
+		private final int[] model;
+
+		private int knownFixedLiterals = 0;
+
+		public CoreDeadThread(ISatSolver solver, SharedObjects sharedObjects, IMonitor monitor) {
+			super(monitor);
+			this.solver = solver;
+			this.sharedObjects = sharedObjects;
+			this.monitor = monitor;
+			model = Arrays.copyOf(sharedObjects.candidates, sharedObjects.candidates.length);
+		}
+
+		private CoreDeadThread(CoreDeadThread oldThread) {
+			super(oldThread);
+			solver = oldThread.solver.clone();
+			sharedObjects = oldThread.sharedObjects;
+			monitor = oldThread.monitor;
+			model = Arrays.copyOf(oldThread.model, oldThread.model.length);
+		}
+
+		@Override
+		protected boolean beforeWork() {
+			((Solver<?>) solver.getInternalSolver()).setOrder(new VarOrderHeap2(new FixedLiteralSelectionStrategy(model, true), solver.getOrder()));
+			return super.beforeWork();
+		}
+
+		@Override
+		protected void work(Integer index) {
+			final int varX = sharedObjects.getCandidate(index);
+			if (varX != 0) {
+				final int[] newFixedLiterals = sharedObjects.getFixedLiterals(knownFixedLiterals);
+				for (final int fixedLiteral : newFixedLiterals) {
+					solver.assignmentPush(fixedLiteral);
+				}
+				knownFixedLiterals += newFixedLiterals.length;
+
+				solver.assignmentPush(-varX);
+				switch (solver.isSatisfiable()) {
+				case FALSE:
+					solver.assignmentPop();
+					sharedObjects.addFixedLiteral(varX);
+					monitor.invoke(varX);
+					break;
+				case TIMEOUT:
+					solver.assignmentPop();
+					break;
+				case TRUE:
+					solver.assignmentPop();
+					final int[] newModel = solver.getModel();
+					SatInstance.updateModel(model, newModel);
+					sharedObjects.updateCandidates(newModel);
+					solver.shuffleOrder();
+					break;
+				}
+			}
+		}
+
+		@Override
+		protected AWorkerThread<Integer> newThread() {
+			return new CoreDeadThread(this);
+		}
+
+	}
+
+	private int[] features;
+
+	private int numberOfThreads = AWorkerThread.getDefaultNumberOfThreads();
+
+	public ParallelCoreDeadAnalysis(SatInstance satInstance) {
+		this(satInstance, null);
+	}
+
+	public ParallelCoreDeadAnalysis(SatInstance satInstance, int[] features) {
+		super(satInstance);
+		setFeatures(features);
+	}
+
+	public ParallelCoreDeadAnalysis(ISatSolver solver) {
+		this(solver, null);
+	}
+
+	public ParallelCoreDeadAnalysis(ISatSolver solver, int[] features) {
+		super(solver);
+		setFeatures(features);
+	}
+
+	@Override
+	public int[] analyze(IMonitor monitor) throws Exception {
+		solver.setSelectionStrategy(SelectionStrategy.POSITIVE);
+		int[] model1 = solver.findModel();
+
+		if (model1 == null) {
+			return new int[0];
+		}
+
+		solver.setSelectionStrategy(SelectionStrategy.NEGATIVE);
+		final int[] model2 = solver.findModel();
+
+		if (features != null) {
+			final int[] model3 = new int[model1.length];
+			for (int i = 0; i < features.length; i++) {
+				final int index = features[i] - 1;
+				if (index >= 0) {
+					model3[index] = model1[index];
+				}
+			}
+			model1 = model3;
+		}
+		SatInstance.updateModel(model1, model2);
+
+		final List<Integer> candidateIndices = new ArrayList<>();
+		for (int i = 0; i < model1.length; i++) {
+			if (model1[i] != 0) {
+				candidateIndices.add(i);
+			}
+		}
+		if (candidateIndices.isEmpty()) {
+			return new int[0];
+		}
+
+		final SharedObjects sharedObjects = new SharedObjects(model1);
+		final CoreDeadThread worker = new CoreDeadThread(solver, sharedObjects, monitor);
+		worker.addObjects(candidateIndices);
+		worker.start(Math.max(1, Math.min(numberOfThreads, candidateIndices.size())));
+		monitor.checkCancel();
+
+		final int[] fixedLiterals = sharedObjects.getFixedLiterals(0);
+		final int[] sortedLiterals = new int[model1.length];
+		for (final int literal : fixedLiterals) {
+			sortedLiterals[Math.abs(literal) - 1] = literal;
+		}
+		final int[] result = new int[fixedLiterals.length];
+		int j = 0;
+		for (final int literal : sortedLiterals) {
+			if (literal != 0) {
+				result[j++] = literal;
+			}
+		}
+		return result;
+	}
+
+	public int[] getFeatures() {
+		return features;
+	}
+
+	public void setFeatures(int[] features) {
+		this.features = features;
+	}
+
+	public int getNumberOfThreads() {
+		return numberOfThreads;
+	}
+
+	public void setNumberOfThreads(int numberOfThreads) {
+		this.numberOfThreads = numberOfThreads;
+	}
+
+}
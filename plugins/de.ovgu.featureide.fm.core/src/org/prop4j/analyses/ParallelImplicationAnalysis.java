@@ -0,0 +1,193 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.analyses;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.prop4j.solver.ISatSolver;
+import org.prop4j.solver.ISatSolver.SelectionStrategy;
+import org.prop4j.solver.SatInstance;
+
+import de.ovgu.featureide.fm.core.base.util.RingList;
+import de.ovgu.featureide.fm.core.conf.worker.base.AWorkerThread;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+
+/**
+ * Finds implications between literals (e.g., false-optional features) using multiple threads.<br/> The pairs are distributed among several workers, each using
+ * its own clone of the given solver. Solutions found by one worker are shared with all other workers to discard pairs without calling the solver.<br/> <br/>
+ * <b>Note:</b> The solver is copied via {@link ISatSolver#clone()}. Thus, all of its clauses must be contained in its {@link SatInstance}.
+ *
+ * @see ImplicationAnalysis
+ */
+public class ParallelImplicationAnalysis extends AbstractAnalysis<List<int[]>> {
+
+	private static class SharedObjects {
+
+		private final List<int[]> pairs;
+		private final boolean[] implied;
+		private final RingList<int[]> solutionList;
+
+		public SharedObjects(List<int[]> pairs) {
+			this.pairs = pairs;
+			implied = new boolean[pairs.size()];
+			solutionList = new RingList<>(Math.min(pairs.size(), ISatSolver.MAX_SOLUTION_BUFFER));
+		}
+
+		private synchronized void addSolution(int[] solution) {
+			solutionList.add(solution);
+		}
+
+		private synchronized boolean isCovered(int[] pair) {
+			solutionLoop: for (final int[] is : solutionList) {
+				for (final int i : pair) {
+					if (is[Math.abs(i) - 1] == i) {
+						continue solutionLoop;
+					}
+				}
+				return true;
+			}
+			return false;
+		}
+
+		private synchronized void setImplied(int index) {
+			implied[index] = true;
+		}
+	}
+
+	private static class ImplicationThread extends AWorkerThread<Integer> {
+
+		private final SharedObjects sharedObjects;
+		private final ISatSolver solver;
+
+		public ImplicationThread(ISatSolver solver, SharedObjects sharedObjects, IMonitor monitor) {
+			super(monitor);
+			this.solver = solver;
+			this.sharedObjects = sharedObjects;
+		}
+
+		private ImplicationThread(ImplicationThread oldThread) {
+			super(oldThread);
+			solver = oldThread.solver.clone();
+			sharedObjects = oldThread.sharedObjects;
+		}
+
+		@Override
+		protected boolean beforeWork() {
+			solver.setSelectionStrategy(SelectionStrategy.NEGATIVE);
+			return super.beforeWork();
+		}
+
+		@Override
+		protected void work(Integer index) {
+			final int[] pair = sharedObjects.pairs.get(index);
+			if (sharedObjects.isCovered(pair)) {
+				return;
+			}
+			for (final int i : pair) {
+				solver.assignmentPush(-i);
+			}
+			switch (solver.isSatisfiable()) {
+			case FALSE:
+				sharedObjects.setImplied(index);
+				break;
+			case TIMEOUT:
+				break;
+			case TRUE:
+				sharedObjects.addSolution(solver.getModel());
+				solver.shuffleOrder();
+				break;
+			}
+			for (int i = 0; i < pair.length; i++) {
+				solver.assignmentPop();
+			}
+		}
+
+		@Override
+		protected AWorkerThread<Integer> newThread() {
+			return new ImplicationThread(this);
+		}
+
+	}
+
+	private final List<int[]> pairs;
+
+	private int numberOfThreads = AWorkerThread.getDefaultNumberOfThreads();
+
+	public ParallelImplicationAnalysis(SatInstance satInstance, List<int[]> pairs) {
+		super(satInstance);
+		this.pairs = pairs;
+	}
+
+	public ParallelImplicationAnalysis(ISatSolver solver, List<int[]> pairs) {
+		super(solver);
+		this.pairs = pairs;
+	}
+
+	@Override
+	public List<int[]> analyze(IMonitor monitor) throws Exception {
+		final List<int[]> resultList = new ArrayList<>();
+
+		if ((pairs == null) || pairs.isEmpty()) {
+			return resultList;
+		}
+
+		final SharedObjects sharedObjects = new SharedObjects(pairs);
+
+		solver.setSelectionStrategy(SelectionStrategy.POSITIVE);
+		monitor.checkCancel();
+		final int[] model1 = solver.findModel();
+
+		if (model1 != null) {
+			sharedObjects.addSolution(model1);
+			solver.setSelectionStrategy(SelectionStrategy.NEGATIVE);
+			monitor.checkCancel();
+			sharedObjects.addSolution(solver.findModel());
+
+			final List<Integer> pairIndices = new ArrayList<>(pairs.size());
+			for (int i = 0; i < pairs.size(); i++) {
+				pairIndices.add(i);
+			}
+
+			final ImplicationThread worker = new ImplicationThread(solver, sharedObjects, monitor);
+			worker.addObjects(pairIndices);
+			worker.start(Math.max(1, Math.min(numberOfThreads, pairs.size())));
+			monitor.checkCancel();
+
+			for (int i = 0; i < pairs.size(); i++) {
+				if (sharedObjects.implied[i]) {
+					resultList.add(pairs.get(i));
+				}
+			}
+		}
+
+		return resultList;
+	}
+
+	public int getNumberOfThreads() {
+		return numberOfThreads;
+	}
+
+	public void setNumberOfThreads(int numberOfThreads) {
+		this.numberOfThreads = numberOfThreads;
+	}
+
+}
@@ -0,0 +1,430 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.analyses;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.prop4j.analyses.TWiseConfigurationGenerator.CoverageIndex;
+import org.prop4j.solver.ISatSolver;
+import org.prop4j.solver.ISatSolver.SelectionStrategy;
+import org.prop4j.solver.SatInstance;
+
+import de.ovgu.featureide.fm.core.conf.worker.base.AWorkerThread;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+
+/**
+ * Generates configurations that cover all valid t-wise combinations of literals using multiple threads.<br/> <br/> The combinations are distributed among
+ * several workers by their first variable. Each worker uses its own clone of the given solver and tries to extend the shared partial configurations
+ * concurrently. Every partial configuration has its own lock, such that workers extending different configurations do not block each other. The literals
+ * contained in a configuration are stored in an atomic bit set that is only ever extended, so checking whether a combination is already covered does not
+ * need any lock.<br/> <br/> In contrast to {@link TWiseConfigurationGenerator}, the resulting sample depends on the scheduling of the workers. Its coverage
+ * is the same.<br/> <br/> <b>Note:</b> The solver is copied via {@link ISatSolver#clone()}. Thus, all of its clauses must be contained in its
+ * {@link SatInstance}.
+ *
+ * @see TWiseConfigurationGenerator
+ */
+public class ParallelTWiseConfigurationGenerator extends AbstractAnalysis<List<List<String>>> {
+
+	private static class PartialConfiguration {
+
+		private final ReentrantLock lock = new ReentrantLock();
+		private final AtomicLongArray literalBits;
+		private final List<Integer> literals = new ArrayList<>();
+		private volatile int[] solution;
+
+		public PartialConfiguration(int numberOfVariables, int[] solution) {
+			literalBits = new AtomicLongArray(((numberOfVariables << 1) + 63) >>> 6);
+			this.solution = solution;
+		}
+
+		private boolean contains(int literal) {
+			final int index = CoverageIndex.getIndex(literal);
+			return (literalBits.get(index >>> 6) & (1L << index)) != 0;
+		}
+
+		private boolean containsAll(int[] literals) {
+			for (final int literal : literals) {
+				if (!contains(literal)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private boolean isCompatible(int[] literals) {
+			for (final int literal : literals) {
+				if (contains(-literal)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Must only be called while holding the lock of this configuration.
+		 */
+		private void addLiterals(int[] literals) {
+			for (final int literal : literals) {
+				if (!contains(literal)) {
+					final int index = CoverageIndex.getIndex(literal);
+					final int word = index >>> 6;
+					final long bit = 1L << index;
+					long oldValue;
+					do {
+						oldValue = literalBits.get(word);
+					} while (!literalBits.compareAndSet(word, oldValue, oldValue | bit));
+					this.literals.add(literal);
+				}
+			}
+		}
+
+	}
+
+	private static class SharedObjects {
+
+		private final List<PartialConfiguration> configurations = new CopyOnWriteArrayList<>();
+		private final int[] variables;
+		private final long[] invalidPairs;
+		private final int t;
+		private final int maxNumber;
+
+		private final AtomicLong numberOfCoveredCombinations = new AtomicLong();
+		private final AtomicLong numberOfInvalidCombinations = new AtomicLong();
+		private final AtomicLong numberOfUncoveredCombinations = new AtomicLong();
+
+		public SharedObjects(int[] variables, long[] invalidPairs, int t, int maxNumber) {
+			this.variables = variables;
+			this.invalidPairs = invalidPairs;
+			this.t = t;
+			this.maxNumber = maxNumber;
+		}
+
+		private boolean isCovered(int[] literals) {
+			for (final PartialConfiguration configuration : configurations) {
+				if (configuration.containsAll(literals)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private synchronized boolean addConfiguration(int numberOfVariables, int[] solution, int[] literals) {
+			if (configurations.size() < maxNumber) {
+				final PartialConfiguration configuration = new PartialConfiguration(numberOfVariables, solution);
+				configuration.addLiterals(literals);
+				configurations.add(configuration);
+				return true;
+			}
+			return false;
+		}
+
+	}
+
+	private static class TWiseThread extends AWorkerThread<Integer> {
+
+		private final SharedObjects sharedObjects;
+		private final ISatSolver solver;
+		private final int orgAssignmentSize;
+		private final int numberOfVariables;
+		private final int[] combination;
+		private final int[] literals;
+
+		public TWiseThread(ISatSolver solver, SharedObjects sharedObjects, IMonitor monitor) {
+			super(monitor);
+			this.solver = solver;
+			this.sharedObjects = sharedObjects;
+			orgAssignmentSize = solver.getAssignment().size();
+			numberOfVariables = solver.getSatInstance().getNumberOfVariables();
+			combination = new int[sharedObjects.t];
+			literals = new int[sharedObjects.t];
+		}
+
+		private TWiseThread(TWiseThread oldThread) {
+			super(oldThread);
+			solver = oldThread.solver.clone();
+			sharedObjects = oldThread.sharedObjects;
+			orgAssignmentSize = oldThread.orgAssignmentSize;
+			numberOfVariables = oldThread.numberOfVariables;
+			combination = new int[sharedObjects.t];
+			literals = new int[sharedObjects.t];
+		}
+
+		@Override
+		protected boolean beforeWork() {
+			solver.setSelectionStrategy(SelectionStrategy.NEGATIVE);
+			return super.beforeWork();
+		}
+
+		/**
+		 * Covers all combinations starting with the variable at the given index.
+		 */
+		@Override
+		protected void work(Integer firstIndex) {
+			final int t = sharedObjects.t;
+			final int[] variables = sharedObjects.variables;
+			combination[0] = firstIndex;
+			for (int i = 1; i < t; i++) {
+				combination[i] = firstIndex + i;
+			}
+			while (true) {
+				for (int signs = 0; signs < (1 << t); signs++) {
+					for (int i = 0; i < t; i++) {
+						final int var = variables[combination[i]];
+						literals[i] = ((signs & (1 << i)) != 0) ? var : -var;
+					}
+					cover();
+				}
+				if ((t == 1) || !nextSuffix(variables.length)) {
+					break;
+				}
+			}
+		}
+
+		/**
+		 * Computes the next combination with the same first element.
+		 */
+		private boolean nextSuffix(int n) {
+			final int k = combination.length;
+			int i = k - 1;
+			while ((i > 0) && (combination[i] == ((n - k) + i))) {
+				i--;
+			}
+			if (i == 0) {
+				return false;
+			}
+			combination[i]++;
+			for (int j = i + 1; j < k; j++) {
+				combination[j] = combination[j - 1] + 1;
+			}
+			return true;
+		}
+
+		private void cover() {
+			if (sharedObjects.isCovered(literals)) {
+				sharedObjects.numberOfCoveredCombinations.incrementAndGet();
+				return;
+			}
+			if (TWiseConfigurationGenerator.containsInvalidPair(sharedObjects.invalidPairs, literals)) {
+				sharedObjects.numberOfInvalidCombinations.incrementAndGet();
+				return;
+			}
+
+			// a configuration whose solution already contains the combination can be extended without calling the solver
+			for (final PartialConfiguration configuration : sharedObjects.configurations) {
+				if (TWiseConfigurationGenerator.containsAll(configuration.solution, literals) && configuration.lock.tryLock()) {
+					try {
+						if (TWiseConfigurationGenerator.containsAll(configuration.solution, literals)) {
+							configuration.addLiterals(literals);
+							sharedObjects.numberOfCoveredCombinations.incrementAndGet();
+							return;
+						}
+					} finally {
+						configuration.lock.unlock();
+					}
+				}
+			}
+
+			// first try all configurations that are not locked by another worker, then wait for the remaining ones
+			final List<PartialConfiguration> lockedConfigurations = new ArrayList<>();
+			for (final PartialConfiguration configuration : sharedObjects.configurations) {
+				if (configuration.isCompatible(literals)) {
+					if (configuration.lock.tryLock()) {
+						if (extend(configuration)) {
+							return;
+						}
+					} else {
+						lockedConfigurations.add(configuration);
+					}
+				}
+			}
+			for (final PartialConfiguration configuration : lockedConfigurations) {
+				if (configuration.isCompatible(literals)) {
+					configuration.lock.lock();
+					if (extend(configuration)) {
+						return;
+					}
+				}
+			}
+
+			final int[] solution = findSolution(Collections.<Integer> emptyList());
+			if (solution == null) {
+				sharedObjects.numberOfInvalidCombinations.incrementAndGet();
+			} else if (sharedObjects.isCovered(literals)) {
+				sharedObjects.numberOfCoveredCombinations.incrementAndGet();
+			} else if (sharedObjects.addConfiguration(numberOfVariables, solution, literals)) {
+				sharedObjects.numberOfCoveredCombinations.incrementAndGet();
+			} else {
+				sharedObjects.numberOfUncoveredCombinations.incrementAndGet();
+			}
+		}
+
+		/**
+		 * Tries to extend the given configuration by the current combination. Must be called while holding the lock of the configuration and releases it.
+		 *
+		 * @return {@code true} if the combination is covered afterwards
+		 */
+		private boolean extend(PartialConfiguration configuration) {
+			try {
+				if (configuration.containsAll(literals)) {
+					sharedObjects.numberOfCoveredCombinations.incrementAndGet();
+					return true;
+				}
+				if (configuration.isCompatible(literals)) {
+					final int[] solution = findSolution(configuration.literals);
+					if (solution != null) {
+						configuration.solution = solution;
+						configuration.addLiterals(literals);
+						sharedObjects.numberOfCoveredCombinations.incrementAndGet();
+						return true;
+					}
+				}
+				return false;
+			} finally {
+				configuration.lock.unlock();
+			}
+		}
+
+		private int[] findSolution(List<Integer> configurationLiterals) {
+			solver.assignmentClear(orgAssignmentSize);
+			for (final int literal : configurationLiterals) {
+				solver.assignmentPush(literal);
+			}
+			for (final int literal : literals) {
+				solver.assignmentPush(literal);
+			}
+			final int[] solution = solver.findModel();
+			solver.assignmentClear(orgAssignmentSize);
+			return solution;
+		}
+
+		@Override
+		protected AWorkerThread<Integer> newThread() {
+			return new TWiseThread(this);
+		}
+
+	}
+
+	private final int t;
+	private final int maxNumber;
+
+	private int numberOfThreads = AWorkerThread.getDefaultNumberOfThreads();
+
+	private SharedObjects sharedObjects;
+
+	public ParallelTWiseConfigurationGenerator(SatInstance satInstance, int t, int maxNumber) {
+		super(satInstance);
+		this.t = TWiseConfigurationGenerator.checkT(t);
+		this.maxNumber = maxNumber;
+	}
+
+	public ParallelTWiseConfigurationGenerator(ISatSolver solver, int t, int maxNumber) {
+		super(solver);
+		this.t = TWiseConfigurationGenerator.checkT(t);
+		this.maxNumber = maxNumber;
+	}
+
+	@Override
+	public List<List<String>> analyze(IMonitor monitor) throws Exception {
+		sharedObjects = null;
+		if (maxNumber <= 0) {
+			return Collections.emptyList();
+		}
+
+		solver.setSelectionStrategy(SelectionStrategy.POSITIVE);
+		monitor.checkCancel();
+		if (solver.findModel() == null) {
+			return Collections.emptyList();
+		}
+
+		final int[] variables = TWiseConfigurationGenerator.getVariables(solver);
+		sharedObjects = new SharedObjects(variables, TWiseConfigurationGenerator.getInvalidPairs(solver.getSatInstance().getClauses()), t, maxNumber);
+
+		final List<Integer> firstIndices = new ArrayList<>();
+		for (int i = 0; i <= (variables.length - t); i++) {
+			firstIndices.add(i);
+		}
+		if (!firstIndices.isEmpty()) {
+			final TWiseThread worker = new TWiseThread(solver, sharedObjects, monitor);
+			worker.addObjects(firstIndices);
+			worker.start(Math.max(1, Math.min(numberOfThreads, firstIndices.size())));
+			monitor.checkCancel();
+		}
+
+		final SatInstance satInstance = solver.getSatInstance();
+		final List<List<String>> result = new ArrayList<>(sharedObjects.configurations.size());
+		for (final PartialConfiguration configuration : sharedObjects.configurations) {
+			result.add(satInstance.convertToString(configuration.solution));
+		}
+		return result;
+	}
+
+	public int getT() {
+		return t;
+	}
+
+	public int getMaxNumber() {
+		return maxNumber;
+	}
+
+	public int getNumberOfThreads() {
+		return numberOfThreads;
+	}
+
+	public void setNumberOfThreads(int numberOfThreads) {
+		this.numberOfThreads = numberOfThreads;
+	}
+
+	/**
+	 * @return the complete solutions of the generated configurations
+	 */
+	public List<int[]> getConfigurationModels() {
+		if (sharedObjects == null) {
+			return Collections.emptyList();
+		}
+		final List<int[]> models = new ArrayList<>(sharedObjects.configurations.size());
+		for (final PartialConfiguration configuration : sharedObjects.configurations) {
+			models.add(configuration.solution);
+		}
+		return models;
+	}
+
+	public long getNumberOfCoveredCombinations() {
+		return sharedObjects == null ? 0 : sharedObjects.numberOfCoveredCombinations.get();
+	}
+
+	public long getNumberOfInvalidCombinations() {
+		return sharedObjects == null ? 0 : sharedObjects.numberOfInvalidCombinations.get();
+	}
+
+	/**
+	 * @return the number of valid combinations that could not be covered within the maximum number of configurations
+	 */
+	public long getNumberOfUncoveredCombinations() {
+		return sharedObjects == null ? 0 : sharedObjects.numberOfUncoveredCombinations.get();
+	}
+
+}
@@ -0,0 +1,415 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.analyses;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import org.prop4j.solver.ISatSolver;
+import org.prop4j.solver.ISatSolver.SelectionStrategy;
+import org.prop4j.solver.SatInstance;
+
+import de.ovgu.featureide.fm.core.editing.cnf.ClauseStore;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+
+/**
+ * Generates configurations that cover all valid t-wise combinations of literals (t = 1..4).<br/> <br/> The combinations are enumerated in lexicographic order
+ * and are never stored. Each combination that is not yet covered is added to the first partial configuration that can be extended by it, or starts a new
+ * partial configuration. At the end, every partial configuration is completed by the solver. Variables that are core or dead are excluded from the
+ * combinations. Combinations that contain a pair of literals contradicting a binary clause of the formula are skipped without calling the solver.
+ *
+ * @see PairWiseConfigurationGenerator
+ */
+public class TWiseConfigurationGenerator extends AbstractAnalysis<List<List<String>>> {
+
+	/**
+	 * Stores for each literal the set of configurations containing this literal. Thus, the memory needed only depends on the number of variables and
+	 * configurations, not on the number of combinations.
+	 */
+	public static class CoverageIndex {
+
+		private final BitSet[] configurations;
+		private int numberOfConfigurations = 0;
+
+		public CoverageIndex(int numberOfVariables) {
+			configurations = new BitSet[numberOfVariables << 1];
+			for (int i = 0; i < configurations.length; i++) {
+				configurations[i] = new BitSet();
+			}
+		}
+
+		static int getIndex(int literal) {
+			return literal > 0 ? ((literal - 1) << 1) + 1 : ((-literal - 1) << 1);
+		}
+
+		public int addConfiguration() {
+			return numberOfConfigurations++;
+		}
+
+		public void addLiteral(int configuration, int literal) {
+			configurations[getIndex(literal)].set(configuration);
+		}
+
+		public boolean contains(int configuration, int literal) {
+			return configurations[getIndex(literal)].get(configuration);
+		}
+
+		public int getNumberOfConfigurations() {
+			return numberOfConfigurations;
+		}
+
+		/**
+		 * Checks whether a configuration contains all given literals.
+		 *
+		 * @param literals the literals of a combination
+		 * @return {@code true} if the combination is covered by at least one configuration
+		 */
+		public boolean isCovered(int[] literals) {
+			return getCoveringConfiguration(literals) >= 0;
+		}
+
+		/**
+		 * Returns the first configuration that contains all given literals.
+		 *
+		 * @param literals the literals of a combination
+		 * @return the index of the configuration or {@code -1} if the combination is not covered
+		 */
+		public int getCoveringConfiguration(int[] literals) {
+			final BitSet first = configurations[getIndex(literals[0])];
+			configurationLoop: for (int i = first.nextSetBit(0); i >= 0; i = first.nextSetBit(i + 1)) {
+				for (int j = 1; j < literals.length; j++) {
+					if (!configurations[getIndex(literals[j])].get(i)) {
+						continue configurationLoop;
+					}
+				}
+				return i;
+			}
+			return -1;
+		}
+
+	}
+
+	/**
+	 * A configuration that contains a set of fixed literals and a complete solution satisfying these literals.
+	 */
+	private static class PartialConfiguration {
+
+		private final int id;
+		private final List<Integer> literals = new ArrayList<>();
+		private int[] solution;
+
+		public PartialConfiguration(int id, int[] solution) {
+			this.id = id;
+			this.solution = solution;
+		}
+
+	}
+
+	public static final int MAX_T = 4;
+
+	private final int t;
+	private final int maxNumber;
+
+	private final List<PartialConfiguration> configurations = new ArrayList<>();
+	private CoverageIndex coverageIndex;
+	private long[] invalidPairs;
+
+	private long numberOfCoveredCombinations, numberOfInvalidCombinations, numberOfUncoveredCombinations;
+
+	public TWiseConfigurationGenerator(SatInstance satInstance, int t, int maxNumber) {
+		super(satInstance);
+		this.t = checkT(t);
+		this.maxNumber = maxNumber;
+	}
+
+	public TWiseConfigurationGenerator(ISatSolver solver, int t, int maxNumber) {
+		super(solver);
+		this.t = checkT(t);
+		this.maxNumber = maxNumber;
+	}
+
+	static int checkT(int t) {
+		if ((t < 1) || (t > MAX_T)) {
+			throw new IllegalArgumentException("t must be between 1 and " + MAX_T + " (was " + t + ").");
+		}
+		return t;
+	}
+
+	@Override
+	public List<List<String>> analyze(IMonitor monitor) throws Exception {
+		configurations.clear();
+		numberOfCoveredCombinations = 0;
+		numberOfInvalidCombinations = 0;
+		numberOfUncoveredCombinations = 0;
+		if (maxNumber <= 0) {
+			return Collections.emptyList();
+		}
+
+		final SatInstance satInstance = solver.getSatInstance();
+		final int numberOfVariables = satInstance.getNumberOfVariables();
+		coverageIndex = new CoverageIndex(numberOfVariables);
+		final int orgAssignmentSize = solver.getAssignment().size();
+
+		solver.setSelectionStrategy(SelectionStrategy.POSITIVE);
+		monitor.checkCancel();
+		if (solver.findModel() == null) {
+			return Collections.emptyList();
+		}
+
+		final int[] variables = getVariables(solver);
+		invalidPairs = getInvalidPairs(satInstance.getClauses());
+		solver.setSelectionStrategy(SelectionStrategy.NEGATIVE);
+
+		final int[] combination = new int[t];
+		final int[] literals = new int[t];
+		if (variables.length >= t) {
+			for (int i = 0; i < t; i++) {
+				combination[i] = i;
+			}
+			while (true) {
+				monitor.checkCancel();
+				for (int signs = 0; signs < (1 << t); signs++) {
+					for (int i = 0; i < t; i++) {
+						final int var = variables[combination[i]];
+						literals[i] = ((signs & (1 << i)) != 0) ? var : -var;
+					}
+					cover(literals, orgAssignmentSize);
+				}
+				if (!nextCombination(combination, variables.length)) {
+					break;
+				}
+			}
+		}
+
+		final List<List<String>> result = new ArrayList<>(configurations.size());
+		for (final PartialConfiguration configuration : configurations) {
+			result.add(satInstance.convertToString(configuration.solution));
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the variables that are neither core nor dead and not fixed by the assumptions.
+	 */
+	static int[] getVariables(ISatSolver solver) {
+		final int numberOfVariables = solver.getSatInstance().getNumberOfVariables();
+		final boolean[] fixed = new boolean[numberOfVariables + 1];
+		for (int i = 0; i < solver.getAssignment().size(); i++) {
+			fixed[Math.abs(solver.getAssignment().get(i))] = true;
+		}
+		// the analysis runs on a copy, as it clears the assignment of its solver
+		for (final int literal : LongRunningWrapper.runMethod(new CoreDeadAnalysis(solver.clone()))) {
+			fixed[Math.abs(literal)] = true;
+		}
+		final int[] variables = new int[numberOfVariables];
+		int count = 0;
+		for (int var = 1; var <= numberOfVariables; var++) {
+			if (!fixed[var]) {
+				variables[count++] = var;
+			}
+		}
+		return Arrays.copyOf(variables, count);
+	}
+
+	/**
+	 * Collects all pairs of literals that cannot be selected together due to a binary clause.
+	 */
+	static long[] getInvalidPairs(ClauseStore clauses) {
+		long[] pairs = new long[16];
+		int count = 0;
+		for (int i = 0; i < clauses.size(); i++) {
+			if (clauses.getClauseLength(i) == 2) {
+				if (count == pairs.length) {
+					pairs = Arrays.copyOf(pairs, count << 1);
+				}
+				final int start = clauses.getClauseStart(i);
+				pairs[count++] = getPairKey(-clauses.getLiteral(start), -clauses.getLiteral(start + 1));
+			}
+		}
+		pairs = Arrays.copyOf(pairs, count);
+		Arrays.sort(pairs);
+		return pairs;
+	}
+
+	private static long getPairKey(int literal1, int literal2) {
+		final int index1 = CoverageIndex.getIndex(literal1);
+		final int index2 = CoverageIndex.getIndex(literal2);
+		return index1 < index2 ? (((long) index1) << 32) | index2 : (((long) index2) << 32) | index1;
+	}
+
+	static boolean containsInvalidPair(long[] invalidPairs, int[] literals) {
+		if (invalidPairs.length > 0) {
+			for (int i = 0; i < literals.length; i++) {
+				for (int j = i + 1; j < literals.length; j++) {
+					if (Arrays.binarySearch(invalidPairs, getPairKey(literals[i], literals[j])) >= 0) {
+						return true;
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	static boolean nextCombination(int[] combination, int n) {
+		final int k = combination.length;
+		int i = k - 1;
+		while ((i >= 0) && (combination[i] == ((n - k) + i))) {
+			i--;
+		}
+		if (i < 0) {
+			return false;
+		}
+		combination[i]++;
+		for (int j = i + 1; j < k; j++) {
+			combination[j] = combination[j - 1] + 1;
+		}
+		return true;
+	}
+
+	private void cover(int[] literals, int orgAssignmentSize) {
+		if (coverageIndex.isCovered(literals)) {
+			numberOfCoveredCombinations++;
+			return;
+		}
+		if (containsInvalidPair(invalidPairs, literals)) {
+			numberOfInvalidCombinations++;
+			return;
+		}
+
+		// a configuration whose solution already contains the combination can be extended without calling the solver
+		for (final PartialConfiguration configuration : configurations) {
+			if (containsAll(configuration.solution, literals)) {
+				addLiterals(configuration, literals);
+				numberOfCoveredCombinations++;
+				return;
+			}
+		}
+
+		for (final PartialConfiguration configuration : configurations) {
+			if (isCompatible(configuration, literals)) {
+				final int[] solution = findSolution(configuration, literals, orgAssignmentSize);
+				if (solution != null) {
+					configuration.solution = solution;
+					addLiterals(configuration, literals);
+					numberOfCoveredCombinations++;
+					return;
+				}
+			}
+		}
+
+		final int[] solution = findSolution(null, literals, orgAssignmentSize);
+		if (solution == null) {
+			numberOfInvalidCombinations++;
+		} else if (configurations.size() < maxNumber) {
+			final PartialConfiguration configuration = new PartialConfiguration(coverageIndex.addConfiguration(), solution);
+			configurations.add(configuration);
+			addLiterals(configuration, literals);
+			numberOfCoveredCombinations++;
+		} else {
+			numberOfUncoveredCombinations++;
+		}
+	}
+
+	static boolean containsAll(int[] solution, int[] literals) {
+		for (final int literal : literals) {
+			if (solution[Math.abs(literal) - 1] != literal) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean isCompatible(PartialConfiguration configuration, int[] literals) {
+		for (final int literal : literals) {
+			if (coverageIndex.contains(configuration.id, -literal)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void addLiterals(PartialConfiguration configuration, int[] literals) {
+		for (final int literal : literals) {
+			if (!coverageIndex.contains(configuration.id, literal)) {
+				coverageIndex.addLiteral(configuration.id, literal);
+				configuration.literals.add(literal);
+			}
+		}
+	}
+
+	private int[] findSolution(PartialConfiguration configuration, int[] literals, int orgAssignmentSize) {
+		solver.assignmentClear(orgAssignmentSize);
+		if (configuration != null) {
+			for (final int literal : configuration.literals) {
+				solver.assignmentPush(literal);
+			}
+		}
+		for (final int literal : literals) {
+			solver.assignmentPush(literal);
+		}
+		final int[] solution = solver.findModel();
+		solver.assignmentClear(orgAssignmentSize);
+		return solution;
+	}
+
+	public int getT() {
+		return t;
+	}
+
+	public int getMaxNumber() {
+		return maxNumber;
+	}
+
+	/**
+	 * @return the complete solutions of the generated configurations
+	 */
+	public List<int[]> getConfigurationModels() {
+		final List<int[]> models = new ArrayList<>(configurations.size());
+		for (final PartialConfiguration configuration : configurations) {
+			models.add(configuration.solution);
+		}
+		return models;
+	}
+
+	public CoverageIndex getCoverageIndex() {
+		return coverageIndex;
+	}
+
+	public long getNumberOfCoveredCombinations() {
+		return numberOfCoveredCombinations;
+	}
+
+	public long getNumberOfInvalidCombinations() {
+		return numberOfInvalidCombinations;
+	}
+
+	/**
+	 * @return the number of valid combinations that could not be covered within the maximum number of configurations
+	 */
+	public long getNumberOfUncoveredCombinations() {
+		return numberOfUncoveredCombinations;
+	}
+
+}
@@ -0,0 +1,141 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.analyses;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.prop4j.solver.DDNNF;
+import org.prop4j.solver.SatInstance;
+
+import de.ovgu.featureide.fm.core.job.LongRunningMethod;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+
+/**
+ * Draws configurations uniformly at random from all solutions of a propositional formula.<br/> <br/> The formula is compiled into a {@link DDNNF} once. Each
+ * further configuration is then drawn in time linear in the size of the d-DNNF (see {@link DDNNF#sample(Random)}). In contrast to
+ * {@link RandomConfigurationGenerator}, every solution has the same probability to be drawn and configurations may be drawn more than once.<br/> <br/> Each
+ * configuration is passed to the intermediate function of the monitor as an {@code int[]} model. For large batches, storing the configurations can be
+ * disabled via {@link #setStoreConfigurations(boolean)}.<br/> <br/> Returns {@code null} if the compilation of the d-DNNF was aborted (see
+ * {@link DDNNFCompiler}).
+ *
+ * @see DDNNF
+ */
+public class UniformRandomConfigurationGenerator implements LongRunningMethod<List<List<String>>> {
+
+	private final SatInstance satInstance;
+	private final int maxNumber;
+
+	private DDNNF ddnnf;
+
+	private long seed;
+	private long timeout = 0;
+	private boolean storeConfigurations = true;
+
+	public UniformRandomConfigurationGenerator(SatInstance satInstance, int maxNumber) {
+		this.satInstance = satInstance;
+		this.maxNumber = maxNumber;
+		seed = new Random().nextLong();
+	}
+
+	public UniformRandomConfigurationGenerator(DDNNF ddnnf, int maxNumber) {
+		this(ddnnf.getSatInstance(), maxNumber);
+		this.ddnnf = ddnnf;
+	}
+
+	@Override
+	public List<List<String>> execute(IMonitor monitor) throws Exception {
+		if (ddnnf == null) {
+			ddnnf = LongRunningWrapper.runMethod(new DDNNFCompiler(satInstance, timeout), monitor.subTask(0));
+			if (ddnnf == null) {
+				return null;
+			}
+		}
+		if (ddnnf.countSolutions().signum() == 0) {
+			return Collections.emptyList();
+		}
+
+		monitor.setRemainingWork(maxNumber);
+		final Random random = new Random(seed);
+		final List<List<String>> configurations = storeConfigurations ? new ArrayList<List<String>>() : Collections.<List<String>> emptyList();
+		for (int i = 0; i < maxNumber; i++) {
+			final int[] model = ddnnf.sample(random);
+			if (storeConfigurations) {
+				configurations.add(satInstance.convertToString(model));
+			}
+			monitor.step(model);
+		}
+		return configurations;
+	}
+
+	public SatInstance getSatInstance() {
+		return satInstance;
+	}
+
+	/**
+	 * @return the compiled d-DNNF or {@code null} if the generator was not executed yet
+	 */
+	public DDNNF getDDNNF() {
+		return ddnnf;
+	}
+
+	public int getMaxNumber() {
+		return maxNumber;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Sets the seed of the random generator. Executing the generator twice with the same seed yields the same configurations in the same order.
+	 *
+	 * @param seed the seed
+	 */
+	public void setSeed(long seed) {
+		this.seed = seed;
+	}
+
+	public long getTimeout() {
+		return timeout;
+	}
+
+	/**
+	 * Sets the timeout for the compilation of the d-DNNF.
+	 *
+	 * @param timeout the timeout in ms (or {@code 0} for no timeout)
+	 */
+	public void setTimeout(long timeout) {
+		this.timeout = timeout;
+	}
+
+	public boolean isStoreConfigurations() {
+		return storeConfigurations;
+	}
+
+	public void setStoreConfigurations(boolean storeConfigurations) {
+		this.storeConfigurations = storeConfigurations;
+	}
+
+}
@@ -0,0 +1,698 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.explain.solvers.impl.ltms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.explain.solvers.MusExtractor;
+import org.prop4j.explain.solvers.impl.AbstractSatProblem;
+
+/**
+ * <p> An {@link Ltms LTMS} working on integer literals instead of {@link Node nodes}. </p>
+ *
+ * <p> Each variable is mapped to a positive index and each clause is stored as an array of literals, where a negative literal denotes a negated variable.
+ * Truth values and reasons are kept in primitive arrays indexed by variable. Unit-open and violated clauses are detected using two watched literals per
+ * clause. Thus, propagating a truth value only visits the clauses watching the literal that became false instead of all clauses containing its variable, and
+ * no clause has to be scanned when starting a new explanation. </p>
+ *
+ * <p> Explanations are generated the same way as in {@link Ltms}: The truth values are propagated until a contradiction is found. The proof for the
+ * contradiction is recalled, the derived truth values are reset to the premises, and the propagation continues to find further explanations. Like {@link Ltms},
+ * this class does not fulfill the entire contract of each of its interfaces, as BCP (boolean constraint propagation) is inherently incomplete. </p>
+ */
+public class WatchedLiteralLtms extends AbstractSatProblem implements MusExtractor {
+
+	/** Truth value of a variable that is true. */
+	private static final byte TRUE = 1;
+	/** Truth value of a variable that is false. */
+	private static final byte FALSE = -1;
+	/** Truth value of a variable whose value is unknown. */
+	private static final byte UNKNOWN = 0;
+	/** Reason of a variable that is a premise or not assigned. */
+	private static final int NO_REASON = -1;
+
+	/** Maps variables to their indexes. Variable indexes start at 1. */
+	private final Map<Object, Integer> variableIndexes = new HashMap<>();
+	/** Maps variable indexes to variables. The first element is a placeholder. */
+	private final List<Object> indexVariables = new ArrayList<>(Collections.singletonList(null));
+	/**
+	 * The clauses as arrays of literals. The first two literals of each clause are watched. The order of the literals changes when the watches are moved.
+	 */
+	private final List<int[]> literalClauses = new ArrayList<>();
+	/** The indexes of all clauses containing only a single literal. These are unit-open before any propagation. */
+	private int[] unitClauses = new int[16];
+	/** The amount of clauses containing only a single literal. */
+	private int unitClauseCount = 0;
+
+	/** For each literal, the indexes of the clauses watching it. Positive literals are stored at even, negative ones at odd positions. */
+	private int[][] watches = new int[0][];
+	/** For each literal, the amount of clauses watching it. */
+	private int[] watchCounts = new int[0];
+
+	/** The truth values of the variables. */
+	private byte[] values = new byte[0];
+	/** The reason for a derived truth value, represented by a clause. */
+	private int[] reasons = new int[0];
+	/** Marks variables as visited while collecting antecedents. */
+	private int[] visited = new int[0];
+	/** The current mark for visited variables. */
+	private int visitedMark = 0;
+	/** The assigned variables in order of assignment. */
+	private int[] trail = new int[0];
+	/** The amount of assigned variables. */
+	private int trailSize = 0;
+	/** The stack to collect unit-open clauses. May contain clauses that are not unit-open any longer. */
+	private int[] unitOpenClauses = new int[16];
+	/** The amount of clauses on the stack of unit-open clauses. */
+	private int unitOpenClauseCount = 0;
+
+	/** The variables that were assumed in each scope except the current one. */
+	private final Deque<Map<Object, Boolean>> previousScopeAssumptions = new LinkedList<>();
+	/** The amount of clauses that were added in each scope except the current one. */
+	private final LinkedList<Integer> previousScopeClauseCounts = new LinkedList<>();
+	/** The amount of clauses in the current scope. */
+	private int scopeClauseCount = 0;
+
+	@Override
+	public Object getOracle() {
+		return this; // direct implementation
+	}
+
+	@Override
+	public int addClause(Node clause) {
+		final int index = super.addClause(clause);
+		final Node[] children = clause.getChildren();
+		final int[] literals = new int[children.length];
+		int literalCount = 0;
+		nextVisitedMark();
+		for (final Node child : children) {
+			final Literal literal = (Literal) child;
+			final int variable = addVariable(literal.var);
+			final int l = literal.positive ? variable : -variable;
+			if (visited[variable] != visitedMark) {
+				visited[variable] = visitedMark;
+				literals[literalCount++] = l;
+			} else if (!containsLiteral(literals, literalCount, l)) {
+				literals[literalCount++] = l; // complementary literal
+			}
+		}
+		final int[] literalClause = literalCount == literals.length ? literals : Arrays.copyOf(literals, literalCount);
+		literalClauses.add(literalClause);
+		addWatch(literalClause[0], index);
+		if (literalClause.length > 1) {
+			addWatch(literalClause[1], index);
+		} else {
+			if (unitClauseCount == unitClauses.length) {
+				unitClauses = Arrays.copyOf(unitClauses, unitClauseCount << 1);
+			}
+			unitClauses[unitClauseCount++] = index;
+		}
+		scopeClauseCount++;
+		return index;
+	}
+
+	/**
+	 * Removes the clause at the given index. The clause stops watching its literals and the indexes of all following clauses are shifted accordingly. The
+	 * derived truth values are reset, so the next explanation propagates the premises again.
+	 *
+	 * @param index index of the clause to remove
+	 * @return the removed clause
+	 */
+	@Override
+	protected Node removeClause(int index) {
+		final int clauseCount = getClauseCount();
+		final Node clause = super.removeClause(index);
+		final int[] literalClause = literalClauses.remove(index);
+		removeWatch(literalClause[0], index);
+		if (literalClause.length > 1) {
+			removeWatch(literalClause[1], index);
+		} else {
+			removeUnitClause(index);
+		}
+		if (index < (clauseCount - 1)) { // not the most recently added clause
+			shiftClauseIndexes(index);
+		}
+		removeScopeClause(index, clauseCount);
+		undo(0);
+		unitOpenClauseCount = 0;
+		return clause;
+	}
+
+	/**
+	 * Removes the given clause from the clauses containing only a single literal.
+	 *
+	 * @param clause the index of the clause
+	 */
+	private void removeUnitClause(int clause) {
+		for (int i = unitClauseCount - 1; i >= 0; i--) {
+			if (unitClauses[i] == clause) {
+				System.arraycopy(unitClauses, i + 1, unitClauses, i, unitClauseCount - i - 1);
+				unitClauseCount--;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Decrements all clause indexes greater than the given one after that clause has been removed.
+	 *
+	 * @param removedClause the index of the removed clause
+	 */
+	private void shiftClauseIndexes(int removedClause) {
+		for (int watchIndex = 0; watchIndex < watches.length; watchIndex++) {
+			final int[] list = watches[watchIndex];
+			for (int i = watchCounts[watchIndex] - 1; i >= 0; i--) {
+				if (list[i] > removedClause) {
+					list[i]--;
+				}
+			}
+		}
+		for (int i = 0; i < unitClauseCount; i++) {
+			if (unitClauses[i] > removedClause) {
+				unitClauses[i]--;
+			}
+		}
+	}
+
+	/**
+	 * Decrements the amount of clauses of the scope the given clause was added in.
+	 *
+	 * @param removedClause the index of the removed clause
+	 * @param clauseCount the amount of clauses before the removal
+	 */
+	private void removeScopeClause(int removedClause, int clauseCount) {
+		int scopeStart = clauseCount - scopeClauseCount;
+		if (removedClause >= scopeStart) {
+			scopeClauseCount--;
+			return;
+		}
+		for (final ListIterator<Integer> it = previousScopeClauseCounts.listIterator(); it.hasNext();) {
+			final int count = it.next();
+			scopeStart -= count;
+			if (removedClause >= scopeStart) {
+				it.set(count - 1);
+				return;
+			}
+		}
+	}
+
+	@Override
+	public Map<Object, Boolean> getAssumptions() {
+		/*
+		 * Merge the assumptions of all scopes. Add the newer assumptions later to override the older ones.
+		 */
+		final Map<Object, Boolean> assumptions = new LinkedHashMap<>();
+		for (final Iterator<Map<Object, Boolean>> it = previousScopeAssumptions.descendingIterator(); it.hasNext();) {
+			assumptions.putAll(it.next());
+		}
+		assumptions.putAll(super.getAssumptions());
+		return assumptions;
+	}
+
+	@Override
+	public Boolean getAssumption(Object variable) {
+		/*
+		 * For performance reasons, do not merge all assumptions.
+		 */
+		Boolean value = super.getAssumptions().get(variable);
+		if (value != null) {
+			return value;
+		}
+		for (final Map<Object, Boolean> prev : previousScopeAssumptions) {
+			value = prev.get(variable);
+			if (value != null) {
+				return value;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public boolean isSatisfiable() {
+		return getAllMinimalUnsatisfiableSubsetIndexes().isEmpty();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p> Returns the truth values derived from the premises by BCP. </p>
+	 */
+	@Override
+	public Map<Object, Boolean> getModel() throws IllegalStateException {
+		if (!isSatisfiable()) {
+			throw new IllegalStateException("Problem is unsatisfiable");
+		}
+		final Map<Object, Boolean> model = new LinkedHashMap<>();
+		for (int i = 0; i < trailSize; i++) {
+			final int variable = trail[i];
+			model.put(indexVariables.get(variable), values[variable] == TRUE);
+		}
+		return model;
+	}
+
+	@Override
+	public void push() {
+		// Push the clauses.
+		previousScopeClauseCounts.push(scopeClauseCount);
+		scopeClauseCount = 0;
+
+		// Push the assumptions.
+		previousScopeAssumptions.push(new LinkedHashMap<>(super.getAssumptions()));
+		clearAssumptions();
+	}
+
+	@Override
+	public List<Node> pop() throws NoSuchElementException {
+		// Pop the clauses.
+		final List<Node> removedClauses = removeClauses(scopeClauseCount);
+		scopeClauseCount = previousScopeClauseCounts.pop();
+
+		// Pop the assumptions.
+		clearAssumptions();
+		addAssumptions(previousScopeAssumptions.pop());
+
+		return removedClauses;
+	}
+
+	@Override
+	public Set<Node> getMinimalUnsatisfiableSubset() throws IllegalStateException {
+		final Set<Integer> indexes = getMinimalUnsatisfiableSubsetIndexes();
+		final Set<Node> mus = new LinkedHashSet<>(indexes.size());
+		for (final int index : indexes) {
+			mus.add(getClause(index));
+		}
+		return mus;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p> Returns the smallest of all explanations found. </p>
+	 */
+	@Override
+	public Set<Integer> getMinimalUnsatisfiableSubsetIndexes() throws IllegalStateException {
+		Set<Integer> smallest = null;
+		for (final Set<Integer> mus : getAllMinimalUnsatisfiableSubsetIndexes()) {
+			if ((smallest == null) || (mus.size() < smallest.size())) {
+				smallest = mus;
+			}
+		}
+		if (smallest == null) {
+			throw new IllegalStateException("No contradiction found");
+		}
+		return smallest;
+	}
+
+	@Override
+	public List<Set<Node>> getAllMinimalUnsatisfiableSubsets() throws IllegalStateException {
+		final List<Set<Integer>> allIndexes = getAllMinimalUnsatisfiableSubsetIndexes();
+		final List<Set<Node>> muses = new ArrayList<>(allIndexes.size());
+		for (final Set<Integer> indexes : allIndexes) {
+			final Set<Node> mus = new LinkedHashSet<>(indexes.size());
+			for (final int index : indexes) {
+				mus.add(getClause(index));
+			}
+			muses.add(mus);
+		}
+		return muses;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p> Returns multiple explanations why the premises lead to a contradiction in the conjunctive normal form. This is done by propagating the truth values
+	 * until a contradiction is found. Then, the proofs for the implications are recalled. This is repeated several times to find multiple explanations, some of
+	 * which might be shorter than others. </p>
+	 */
+	@Override
+	public List<Set<Integer>> getAllMinimalUnsatisfiableSubsetIndexes() {
+		undo(0);
+		unitOpenClauseCount = 0;
+		final List<Set<Integer>> explanations = new ArrayList<>();
+
+		// Set the premises.
+		for (final Entry<Object, Boolean> assumption : getAssumptions().entrySet()) {
+			final int variable = addVariable(assumption.getKey());
+			final int literal = assumption.getValue() ? variable : -variable;
+			assign(literal, NO_REASON);
+			final int violatedClause = propagate(-literal);
+			if (violatedClause >= 0) { // If the initial truth values already lead to a contradiction...
+				explanations.add(new TreeSet<>(Collections.singleton(violatedClause))); // ... explain immediately.
+				return explanations;
+			}
+		}
+		final int premiseCount = trailSize;
+		for (int i = 0; i < unitClauseCount; i++) {
+			pushUnitOpenClause(unitClauses[i]);
+		}
+
+		while (unitOpenClauseCount > 0) {
+			final int derivedClause = unitOpenClauses[--unitOpenClauseCount];
+			final int derivedLiteral = getUnboundLiteral(derivedClause);
+			if (derivedLiteral == 0) { // not actually unit-open
+				continue;
+			}
+			assign(derivedLiteral, derivedClause);
+			final int violatedClause = propagate(-derivedLiteral);
+			if (violatedClause >= 0) { // If the propagation lead to a contradiction...
+				explanations.add(getContradictionExplanation(violatedClause, Math.abs(derivedLiteral))); // ... explain the reason for the contradiction.
+				/*
+				 * Keep generating new explanations as there might be a shorter one among them. To this end, reset the derived truth values (but not the
+				 * premises) and keep iterating.
+				 */
+				undo(premiseCount);
+			}
+		}
+		return explanations;
+	}
+
+	/**
+	 * Returns the index of the given variable. Adds the variable first if necessary.
+	 *
+	 * @param variable the variable; not null
+	 * @return the index of the variable; greater than 0
+	 */
+	private int addVariable(Object variable) {
+		Integer index = variableIndexes.get(variable);
+		if (index == null) {
+			index = indexVariables.size();
+			variableIndexes.put(variable, index);
+			indexVariables.add(variable);
+			ensureVariableCapacity(index + 1);
+		}
+		return index;
+	}
+
+	/**
+	 * Grows the arrays indexed by variable or literal so that they can hold the given amount of variables.
+	 *
+	 * @param variableCount the amount of variables including the placeholder
+	 */
+	private void ensureVariableCapacity(int variableCount) {
+		if (values.length >= variableCount) {
+			return;
+		}
+		final int oldCapacity = values.length;
+		final int capacity = Math.max(variableCount, oldCapacity << 1);
+		values = Arrays.copyOf(values, capacity);
+		reasons = Arrays.copyOf(reasons, capacity);
+		Arrays.fill(reasons, oldCapacity, capacity, NO_REASON);
+		visited = Arrays.copyOf(visited, capacity);
+		trail = Arrays.copyOf(trail, capacity);
+		final int oldLiteralCapacity = watches.length;
+		watches = Arrays.copyOf(watches, capacity << 1);
+		watchCounts = Arrays.copyOf(watchCounts, capacity << 1);
+		for (int i = oldLiteralCapacity; i < watches.length; i++) {
+			watches[i] = new int[4];
+		}
+	}
+
+	/**
+	 * Starts a new round of marking variables as visited.
+	 */
+	private void nextVisitedMark() {
+		if (visitedMark == Integer.MAX_VALUE) {
+			Arrays.fill(visited, 0);
+			visitedMark = 0;
+		}
+		visitedMark++;
+	}
+
+	/**
+	 * Returns the position of the given literal in the watch lists.
+	 *
+	 * @param literal the literal; not 0
+	 * @return the position of the literal
+	 */
+	private static int getWatchIndex(int literal) {
+		return literal > 0 ? literal << 1 : ((-literal) << 1) | 1;
+	}
+
+	/**
+	 * Lets the given clause watch the given literal.
+	 *
+	 * @param literal the literal to watch
+	 * @param clause the index of the clause
+	 */
+	private void addWatch(int literal, int clause) {
+		final int watchIndex = getWatchIndex(literal);
+		int[] list = watches[watchIndex];
+		final int count = watchCounts[watchIndex];
+		if (count == list.length) {
+			list = Arrays.copyOf(list, count << 1);
+			watches[watchIndex] = list;
+		}
+		list[count] = clause;
+		watchCounts[watchIndex] = count + 1;
+	}
+
+	/**
+	 * Stops the given clause from watching the given literal.
+	 *
+	 * @param literal the watched literal
+	 * @param clause the index of the clause
+	 */
+	private void removeWatch(int literal, int clause) {
+		final int watchIndex = getWatchIndex(literal);
+		final int[] list = watches[watchIndex];
+		final int count = watchCounts[watchIndex];
+		for (int i = count - 1; i >= 0; i--) {
+			if (list[i] == clause) {
+				System.arraycopy(list, i + 1, list, i, count - i - 1);
+				watchCounts[watchIndex] = count - 1;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Returns the truth value of the given literal.
+	 *
+	 * @param literal the literal; not 0
+	 * @return {@link #TRUE}, {@link #FALSE}, or {@link #UNKNOWN}
+	 */
+	private byte getValue(int literal) {
+		final byte value = values[Math.abs(literal)];
+		return literal > 0 ? value : (byte) -value;
+	}
+
+	/**
+	 * Makes the given literal true.
+	 *
+	 * @param literal the literal; not 0
+	 * @param reason the clause from which the truth value was derived or {@link #NO_REASON} for premises
+	 */
+	private void assign(int literal, int reason) {
+		final int variable = Math.abs(literal);
+		values[variable] = literal > 0 ? TRUE : FALSE;
+		reasons[variable] = reason;
+		trail[trailSize++] = variable;
+	}
+
+	/**
+	 * Resets the truth values of all variables assigned after the given position in the trail.
+	 *
+	 * @param trailPosition the amount of assignments to keep
+	 */
+	private void undo(int trailPosition) {
+		while (trailSize > trailPosition) {
+			final int variable = trail[--trailSize];
+			values[variable] = UNKNOWN;
+			reasons[variable] = NO_REASON;
+		}
+	}
+
+	/**
+	 * Pushes the given clause onto the stack of unit-open clauses.
+	 *
+	 * @param clause the index of the clause
+	 */
+	private void pushUnitOpenClause(int clause) {
+		if (unitOpenClauseCount == unitOpenClauses.length) {
+			unitOpenClauses = Arrays.copyOf(unitOpenClauses, unitOpenClauseCount << 1);
+		}
+		unitOpenClauses[unitOpenClauseCount++] = clause;
+	}
+
+	/**
+	 * Visits all clauses watching the given literal, which has just become false. Moves their watches to other literals that are not false if possible.
+	 * Otherwise, the clause is either unit-open and pushed onto the stack or violated.
+	 *
+	 * @param falseLiteral the literal that has become false
+	 * @return the index of a violated clause or -1 if there is none
+	 */
+	private int propagate(int falseLiteral) {
+		final int watchIndex = getWatchIndex(falseLiteral);
+		final int[] list = watches[watchIndex];
+		final int count = watchCounts[watchIndex];
+		int violatedClause = -1;
+		int i = 0;
+		int j = 0;
+		while (i < count) {
+			final int clause = list[i++];
+			final int[] literals = literalClauses.get(clause);
+			if (literals.length == 1) {
+				list[j++] = clause;
+				violatedClause = clause;
+				break;
+			}
+
+			// Make sure the false literal is the second watched one.
+			if (literals[0] == falseLiteral) {
+				literals[0] = literals[1];
+				literals[1] = falseLiteral;
+			}
+			final byte otherValue = getValue(literals[0]);
+			if (otherValue == TRUE) { // satisfied
+				list[j++] = clause;
+				continue;
+			}
+
+			// Look for another literal to watch.
+			boolean moved = false;
+			for (int k = 2; k < literals.length; k++) {
+				final int literal = literals[k];
+				if (getValue(literal) != FALSE) {
+					literals[1] = literal;
+					literals[k] = falseLiteral;
+					addWatch(literal, clause);
+					moved = true;
+					break;
+				}
+			}
+			if (moved) {
+				continue;
+			}
+
+			list[j++] = clause;
+			if (otherValue == FALSE) {
+				violatedClause = clause;
+				break;
+			}
+			pushUnitOpenClause(clause);
+		}
+		while (i < count) {
+			list[j++] = list[i++];
+		}
+		watchCounts[watchIndex] = j;
+		return violatedClause;
+	}
+
+	/**
+	 * Returns the unbound literal in the given clause or 0 if no such literal exists. A literal is unbound iff it evaluates to unknown while all other literals
+	 * in the same clause evaluate to false.
+	 *
+	 * @param clause the index of the clause
+	 * @return the unbound literal in the given clause or 0 if no such literal exists
+	 */
+	private int getUnboundLiteral(int clause) {
+		int unboundLiteral = 0;
+		for (final int literal : literalClauses.get(clause)) {
+			switch (getValue(literal)) {
+			case UNKNOWN:
+				if (unboundLiteral != 0) { // more than one unknown literal found, thus actually a non-unit-open clause
+					return 0;
+				}
+				unboundLiteral = literal;
+				break;
+			case TRUE:
+				return 0;
+			default:
+				break;
+			}
+		}
+		return unboundLiteral;
+	}
+
+	/**
+	 * Returns an explanation why the premises lead to a contradiction. Collects the violated clause and the reasons of all antecedents.
+	 *
+	 * @param violatedClause the violated clause
+	 * @param derivedVariable the variable whose truth value was derived last
+	 * @return indexes of clauses that serve as an explanation
+	 */
+	private Set<Integer> getContradictionExplanation(int violatedClause, int derivedVariable) {
+		final Set<Integer> explanation = new TreeSet<>();
+		explanation.add(violatedClause);
+		nextVisitedMark();
+		int[] stack = new int[16];
+		int stackSize = 0;
+		stack[stackSize++] = derivedVariable;
+		for (final int literal : literalClauses.get(violatedClause)) {
+			if (stackSize == stack.length) {
+				stack = Arrays.copyOf(stack, stackSize << 1);
+			}
+			stack[stackSize++] = Math.abs(literal);
+		}
+		while (stackSize > 0) {
+			final int variable = stack[--stackSize];
+			if (visited[variable] == visitedMark) { // already explained
+				continue;
+			}
+			visited[variable] = visitedMark;
+			final int reason = reasons[variable];
+			if (reason == NO_REASON) { // premise
+				continue;
+			}
+			explanation.add(reason);
+			for (final int antecedent : literalClauses.get(reason)) {
+				if (stackSize == stack.length) {
+					stack = Arrays.copyOf(stack, stackSize << 1);
+				}
+				stack[stackSize++] = Math.abs(antecedent);
+			}
+		}
+		return explanation;
+	}
+
+	/**
+	 * Returns true iff the given literal is among the first literals of the given array.
+	 *
+	 * @param literals the literals
+	 * @param count the amount of literals to check
+	 * @param literal the literal to find
+	 * @return true iff the literal is contained
+	 */
+	private static boolean containsLiteral(int[] literals, int count, int literal) {
+		for (int i = 0; i < count; i++) {
+			if (literals[i] == literal) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -44,6 +44,7 @@ import org.sat4j.specs.TimeoutException;
 import de.ovgu.featureide.fm.core.Logger;
 import de.ovgu.featureide.fm.core.base.IFeature;
 import de.ovgu.featureide.fm.core.base.util.RingList;
+import de.ovgu.featureide.fm.core.editing.cnf.ClauseStore;
 
 /**
  * Finds certain solutions of propositional formulas.
@@ -90,8 +91,9 @@ public class BasicSolver implements ISatSolver {
 		final int size = satInstance.getNumberOfVariables();
 		if (size > 0) {
 			solver.newVar(size);
-			solver.setExpectedNumberOfClauses(satInstance.getCnf().getChildren().length + 1);
-			addCNF(satInstance.getCnf().getChildren());
+			final ClauseStore clauses = satInstance.getClauses();
+			solver.setExpectedNumberOfClauses(clauses.size() + 1);
+			addClauses(clauses);
 			final VecInt pseudoClause = new VecInt(size + 1);
 			for (int i = 1; i <= size; i++) {
 				pseudoClause.push(i);
@@ -124,6 +126,40 @@ public class BasicSolver implements ISatSolver {
 		return result;
 	}
 
+	/**
+	 * Adds all clauses of the given store without creating intermediate {@link Node nodes}.
+	 *
+	 * @param clauses the clauses to add
+	 * @return the constraints of the added clauses
+	 * @throws ContradictionException if the clauses contradict the formula of this solver
+	 */
+	public List<IConstr> addClauses(ClauseStore clauses) throws ContradictionException {
+		final List<IConstr> result = new ArrayList<>(clauses.size());
+		final VecInt clause = new VecInt();
+		for (int i = 0; i < clauses.size(); i++) {
+			result.add(addClause(clauses, i, clause));
+		}
+		return result;
+	}
+
+	/**
+	 * Adds a single clause of the given store.
+	 *
+	 * @param clauses the clause store
+	 * @param clauseIndex the index of the clause to add
+	 * @param buffer reusable vector for the literals (the solver copies the literals)
+	 * @return the constraint of the added clause
+	 * @throws ContradictionException if the clause contradicts the formula of this solver
+	 */
+	protected IConstr addClause(ClauseStore clauses, int clauseIndex, VecInt buffer) throws ContradictionException {
+		buffer.clear();
+		final int end = clauses.getClauseEnd(clauseIndex);
+		for (int i = clauses.getClauseStart(clauseIndex); i < end; i++) {
+			buffer.push(clauses.getLiteral(i));
+		}
+		return solver.addClause(buffer);
+	}
+
 	protected IConstr addClause(final Node node) throws ContradictionException {
 		final Node[] children = node.getChildren();
 		final int[] clause = new int[children.length];
@@ -0,0 +1,251 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.solver;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+
+import org.prop4j.Literal;
+
+/**
+ * A propositional formula in smooth deterministic decomposable negation normal form (d-DNNF).<br/> Once compiled (see
+ * {@link org.prop4j.analyses.DDNNFCompiler}), the exact number of solutions can be computed in linear time with respect to the number of nodes, also
+ * under arbitrary assumptions.
+ *
+ * @see org.prop4j.analyses.DDNNFCompiler
+ */
+public class DDNNF {
+
+	public static final int FALSE = 0;
+	public static final int TRUE = 1;
+	public static final int LITERAL = 2;
+	public static final int AND = 3;
+	public static final int OR = 4;
+
+	private final SatInstance satInstance;
+
+	/**
+	 * Contains all nodes in topological order (i.e., children always precede their parents). The first entry of each node is its type, the remaining
+	 * entries are either the indices of its children or its literal.
+	 */
+	private final int[][] nodes;
+	private final int root;
+
+	private BigInteger numberOfSolutions = null;
+
+	private BigInteger[] counts = null;
+	private long[] longCounts = null;
+
+	public DDNNF(SatInstance satInstance, int[][] nodes, int root) {
+		this.satInstance = satInstance;
+		this.nodes = nodes;
+		this.root = root;
+	}
+
+	/**
+	 * Computes the number of solutions.
+	 *
+	 * @return the exact number of solutions
+	 */
+	public BigInteger countSolutions() {
+		if (numberOfSolutions == null) {
+			numberOfSolutions = getCounts()[root];
+		}
+		return numberOfSolutions;
+	}
+
+	/**
+	 * Computes the number of solutions that contain all given literals.
+	 *
+	 * @param literals the assumed literals
+	 * @return the exact number of solutions
+	 */
+	public BigInteger countSolutions(Collection<Literal> literals) {
+		return countSolutions(satInstance.convertToInt(literals));
+	}
+
+	/**
+	 * Computes the number of solutions that contain all given literals.
+	 *
+	 * @param assumptions the assumed literals as signed variables of the {@link SatInstance} (zeros are ignored)
+	 * @return the exact number of solutions
+	 */
+	public BigInteger countSolutions(int[] assumptions) {
+		final byte[] fixed = new byte[satInstance.getNumberOfVariables() + 1];
+		for (final int literal : assumptions) {
+			if (literal != 0) {
+				final byte sign = (byte) (literal > 0 ? 1 : -1);
+				final int var = Math.abs(literal);
+				if (fixed[var] == -sign) {
+					return BigInteger.ZERO;
+				}
+				fixed[var] = sign;
+			}
+		}
+
+		return computeCounts(fixed)[root];
+	}
+
+	/**
+	 * Computes the number of solutions for each node.
+	 *
+	 * @param fixed the sign of each fixed variable (or {@code 0} if the variable is not fixed)
+	 * @return the counts of all nodes up to the root
+	 */
+	private BigInteger[] computeCounts(byte[] fixed) {
+		final BigInteger[] values = new BigInteger[root + 1];
+		for (int i = 0; i <= root; i++) {
+			final int[] node = nodes[i];
+			switch (node[0]) {
+			case FALSE:
+				values[i] = BigInteger.ZERO;
+				break;
+			case TRUE:
+				values[i] = BigInteger.ONE;
+				break;
+			case LITERAL:
+				final int literal = node[1];
+				values[i] = fixed[Math.abs(literal)] == (literal > 0 ? -1 : 1) ? BigInteger.ZERO : BigInteger.ONE;
+				break;
+			case AND:
+				BigInteger product = values[node[1]];
+				for (int j = 2; (j < node.length) && (product.signum() != 0); j++) {
+					product = product.multiply(values[node[j]]);
+				}
+				values[i] = product;
+				break;
+			case OR:
+				BigInteger sum = values[node[1]];
+				for (int j = 2; j < node.length; j++) {
+					sum = sum.add(values[node[j]]);
+				}
+				values[i] = sum;
+				break;
+			default:
+				throw new IllegalStateException(String.valueOf(node[0]));
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Draws a solution uniformly at random. The number of solutions of each node is computed only once, thus each further sample requires time linear in
+	 * the number of nodes in the worst case.
+	 *
+	 * @param random the source of randomness
+	 * @return a complete solution (i.e., one literal for each variable of the {@link SatInstance}) or {@code null} if there is no solution
+	 */
+	public int[] sample(Random random) {
+		final BigInteger[] counts = getCounts();
+		if (counts[root].signum() == 0) {
+			return null;
+		}
+
+		final int[] solution = new int[satInstance.getNumberOfVariables()];
+		int[] stack = new int[Math.min(nodes.length, solution.length + 1)];
+		int stackSize = 0;
+		stack[stackSize++] = root;
+		while (stackSize > 0) {
+			final int nodeIndex = stack[--stackSize];
+			final int[] node = nodes[nodeIndex];
+			switch (node[0]) {
+			case LITERAL:
+				final int literal = node[1];
+				solution[Math.abs(literal) - 1] = literal;
+				break;
+			case AND:
+				if ((stackSize + node.length) > stack.length) {
+					stack = Arrays.copyOf(stack, (stackSize + node.length) << 1);
+				}
+				for (int j = 1; j < node.length; j++) {
+					stack[stackSize++] = node[j];
+				}
+				break;
+			case OR:
+				stack[stackSize++] = selectChild(node, nodeIndex, random);
+				break;
+			default:
+				break;
+			}
+		}
+		return solution;
+	}
+
+	/**
+	 * Selects a child of an OR node with a probability proportional to its number of solutions.
+	 */
+	private int selectChild(int[] node, int nodeIndex, Random random) {
+		final long longCount = longCounts[nodeIndex];
+		if (longCount >= 0) {
+			long r = nextLong(random, longCount);
+			for (int j = 1; j < (node.length - 1); j++) {
+				r -= longCounts[node[j]];
+				if (r < 0) {
+					return node[j];
+				}
+			}
+		} else {
+			final BigInteger count = counts[nodeIndex];
+			BigInteger r;
+			do {
+				r = new BigInteger(count.bitLength(), random);
+			} while (r.compareTo(count) >= 0);
+			for (int j = 1; j < (node.length - 1); j++) {
+				r = r.subtract(counts[node[j]]);
+				if (r.signum() < 0) {
+					return node[j];
+				}
+			}
+		}
+		return node[node.length - 1];
+	}
+
+	private static long nextLong(Random random, long bound) {
+		long bits, value;
+		do {
+			bits = random.nextLong() >>> 1;
+			value = bits % bound;
+		} while (((bits - value) + (bound - 1)) < 0);
+		return value;
+	}
+
+	private synchronized BigInteger[] getCounts() {
+		if (counts == null) {
+			counts = computeCounts(new byte[satInstance.getNumberOfVariables() + 1]);
+			longCounts = new long[counts.length];
+			for (int i = 0; i < counts.length; i++) {
+				longCounts[i] = counts[i].bitLength() < 63 ? counts[i].longValue() : -1;
+			}
+		}
+		return counts;
+	}
+
+	public SatInstance getSatInstance() {
+		return satInstance;
+	}
+
+	public int getNumberOfNodes() {
+		return nodes.length;
+	}
+
+}
@@ -36,6 +36,7 @@ import org.sat4j.specs.TimeoutException;
 
 import de.ovgu.featureide.fm.core.Logger;
 import de.ovgu.featureide.fm.core.editing.cnf.Clause;
+import de.ovgu.featureide.fm.core.editing.cnf.ClauseStore;
 
 /**
  * Finds certain solutions of propositional formulas. Clauses can be removed.
@@ -102,6 +103,28 @@ public class ModifiableSolver extends BasicSolver {
 		return new ArrayList<>(constrList.subList(oldSize, constrList.size()));
 	}
 
+	@Override
+	public List<IConstr> addClauses(ClauseStore clauses) throws ContradictionException {
+		if (constrList == null) {
+			constrList = new ArrayList<>();
+		}
+		final int oldSize = constrList.size();
+		try {
+			final VecInt clause = new VecInt();
+			for (int i = 0; i < clauses.size(); i++) {
+				constrList.add(addClause(clauses, i, clause));
+			}
+		} catch (final ContradictionException e) {
+			removeLastClauses(constrList.size() - oldSize);
+			throw e;
+		}
+		return new ArrayList<>(constrList.subList(oldSize, constrList.size()));
+	}
+
+	public IConstr addClause(int[] literals) throws ContradictionException {
+		return solver.addClause(new VecInt(literals));
+	}
+
 	public void removeConstraint(IConstr constr) {
 		if (constr != null) {
 			solver.removeConstr(constr);
@@ -0,0 +1,239 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.solver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.sat4j.specs.IVecInt;
+
+import de.ovgu.featureide.fm.core.Logger;
+import de.ovgu.featureide.fm.core.conf.worker.base.AWorkerThread;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+
+/**
+ * Lazily enumerates all solutions of a solver that satisfy its current assignment using multiple threads.<br/> <br/> The search space is split into cubes,
+ * i.e., all combinations of literals for the first unassigned variables. The cubes are distributed among several workers, each using its own clone of the
+ * given solver and enumerating the solutions of a cube via a {@link SolutionIterator}. Found solutions are passed to the consumer via a bounded queue, such
+ * that the workers wait if the consumer is slower. Thus, the memory requirement is independent of the number of solutions.<br/> <br/> The order of the
+ * solutions is not deterministic. If the consumer does not need all solutions, it should call {@link #close()} to stop the workers.<br/> <br/> <b>Note:</b>
+ * The solver is copied via {@link ISatSolver#clone()}. Thus, all of its clauses must be contained in its {@link SatInstance}.
+ *
+ * @see SolutionIterator
+ */
+public class ParallelSolutionIterator implements Iterator<int[]> {
+
+	public static final int DEFAULT_BUFFER_SIZE = 1024;
+
+	private static final int CUBES_PER_THREAD = 4;
+
+	/**
+	 * Marks the end of the enumeration in the queue.
+	 */
+	private static final int[] END = new int[0];
+
+	private class CubeThread extends AWorkerThread<int[]> {
+
+		private final ISatSolver solver;
+
+		public CubeThread(ISatSolver solver) {
+			super((IMonitor) null);
+			this.solver = solver;
+		}
+
+		private CubeThread(CubeThread oldThread) {
+			super(oldThread);
+			solver = oldThread.solver.clone();
+		}
+
+		@Override
+		protected void work(int[] cube) {
+			if (closed) {
+				return;
+			}
+			final int orgAssignmentSize = solver.getAssignment().size();
+			for (final int literal : cube) {
+				solver.assignmentPush(literal);
+			}
+			final SolutionIterator it = new SolutionIterator(solver);
+			try {
+				while (!closed && it.hasNext()) {
+					put(it.next());
+				}
+				if (it.isTimeout()) {
+					timeout = true;
+				}
+			} catch (final InterruptedException e) {
+				closed = true;
+			} finally {
+				it.reset();
+				solver.assignmentClear(orgAssignmentSize);
+			}
+		}
+
+		private void put(int[] model) throws InterruptedException {
+			while (!closed && !queue.offer(model, 100, TimeUnit.MILLISECONDS)) {}
+		}
+
+		@Override
+		protected AWorkerThread<int[]> newThread() {
+			return new CubeThread(this);
+		}
+
+	}
+
+	private final BlockingQueue<int[]> queue;
+	private final Thread masterThread;
+
+	private volatile boolean closed = false;
+	private volatile boolean timeout = false;
+
+	private int[] nextModel = null;
+	private boolean finished = false;
+
+	public ParallelSolutionIterator(ISatSolver solver) {
+		this(solver, AWorkerThread.getDefaultNumberOfThreads(), DEFAULT_BUFFER_SIZE);
+	}
+
+	public ParallelSolutionIterator(ISatSolver solver, int numberOfThreads, int bufferSize) {
+		if (numberOfThreads < 1) {
+			throw new IllegalArgumentException("Number of threads must be greater than 0 (was " + numberOfThreads + ").");
+		}
+		queue = new ArrayBlockingQueue<>(bufferSize);
+
+		final List<int[]> cubes = getCubes(solver, numberOfThreads * CUBES_PER_THREAD);
+		final CubeThread worker = new CubeThread(solver.clone());
+		worker.addObjects(cubes);
+		final int threads = Math.min(numberOfThreads, cubes.size());
+		masterThread = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				try {
+					worker.start(threads);
+				} catch (final Exception e) {
+					Logger.logError(e);
+				} finally {
+					try {
+						while (!closed && !queue.offer(END, 100, TimeUnit.MILLISECONDS)) {}
+					} catch (final InterruptedException e) {
+						Logger.logError(e);
+					}
+				}
+			}
+		});
+		masterThread.setDaemon(true);
+		masterThread.start();
+	}
+
+	/**
+	 * Creates cubes for the first unassigned variables, such that there are at least the given number of cubes (if there are enough variables).
+	 */
+	private static List<int[]> getCubes(ISatSolver solver, int minNumberOfCubes) {
+		final int numberOfVariables = solver.getSatInstance().getNumberOfVariables();
+		final boolean[] fixed = new boolean[numberOfVariables + 1];
+		final IVecInt assignment = solver.getAssignment();
+		for (int i = 0; i < assignment.size(); i++) {
+			fixed[Math.abs(assignment.get(i))] = true;
+		}
+		final int[] cubeVariables = new int[Math.min(30, 32 - Integer.numberOfLeadingZeros(minNumberOfCubes - 1))];
+		int numberOfCubeVariables = 0;
+		for (int var = 1; (var <= numberOfVariables) && (numberOfCubeVariables < cubeVariables.length); var++) {
+			if (!fixed[var]) {
+				cubeVariables[numberOfCubeVariables++] = var;
+			}
+		}
+
+		final List<int[]> cubes = new ArrayList<>(1 << numberOfCubeVariables);
+		for (int signs = 0; signs < (1 << numberOfCubeVariables); signs++) {
+			final int[] cube = Arrays.copyOf(cubeVariables, numberOfCubeVariables);
+			for (int i = 0; i < numberOfCubeVariables; i++) {
+				if ((signs & (1 << i)) == 0) {
+					cube[i] = -cube[i];
+				}
+			}
+			cubes.add(cube);
+		}
+		return cubes;
+	}
+
+	private boolean findNext() {
+		if (finished) {
+			return false;
+		}
+		try {
+			final int[] model = queue.take();
+			if (model == END) {
+				finished = true;
+				return false;
+			}
+			nextModel = model;
+			return true;
+		} catch (final InterruptedException e) {
+			close();
+			return false;
+		}
+	}
+
+	@Override
+	public boolean hasNext() {
+		return (nextModel != null) || findNext();
+	}
+
+	@Override
+	public int[] next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		final int[] result = nextModel;
+		nextModel = null;
+		return result;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Stops all workers and discards the remaining solutions.
+	 */
+	public void close() {
+		closed = true;
+		finished = true;
+		nextModel = null;
+		queue.clear();
+	}
+
+	/**
+	 * @return {@code true} if the enumeration of at least one cube was stopped due to a timeout of the solver
+	 */
+	public boolean isTimeout() {
+		return timeout;
+	}
+
+}
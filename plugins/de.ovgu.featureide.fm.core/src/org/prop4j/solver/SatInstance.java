@@ -28,11 +28,16 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import org.prop4j.And;
 import org.prop4j.Literal;
 import org.prop4j.Node;
+import org.prop4j.Or;
 import org.sat4j.specs.IVecInt;
 import org.sat4j.specs.IteratorInt;
 
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+import de.ovgu.featureide.fm.core.editing.cnf.ClauseStore;
+
 /**
  * Represents an instance of a satisfiability problem in CNF.</br> Use a {@link ISatSolverProvider solver provider} or the {@link #getSolver()} method to get a
  * {@link BasicSolver solver} for this problem.
@@ -74,11 +79,29 @@ public class SatInstance {
 
 	protected final HashMap<Object, Integer> varToInt = new HashMap<>();
 	protected final Object[] intToVar;
-	protected final Node cnf;
+	protected Node cnf;
+	protected ClauseStore clauses;
 
 	public SatInstance(Node root, Collection<?> featureList) {
+		this(root, null, featureList);
+	}
+
+	/**
+	 * Creates an instance from clauses that are already converted to integer literals (e.g., by
+	 * {@link AdvancedNodeCreator#createSatInstance(Collection)}).<br> The variable <code>i</code> corresponds to the <code>i</code>-th element of the
+	 * feature list. The {@link Node} representation is only created if {@link #getCnf()} is called.
+	 *
+	 * @param clauses the clauses of the CNF
+	 * @param featureList the variables
+	 */
+	public SatInstance(ClauseStore clauses, Collection<?> featureList) {
+		this(null, clauses, featureList);
+	}
+
+	private SatInstance(Node root, ClauseStore clauses, Collection<?> featureList) {
 		intToVar = new Object[featureList.size() + 1];
 		cnf = root;
+		this.clauses = clauses;
 
 		int index = 0;
 		for (final Object feature : featureList) {
@@ -172,10 +195,44 @@ public class SatInstance {
 		return resultList;
 	}
 
-	public Node getCnf() {
+	public synchronized Node getCnf() {
+		if (cnf == null) {
+			final Node[] clauseNodes = new Node[clauses.size()];
+			for (int i = 0; i < clauseNodes.length; i++) {
+				final int start = clauses.getClauseStart(i);
+				final Literal[] literals = new Literal[clauses.getClauseEnd(i) - start];
+				for (int j = 0; j < literals.length; j++) {
+					literals[j] = getLiteral(clauses.getLiteral(start + j));
+				}
+				clauseNodes[i] = new Or(literals);
+			}
+			cnf = new And(clauseNodes);
+		}
 		return cnf;
 	}
 
+	/**
+	 * Returns the clauses of the CNF as integer literals. If this instance was created from a {@link Node}, the clauses are converted once and reused
+	 * afterwards (e.g., by all solvers for this instance).
+	 *
+	 * @return the clauses of the CNF
+	 */
+	public synchronized ClauseStore getClauses() {
+		if (clauses == null) {
+			final Node[] clauseNodes = cnf.getChildren();
+			final ClauseStore newClauses = new ClauseStore(clauseNodes.length, clauseNodes.length * 2);
+			for (final Node clauseNode : clauseNodes) {
+				for (final Node literal : clauseNode.getChildren()) {
+					newClauses.addLiteral(getSignedVariable((Literal) literal));
+				}
+				newClauses.closeClause();
+			}
+			newClauses.trimToSize();
+			clauses = newClauses;
+		}
+		return clauses;
+	}
+
 	public int getNumberOfVariables() {
 		return intToVar.length - 1;
 	}
@@ -0,0 +1,166 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.solver;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.solver.ISatSolver.SatResult;
+import org.sat4j.core.VecInt;
+import org.sat4j.minisat.SolverFactory;
+import org.sat4j.minisat.core.Solver;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.TimeoutException;
+
+import de.ovgu.featureide.fm.core.Logger;
+import de.ovgu.featureide.fm.core.editing.cnf.ClauseStore;
+
+/**
+ * Solver for a formula and a list of additional clause groups (e.g., the cross-tree constraints of a feature model).<br/> Each group is extended by its own
+ * selector variable. A group can be deactivated and activated again without removing its clauses from the solver. Thus, the results do not depend on the order
+ * in which groups are (de)activated.
+ *
+ * @see ModifiableSolver
+ */
+public class SelectorSolver {
+
+	private final SatInstance satInstance;
+	private final Solver<?> solver;
+	private final int numberOfVariables;
+	private final boolean[] active;
+
+	/**
+	 * Creates a new solver containing the clauses of the given sat instance and the given clause groups. Initially, all groups are active.
+	 *
+	 * @param satInstance the sat instance with the base formula
+	 * @param groups the clause groups, each in CNF
+	 * @throws ContradictionException if the base formula is contradictory
+	 */
+	public SelectorSolver(SatInstance satInstance, List<Node> groups) throws ContradictionException {
+		this.satInstance = satInstance;
+		numberOfVariables = satInstance.getNumberOfVariables();
+		active = new boolean[groups.size()];
+		Arrays.fill(active, true);
+
+		solver = (Solver<?>) SolverFactory.newDefault();
+		solver.setTimeoutMs(ISatSolver.DEFAULT_TIMEOUT);
+		solver.setDBSimplificationAllowed(false);
+		solver.setVerbose(false);
+		solver.newVar(numberOfVariables + groups.size());
+
+		final ClauseStore clauses = satInstance.getClauses();
+		solver.setExpectedNumberOfClauses(clauses.size() + groups.size());
+		final VecInt clause = new VecInt();
+		for (int i = 0; i < clauses.size(); i++) {
+			clause.clear();
+			final int end = clauses.getClauseEnd(i);
+			for (int j = clauses.getClauseStart(i); j < end; j++) {
+				clause.push(clauses.getLiteral(j));
+			}
+			solver.addClause(clause);
+		}
+
+		int selector = numberOfVariables;
+		for (final Node group : groups) {
+			selector++;
+			for (final Node groupClause : group.getChildren()) {
+				clause.clear();
+				for (final Node literal : groupClause.getChildren()) {
+					clause.push(satInstance.getSignedVariable((Literal) literal));
+				}
+				clause.push(-selector);
+				solver.addClause(clause);
+			}
+		}
+	}
+
+	public SatInstance getSatInstance() {
+		return satInstance;
+	}
+
+	public int getNumberOfGroups() {
+		return active.length;
+	}
+
+	public boolean isActive(int group) {
+		return active[group];
+	}
+
+	public void setActive(int group, boolean active) {
+		this.active[group] = active;
+	}
+
+	/**
+	 * Checks whether the base formula and all active groups are satisfiable under the given assumptions.
+	 *
+	 * @param assumptions literals of variables of the sat instance
+	 * @return the result of the check
+	 */
+	public SatResult isSatisfiable(int... assumptions) {
+		final VecInt assumptionVector = new VecInt(active.length + assumptions.length);
+		for (int i = 0; i < active.length; i++) {
+			if (active[i]) {
+				assumptionVector.push(numberOfVariables + i + 1);
+			}
+		}
+		for (final int literal : assumptions) {
+			assumptionVector.push(literal);
+		}
+		try {
+			return solver.isSatisfiable(assumptionVector) ? SatResult.TRUE : SatResult.FALSE;
+		} catch (final TimeoutException e) {
+			Logger.logError(e);
+			return SatResult.TIMEOUT;
+		}
+	}
+
+	/**
+	 * Checks whether the base formula and all active groups imply the given formula.
+	 *
+	 * @param cnf a formula in CNF
+	 * @return {@code true} if every clause of the formula is implied, {@code false} otherwise or if a timeout occurred
+	 */
+	public boolean isImplied(Node cnf) {
+		for (final Node clause : cnf.getChildren()) {
+			final Node[] literals = clause.getChildren();
+			final int[] negatedClause = new int[literals.length];
+			for (int i = 0; i < literals.length; i++) {
+				negatedClause[i] = -satInstance.getSignedVariable((Literal) literals[i]);
+			}
+			if (isSatisfiable(negatedClause) != SatResult.FALSE) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the model found by the last successful call of {@link #isSatisfiable(int...)}, restricted to the variables of the sat instance.
+	 *
+	 * @return the last model
+	 */
+	public int[] getModel() {
+		return Arrays.copyOf(solver.model(), numberOfVariables);
+	}
+
+}
@@ -0,0 +1,198 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.solver;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.sat4j.specs.IVecInt;
+
+import de.ovgu.featureide.fm.core.Logger;
+
+/**
+ * Lazily enumerates all solutions of a solver that satisfy its current assignment.<br/> <br/> In contrast to {@link org.prop4j.ReusableModelIterator}, no
+ * blocking clauses are added to the solver. Instead, the solutions are enumerated by a depth-first search over all unassigned variables, which uses the
+ * assignment of the solver as path. The search follows the last found model, such that the solver is only called when a branch is flipped. Thus, each
+ * solution is returned exactly once and the memory requirement is linear in the number of variables, independent of the number of solutions.<br/> <br/>
+ * The assignment of the solver must not be changed by others during the enumeration. After the last solution, the assignment is restored to its initial
+ * state (see also {@link #reset()}).
+ *
+ * @see ParallelSolutionIterator
+ */
+public class SolutionIterator implements Iterator<int[]> {
+
+	private final ISatSolver solver;
+	private final int orgAssignmentSize;
+
+	/**
+	 * The variables that are not fixed by the initial assignment in the order in which they are branched.
+	 */
+	private final int[] variables;
+	private final int[] pathLiterals;
+	private final boolean[] flipped;
+
+	private int depth = 0;
+	private int[] model = null;
+	private int[] nextModel = null;
+
+	private boolean finished = false;
+	private boolean timeout = false;
+	private long count = 0;
+
+	public SolutionIterator(ISatSolver solver) {
+		this.solver = solver;
+		orgAssignmentSize = solver.getAssignment().size();
+
+		final int numberOfVariables = solver.getSatInstance().getNumberOfVariables();
+		final boolean[] fixed = new boolean[numberOfVariables + 1];
+		final IVecInt assignment = solver.getAssignment();
+		for (int i = 0; i < orgAssignmentSize; i++) {
+			fixed[Math.abs(assignment.get(i))] = true;
+		}
+		final int[] variables = new int[numberOfVariables];
+		int count = 0;
+		for (int var = 1; var <= numberOfVariables; var++) {
+			if (!fixed[var]) {
+				variables[count++] = var;
+			}
+		}
+		this.variables = Arrays.copyOf(variables, count);
+		pathLiterals = new int[count];
+		flipped = new boolean[count];
+	}
+
+	private boolean findNext() {
+		if (finished) {
+			return false;
+		}
+		if (model == null) {
+			if (!solve()) {
+				return false;
+			}
+		} else if (!backtrack()) {
+			return false;
+		}
+
+		// descend along the current model, which satisfies all remaining branches
+		while (depth < variables.length) {
+			final int literal = model[variables[depth] - 1];
+			pathLiterals[depth] = literal;
+			flipped[depth] = false;
+			solver.assignmentPush(literal);
+			depth++;
+		}
+		nextModel = Arrays.copyOf(model, model.length);
+		count++;
+		return true;
+	}
+
+	/**
+	 * Flips the deepest branch that was not flipped yet and that can be satisfied.
+	 *
+	 * @return {@code true} if such a branch exists
+	 */
+	private boolean backtrack() {
+		while (depth > 0) {
+			depth--;
+			if (!flipped[depth]) {
+				flipped[depth] = true;
+				pathLiterals[depth] = -pathLiterals[depth];
+				solver.assignmentReplaceLast(pathLiterals[depth]);
+				depth++;
+				if (solve()) {
+					return true;
+				} else if (finished) {
+					return false;
+				}
+				depth--;
+			}
+			solver.assignmentPop();
+		}
+		finished = true;
+		return false;
+	}
+
+	private boolean solve() {
+		switch (solver.isSatisfiable()) {
+		case FALSE:
+			if (depth == 0) {
+				finished = true;
+			}
+			return false;
+		case TIMEOUT:
+			Logger.logWarning("Timeout during solution enumeration.");
+			timeout = true;
+			reset();
+			return false;
+		case TRUE:
+			model = solver.getModel();
+			return true;
+		default:
+			throw new AssertionError();
+		}
+	}
+
+	@Override
+	public boolean hasNext() {
+		return (nextModel != null) || findNext();
+	}
+
+	@Override
+	public int[] next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		final int[] result = nextModel;
+		nextModel = null;
+		return result;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Stops the enumeration and restores the initial assignment of the solver.
+	 */
+	public void reset() {
+		finished = true;
+		nextModel = null;
+		solver.assignmentClear(orgAssignmentSize);
+		depth = 0;
+	}
+
+	/**
+	 * @return the number of solutions returned so far
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * @return {@code true} if the enumeration was stopped due to a timeout of the solver
+	 */
+	public boolean isTimeout() {
+		return timeout;
+	}
+
+}
@@ -497,6 +497,7 @@ public class FeatureDiagramEditor extends FeatureModelEditorPage implements GUID
 				analyzer = getFeatureModel().getAnalyser();
 				final HashMap<Object, Object> changedAttributes = analyzer.analyzeFeatureModel(monitor);
 				refreshGraphics(changedAttributes);
+				analyzer.calculateExplanations(monitor);
 				return true;
 			}
 		}, ANALYZE_FEATURE_MODEL);
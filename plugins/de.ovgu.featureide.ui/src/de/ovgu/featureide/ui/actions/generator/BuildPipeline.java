@@ -0,0 +1,295 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.ui.actions.generator;
+
+import static de.ovgu.featureide.fm.core.localization.StringTable.COMPILER;
+import static de.ovgu.featureide.fm.core.localization.StringTable.ERROR_IN_CONFIGURATION;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.Platform;
+
+import de.ovgu.featureide.ui.UIPlugin;
+
+/**
+ * Compilation and test stages of the product build.<br> The {@link Generator} threads compose the configurations and pass them to the compilation stage,
+ * which passes the compiled configurations to the test stage. Each stage has its own worker threads. The stages are connected by bounded queues, so a
+ * stage is blocked if the following stage cannot keep up. Each queue holds at most as many configurations as the following stage has workers.<br> <br>
+ * Each compilation writes its class files into an output folder taken from a pool. The folders are created when they are needed for the first time. A
+ * folder is returned to the pool after the tests for the configuration have run.
+ */
+public class BuildPipeline {
+
+	private static final boolean JUNIT_INSTALLED = Platform.getBundle("org.junit") != null;
+
+	/**
+	 * Marks the end of a queue.
+	 */
+	private static final StageItem END = new StageItem(null, null);
+
+	/**
+	 * A configuration together with the folder containing its class files.
+	 */
+	private static final class StageItem {
+
+		private final BuilderConfiguration configuration;
+		private final IFolder outputFolder;
+
+		private StageItem(BuilderConfiguration configuration, IFolder outputFolder) {
+			this.configuration = configuration;
+			this.outputFolder = outputFolder;
+		}
+	}
+
+	private abstract class StageWorker extends Thread {
+
+		private final BlockingQueue<StageItem> input;
+
+		public StageWorker(String name, BlockingQueue<StageItem> input) {
+			super(name);
+			this.input = input;
+		}
+
+		@Override
+		public void run() {
+			try {
+				while (!builder.cancelGeneratorJobs) {
+					final StageItem item = input.take();
+					if (item == END) {
+						break;
+					}
+					try {
+						process(item);
+					} catch (final CoreException | RuntimeException e) {
+						UIPlugin.getDefault().logError(ERROR_IN_CONFIGURATION + item.configuration, e);
+					}
+				}
+			} catch (final InterruptedException e) {
+				// canceled
+			} finally {
+				stageFinished(this);
+			}
+		}
+
+		protected abstract void process(StageItem item) throws CoreException, InterruptedException;
+
+	}
+
+	private final class CompileWorker extends StageWorker {
+
+		private final JavaCompiler compiler;
+
+		public CompileWorker(int nr) {
+			super("Compiler " + nr, compileQueue);
+			compiler = new JavaCompiler(builder);
+		}
+
+		@Override
+		protected void process(StageItem item) throws CoreException, InterruptedException {
+			final IFolder outputFolder = takeOutputFolder();
+			boolean passed = false;
+			try {
+				compiler.compile(item.configuration, outputFolder);
+				if (testQueue != null) {
+					testQueue.put(new StageItem(item.configuration, outputFolder));
+					passed = true;
+				} else {
+					builder.builtConfiguration();
+				}
+			} finally {
+				if (!passed) {
+					outputFolders.put(outputFolder);
+				}
+			}
+		}
+
+	}
+
+	private final class TestWorker extends StageWorker {
+
+		public TestWorker(int nr) {
+			super("Test Runner " + nr, testQueue);
+		}
+
+		@Override
+		protected void process(StageItem item) throws InterruptedException {
+			try {
+				new TestRunner(item.outputFolder, builder.testResults, builder).runTests(item.configuration);
+				builder.builtConfiguration();
+			} finally {
+				outputFolders.put(item.outputFolder);
+			}
+		}
+
+	}
+
+	private final ConfigurationBuilder builder;
+
+	private final BlockingQueue<StageItem> compileQueue;
+	private final BlockingQueue<StageItem> testQueue;
+	private final BlockingQueue<IFolder> outputFolders;
+	private final int numberOfOutputFolders;
+	private int createdOutputFolders;
+
+	private final List<Thread> workers = new ArrayList<>();
+	/**
+	 * Counts down as the workers terminate, either after reaching the end of their queue or after the build was canceled.
+	 */
+	private final CountDownLatch finished;
+	private final int numberOfTestWorkers;
+	private int runningCompileWorkers;
+
+	/**
+	 * Creates the compilation stage and, if tests should be run, the test stage.
+	 *
+	 * @param builder the configuration builder
+	 * @param compilationThreads the number of worker threads for compilation
+	 * @param testThreads the number of worker threads for testing
+	 */
+	public BuildPipeline(ConfigurationBuilder builder, int compilationThreads, int testThreads) {
+		this.builder = builder;
+		compilationThreads = Math.max(1, compilationThreads);
+		testThreads = Math.max(1, testThreads);
+
+		compileQueue = new ArrayBlockingQueue<>(compilationThreads);
+		if (builder.runTests && JUNIT_INSTALLED) {
+			testQueue = new ArrayBlockingQueue<>(testThreads);
+			// a folder for each compilation, each queued test, and each running test
+			numberOfOutputFolders = compilationThreads + (2 * testThreads);
+		} else {
+			testQueue = null;
+			numberOfOutputFolders = compilationThreads;
+		}
+		outputFolders = new ArrayBlockingQueue<>(numberOfOutputFolders);
+
+		runningCompileWorkers = compilationThreads;
+		for (int i = 0; i < compilationThreads; i++) {
+			workers.add(new CompileWorker(i));
+		}
+		numberOfTestWorkers = (testQueue != null) ? testThreads : 0;
+		for (int i = 0; i < numberOfTestWorkers; i++) {
+			workers.add(new TestWorker(i));
+		}
+		finished = new CountDownLatch(workers.size());
+	}
+
+	public void start() {
+		for (final Thread worker : workers) {
+			worker.start();
+		}
+	}
+
+	/**
+	 * Passes a composed configuration to the compilation stage. Blocks while the queue of the compilation stage is full.
+	 *
+	 * @param configuration the composed configuration
+	 * @throws InterruptedException if the thread was interrupted while waiting
+	 */
+	public void compile(BuilderConfiguration configuration) throws InterruptedException {
+		compileQueue.put(new StageItem(configuration, null));
+	}
+
+	/**
+	 * Signals that no more configurations will be passed to the compilation stage and waits until all stages are finished or the build is canceled.
+	 *
+	 * @throws InterruptedException if the thread was interrupted while waiting
+	 */
+	public void finish() throws InterruptedException {
+		endQueue(compileQueue, workers.size() - numberOfTestWorkers);
+		finished.await();
+	}
+
+	/**
+	 * Stops all stages.<br> The queues are cleared, so no thread remains blocked while passing an item to a stage that has stopped.
+	 */
+	public void cancel() {
+		for (final Thread worker : workers) {
+			worker.interrupt();
+		}
+		compileQueue.clear();
+		if (testQueue != null) {
+			testQueue.clear();
+		}
+	}
+
+	/**
+	 * Takes an output folder from the pool. Creates a new folder if the pool is empty and not all folders have been created yet, otherwise blocks until a
+	 * folder is returned to the pool.
+	 *
+	 * @return the output folder
+	 * @throws InterruptedException if the thread was interrupted while waiting
+	 */
+	private IFolder takeOutputFolder() throws InterruptedException {
+		IFolder outputFolder = outputFolders.poll();
+		if (outputFolder != null) {
+			return outputFolder;
+		}
+		synchronized (this) {
+			if (createdOutputFolders < numberOfOutputFolders) {
+				outputFolder = builder.tmp.getFolder(COMPILER + createdOutputFolders++);
+			}
+		}
+		if (outputFolder == null) {
+			return outputFolders.take();
+		}
+		if (!outputFolder.exists()) {
+			try {
+				outputFolder.create(true, true, null);
+			} catch (final CoreException e) {
+				UIPlugin.getDefault().logError(e);
+			}
+		}
+		return outputFolder;
+	}
+
+	/**
+	 * Passes the end marker to all workers of a stage. Gives up if the build was canceled.
+	 */
+	private void endQueue(BlockingQueue<StageItem> queue, int numberOfWorkers) throws InterruptedException {
+		for (int i = 0; (i < numberOfWorkers) && !builder.cancelGeneratorJobs; i++) {
+			queue.put(END);
+		}
+	}
+
+	private void stageFinished(StageWorker worker) {
+		finished.countDown();
+		if (worker instanceof CompileWorker) {
+			final boolean lastCompileWorker;
+			synchronized (this) {
+				lastCompileWorker = --runningCompileWorkers == 0;
+			}
+			if (lastCompileWorker && (testQueue != null)) {
+				try {
+					endQueue(testQueue, numberOfTestWorkers);
+				} catch (final InterruptedException e) {
+					// canceled
+				}
+			}
+		}
+	}
+
+}
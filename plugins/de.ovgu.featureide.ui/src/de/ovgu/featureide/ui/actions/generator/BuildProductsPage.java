@@ -38,6 +38,7 @@ import static de.ovgu.featureide.fm.core.localization.StringTable.INTERACTIONS;
 import static de.ovgu.featureide.fm.core.localization.StringTable.RANDOM_CONFIGURATIONS;
 import static de.ovgu.featureide.fm.core.localization.StringTable.SEARCHES_FOR_TEST_CASED_IN_THE_GENERATED_PRODUCTS_AND_EXECUTES_THEM_;
 import static de.ovgu.featureide.fm.core.localization.StringTable.T_WISE_CONFIGURATIONS;
+import static de.ovgu.featureide.fm.core.localization.StringTable.UNIFORM_RANDOM_CONFIGURATIONS;
 
 import java.util.ArrayList;
 
@@ -364,6 +365,8 @@ public class BuildProductsPage extends WizardPage implements IConfigurationBuild
 			return T_WISE_CONFIGURATIONS;
 		case RANDOM:
 			return RANDOM_CONFIGURATIONS;
+		case UNIFORM_RANDOM:
+			return UNIFORM_RANDOM_CONFIGURATIONS;
 		default:
 			UIPlugin.getDefault().logWarning("Unimplemented switch statement for BuildType: " + type);
 			break;
@@ -573,6 +576,9 @@ public class BuildProductsPage extends WizardPage implements IConfigurationBuild
 		if (comboGenerate.getText().equals(RANDOM_CONFIGURATIONS)) {
 			return BuildType.RANDOM;
 		}
+		if (comboGenerate.getText().equals(UNIFORM_RANDOM_CONFIGURATIONS)) {
+			return BuildType.UNIFORM_RANDOM;
+		}
 		return null;
 	}
 
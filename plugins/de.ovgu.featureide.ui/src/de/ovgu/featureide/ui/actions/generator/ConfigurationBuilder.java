@@ -25,7 +25,6 @@ import static de.ovgu.featureide.fm.core.localization.StringTable.INCLING;
 import static de.ovgu.featureide.fm.core.localization.StringTable.OF;
 import static de.ovgu.featureide.fm.core.localization.StringTable.RESTRICTION;
 
-import java.security.KeyStore.Builder;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -48,11 +47,12 @@ import org.eclipse.jdt.internal.core.JavaProject;
 
 import de.ovgu.featureide.core.IFeatureProject;
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
-import de.ovgu.featureide.fm.core.job.IJob.JobStatus;
+import de.ovgu.featureide.fm.core.job.IJob;
 import de.ovgu.featureide.fm.core.job.IRunner;
 import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
 import de.ovgu.featureide.fm.core.job.monitor.ProgressMonitor;
+import de.ovgu.featureide.fm.core.job.util.JobFinishListener;
 import de.ovgu.featureide.fm.core.localization.StringTable;
 import de.ovgu.featureide.ui.UIPlugin;
 import de.ovgu.featureide.ui.actions.generator.configuration.AConfigurationGenerator;
@@ -62,6 +62,7 @@ import de.ovgu.featureide.ui.actions.generator.configuration.IncLingConfiguratio
 import de.ovgu.featureide.ui.actions.generator.configuration.ModuleConfigurationGenerator;
 import de.ovgu.featureide.ui.actions.generator.configuration.RandConfigurationGenerator;
 import de.ovgu.featureide.ui.actions.generator.configuration.SPLCAToolConfigurationGenerator;
+import de.ovgu.featureide.ui.actions.generator.configuration.UniformRandConfigurationGenerator;
 import de.ovgu.featureide.ui.actions.generator.sorter.AbstractConfigurationSorter;
 import de.ovgu.featureide.ui.actions.generator.sorter.InteractionSorter;
 import de.ovgu.featureide.ui.actions.generator.sorter.PriorizationSorter;
@@ -117,7 +118,7 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 	/**
 	 * This flag indicates that all jobs should be aborted.
 	 */
-	boolean cancelGeneratorJobs = false;
+	volatile boolean cancelGeneratorJobs = false;
 
 	/**
 	 * Saves the time of start.
@@ -127,7 +128,7 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 	/**
 	 * This flag indicates that no more configurations will be added and the {@link Generator} jobs can finish.
 	 */
-	boolean finish = false;
+	volatile boolean finish = false;
 
 	/**
 	 * <code>true</code>: all valid configurations should be built.<br> <code>false</code>: all configurations at the configurations folder should be built.
@@ -135,10 +136,15 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 	BuildType buildType;
 
 	/**
-	 * This list contains all {@link Generator} jobs.
+	 * This list contains all running {@link Generator} jobs. Guarded by this builder.
 	 */
 	final List<Generator> generatorJobs = new ArrayList<>();
 
+	/**
+	 * This flag indicates that the job creating the configurations has finished. Guarded by this builder.
+	 */
+	private boolean configurationsCreated = false;
+
 	public AbstractConfigurationSorter sorter;
 
 	public final boolean runTests;
@@ -147,6 +153,33 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 
 	private AConfigurationGenerator configurationBuilder;
 
+	/**
+	 * The number of {@link Generator} threads that compose the configurations (if the composer supports parallel jobs).
+	 */
+	public int compositionThreads = Runtime.getRuntime().availableProcessors() * 2;
+
+	/**
+	 * The number of threads that compile the composed configurations.
+	 */
+	public int compilationThreads = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * The number of threads that run the tests of the compiled configurations.
+	 */
+	public int testThreads = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * The maximal number of buffered configurations.<br> If the configurations are not sorted, {@link #addConfiguration(BuilderConfiguration)} blocks while
+	 * the buffer is full.
+	 */
+	public int bufferSize = 5000;
+
+	/**
+	 * The compilation and test stages or <code>null</code> if the configurations are not compiled.
+	 */
+	@CheckForNull
+	volatile BuildPipeline pipeline;
+
 	/**
 	 * Gets the first entry of configurations or <code>null</code> if there is none.
 	 *
@@ -154,16 +187,52 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 	 */
 	@CheckForNull
 	public synchronized BuilderConfiguration getConfiguration() {
-		return sorter.getConfiguration();
+		final BuilderConfiguration configuration = sorter.getConfiguration();
+		if (configuration != null) {
+			notifyAll();
+		}
+		return configuration;
 	}
 
 	/**
-	 * Adds the given configuration to configurations.
+	 * Waits until a configuration is available and removes it from the buffer.
+	 *
+	 * @return The first entry or <code>null</code> if all configurations were taken or the build was canceled
+	 * @throws InterruptedException if the thread was interrupted while waiting
+	 */
+	@CheckForNull
+	synchronized BuilderConfiguration takeConfiguration() throws InterruptedException {
+		while (!cancelGeneratorJobs) {
+			final BuilderConfiguration configuration = getConfiguration();
+			if (configuration != null) {
+				return configuration;
+			}
+			if (finish && sorter.isSorted() && (sorter.getBufferSize() == 0)) {
+				return null;
+			}
+			wait();
+		}
+		return null;
+	}
+
+	/**
+	 * Adds the given configuration to configurations.<br> If the configurations are not sorted before building, this method blocks while the buffer contains
+	 * {@link #bufferSize} configurations. If the thread is interrupted while waiting, the build is canceled.
 	 *
 	 * @param configuration
 	 */
 	public synchronized void addConfiguration(BuilderConfiguration configuration) {
+		while (sorter.isSorted() && (sorter.getBufferSize() >= bufferSize) && !cancelGeneratorJobs) {
+			try {
+				wait();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				cancelGenerationJobs();
+				return;
+			}
+		}
 		sorter.addConfiguration(configuration);
+		notifyAll();
 	}
 
 	// TODO revise long parameter list
@@ -251,6 +320,10 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 			configurationBuilder = new RandConfigurationGenerator(this, featureModel, featureProject);
 			jobName = JOB_TITLE_RANDOM;
 			break;
+		case UNIFORM_RANDOM:
+			configurationBuilder = new UniformRandConfigurationGenerator(this, featureModel, featureProject);
+			jobName = JOB_TITLE_UNIFORM_RANDOM;
+			break;
 		case INTEGRATION:
 			configurationNumber = 2;
 			configurationBuilder = new ModuleConfigurationGenerator(this, featureModel, featureProject, featureName);
@@ -275,11 +348,12 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 
 					time = System.currentTimeMillis();
 
+					createPipeline();
 					if (featureProject.getComposer().canGeneratInParallelJobs()) {
 						if (buildType != BuildType.ALL_CURRENT) {
-							newgeneratorJobs(Runtime.getRuntime().availableProcessors() * 2);
+							newgeneratorJobs(compositionThreads);
 						} else {
-							int contJobs = Runtime.getRuntime().availableProcessors() * 2;
+							int contJobs = compositionThreads;
 							if (configurationNumber < contJobs) {
 								contJobs = (int) configurationNumber;
 							}
@@ -289,6 +363,13 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 						newgeneratorJobs(1);
 					}
 					configurationBuilderJob = LongRunningWrapper.getRunner(configurationBuilder, "Create Configurations " + id++);
+					configurationBuilderJob.addJobFinishedListener(new JobFinishListener<Void>() {
+
+						@Override
+						public void jobFinished(IJob<Void> finishedJob) {
+							configurationsCreated();
+						}
+					});
 					configurationBuilderJob.schedule();
 					showStatistics(monitor);
 					if (!createNewProjects) {
@@ -301,37 +382,28 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 				} finally {
 					configurationBuilderJob.cancel();
 					cancelGenerationJobs();
-					for (final Thread g : generatorJobs) {
-						g.interrupt();
+					synchronized (ConfigurationBuilder.this) {
+						for (final Thread g : generatorJobs) {
+							g.interrupt();
+						}
 					}
 					monitor.done();
 				}
 				return Status.OK_STATUS;
 			}
 
+			@Override
+			protected void canceling() {
+				cancelGenerationJobs();
+			}
+
 			private void showStatistics(IProgressMonitor monitor) {
+				monitor.setTaskName(getTaskName());
 				try {
-					while (configurationBuilderJob.getStatus() == JobStatus.NOT_STARTED) {
-						try {
-							Thread.sleep(150);
-						} catch (final InterruptedException e) {
-							LOGGER.logError(e);
-						}
-					}
-					while (configurationBuilderJob.getStatus() == JobStatus.RUNNING) {
-						monitor.setTaskName(getTaskName());
-						if (monitor.isCanceled()) {
-							cancelGenerationJobs();
-							configurationBuilderJob.cancel();
-							return;
-						}
-						try {
-							Thread.sleep(150);
-						} catch (final InterruptedException e) {
-							LOGGER.logError(e);
-						}
+					if (!awaitConfigurations()) {
+						configurationBuilderJob.cancel();
+						return;
 					}
-					System.err.println(configurationBuilderJob.getStatus());
 
 					if (!sorter.isSorted()) {
 						final IMonitor workMonitor = new ProgressMonitor(getTaskName(), monitor);
@@ -340,44 +412,29 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 					finish();
 
 					((SubMonitor) monitor).setWorkRemaining((int) configurationNumber - built);
-					while (!generatorJobs.isEmpty()) {
-						try {
-							if (monitor.isCanceled()) {
-								cancelGenerationJobs();
-								break;
-							}
-							final Generator generator = generatorJobs.get(0);
-							if (generator == null) {
-								// generator can never be null, however see #416
-								generatorJobs.remove(0);
-							} else if (generator.getState() == Thread.State.TERMINATED) {
-								generatorJobs.remove(generator);
-								if (sorter.getBufferSize() != 0) {
-									createNewGenerator(generator.nr);
-								}
-							}
-							monitor.setTaskName(getTaskName());
-							Thread.sleep(150);
-						} catch (final InterruptedException e) {
-							LOGGER.logError(e);
-						} catch (final IndexOutOfBoundsException e) {
-							// nothing here
-						}
+					monitor.setTaskName(getTaskName());
+					if (!awaitGenerators()) {
+						return;
 					}
 
-					final long duration = System.currentTimeMillis() - time;
-					final long s = (duration / 1000) % 60;
-					final long min = (duration / (60 * 1000)) % 60;
-					final long h = duration / (60 * 60 * 1000);
-					final String t = h + "h " + (min < 10 ? "0" + min : min) + "min " + (s < 10 ? "0" + s : s) + "s.";
-
-					if (built > configurationNumber) {
-						built = (int) configurationNumber;
+					if (pipeline != null) {
+						pipeline.finish();
 					}
-					LOGGER.logInfo(built + (configurationNumber != 0 ? OF + configurationNumber : "") + " configurations built in " + t);
-				} finally {
-					generatorJobs.clear();
+				} catch (final InterruptedException e) {
+					cancelGenerationJobs();
+					return;
+				}
+
+				final long duration = System.currentTimeMillis() - time;
+				final long s = (duration / 1000) % 60;
+				final long min = (duration / (60 * 1000)) % 60;
+				final long h = duration / (60 * 60 * 1000);
+				final String t = h + "h " + (min < 10 ? "0" + min : min) + "min " + (s < 10 ? "0" + s : s) + "s.";
+
+				if (built > configurationNumber) {
+					built = (int) configurationNumber;
 				}
+				LOGGER.logInfo(built + (configurationNumber != 0 ? OF + configurationNumber : "") + " configurations built in " + t);
 			}
 
 		};
@@ -441,6 +498,9 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 				case RANDOM:
 					identifier = SEPARATOR_RANDOM;
 					break;
+				case UNIFORM_RANDOM:
+					identifier = SEPARATOR_UNIFORM_RANDOM;
+					break;
 				default:
 					return false;
 				}
@@ -488,6 +548,23 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 		classpath = classpath.length() > 0 ? classpath.substring(1) : classpath;
 	}
 
+	/**
+	 * Creates and starts the compilation and test stages if the configurations are java projects that are built into the configurations folder.
+	 */
+	private void createPipeline() {
+		pipeline = null;
+		if (!createNewProjects) {
+			try {
+				if (featureProject.getProject().hasNature(Generator.JAVA_NATURE)) {
+					pipeline = new BuildPipeline(this, compilationThreads, testThreads);
+					pipeline.start();
+				}
+			} catch (final CoreException e) {
+				LOGGER.logError(e);
+			}
+		}
+	}
+
 	/**
 	 * Creates new {@link Generator}s
 	 *
@@ -513,24 +590,75 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 	 *
 	 * @param nr
 	 */
-	void createNewGenerator(int nr) {
+	synchronized void createNewGenerator(int nr) {
 		final Generator g = new Generator(nr, this);
 		generatorJobs.add(g);
 		g.start();
 	}
 
 	/**
-	 * This is called if the main job is canceled and all {@link Builder} and {@link JavaCompiler} should finish.
+	 * Notification that the given {@link Generator} has terminated.
+	 *
+	 * @param generator the generator
+	 */
+	synchronized void generatorFinished(Generator generator) {
+		generatorJobs.remove(generator);
+		notifyAll();
+	}
+
+	/**
+	 * Waits until all {@link Generator}s have terminated.
+	 *
+	 * @return <code>false</code> if the build was canceled
+	 * @throws InterruptedException if the thread was interrupted while waiting
+	 */
+	synchronized boolean awaitGenerators() throws InterruptedException {
+		while (!generatorJobs.isEmpty() && !cancelGeneratorJobs) {
+			wait();
+		}
+		return !cancelGeneratorJobs;
+	}
+
+	/**
+	 * Notification that the job creating the configurations has finished.
+	 */
+	synchronized void configurationsCreated() {
+		configurationsCreated = true;
+		notifyAll();
+	}
+
+	/**
+	 * Waits until the job creating the configurations has finished.
+	 *
+	 * @return <code>false</code> if the build was canceled
+	 * @throws InterruptedException if the thread was interrupted while waiting
+	 */
+	synchronized boolean awaitConfigurations() throws InterruptedException {
+		while (!configurationsCreated && !cancelGeneratorJobs) {
+			wait();
+		}
+		return !cancelGeneratorJobs;
+	}
+
+	/**
+	 * This is called if the main job is canceled and all {@link Generator}s and the {@link BuildPipeline} should finish.
 	 */
 	public void cancelGenerationJobs() {
-		cancelGeneratorJobs = true;
+		synchronized (this) {
+			cancelGeneratorJobs = true;
+			notifyAll();
+		}
+		if (pipeline != null) {
+			pipeline.cancel();
+		}
 	}
 
 	/**
 	 * This is called if the main job has finished and no more configurations will be added.
 	 */
-	public void finish() {
+	public synchronized void finish() {
 		finish = true;
+		notifyAll();
 	}
 
 	/**
@@ -28,8 +28,6 @@ import static de.ovgu.featureide.fm.core.localization.StringTable.WILL_BE_RESTAR
 import java.util.ArrayList;
 import java.util.List;
 
-import javax.annotation.CheckForNull;
-
 import org.eclipse.core.internal.resources.Workspace;
 import org.eclipse.core.resources.ICommand;
 import org.eclipse.core.resources.IContainer;
@@ -41,7 +39,6 @@ import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
-import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.core.IClasspathEntry;
 import org.eclipse.jdt.core.JavaModelException;
@@ -56,7 +53,7 @@ import de.ovgu.featureide.fm.core.configuration.Configuration;
 import de.ovgu.featureide.ui.UIPlugin;
 
 /**
- * This {@link Job} builds all configurations of the corresponding {@link ConfigurationBuilder}
+ * This {@link Job} composes the configurations of the corresponding {@link ConfigurationBuilder} and passes them to the {@link BuildPipeline}
  *
  * @author Jens Meinicke
  */
@@ -80,15 +77,8 @@ public class Generator extends Thread implements IConfigurationBuilderBasics {
 	 */
 	public int nr;
 
-	@CheckForNull
-	private JavaCompiler compiler;
-
-	private TestRunner testRunner;
-
 	private BuilderConfiguration configuration;
 
-	private static boolean JUNIT_INSTALLED = Platform.getBundle("org.junit") != null;
-
 	/**
 	 *
 	 * @param nr The number of the job
@@ -97,22 +87,6 @@ public class Generator extends Thread implements IConfigurationBuilderBasics {
 	public Generator(int nr, ConfigurationBuilder builder) {
 		this.nr = nr;
 		this.builder = builder;
-		if (!builder.createNewProjects) {
-			try {
-				if (builder.featureProject.getProject().hasNature(JAVA_NATURE)) {
-					compiler = new JavaCompiler(nr, this);
-					if (JUNIT_INSTALLED) {
-						testRunner = new TestRunner(compiler.tmp, builder.testResults, builder);
-					}
-				}
-			} catch (final CoreException e) {
-				UIPlugin.getDefault().logError(e);
-			} catch (final Exception e2) {
-				System.out.println(e2);
-			} catch (final Error e3) {
-				System.out.println(e3);
-			}
-		}
 	}
 
 	/**
@@ -122,28 +96,10 @@ public class Generator extends Thread implements IConfigurationBuilderBasics {
 	public void run() {
 		try {
 			while (true) {
-				synchronized (this) {
-					if (builder.cancelGeneratorJobs) {
-						builder.generatorJobs.remove(this);
-						return;
-					}
-					if (builder.sorter.getBufferSize() == 0) {
-						while ((builder.sorter.getBufferSize() == 0) || !builder.sorter.isSorted()) {
-							/** the job waits for a new configuration to build **/
-							try {
-								Thread.sleep(1000);
-								if (((builder.sorter.getBufferSize() == 0) && builder.finish) || builder.cancelGeneratorJobs) {
-									return;
-								}
-							} catch (final InterruptedException e) {
-								UIPlugin.getDefault().logError(e);
-							}
-						}
-					}
-				}
-				configuration = builder.getConfiguration();
+				/** the job waits for a new configuration to build **/
+				configuration = builder.takeConfiguration();
 				if (configuration == null) {
-					continue;
+					return;
 				}
 				final String name = configuration.getName();
 				if (builder.createNewProjects) {
@@ -161,6 +117,9 @@ public class Generator extends Thread implements IConfigurationBuilderBasics {
 					case RANDOM:
 						separator = SEPARATOR_RANDOM;
 						break;
+					case UNIFORM_RANDOM:
+						separator = SEPARATOR_UNIFORM_RANDOM;
+						break;
 					case T_WISE:
 						separator = SEPARATOR_T_WISE;
 						break;
@@ -172,17 +131,14 @@ public class Generator extends Thread implements IConfigurationBuilderBasics {
 					builder.featureProject.getComposer().buildConfiguration(builder.folder.getFolder(name), configuration, name);
 				}
 
-				if (compiler != null) {
-					compiler.compile(configuration);
-					if (builder.runTests) {
-						if (JUNIT_INSTALLED) {
-							testRunner.runTests(configuration);
-						}
-					}
+				if (builder.pipeline != null) {
+					builder.pipeline.compile(configuration);
+				} else {
+					builder.builtConfiguration();
 				}
-
-				builder.builtConfiguration();
 			}
+		} catch (final InterruptedException e) {
+			// the build was canceled
 		} catch (final Exception e) {
 			UIPlugin.getDefault().logError(ERROR_IN_CONFIGURATION + configuration, e);
 			/**
@@ -191,7 +147,7 @@ public class Generator extends Thread implements IConfigurationBuilderBasics {
 			UIPlugin.getDefault().logWarning(THE_GENERATOR_NR_ + nr + WILL_BE_RESTARTED_);
 			builder.createNewGenerator(nr);
 		} finally {
-			builder.generatorJobs.remove(this);
+			builder.generatorFinished(this);
 		}
 		return;
 	}
@@ -50,7 +50,7 @@ import de.ovgu.featureide.core.CorePlugin;
 public interface IConfigurationBuilderBasics {
 
 	enum BuildType {
-		ALL_VALID, ALL_CURRENT, T_WISE, INTEGRATION, RANDOM
+		ALL_VALID, ALL_CURRENT, T_WISE, INTEGRATION, RANDOM, UNIFORM_RANDOM
 	};
 
 	enum BuildOrder {
@@ -84,6 +84,7 @@ public interface IConfigurationBuilderBasics {
 	String JOB_TITLE_CURRENT = BUILD_ALL_CURRENT_CONFIGURATIONS;
 	String JOB_TITLE_T_WISE = "Build t-wise configurations";
 	String JOB_TITLE_RANDOM = "Build random configurations";
+	String JOB_TITLE_UNIFORM_RANDOM = "Build uniform random configurations";
 	String JOB_TITLE_MODULE = BUILD_INTEGRATION_CONFIGURATIONS;
 
 	String JOB_TITLE_COUNT_CONFIGURATIONS = COUNT_CONFIGURATIONS;
@@ -106,6 +107,7 @@ public interface IConfigurationBuilderBasics {
 	String SEPARATOR_CONFIGURATION = "_c.";
 	String SEPARATOR_T_WISE = "_t.";
 	String SEPARATOR_RANDOM = "_r.";
+	String SEPARATOR_UNIFORM_RANDOM = "_u.";
 	String SEPARATOR_INTEGRATION = "_i.";
 
 	/**
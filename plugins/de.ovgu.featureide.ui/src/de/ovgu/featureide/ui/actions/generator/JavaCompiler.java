@@ -21,7 +21,6 @@
 package de.ovgu.featureide.ui.actions.generator;
 
 import static de.ovgu.featureide.fm.core.localization.StringTable.CANNOT_FIND_SYMBOL;
-import static de.ovgu.featureide.fm.core.localization.StringTable.COMPILER;
 import static de.ovgu.featureide.fm.core.localization.StringTable.SYMBOL;
 
 import java.io.IOException;
@@ -39,69 +38,55 @@ import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
-import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.core.compiler.batch.BatchCompiler;
 
 import de.ovgu.featureide.ui.UIPlugin;
 
 /**
- * This {@link Job} compiles all configurations of the corresponding {@link Generator}
+ * Compiles the configurations built by the {@link Generator}s.
  *
  * @author Jens Meinicke
+ * @see BuildPipeline
  */
 public class JavaCompiler implements IConfigurationBuilderBasics {
 
-	private final Generator generator;
-
-	/**
-	 * The parent folder of the generated variants
-	 */
-	final IFolder tmp;
+	private final ConfigurationBuilder builder;
 
 	/**
 	 *
-	 * @param nr The number of the compiler
-	 * @param generator The generator holding this compiler
+	 * @param builder The builder of the configurations
 	 */
-	public JavaCompiler(int nr, Generator generator) {
-		this.generator = generator;
-
-		tmp = generator.builder.tmp.getFolder(COMPILER + nr);
-		if (!tmp.exists()) {
-			try {
-				tmp.create(true, true, null);
-			} catch (final CoreException e) {
-				UIPlugin.getDefault().logError(e);
-			}
-		}
-
+	public JavaCompiler(ConfigurationBuilder builder) {
+		this.builder = builder;
 	}
 
 	/**
 	 * Compiles the given configuration.
 	 *
 	 * @param configuration The configuration to build
+	 * @param outputFolder The folder for the class files
 	 * @throws CoreException
 	 */
-	protected void compile(BuilderConfiguration configuration) throws CoreException {
+	protected void compile(BuilderConfiguration configuration, IFolder outputFolder) throws CoreException {
 		try {
-			generator.builder.folder.getFolder(configuration.getName()).refreshLocal(IResource.DEPTH_INFINITE, null);
+			builder.folder.getFolder(configuration.getName()).refreshLocal(IResource.DEPTH_INFINITE, null);
 		} catch (final CoreException e) {
 			UIPlugin.getDefault().logError(e);
 		}
-		for (final IResource file : tmp.members()) {
+		for (final IResource file : outputFolder.members()) {
 			file.delete(true, null);
 		}
-		compile(configuration.getName());
+		compile(configuration.getName(), outputFolder);
 	}
 
 	/**
-	 * Compiles the built configuration to create error markers. The binary files will be placed into an temporary folder.
+	 * Compiles the built configuration to create error markers. The binary files will be placed into the given output folder.
 	 *
 	 * @param confName
+	 * @param outputFolder
 	 */
-	private void compile(String confName) {
-		final LinkedList<IFile> files = getJavaFiles(generator.builder.folder.getFolder(confName));
+	private void compile(String confName, IFolder outputFolder) {
+		final LinkedList<IFile> files = getJavaFiles(builder.folder.getFolder(confName));
 		final LinkedList<String> options = new LinkedList<>();
 		for (final IFile file : files) {
 			options.add(setupPath(file));
@@ -111,14 +96,14 @@ public class JavaCompiler implements IConfigurationBuilderBasics {
 		options.add("-source");
 		options.add("1.7");
 		options.add("-d");
-		options.add(setupPath(tmp.getRawLocation().toOSString()));
+		options.add(setupPath(outputFolder.getRawLocation().toOSString()));
 		options.add("-classpath");
-		options.add(generator.builder.classpath);
+		options.add(builder.classpath);
 
 		final String output = process(options);
 		final LinkedList<IFile> errorFiles = parseJavacOutput(output, files, confName);
 		for (final IFile file : errorFiles) {
-			generator.builder.featureProject.getComposer().postCompile(null, file);
+			builder.featureProject.getComposer().postCompile(null, file);
 		}
 	}
 
@@ -20,13 +20,16 @@
  */
 package de.ovgu.featureide.ui.actions.generator.configuration;
 
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
+import java.util.Set;
 
 import org.eclipse.core.runtime.jobs.Job;
-import org.prop4j.And;
-import org.prop4j.Literal;
 import org.prop4j.Node;
-import org.prop4j.SatSolver;
+import org.prop4j.solver.BasicSolver;
+import org.prop4j.solver.ISatSolver;
+import org.prop4j.solver.SatInstance;
+import org.sat4j.specs.ContradictionException;
 
 import de.ovgu.featureide.core.IFeatureProject;
 import de.ovgu.featureide.fm.core.base.IFeature;
@@ -37,6 +40,7 @@ import de.ovgu.featureide.fm.core.configuration.Selection;
 import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
 import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.CNFType;
 import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.ModelType;
+import de.ovgu.featureide.fm.core.editing.CNFCache;
 import de.ovgu.featureide.fm.core.filter.AbstractFeatureFilter;
 import de.ovgu.featureide.fm.core.job.IRunner;
 import de.ovgu.featureide.fm.core.job.LongRunningMethod;
@@ -79,13 +83,10 @@ public class AllConfigrationsGenerator extends AConfigurationGenerator {
 		number.schedule();
 	}
 
-	private Node rootNode;
-	private LinkedList<Node> children;
-
 	/**
-	 * The max size of <code>>configurations</code>
+	 * Solver that is reused to check the partial configurations. The selected features are passed as assumptions.
 	 */
-	private final int maxBufferSize = 5000;
+	private ISatSolver solver;
 
 	@Override
 	public Void execute(IMonitor monitor) throws Exception {
@@ -108,11 +109,55 @@ public class AllConfigrationsGenerator extends AConfigurationGenerator {
 	private void buildAll(IFeature root, IMonitor monitor) {
 		final LinkedList<IFeature> selectedFeatures2 = new LinkedList<IFeature>();
 		selectedFeatures2.add(root);
-		rootNode = AdvancedNodeCreator.createNodes(featureModel, new AbstractFeatureFilter(), CNFType.Compact, ModelType.All, true);
-		children = new LinkedList<Node>();
+		solver = null;
+		if (featureModel.getConstraintCount() > 0) {
+			final Node rootNode = CNFCache.getInstance()
+					.getNodes(new AdvancedNodeCreator(featureModel, new AbstractFeatureFilter(), CNFType.Regular, ModelType.All, false));
+			final Set<Object> variables = new LinkedHashSet<Object>(SatInstance.getDistinctVariableObjects(rootNode));
+			for (final IFeature feature : featureModel.getFeatures()) {
+				if (isSelectable(feature)) {
+					variables.add(feature.getName());
+				}
+			}
+			try {
+				solver = new BasicSolver(new SatInstance(rootNode, variables));
+			} catch (final ContradictionException e) {
+				// feature model is void
+				return;
+			}
+		}
 		build(root, "", selectedFeatures2, monitor);
 	}
 
+	/**
+	 * Checks whether the given partial configuration can be extended to a valid configuration.
+	 *
+	 * @param selected the names of the selected features separated by <code>"</code>
+	 * @return <code>false</code> if the partial configuration is not satisfiable
+	 */
+	private boolean isSatisfiable(String selected) {
+		if (solver == null) {
+			return true;
+		}
+		final SatInstance satInstance = solver.getSatInstance();
+		solver.assignmentClear(0);
+		if (!selected.isEmpty()) {
+			for (final String feature : selected.split("\"")) {
+				solver.assignmentPush(satInstance.getVariable(feature));
+			}
+		}
+		switch (solver.isSatisfiable()) {
+		case FALSE:
+			return false;
+		case TIMEOUT:
+			UIPlugin.getDefault().logWarning(StringTable.SATSOLVER_COMPUTATION_TIMEOUT);
+			return true;
+		case TRUE:
+		default:
+			return true;
+		}
+	}
+
 	// TODO use intermediate function of monitor object instead of producer-consumer pattern
 	private void build(IFeature currentFeature, String selected, LinkedList<IFeature> selectedFeatures2, IMonitor monitor) {
 		try {
@@ -126,18 +171,8 @@ public class AllConfigrationsGenerator extends AConfigurationGenerator {
 			return;
 		}
 
-		if (featureModel.getConstraintCount() > 0) {
-			children.clear();
-			for (final String feature : selected.split("\"")) {
-				children.add(new Literal(feature, true));
-			}
-			try {
-				if (!(new SatSolver(new And(rootNode.clone(), new And(children)), 1000)).isSatisfiable()) {
-					return;
-				}
-			} catch (final org.sat4j.specs.TimeoutException e) {
-				UIPlugin.getDefault().logError(e);
-			}
+		if (!isSatisfiable(selected)) {
+			return;
 		}
 
 		if (selectedFeatures2.isEmpty()) {
@@ -169,25 +204,8 @@ public class AllConfigrationsGenerator extends AConfigurationGenerator {
 					}
 				}
 
+				// blocks while the buffer of the builder is full
 				addConfiguration(configuration);
-
-				if (builder.sorter.getBufferSize() >= maxBufferSize) {
-					synchronized (this) {
-						while (builder.sorter.getBufferSize() >= maxBufferSize) {
-							try {
-								monitor.checkCancel();
-							} catch (final MethodCancelException e) {
-								number.cancel();
-								return;
-							}
-							try {
-								wait(1000);
-							} catch (final InterruptedException e) {
-								UIPlugin.getDefault().logError(e);
-							}
-						}
-					}
-				}
 			}
 			return;
 		}
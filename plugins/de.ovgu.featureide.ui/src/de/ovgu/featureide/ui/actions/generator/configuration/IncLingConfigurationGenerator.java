@@ -22,7 +22,6 @@ package de.ovgu.featureide.ui.actions.generator.configuration;
 
 import java.util.List;
 
-import org.prop4j.Node;
 import org.prop4j.analyses.PairWiseConfigurationGenerator;
 import org.prop4j.solver.SatInstance;
 
@@ -32,6 +31,7 @@ import de.ovgu.featureide.fm.core.base.IFeatureModel;
 import de.ovgu.featureide.fm.core.configuration.Selection;
 import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
 import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.CNFType;
+import de.ovgu.featureide.fm.core.editing.CNFCache;
 import de.ovgu.featureide.fm.core.filter.AbstractFeatureFilter;
 import de.ovgu.featureide.fm.core.functional.Functional;
 import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
@@ -62,8 +62,8 @@ public class IncLingConfigurationGenerator extends AConfigurationGenerator {
 		advancedNodeCreator.setCnfType(CNFType.Regular);
 		advancedNodeCreator.setIncludeBooleanValues(false);
 
-		final Node createNodes = advancedNodeCreator.createNodes();
-		final SatInstance satInstance = new SatInstance(createNodes, Functional.toList(FeatureUtils.getConcreteFeatureNames(fm)));
+		final SatInstance satInstance =
+			CNFCache.getInstance().getSatInstance(advancedNodeCreator, Functional.toList(FeatureUtils.getConcreteFeatureNames(fm)));
 		final PairWiseConfigurationGenerator gen = getGenerator(satInstance, solutionCount);
 		exec(satInstance, gen, monitor);
 	}
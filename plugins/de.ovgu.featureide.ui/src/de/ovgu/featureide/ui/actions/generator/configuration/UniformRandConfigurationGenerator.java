@@ -0,0 +1,96 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.ui.actions.generator.configuration;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import org.prop4j.analyses.DDNNFCompiler;
+import org.prop4j.analyses.UniformRandomConfigurationGenerator;
+import org.prop4j.solver.DDNNF;
+import org.prop4j.solver.SatInstance;
+
+import de.ovgu.featureide.core.IFeatureProject;
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.configuration.Selection;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.CNFType;
+import de.ovgu.featureide.fm.core.editing.CNFCache;
+import de.ovgu.featureide.fm.core.filter.AbstractFeatureFilter;
+import de.ovgu.featureide.fm.core.functional.Functional;
+import de.ovgu.featureide.fm.core.functional.Functional.IConsumer;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+import de.ovgu.featureide.ui.UIPlugin;
+import de.ovgu.featureide.ui.actions.generator.ConfigurationBuilder;
+
+/**
+ * Creates configurations that are drawn uniformly at random from all valid configurations. The same configuration may be drawn more than once.
+ *
+ * @see UniformRandomConfigurationGenerator
+ */
+public class UniformRandConfigurationGenerator extends AConfigurationGenerator {
+
+	public UniformRandConfigurationGenerator(ConfigurationBuilder builder, IFeatureModel featureModel, IFeatureProject featureProject) {
+		super(builder, featureModel, featureProject);
+	}
+
+	@Override
+	public Void execute(IMonitor monitor) throws Exception {
+		monitor.setRemainingWork(2);
+		final AdvancedNodeCreator advancedNodeCreator = new AdvancedNodeCreator(featureModel, new AbstractFeatureFilter());
+		advancedNodeCreator.setCnfType(CNFType.Regular);
+		advancedNodeCreator.setIncludeBooleanValues(false);
+
+		final SatInstance satInstance =
+			CNFCache.getInstance().getSatInstance(advancedNodeCreator, Functional.toList(FeatureUtils.getConcreteFeatureNames(featureModel)));
+		final DDNNF ddnnf = LongRunningWrapper.runMethod(new DDNNFCompiler(satInstance), monitor.subTask(1));
+		if (ddnnf == null) {
+			UIPlugin.getDefault().logWarning("Compilation for uniform sampling was aborted.");
+			builder.configurationNumber = 0;
+			return null;
+		}
+
+		// samples are drawn with replacement, thus an unlimited number of configurations is restricted to the number of valid configurations
+		final int maxNumber = (int) Math.min(maxConfigs(), ddnnf.countSolutions().min(BigInteger.valueOf(Integer.MAX_VALUE)).longValue());
+		final UniformRandomConfigurationGenerator generator = new UniformRandomConfigurationGenerator(ddnnf, maxNumber);
+		generator.setStoreConfigurations(false);
+
+		final IMonitor sampleMonitor = monitor.subTask(1);
+		sampleMonitor.setIntermediateFunction(new IConsumer<Object>() {
+
+			@Override
+			public void invoke(Object model) {
+				configuration.resetValues();
+				final List<String> solution = satInstance.convertToString((int[]) model);
+				for (final String selection : solution) {
+					configuration.setManual(selection, Selection.SELECTED);
+				}
+				addConfiguration(configuration);
+			}
+		});
+		LongRunningWrapper.runMethod(generator, sampleMonitor);
+		builder.configurationNumber = confs;
+		return null;
+	}
+
+}
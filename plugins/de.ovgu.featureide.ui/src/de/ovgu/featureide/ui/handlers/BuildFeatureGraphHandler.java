@@ -20,6 +20,7 @@
  */
 package de.ovgu.featureide.ui.handlers;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.LinkedList;
@@ -31,14 +32,15 @@ import de.ovgu.featureide.core.IFeatureProject;
 import de.ovgu.featureide.fm.core.base.FeatureUtils;
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
 import de.ovgu.featureide.fm.core.conf.IFeatureGraph;
+import de.ovgu.featureide.fm.core.conf.worker.base.AWorkerThread;
 import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
 import de.ovgu.featureide.fm.core.functional.Functional;
-import de.ovgu.featureide.fm.core.io.FeatureGraphFormat;
-import de.ovgu.featureide.fm.core.io.manager.SimpleFileHandler;
+import de.ovgu.featureide.fm.core.io.BinaryFeatureGraphFormat;
 import de.ovgu.featureide.fm.core.job.IJob;
 import de.ovgu.featureide.fm.core.job.IRunner;
 import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
 import de.ovgu.featureide.fm.core.job.util.JobFinishListener;
+import de.ovgu.featureide.ui.UIPlugin;
 import de.ovgu.featureide.ui.handlers.base.AFeatureProjectHandler;
 
 public class BuildFeatureGraphHandler extends AFeatureProjectHandler {
@@ -57,12 +59,18 @@ public class BuildFeatureGraphHandler extends AFeatureProjectHandler {
 			final IFeatureModel fm = project.getFeatureModel();
 			final SatInstance sat =
 				new SatInstance(AdvancedNodeCreator.createRegularCNF(fm), Functional.mapToList(fm.getFeatures(), FeatureUtils.GET_FEATURE_NAME));
-			final IRunner<IFeatureGraph> runner = LongRunningWrapper.getRunner(new FGBuilder(sat));
+			final FGBuilder builder = new FGBuilder(sat);
+			builder.setNumberOfThreads(AWorkerThread.getDefaultNumberOfThreads());
+			final IRunner<IFeatureGraph> runner = LongRunningWrapper.getRunner(builder);
 			runner.addJobFinishedListener(new JobFinishListener<IFeatureGraph>() {
 
 				@Override
 				public void jobFinished(IJob<IFeatureGraph> finishedJob) {
-					SimpleFileHandler.save(path, finishedJob.getResults(), new FeatureGraphFormat());
+					try {
+						new BinaryFeatureGraphFormat().write(finishedJob.getResults(), path);
+					} catch (final IOException e) {
+						UIPlugin.getDefault().logError(e);
+					}
 				}
 			});
 			runner.schedule();
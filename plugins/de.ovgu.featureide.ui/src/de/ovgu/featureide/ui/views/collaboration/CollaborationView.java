@@ -55,7 +55,9 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Set;
 import java.util.Vector;
 
 import org.eclipse.core.resources.IFile;
@@ -115,6 +117,7 @@ import de.ovgu.featureide.core.IFeatureProject;
 import de.ovgu.featureide.core.builder.IComposerExtensionClass;
 import de.ovgu.featureide.core.fstmodel.FSTConfiguration;
 import de.ovgu.featureide.core.fstmodel.FSTModel;
+import de.ovgu.featureide.core.fstmodel.FSTRole;
 import de.ovgu.featureide.core.listeners.ICurrentBuildListener;
 import de.ovgu.featureide.fm.core.AWaitingJob;
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
@@ -140,6 +143,7 @@ import de.ovgu.featureide.ui.views.collaboration.action.ShowFieldsMethodsAction;
 import de.ovgu.featureide.ui.views.collaboration.action.ShowUnselectedAction;
 import de.ovgu.featureide.ui.views.collaboration.editparts.CollaborationEditPart;
 import de.ovgu.featureide.ui.views.collaboration.editparts.GraphicalEditPartFactory;
+import de.ovgu.featureide.ui.views.collaboration.editparts.ModelEditPart;
 import de.ovgu.featureide.ui.views.collaboration.figures.RoleFigure;
 import de.ovgu.featureide.ui.views.collaboration.model.CollaborationModelBuilder;
 
@@ -242,15 +246,23 @@ public class CollaborationView extends ViewPart implements GUIDefaults, ICurrent
 			if (!configurations.isEmpty()) {
 				return Status.OK_STATUS;
 			}
+			final Set<String> classes = takeChangedClasses(model);
 			final UIJob uiJob = new UIJob(UPDATE_COLLABORATION_VIEW) {
 
 				@Override
 				public IStatus runInUIThread(IProgressMonitor monitor) {
-					viewer.setContents(model);
-					final EditPart part = viewer.getContents();
-					if (part != null) {
-						part.refresh();
+					final EditPart contents = viewer.getContents();
+					if ((classes != null) && (contents instanceof ModelEditPart) && (contents.getModel() == model)
+						&& isSameConfiguration(shownConfiguration, model.getConfiguration())) {
+						((ModelEditPart) contents).refreshClasses(classes);
+					} else {
+						viewer.setContents(model);
+						final EditPart part = viewer.getContents();
+						if (part != null) {
+							part.refresh();
+						}
 					}
+					shownConfiguration = model.getConfiguration();
 					refreshButton.setEnabled(true);
 					search.refreshSearchContent();
 					return Status.OK_STATUS;
@@ -278,6 +290,45 @@ public class CollaborationView extends ViewPart implements GUIDefaults, ICurrent
 
 	};
 
+	/**
+	 * Collects the classes whose roles were added, removed, or changed by an incremental build of the {@link FSTModel}.
+	 */
+	private final IEventListener roleListener = new IEventListener() {
+
+		@Override
+		public void propertyChange(FeatureIDEEvent event) {
+			switch (event.getEventType()) {
+			case ROLE_ADDED:
+			case ROLE_CHANGED:
+				addChangedClass((FSTRole) event.getNewValue());
+				break;
+			case ROLE_REMOVED:
+				addChangedClass((FSTRole) event.getOldValue());
+				break;
+			case MODEL_DATA_OVERRIDDEN:
+				clearChangedClasses();
+				break;
+			default:
+				break;
+			}
+		}
+
+	};
+
+	/**
+	 * The model {@link #roleListener} is registered at.
+	 */
+	private FSTModel listenedModel = null;
+	/**
+	 * The names of the classes whose roles were added, removed, or changed since the view was updated last. <code>null</code> if the whole view has to be
+	 * updated.
+	 */
+	private Set<String> changedClasses = null;
+	/**
+	 * The configuration the view was updated with last.
+	 */
+	private FSTConfiguration shownConfiguration = null;
+
 	private IFeatureProject featureProject;
 	private IFeatureModel featureModel;
 
@@ -300,6 +351,52 @@ public class CollaborationView extends ViewPart implements GUIDefaults, ICurrent
 		return featureModel;
 	}
 
+	private synchronized void addChangedClass(FSTRole role) {
+		if (changedClasses != null) {
+			changedClasses.add(role.getFSTClass().getName());
+		}
+	}
+
+	private synchronized void clearChangedClasses() {
+		changedClasses = null;
+	}
+
+	/**
+	 * Returns the classes whose roles changed since the view was updated last and starts collecting the changes for the next update.
+	 *
+	 * @param model the model that will be shown
+	 * @return the names of the changed classes or <code>null</code> if the whole view has to be updated
+	 */
+	private synchronized Set<String> takeChangedClasses(FSTModel model) {
+		final Set<String> classes;
+		if (listenedModel == model) {
+			classes = changedClasses;
+		} else {
+			if (listenedModel != null) {
+				listenedModel.removeListener(roleListener);
+			}
+			listenedModel = model;
+			model.addListener(roleListener);
+			classes = null;
+		}
+		changedClasses = new HashSet<>();
+		return classes;
+	}
+
+	/**
+	 * Checks whether the given configurations select the same features, so the roles of unchanged classes can be kept.
+	 */
+	private static boolean isSameConfiguration(FSTConfiguration configuration1, FSTConfiguration configuration2) {
+		if ((configuration1 == null) || (configuration2 == null)) {
+			return configuration1 == configuration2;
+		}
+		final IFile file1 = configuration1.getFile();
+		final IFile file2 = configuration2.getFile();
+		return configuration1.getName().equals(configuration2.getName()) && (configuration1.isSelected() == configuration2.isSelected())
+			&& ((file1 == null) ? (file2 == null) : file1.equals(file2))
+			&& new HashSet<>(configuration1.getSelectedFeatures()).equals(new HashSet<>(configuration2.getSelectedFeatures()));
+	}
+
 	public Point getCursorPosition() {
 		return cursorPosition;
 	}
@@ -908,6 +1005,7 @@ public class CollaborationView extends ViewPart implements GUIDefaults, ICurrent
 			public void run() {
 				viewer.setContents(model);
 				viewer.getContents().refresh();
+				shownConfiguration = model.getConfiguration();
 				search.refreshSearchContent();
 			}
 		});
@@ -924,6 +1022,12 @@ public class CollaborationView extends ViewPart implements GUIDefaults, ICurrent
 	@Override
 	public void dispose() {
 		FeatureColorManager.removeListener(colorChangeListener);
+		synchronized (this) {
+			if (listenedModel != null) {
+				listenedModel.removeListener(roleListener);
+				listenedModel = null;
+			}
+		}
 		super.dispose();
 	}
 }
@@ -91,7 +91,7 @@ public class FilterAction extends Action {
 			featureFilter.clear();
 			CollaborationModelBuilder.getClassFilter().clear();
 			CollaborationModelBuilder.getFeatureFilter().clear();
-			collaborationView.updateGuiAfterBuild(collaborationView.getFeatureProject(), null);
+			collaborationView.refresh();
 		}
 	}
 }
@@ -151,6 +151,22 @@ public class ModelEditPart extends AbstractGraphicalEditPart implements GUIDefau
 		}
 	}
 
+	/**
+	 * Refreshes the given classes only. Edit parts are created for added classes and removed for removed classes, while the edit parts of all other classes
+	 * are kept. Afterwards, all figures are arranged again.
+	 *
+	 * @param classNames the names of the classes whose roles were added, removed, or changed
+	 */
+	public void refreshClasses(Collection<String> classNames) {
+		refreshChildren();
+		for (final ClassEditPart classEditPart : classEditPartList) {
+			if (classNames.contains(classEditPart.getClassModel().getName())) {
+				classEditPart.refresh();
+			}
+		}
+		refreshVisuals();
+	}
+
 	@Override
 	protected void removeChildVisual(EditPart childEditPart) {
 		super.removeChildVisual(childEditPart);
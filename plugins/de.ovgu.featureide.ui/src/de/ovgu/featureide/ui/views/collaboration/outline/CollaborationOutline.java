@@ -41,6 +41,7 @@ import org.eclipse.jface.viewers.SelectionChangedEvent;
 import org.eclipse.jface.viewers.StructuredSelection;
 import org.eclipse.jface.viewers.TreeExpansionEvent;
 import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.IEditorDescriptor;
 import org.eclipse.ui.IEditorPart;
 import org.eclipse.ui.IWorkbench;
@@ -52,16 +53,20 @@ import org.eclipse.ui.part.FileEditorInput;
 import org.eclipse.ui.texteditor.ITextEditor;
 
 import de.ovgu.featureide.core.CorePlugin;
+import de.ovgu.featureide.core.IFeatureProject;
 import de.ovgu.featureide.core.fstmodel.FSTClassFragment;
 import de.ovgu.featureide.core.fstmodel.FSTFeature;
 import de.ovgu.featureide.core.fstmodel.FSTField;
 import de.ovgu.featureide.core.fstmodel.FSTInvariant;
 import de.ovgu.featureide.core.fstmodel.FSTMethod;
+import de.ovgu.featureide.core.fstmodel.FSTModel;
 import de.ovgu.featureide.core.fstmodel.FSTRole;
 import de.ovgu.featureide.core.fstmodel.RoleElement;
 import de.ovgu.featureide.core.fstmodel.preprocessor.FSTDirective;
 import de.ovgu.featureide.fm.core.base.IFeature;
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.event.FeatureIDEEvent;
+import de.ovgu.featureide.fm.core.base.event.IEventListener;
 import de.ovgu.featureide.fm.ui.FMUIPlugin;
 import de.ovgu.featureide.fm.ui.editors.featuremodel.actions.colors.SetFeatureColorAction;
 import de.ovgu.featureide.fm.ui.views.outline.custom.OutlineProvider;
@@ -95,6 +100,38 @@ public class CollaborationOutline extends OutlineProvider {
 	private IFile file;
 	private IFeatureModel featureModel;
 
+	/**
+	 * The model {@link #roleListener} is registered at.
+	 */
+	private FSTModel model;
+	private boolean refreshScheduled = false;
+
+	/**
+	 * Refreshes the outline if a role of the shown class was added, removed, or changed by an incremental build of the {@link FSTModel}. Changes of other
+	 * classes are ignored.
+	 */
+	private final IEventListener roleListener = new IEventListener() {
+
+		@Override
+		public void propertyChange(FeatureIDEEvent event) {
+			switch (event.getEventType()) {
+			case ROLE_ADDED:
+			case ROLE_CHANGED:
+				refreshIfShown((FSTRole) event.getNewValue());
+				break;
+			case ROLE_REMOVED:
+				refreshIfShown((FSTRole) event.getOldValue());
+				break;
+			case MODEL_DATA_OVERRIDDEN:
+				scheduleRefresh();
+				break;
+			default:
+				break;
+			}
+		}
+
+	};
+
 	public CollaborationOutline() {
 		super(new CollaborationOutlineTreeContentProvider(), new CollaborationOutlineLabelProvider());
 	}
@@ -112,6 +149,54 @@ public class CollaborationOutline extends OutlineProvider {
 		if ((iFile != null) && (CorePlugin.getFeatureProject(iFile) != null)) {
 			featureModel = CorePlugin.getFeatureProject(iFile).getFeatureModel();
 		}
+		listenToModel(iFile);
+	}
+
+	/**
+	 * Registers {@link #roleListener} at the model of the project containing the given file.
+	 */
+	private synchronized void listenToModel(IFile iFile) {
+		final IFeatureProject featureProject = (iFile == null) ? null : CorePlugin.getFeatureProject(iFile);
+		final FSTModel newModel = (featureProject == null) ? null : featureProject.getFSTModel();
+		if (newModel != model) {
+			if (model != null) {
+				model.removeListener(roleListener);
+			}
+			model = newModel;
+			if (model != null) {
+				model.addListener(roleListener);
+			}
+		}
+	}
+
+	private void refreshIfShown(FSTRole role) {
+		final IFile shownFile = file;
+		final FSTModel shownModel = model;
+		if ((shownFile != null) && (shownModel != null) && role.getFSTClass().getName().equals(shownModel.getAbsoluteClassName(shownFile))) {
+			scheduleRefresh();
+		}
+	}
+
+	/**
+	 * Refreshes the viewer in the UI thread. Several events of the same build lead to a single refresh.
+	 */
+	private synchronized void scheduleRefresh() {
+		if (refreshScheduled || (viewer == null)) {
+			return;
+		}
+		refreshScheduled = true;
+		Display.getDefault().asyncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				synchronized (CollaborationOutline.this) {
+					refreshScheduled = false;
+				}
+				if ((viewer.getControl() != null) && !viewer.getControl().isDisposed()) {
+					viewer.refresh();
+				}
+			}
+		});
 	}
 
 	@Override
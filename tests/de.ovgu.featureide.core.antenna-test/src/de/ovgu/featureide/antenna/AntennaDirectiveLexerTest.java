@@ -0,0 +1,72 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.antenna;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.antenna.AntennaDirectiveLexer.Directive;
+import de.ovgu.featureide.antenna.AntennaDirectiveLexer.Token;
+
+/**
+ * Tests for {@link AntennaDirectiveLexer}.
+ */
+public class AntennaDirectiveLexerTest {
+
+	@Test
+	public void testDirectives() {
+		assertDirective("//#if A && B", Directive.IF, "A && B");
+		assertDirective("//#ifdef A", Directive.IFDEF, "A");
+		assertDirective("//#ifndef A", Directive.IFNDEF, "A");
+		assertDirective("//#condition A", Directive.CONDITION, "A");
+		assertDirective("//#elif A", Directive.ELIF, "A");
+		assertDirective("//#elifdef A", Directive.ELIFDEF, "A");
+		assertDirective("//#elifndef A", Directive.ELIFNDEF, "A");
+		assertDirective("//#else", Directive.ELSE, "");
+		assertDirective("//#endif", Directive.ENDIF, "");
+		assertDirective("//#define A", Directive.OTHER, "A");
+	}
+
+	@Test
+	public void testWhiteSpace() {
+		assertDirective("\t  // #if A", Directive.IF, "A");
+		assertDirective("//#if  (A || B) ", Directive.IF, " (A || B) ");
+		assertDirective("int a; // comment //#else", Directive.ELSE, "");
+	}
+
+	@Test
+	public void testNoDirective() {
+		assertNull(AntennaDirectiveLexer.lex(""));
+		assertNull(AntennaDirectiveLexer.lex("int a = 0;"));
+		assertNull(AntennaDirectiveLexer.lex("// if A"));
+		assertNull(AntennaDirectiveLexer.lex("//@ int a = 0;"));
+		assertNull(AntennaDirectiveLexer.lex("/ /#if A"));
+	}
+
+	private static void assertDirective(String line, Directive directive, String expression) {
+		final Token token = AntennaDirectiveLexer.lex(line);
+		assertEquals(directive, token.getDirective());
+		assertEquals(expression, line.substring(token.getExpressionStart()));
+	}
+
+}
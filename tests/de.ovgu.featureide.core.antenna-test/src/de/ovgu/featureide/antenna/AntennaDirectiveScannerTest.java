@@ -0,0 +1,217 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.antenna;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.core.resources.IFile;
+import org.junit.Test;
+import org.prop4j.And;
+import org.prop4j.Implies;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.Or;
+
+import de.ovgu.featureide.antenna.AntennaDirectiveScanner.DirectiveMarker;
+import de.ovgu.featureide.antenna.AntennaDirectiveScanner.FileAnalysis;
+import de.ovgu.featureide.core.builder.preprocessor.PresenceConditionChecker;
+
+/**
+ * Tests for {@link AntennaDirectiveScanner}.
+ */
+public class AntennaDirectiveScannerTest {
+
+	private static final List<String> FEATURES = Arrays.asList("Root", "A", "B", "C", "D");
+
+	private static final Node FEATURE_MODEL =
+		new And(new Literal("Root"), new Or(new Literal("A"), new Literal("B")), new Implies(new Literal("C"), new Literal("A")));
+
+	private static final List<String> LINES = Arrays.asList("//#if A", "int a;", "//#if A && C", "int c;", "//#endif", "//#else", "int b;", "//#endif");
+
+	@Test
+	public void testCacheHit() throws Exception {
+		final AntennaDirectiveScanner scanner = createScanner(new PresenceConditionChecker(FEATURE_MODEL));
+		final IFile file = createFile("File.java");
+
+		final FileAnalysis analysis = scanSingle(scanner, file, LINES);
+		assertFalse(analysis.getMarkers().isEmpty());
+		assertSame(analysis, scanSingle(scanner, file, LINES));
+
+		// code lines do not affect the cache
+		final List<String> rewrittenLines = new ArrayList<>(LINES);
+		rewrittenLines.set(1, "//@int a;");
+		assertSame(analysis, scanSingle(scanner, file, rewrittenLines));
+	}
+
+	@Test
+	public void testCacheMiss() throws Exception {
+		final PresenceConditionChecker checker = new PresenceConditionChecker(FEATURE_MODEL);
+		final AntennaDirectiveScanner scanner = createScanner(checker);
+		final IFile file = createFile("File.java");
+
+		final FileAnalysis analysis = scanSingle(scanner, file, LINES);
+		assertNotSame(analysis, scanSingle(scanner, createFile("Other.java"), LINES));
+
+		// files that are not scanned anymore are removed from the cache
+		scanSingle(scanner, createFile("Other.java"), LINES);
+		final FileAnalysis newAnalysis = scanSingle(scanner, file, LINES);
+		assertNotSame(analysis, newAnalysis);
+		assertEquals(toString(analysis), toString(newAnalysis));
+
+		// a new feature model clears the cache
+		scanner.setContext(new PresenceConditionChecker(FEATURE_MODEL), FEATURES);
+		assertNotSame(newAnalysis, scanSingle(scanner, file, LINES));
+	}
+
+	@Test
+	public void testHashChange() throws Exception {
+		final AntennaDirectiveScanner scanner = createScanner(new PresenceConditionChecker(FEATURE_MODEL));
+		final IFile file = createFile("File.java");
+		final FileAnalysis analysis = scanSingle(scanner, file, LINES);
+
+		final List<String> changedDirective = new ArrayList<>(LINES);
+		changedDirective.set(2, "//#if A && !C");
+		final FileAnalysis changedAnalysis = scanSingle(scanner, file, changedDirective);
+		assertNotSame(analysis, changedAnalysis);
+		assertEquals(toString(AntennaDirectiveScanner.analyze(changedDirective, new PresenceConditionChecker(FEATURE_MODEL), FEATURES)),
+				toString(changedAnalysis));
+
+		// directives that move to another line change their markers
+		final List<String> movedDirective = new ArrayList<>(LINES);
+		movedDirective.add(0, "int x;");
+		final FileAnalysis movedAnalysis = scanSingle(scanner, file, movedDirective);
+		assertNotSame(changedAnalysis, movedAnalysis);
+		assertEquals(analysis.getMarkers().get(0).getLineNumber() + 1, movedAnalysis.getMarkers().get(0).getLineNumber());
+	}
+
+	@Test
+	public void testParallelScan() throws Exception {
+		final Random random = new Random(0);
+		final List<IFile> files = new ArrayList<>();
+		final List<List<String>> contents = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			files.add(createFile("File" + i + ".java"));
+			contents.add(createRandomLines(random));
+		}
+
+		final List<String> expected = new ArrayList<>();
+		for (final FileAnalysis analysis : createScanner(new PresenceConditionChecker(FEATURE_MODEL)).scan(files, contents)) {
+			expected.add(toString(analysis));
+		}
+		for (int numberOfThreads = 2; numberOfThreads <= 4; numberOfThreads++) {
+			final AntennaDirectiveScanner scanner = createScanner(new PresenceConditionChecker(FEATURE_MODEL));
+			scanner.setNumberOfThreads(numberOfThreads);
+			final List<String> actual = new ArrayList<>();
+			for (final FileAnalysis analysis : scanner.scan(files, contents)) {
+				actual.add(toString(analysis));
+			}
+			assertEquals(expected, actual);
+		}
+	}
+
+	private static AntennaDirectiveScanner createScanner(PresenceConditionChecker checker) {
+		final AntennaDirectiveScanner scanner = new AntennaDirectiveScanner();
+		scanner.setNumberOfThreads(1);
+		scanner.setContext(checker, FEATURES);
+		return scanner;
+	}
+
+	private static FileAnalysis scanSingle(AntennaDirectiveScanner scanner, IFile file, List<String> lines) throws Exception {
+		return scanner.scan(Collections.singletonList(file), Collections.singletonList(lines)).get(0);
+	}
+
+	private static List<String> createRandomLines(Random random) {
+		final String[] operators = { " && ", " || " };
+		final List<String> lines = new ArrayList<>();
+		int depth = 0;
+		for (int i = 0; i < 30; i++) {
+			final int kind = random.nextInt(4);
+			if ((kind == 0) || (depth == 0)) {
+				final String feature1 = FEATURES.get(random.nextInt(FEATURES.size()));
+				final String feature2 = FEATURES.get(random.nextInt(FEATURES.size()));
+				lines.add("//#if " + (random.nextBoolean() ? "!" : "") + feature1 + operators[random.nextInt(operators.length)] + feature2);
+				depth++;
+			} else if (kind == 1) {
+				lines.add(random.nextBoolean() ? "//#else" : "//#elif " + FEATURES.get(random.nextInt(FEATURES.size())));
+			} else if (kind == 2) {
+				lines.add("//#endif");
+				depth--;
+			} else {
+				lines.add("int x" + i + ";");
+			}
+		}
+		for (; depth > 0; depth--) {
+			lines.add("//#endif");
+		}
+		return lines;
+	}
+
+	private static String toString(FileAnalysis analysis) {
+		final StringBuilder sb = new StringBuilder();
+		for (final DirectiveMarker marker : analysis.getMarkers()) {
+			sb.append(marker.getLineNumber());
+			sb.append(' ');
+			sb.append(marker.getStatus());
+			sb.append(' ');
+			sb.append(marker.getFeatureName());
+			sb.append(' ');
+			sb.append(marker.getExpressionStack());
+			sb.append('\n');
+		}
+		sb.append(analysis.getUsedFeatures());
+		return sb.toString();
+	}
+
+	/**
+	 * Creates a file handle that can only be used as key of the cache.
+	 */
+	private static IFile createFile(final String name) {
+		return (IFile) Proxy.newProxyInstance(IFile.class.getClassLoader(), new Class<?>[] { IFile.class }, new InvocationHandler() {
+
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) {
+				switch (method.getName()) {
+				case "equals":
+					return (args[0] instanceof IFile) && name.equals(args[0].toString());
+				case "hashCode":
+					return name.hashCode();
+				case "toString":
+					return name;
+				default:
+					throw new UnsupportedOperationException(method.getName());
+				}
+			}
+		});
+	}
+
+}
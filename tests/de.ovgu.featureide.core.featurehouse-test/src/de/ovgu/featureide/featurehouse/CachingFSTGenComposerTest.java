@@ -0,0 +1,101 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.featurehouse;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import composer.CmdLineInterpreter;
+import composer.FSTGenComposer;
+
+/**
+ * Compares the products of the {@link CachingFSTGenComposer} with the products of the {@link FSTGenComposer}.
+ */
+public class CachingFSTGenComposerTest {
+
+	private static final String BASE = "public class Hello {\n\tpublic void print() {\n\t\tSystem.out.print(\"Hello\");\n\t}\n}\n";
+	private static final String WORLD = "public class Hello {\n\tpublic void print() {\n\t\toriginal();\n\t\tSystem.out.print(\" World\");\n\t}\n}\n";
+	private static final String BEAUTIFUL =
+		"public class Hello {\n\tpublic void print() {\n\t\toriginal();\n\t\tSystem.out.print(\" beautiful\");\n\t}\n\tint count;\n}\n";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testCachedFeatures() throws IOException {
+		final File features = folder.newFolder("features");
+		writeFeature(features, "Base", BASE);
+		writeFeature(features, "Beautiful", BEAUTIFUL);
+		writeFeature(features, "World", WORLD);
+
+		final FSTCache cache = new FSTCache();
+		assertProduct(cache, features, "Base", "Beautiful", "World");
+		assertProduct(cache, features, "Base", "World");
+		assertProduct(cache, features, "Base", "Beautiful", "World");
+	}
+
+	@Test
+	public void testChangedFeature() throws IOException {
+		final File features = folder.newFolder("features");
+		writeFeature(features, "Base", BASE);
+		writeFeature(features, "World", WORLD);
+
+		final FSTCache cache = new FSTCache();
+		assertProduct(cache, features, "Base", "World");
+		writeFeature(features, "World", BEAUTIFUL);
+		assertProduct(cache, features, "Base", "World");
+	}
+
+	private void assertProduct(FSTCache cache, File features, String... selectedFeatures) throws IOException {
+		final String expected = compose(new FSTGenComposer(false), features, selectedFeatures);
+		final String actual = compose(new CachingFSTGenComposer(cache), features, selectedFeatures);
+		assertEquals(expected, actual);
+	}
+
+	private String compose(FSTGenComposer composer, File features, String... selectedFeatures) throws IOException {
+		final StringBuilder sb = new StringBuilder();
+		for (final String feature : selectedFeatures) {
+			sb.append(feature).append('\n');
+		}
+		final Path equationFile = File.createTempFile("configuration", ".features", folder.getRoot()).toPath();
+		Files.write(equationFile, sb.toString().getBytes(StandardCharsets.UTF_8));
+		final File output = folder.newFolder();
+		composer.run(new String[] { CmdLineInterpreter.INPUT_OPTION_EQUATIONFILE, equationFile.toString(), CmdLineInterpreter.INPUT_OPTION_BASE_DIRECTORY,
+			features.getPath(), CmdLineInterpreter.INPUT_OPTION_OUTPUT_DIRECTORY, output.getPath() + "/", CmdLineInterpreter.INPUT_OPTION_NO_CONFIG_OUTPUT_DIR });
+		return new String(Files.readAllBytes(new File(output, "Hello.java").toPath()), StandardCharsets.UTF_8);
+	}
+
+	private static void writeFeature(File features, String feature, String content) throws IOException {
+		final File featureFolder = new File(features, feature);
+		featureFolder.mkdirs();
+		Files.write(new File(featureFolder, "Hello.java").toPath(), content.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
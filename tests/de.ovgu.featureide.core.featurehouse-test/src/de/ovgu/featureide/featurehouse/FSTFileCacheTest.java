@@ -0,0 +1,167 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.featurehouse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import cide.gparser.TokenMgrError;
+import composer.CmdLineInterpreter;
+import composer.FSTGenComposerExtension;
+import de.ovgu.cide.fstgen.ast.FSTNode;
+import de.ovgu.cide.fstgen.ast.FSTNonTerminal;
+import de.ovgu.cide.fstgen.ast.FSTTerminal;
+
+/**
+ * Compares the nodes of the {@link FSTFileCache} with the nodes of {@link FSTGenComposerExtension#buildFullFST(String[], String[])}.
+ */
+public class FSTFileCacheTest {
+
+	private static final String[] FEATURES = { "Base", "World" };
+
+	private static final String HELLO = "public class Hello {\n\tpublic void print() {\n\t\tSystem.out.print(\"Hello\");\n\t}\n}\n";
+	private static final String WORLD = "public class World {\n\tpublic void print() {\n\t\tSystem.out.print(\" World\");\n\t}\n}\n";
+	private static final String BEAUTIFUL = "public class World {\n\tint count;\n\n\tpublic void print() {\n\t\tSystem.out.print(\" beautiful\");\n\t}\n}\n";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testUnchangedFiles() throws IOException {
+		final File features = folder.newFolder("features");
+		writeFile(features, "Base", "Hello.java", HELLO);
+		writeFile(features, "World", "World.java", WORLD);
+
+		final FSTFileCache cache = new FSTFileCache();
+		final List<FSTNode> nodes = cache.getFstnodes(features.getPath(), FEATURES, new FSTGenComposerExtension(), new HashMap<File, TokenMgrError>());
+		assertEquals(buildFullFST(features), toString(nodes));
+		final List<FSTNode> cachedNodes = cache.getFstnodes(features.getPath(), FEATURES, new FSTGenComposerExtension(), new HashMap<File, TokenMgrError>());
+		assertEquals(nodes.size(), cachedNodes.size());
+		for (int i = 0; i < nodes.size(); i++) {
+			assertSame(nodes.get(i), cachedNodes.get(i));
+		}
+	}
+
+	@Test
+	public void testChangedFile() throws IOException {
+		final File features = folder.newFolder("features");
+		final File hello = writeFile(features, "Base", "Hello.java", HELLO);
+		final File world = writeFile(features, "World", "World.java", WORLD);
+
+		final FSTFileCache cache = new FSTFileCache();
+		final List<FSTNode> nodes = cache.getFstnodes(features.getPath(), FEATURES, new FSTGenComposerExtension(), new HashMap<File, TokenMgrError>());
+		writeFile(features, "World", "World.java", BEAUTIFUL);
+		final List<FSTNode> changedNodes = cache.getFstnodes(features.getPath(), FEATURES, new FSTGenComposerExtension(), new HashMap<File, TokenMgrError>());
+		assertEquals(buildFullFST(features), toString(changedNodes));
+		assertSame(getClassNode(nodes, hello), getClassNode(changedNodes, hello));
+		assertNotSame(getClassNode(nodes, world), getClassNode(changedNodes, world));
+	}
+
+	@Test
+	public void testLexicalError() throws IOException {
+		final File features = folder.newFolder("features");
+		final File hello = writeFile(features, "Base", "Hello.java", HELLO);
+		final File world = writeFile(features, "World", "World.java", "public class World {\n\t`\n}\n");
+
+		final FSTFileCache cache = new FSTFileCache();
+		final Map<File, TokenMgrError> lexicalErrors = new HashMap<>();
+		final List<FSTNode> nodes = cache.getFstnodes(features.getPath(), FEATURES, new FSTGenComposerExtension(), lexicalErrors);
+		assertEquals(1, lexicalErrors.size());
+		assertTrue(lexicalErrors.containsKey(world));
+		assertTrue(getClassNode(nodes, hello) != null);
+
+		writeFile(features, "World", "World.java", WORLD);
+		lexicalErrors.clear();
+		final List<FSTNode> fixedNodes = cache.getFstnodes(features.getPath(), FEATURES, new FSTGenComposerExtension(), lexicalErrors);
+		assertTrue(lexicalErrors.isEmpty());
+		assertEquals(buildFullFST(features), toString(fixedNodes));
+		assertSame(getClassNode(nodes, hello), getClassNode(fixedNodes, hello));
+	}
+
+	private String buildFullFST(File features) throws IOException {
+		final Path equationFile = File.createTempFile("configuration", ".features", folder.getRoot()).toPath();
+		Files.write(equationFile, FEATURES[0].getBytes(StandardCharsets.UTF_8));
+		final FSTGenComposerExtension composer = new FSTGenComposerExtension();
+		final String output = folder.newFolder().getPath() + "/";
+		final String[] args = { CmdLineInterpreter.INPUT_OPTION_EQUATIONFILE, equationFile.toString(), CmdLineInterpreter.INPUT_OPTION_BASE_DIRECTORY,
+			features.getPath(), CmdLineInterpreter.INPUT_OPTION_OUTPUT_DIRECTORY, output, CmdLineInterpreter.INPUT_OPTION_NO_CONFIG_OUTPUT_DIR };
+		composer.buildFullFST(args, FEATURES);
+		return toString(new ArrayList<>(composer.getFstnodes()));
+	}
+
+	private static FSTNode getClassNode(List<FSTNode> nodes, File file) {
+		for (final FSTNode node : nodes) {
+			if ("EOF Marker".equals(node.getType()) && file.getPath().equals(node.getName())) {
+				return node;
+			}
+		}
+		return null;
+	}
+
+	private static String toString(List<FSTNode> nodes) {
+		final StringBuilder sb = new StringBuilder();
+		for (final FSTNode node : nodes) {
+			// the parsers insert a language node only once
+			if (!"language".equals(node.getType())) {
+				append(node, sb);
+			}
+		}
+		return sb.toString();
+	}
+
+	private static void append(FSTNode node, StringBuilder sb) {
+		sb.append(node.getType()).append(' ').append(node.getName());
+		if (node instanceof FSTTerminal) {
+			sb.append(' ').append(((FSTTerminal) node).getBody()).append('\n');
+		} else {
+			sb.append(" {\n");
+			for (final FSTNode child : ((FSTNonTerminal) node).getChildren()) {
+				append(child, sb);
+			}
+			sb.append("}\n");
+		}
+	}
+
+	private static File writeFile(File features, String feature, String fileName, String content) throws IOException {
+		final File featureFolder = new File(features, feature);
+		featureFolder.mkdirs();
+		final File file = new File(featureFolder, fileName);
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+
+}
@@ -0,0 +1,253 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.featurehouse.signature;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Test;
+import org.prop4j.Or;
+
+import de.ovgu.featureide.core.signature.ProjectSignatures;
+import de.ovgu.featureide.core.signature.ProjectSignatures.SignatureIterator;
+import de.ovgu.featureide.core.signature.SignatureIndex;
+import de.ovgu.featureide.core.signature.base.AFeatureData;
+import de.ovgu.featureide.core.signature.base.AbstractClassSignature;
+import de.ovgu.featureide.core.signature.base.AbstractFieldSignature;
+import de.ovgu.featureide.core.signature.base.AbstractMethodSignature;
+import de.ovgu.featureide.core.signature.base.AbstractSignature;
+import de.ovgu.featureide.core.signature.base.FeatureDataConstructor;
+import de.ovgu.featureide.core.signature.filter.FeatureFilter;
+import de.ovgu.featureide.core.signature.filter.MethodFilter;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureModelFactory;
+import de.ovgu.featureide.fm.core.base.impl.DefaultFeatureModelFactory;
+import de.ovgu.featureide.fm.core.filter.base.IFilter;
+
+/**
+ * Compares the queries of the {@link SignatureIndex} with filtered scans over all signatures of {@link ProjectSignatures}.
+ */
+public class SignatureIndexTest {
+
+	private static final int NUMBER_OF_FEATURES = 6;
+	private static final String[] NAMES = { "a", "b", "c", "d" };
+
+	private static class ClassSignature extends AbstractClassSignature {
+
+		ClassSignature(AbstractClassSignature parent, String name) {
+			super(parent, name, "public", "class", "p");
+		}
+	}
+
+	private static class FieldSignature extends AbstractFieldSignature {
+
+		FieldSignature(AbstractClassSignature parent, String name) {
+			super(parent, name, "public", "int");
+		}
+	}
+
+	private static class MethodSignature extends AbstractMethodSignature {
+
+		MethodSignature(AbstractClassSignature parent, String name) {
+			super(parent, name, "public", "void", new ArrayList<String>(), false);
+		}
+
+		@Override
+		public String getReturnType() {
+			return type;
+		}
+	}
+
+	private static final Comparator<AbstractSignature> BY_NAME = new Comparator<AbstractSignature>() {
+
+		@Override
+		public int compare(AbstractSignature o1, AbstractSignature o2) {
+			return o1.getName().compareTo(o2.getName());
+		}
+	};
+
+	@Test
+	public void testIntersectAndUnion() {
+		final Random random = new Random(0);
+		for (int i = 0; i < 200; i++) {
+			final int[][] lists = new int[random.nextInt(4) + 1][];
+			final TreeSet<Integer> intersection = new TreeSet<>();
+			final TreeSet<Integer> union = new TreeSet<>();
+			for (int j = 0; j < lists.length; j++) {
+				final TreeSet<Integer> list = new TreeSet<>();
+				final int size = random.nextInt(20);
+				for (int k = 0; k < size; k++) {
+					list.add(random.nextInt(30));
+				}
+				lists[j] = toArray(list);
+				if (j == 0) {
+					intersection.addAll(list);
+				} else {
+					intersection.retainAll(list);
+				}
+				union.addAll(list);
+			}
+			assertArrayEquals(toArray(intersection), SignatureIndex.intersect(lists));
+			assertArrayEquals(toArray(union), SignatureIndex.union(lists));
+		}
+		assertArrayEquals(new int[0], SignatureIndex.intersect());
+		assertArrayEquals(new int[0], SignatureIndex.union());
+		assertArrayEquals(new int[0], SignatureIndex.intersect(new int[] { 1, 2 }, new int[0]));
+		assertArrayEquals(new int[] { 1, 2 }, SignatureIndex.union(new int[] { 1, 2 }, new int[0]));
+	}
+
+	@Test
+	public void testQueries() {
+		final Random random = new Random(1);
+		for (int i = 0; i < 20; i++) {
+			final ProjectSignatures signatures = createSignatures(random);
+			checkQueries(signatures, signatures.getIndex());
+		}
+	}
+
+	@Test
+	public void testSort() {
+		final ProjectSignatures signatures = createSignatures(new Random(2));
+		final SignatureIndex index = signatures.getIndex();
+		final int[] positions = index.getFeatureSignatures(0);
+		signatures.sort(BY_NAME);
+		checkInvalidated(signatures, index, positions);
+	}
+
+	@Test
+	public void testSetSignatureArray() {
+		final ProjectSignatures signatures = createSignatures(new Random(3));
+		final SignatureIndex index = signatures.getIndex();
+		final int[] positions = index.getFeatureSignatures(0);
+		final List<AbstractSignature> signatureList = toList(signatures.iterator());
+		Collections.reverse(signatureList);
+		signatures.setSignatureArray(signatureList.toArray(new AbstractSignature[0]));
+		checkInvalidated(signatures, index, positions);
+	}
+
+	private void checkInvalidated(ProjectSignatures signatures, SignatureIndex oldIndex, int[] positions) {
+		try {
+			signatures.iterator(oldIndex, positions);
+			fail();
+		} catch (final ConcurrentModificationException e) {}
+		final SignatureIndex newIndex = signatures.getIndex();
+		assertNotSame(oldIndex, newIndex);
+		assertSame(newIndex, signatures.getIndex());
+		checkQueries(signatures, newIndex);
+	}
+
+	private void checkQueries(ProjectSignatures signatures, SignatureIndex index) {
+		final List<AbstractSignature> all = toList(signatures.iterator());
+		assertEquals(all.size(), index.getSize());
+		for (int id = -1; id <= NUMBER_OF_FEATURES; id++) {
+			assertEquals(scan(signatures, new FeatureFilter(id)), toList(signatures.iterator(index, index.getFeatureSignatures(id))));
+			assertEquals(scan(signatures, new MethodFilter(), new FeatureFilter(id)),
+					toList(signatures.iterator(index, SignatureIndex.intersect(index.getKindSignatures(SignatureIndex.KIND_METHOD),
+							index.getFeatureSignatures(id)))));
+		}
+		assertEquals(scan(signatures, new FeatureFilter(0, 2, 3)), toList(signatures.iterator(index, index.getFeatureSignatures(0, 2, 3))));
+		for (final String name : NAMES) {
+			final List<AbstractSignature> expected = new ArrayList<>();
+			for (final AbstractSignature signature : all) {
+				if (signature.getName().equals(name)) {
+					expected.add(signature);
+				}
+			}
+			assertEquals(expected, toList(signatures.iterator(index, index.getNameSignatures(name))));
+		}
+	}
+
+	/**
+	 * Creates classes with inner classes, fields, and methods. Each signature belongs to a random set of features, to all features (id -1), or to none.
+	 */
+	private static ProjectSignatures createSignatures(Random random) {
+		final IFeatureModelFactory factory = DefaultFeatureModelFactory.getInstance();
+		final IFeatureModel featureModel = factory.createFeatureModel();
+		for (int i = 0; i < NUMBER_OF_FEATURES; i++) {
+			featureModel.addFeature(factory.createFeature(featureModel, "F" + i));
+		}
+		final ProjectSignatures signatures = new ProjectSignatures(featureModel);
+		final FeatureDataConstructor featureDataConstructor = new FeatureDataConstructor(signatures, FeatureDataConstructor.TYPE_FOP);
+
+		final List<AbstractSignature> signatureList = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			final ClassSignature classSignature = new ClassSignature(null, "C" + i);
+			signatureList.add(classSignature);
+			final ClassSignature innerClassSignature = new ClassSignature(classSignature, NAMES[random.nextInt(NAMES.length)]);
+			signatureList.add(innerClassSignature);
+			for (int j = 0; j < 10; j++) {
+				final ClassSignature parent = random.nextBoolean() ? classSignature : innerClassSignature;
+				final String name = NAMES[random.nextInt(NAMES.length)];
+				signatureList.add(random.nextBoolean() ? new FieldSignature(parent, name) : new MethodSignature(parent, name));
+			}
+		}
+		for (final AbstractSignature signature : signatureList) {
+			final int numberOfFeatures = random.nextInt(4);
+			if (numberOfFeatures > 0) {
+				final AFeatureData[] featureData = new AFeatureData[numberOfFeatures];
+				for (int i = 0; i < numberOfFeatures; i++) {
+					// a presence condition that is no single feature results in the id -1
+					featureData[i] = (random.nextInt(10) == 0) ? featureDataConstructor.create(new Or("F0", "F1"), 0, 0)
+						: featureDataConstructor.create(random.nextInt(NUMBER_OF_FEATURES), 0, 0);
+				}
+				signature.setFeatureData(featureData);
+			}
+		}
+		Collections.shuffle(signatureList, random);
+		signatures.setSignatureArray(signatureList.toArray(new AbstractSignature[0]));
+		return signatures;
+	}
+
+	private static List<AbstractSignature> scan(ProjectSignatures signatures, IFilter<?>... filters) {
+		final List<IFilter<?>> filterList = new ArrayList<>();
+		Collections.addAll(filterList, filters);
+		return toList(signatures.iterator(filterList));
+	}
+
+	private static List<AbstractSignature> toList(SignatureIterator iterator) {
+		final List<AbstractSignature> list = new ArrayList<>();
+		while (iterator.hasNext()) {
+			list.add(iterator.next());
+		}
+		return list;
+	}
+
+	private static int[] toArray(TreeSet<Integer> set) {
+		final int[] array = new int[set.size()];
+		int i = 0;
+		for (final Integer value : set) {
+			array[i++] = value;
+		}
+		return array;
+	}
+
+}
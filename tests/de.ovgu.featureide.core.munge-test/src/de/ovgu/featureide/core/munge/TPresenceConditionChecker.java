@@ -0,0 +1,229 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.core.munge;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Stack;
+
+import org.junit.Test;
+import org.prop4j.And;
+import org.prop4j.Equals;
+import org.prop4j.Implies;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.Not;
+import org.prop4j.Or;
+import org.prop4j.SatSolver;
+import org.sat4j.specs.TimeoutException;
+
+import de.ovgu.featureide.core.builder.preprocessor.PPComposerExtensionClass.AnnotationStatus;
+import de.ovgu.featureide.core.builder.preprocessor.PresenceConditionChecker;
+import de.ovgu.featureide.munge.MungePreprocessor;
+
+/**
+ * Compares the {@link PresenceConditionChecker} with a check that creates new solvers for each annotation.
+ */
+public class TPresenceConditionChecker {
+
+	private static final int NUMBER_OF_FEATURES = 8;
+	private static final long TIMEOUT = 1000;
+
+	/**
+	 * Gives access to the checker of the preprocessor for a given feature model formula.
+	 */
+	private static class TestPreprocessor extends MungePreprocessor {
+
+		private PresenceConditionChecker getChecker(Node featureModel) {
+			this.featureModel = featureModel;
+			return getPresenceConditionChecker();
+		}
+
+		private AnnotationStatus check(Node featureModel, List<Node> expressions) {
+			this.featureModel = featureModel;
+			expressionStack = new Stack<>();
+			expressionStack.addAll(expressions);
+			return isContradictionOrTautology();
+		}
+	}
+
+	@Test
+	public void testRandomAnnotations() throws TimeoutException {
+		final Random random = new Random(0);
+		for (int i = 0; i < 5; i++) {
+			final Node featureModel = createFeatureModel(random);
+			final PresenceConditionChecker checker = new PresenceConditionChecker(featureModel);
+			for (int j = 0; j < 200; j++) {
+				final Node expression = createExpression(random, 3);
+				final List<Node> context = new ArrayList<>();
+				for (int k = random.nextInt(3); k > 0; k--) {
+					context.add(createExpression(random, 2));
+				}
+				assertEquals(expression + " " + context, check(featureModel, expression, context), checker.check(expression, context));
+			}
+		}
+	}
+
+	/**
+	 * The clauses of an annotation are removed after its check, so they must not influence the following checks.
+	 */
+	@Test
+	public void testRemovedClauses() throws TimeoutException {
+		final Node featureModel = new And(new Literal("F0"), new Implies(new Literal("F1"), new Literal("F2")));
+		final PresenceConditionChecker checker = new PresenceConditionChecker(featureModel);
+		final Node expression = new Literal("F1");
+		final List<Node> deadContext = Arrays.<Node> asList(new Not(new Literal("F2")));
+		final List<Node> superfluousContext = Arrays.<Node> asList(new And(new Literal("F1"), new Literal("F3")));
+		final List<Node> emptyContext = Collections.emptyList();
+
+		for (int i = 0; i < 3; i++) {
+			assertEquals(AnnotationStatus.DEAD, checker.check(expression, deadContext));
+			assertEquals(AnnotationStatus.NORMAL, checker.check(expression, emptyContext));
+			assertEquals(AnnotationStatus.SUPERFLUOUS, checker.check(expression, superfluousContext));
+			assertEquals(AnnotationStatus.NORMAL, checker.check(new Not(expression), emptyContext));
+			assertEquals(AnnotationStatus.NORMAL, checker.check(new Literal("F2"), emptyContext));
+			assertEquals(AnnotationStatus.CONTRADICTION, checker.check(new And(expression, new Not(expression)), emptyContext));
+			assertEquals(AnnotationStatus.TAUTOLOGY, checker.check(new Or(expression, new Not(expression)), deadContext));
+		}
+
+		final Random random = new Random(1);
+		for (int j = 0; j < 200; j++) {
+			final Node randomExpression = createExpression(random, 3);
+			assertEquals(randomExpression.toString(), check(featureModel, randomExpression, emptyContext), checker.check(randomExpression, emptyContext));
+		}
+	}
+
+	@Test
+	public void testMemoization() throws TimeoutException {
+		final Random random = new Random(2);
+		final Node featureModel = createFeatureModel(random);
+		final PresenceConditionChecker checker = new PresenceConditionChecker(featureModel);
+		final List<Node> expressions = new ArrayList<>();
+		final List<AnnotationStatus> expected = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			final Node expression = createExpression(random, 3);
+			expressions.add(expression);
+			expected.add(checker.check(expression, Collections.<Node> emptyList()));
+		}
+		for (int i = 0; i < expressions.size(); i++) {
+			final Node expression = expressions.get(i).clone();
+			assertEquals(expression.toString(), expected.get(i), checker.check(expression, Collections.<Node> emptyList()));
+			assertEquals(expression.toString(), check(featureModel, expression, Collections.<Node> emptyList()), expected.get(i));
+		}
+	}
+
+	/**
+	 * The preprocessor keeps its checker and the memoized results as long as the formula of the feature model does not change.
+	 */
+	@Test
+	public void testFeatureModelChange() throws TimeoutException {
+		final TestPreprocessor preprocessor = new TestPreprocessor();
+		final Node featureModel = new And(new Literal("F0"), new Implies(new Literal("F1"), new Literal("F2")));
+		final List<Node> expressions = Arrays.<Node> asList(new Literal("F1"), new Literal("F2"));
+
+		final PresenceConditionChecker checker = preprocessor.getChecker(featureModel);
+		assertEquals(AnnotationStatus.SUPERFLUOUS, preprocessor.check(featureModel, expressions));
+		assertSame(checker, preprocessor.getChecker(featureModel.clone()));
+		assertEquals(AnnotationStatus.SUPERFLUOUS, preprocessor.check(featureModel.clone(), expressions));
+
+		final Node changedFeatureModel = new And(new Literal("F0"), new Implies(new Literal("F1"), new Not(new Literal("F2"))));
+		assertNotSame(checker, preprocessor.getChecker(changedFeatureModel));
+		assertEquals(AnnotationStatus.DEAD, preprocessor.check(changedFeatureModel, expressions));
+		assertEquals(check(changedFeatureModel, expressions.get(1), expressions.subList(0, 1)), preprocessor.check(changedFeatureModel, expressions));
+
+		final Node voidFeatureModel = new And(new Literal("F0"), new Not(new Literal("F0")));
+		assertEquals(AnnotationStatus.VOID, preprocessor.check(voidFeatureModel, expressions));
+		assertEquals(AnnotationStatus.SUPERFLUOUS, preprocessor.check(featureModel, expressions));
+	}
+
+	/**
+	 * Checks an annotation with new solvers for each satisfiability test.
+	 */
+	private static AnnotationStatus check(Node featureModel, Node expression, List<Node> context) throws TimeoutException {
+		if (!new SatSolver(featureModel, TIMEOUT).isSatisfiable()) {
+			return AnnotationStatus.VOID;
+		}
+		if (!new SatSolver(expression, TIMEOUT).isSatisfiable()) {
+			return AnnotationStatus.CONTRADICTION;
+		}
+		if (!new SatSolver(new Not(expression), TIMEOUT).isSatisfiable()) {
+			return AnnotationStatus.TAUTOLOGY;
+		}
+		final List<Node> contextNodes = new ArrayList<>(context);
+		contextNodes.add(0, featureModel);
+		final Node contextNode = new And(contextNodes.toArray(new Node[contextNodes.size()]));
+		if (!new SatSolver(new And(contextNode, expression), TIMEOUT).isSatisfiable()) {
+			return AnnotationStatus.DEAD;
+		}
+		if (!new SatSolver(new And(contextNode, new Not(expression)), TIMEOUT).isSatisfiable()) {
+			return AnnotationStatus.SUPERFLUOUS;
+		}
+		return AnnotationStatus.NORMAL;
+	}
+
+	private static Node createFeatureModel(Random random) {
+		final List<Node> clauses = new ArrayList<>();
+		clauses.add(createLiteral(0));
+		for (int i = 1; i < NUMBER_OF_FEATURES; i++) {
+			clauses.add(new Implies(createLiteral(i), createLiteral(random.nextInt(i))));
+		}
+		for (int i = 0; i < 3; i++) {
+			clauses.add(new Or(createLiteral(random), createLiteral(random)));
+		}
+		return new And(clauses.toArray(new Node[clauses.size()]));
+	}
+
+	private static Node createExpression(Random random, int depth) {
+		if ((depth == 0) || (random.nextInt(4) == 0)) {
+			return new Literal("F" + random.nextInt(NUMBER_OF_FEATURES));
+		}
+		final Node left = createExpression(random, depth - 1);
+		final Node right = createExpression(random, depth - 1);
+		switch (random.nextInt(5)) {
+		case 0:
+			return new And(left, right);
+		case 1:
+			return new Or(left, right);
+		case 2:
+			return new Not(left);
+		case 3:
+			return new Implies(left, right);
+		default:
+			return new Equals(left, right);
+		}
+	}
+
+	private static Literal createLiteral(int index) {
+		return new Literal("F" + index);
+	}
+
+	private static Literal createLiteral(Random random) {
+		return new Literal("F" + random.nextInt(NUMBER_OF_FEATURES), random.nextBoolean());
+	}
+
+}
@@ -0,0 +1,120 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.conf;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.prop4j.analyses.FGBuilder;
+import org.prop4j.solver.SatInstance;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+import de.ovgu.featureide.fm.core.functional.Functional;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Tests for {@link SparseFeatureGraph}. Compares the graph with a {@link MatrixFeatureGraph} built from the same model.
+ */
+public class TSparseFeatureGraph {
+
+	@Test
+	public void testSetEdge() {
+		final SparseFeatureGraph graph = new SparseFeatureGraph(null, new int[] { 0, 1, 2, 3 });
+		assertFalse(graph.setEdge(1, 1, AFeatureGraph.EDGE_01));
+		assertTrue(graph.setEdge(0, 3, AFeatureGraph.EDGE_01Q));
+		assertTrue(graph.setEdge(0, 1, AFeatureGraph.EDGE_10));
+		assertTrue(graph.setEdge(0, 2, AFeatureGraph.EDGE_00Q));
+		assertFalse(graph.setEdge(0, 3, AFeatureGraph.EDGE_01Q));
+		assertTrue(graph.setEdge(0, 3, AFeatureGraph.EDGE_01));
+		assertFalse(graph.setEdge(0, 3, AFeatureGraph.EDGE_00Q));
+
+		assertEquals(3, graph.getNumberOfEdges(0));
+		assertEquals(0, graph.getNumberOfEdges(1));
+		assertEquals(1, graph.getEdgeTarget(0, 0));
+		assertEquals(2, graph.getEdgeTarget(0, 1));
+		assertEquals(3, graph.getEdgeTarget(0, 2));
+		assertEquals(AFeatureGraph.EDGE_10, graph.getEdge(0, 1));
+		assertEquals(AFeatureGraph.EDGE_00Q, graph.getEdge(0, 2));
+		assertEquals(AFeatureGraph.EDGE_01, graph.getEdge(0, 3));
+		assertEquals(AFeatureGraph.EDGE_NONE, graph.getEdge(3, 0));
+
+		assertTrue(graph.setEdge(0, 2, AFeatureGraph.EDGE_NONE));
+		assertEquals(2, graph.getNumberOfEdges(0));
+		assertEquals(AFeatureGraph.EDGE_NONE, graph.getEdge(0, 2));
+		assertEquals(AFeatureGraph.EDGE_01, graph.getEdge(0, 3));
+	}
+
+	@Test
+	public void testCar() {
+		compareWithMatrix("car.xml");
+	}
+
+	@Test
+	public void testGPL() {
+		compareWithMatrix("gpl_medium_model.xml");
+	}
+
+	@Test
+	public void testBerkeleyDB() {
+		compareWithMatrix("berkeley_db_model.xml");
+	}
+
+	@Test
+	public void testConfiguration() {
+		final IFeatureModel fm = Commons.loadTestFeatureModelFromFile("car.xml");
+		final ConfigurationFG matrixConfiguration = new ConfigurationFG(fm, ConfigurationFG.PARAM_PROPAGATE);
+		final ConfigurationFG sparseConfiguration = new ConfigurationFG(fm, ConfigurationFG.PARAM_PROPAGATE | ConfigurationFG.PARAM_SPARSE);
+		assertEquals(matrixConfiguration.getSelectedFeatureNames(), sparseConfiguration.getSelectedFeatureNames());
+		assertEquals(matrixConfiguration.getUnSelectedFeatures().size(), sparseConfiguration.getUnSelectedFeatures().size());
+	}
+
+	private static void compareWithMatrix(String modelName) {
+		final IFeatureModel fm = Commons.loadTestFeatureModelFromFile(modelName);
+		final SatInstance sat =
+			new SatInstance(AdvancedNodeCreator.createRegularCNF(fm), Functional.mapToList(fm.getFeatures(), FeatureUtils.GET_FEATURE_NAME));
+
+		final IFeatureGraph matrixGraph = LongRunningWrapper.runMethod(new FGBuilder(sat));
+		final FGBuilder sparseBuilder = new FGBuilder(sat);
+		sparseBuilder.setSparse(true);
+		final IFeatureGraph sparseGraph = LongRunningWrapper.runMethod(sparseBuilder);
+
+		assertTrue(matrixGraph instanceof MatrixFeatureGraph);
+		assertTrue(sparseGraph instanceof SparseFeatureGraph);
+		assertEquals(matrixGraph.getSize(), sparseGraph.getSize());
+		assertArrayEquals(matrixGraph.getIndex(), sparseGraph.getIndex());
+
+		final int size = matrixGraph.getSize();
+		for (int i = 0; i < size; i++) {
+			for (int j = 0; j < size; j++) {
+				assertEquals(matrixGraph.getEdge(i, j), sparseGraph.getEdge(i, j));
+				assertEquals(matrixGraph.getValue(i, j, true), sparseGraph.getValue(i, j, true));
+				assertEquals(matrixGraph.getValue(i, j, false), sparseGraph.getValue(i, j, false));
+			}
+		}
+	}
+
+}
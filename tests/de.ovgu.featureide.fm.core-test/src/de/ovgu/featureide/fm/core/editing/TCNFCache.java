@@ -0,0 +1,140 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.editing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.Not;
+import org.prop4j.solver.SatInstance;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureStructure;
+import de.ovgu.featureide.fm.core.base.event.FeatureIDEEvent;
+import de.ovgu.featureide.fm.core.base.event.FeatureIDEEvent.EventType;
+import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
+import de.ovgu.featureide.fm.core.configuration.Configuration;
+import de.ovgu.featureide.fm.core.configuration.Selection;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.CNFType;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.ModelType;
+
+/**
+ * Tests for {@link CNFCache}.
+ */
+public class TCNFCache {
+
+	private final CNFCache cache = CNFCache.getInstance();
+
+	@Test
+	public void testHitsAndMisses() {
+		final IFeatureModel fm = Commons.loadTestFeatureModelFromFile("car.xml");
+		final long hits = cache.getHits();
+		final long misses = cache.getMisses();
+
+		final Node cnf = cache.getNodes(createNodeCreator(fm, ModelType.All));
+		assertSame(cnf, cache.getNodes(createNodeCreator(fm, ModelType.All)));
+		assertNotSame(cnf, cache.getNodes(createNodeCreator(fm, ModelType.OnlyStructure)));
+
+		final List<String> variables = FeatureUtils.getFeatureNamesPreorder(fm);
+		final SatInstance satInstance = cache.getSatInstance(createNodeCreator(fm, ModelType.All), variables);
+		assertSame(satInstance, cache.getSatInstance(createNodeCreator(fm, ModelType.All), variables));
+
+		assertEquals(2, cache.getHits() - hits);
+		assertEquals(3, cache.getMisses() - misses);
+	}
+
+	@Test
+	public void testInvalidatedByEvent() {
+		final IFeatureModel fm = Commons.loadTestFeatureModelFromFile("car.xml");
+		final Node cnf = cache.getNodes(createNodeCreator(fm, ModelType.All));
+
+		fm.fireEvent(new FeatureIDEEvent(fm, EventType.MODEL_LAYOUT_CHANGED));
+		assertSame(cnf, cache.getNodes(createNodeCreator(fm, ModelType.All)));
+
+		final String rootName = FeatureUtils.getRoot(fm).getName();
+		fm.addConstraint(FMFactoryManager.getFactory(fm).createConstraint(fm, new Not(new Literal(rootName))));
+		fm.fireEvent(new FeatureIDEEvent(fm, EventType.CONSTRAINT_ADD));
+		final Node newCnf = cache.getNodes(createNodeCreator(fm, ModelType.All));
+		assertNotSame(cnf, newCnf);
+		assertEquals(cnf.getChildren().length + 1, newCnf.getChildren().length);
+	}
+
+	@Test
+	public void testInvalidatedByModification() {
+		final IFeatureModel fm = Commons.loadTestFeatureModelFromFile("car.xml");
+		final Node cnf = cache.getNodes(createNodeCreator(fm, ModelType.All));
+
+		fm.addConstraint(FMFactoryManager.getFactory(fm).createConstraint(fm, new Not(new Literal("Radio"))));
+		final Node constraintCnf = cache.getNodes(createNodeCreator(fm, ModelType.All));
+		assertEquals(cnf.getChildren().length + 1, constraintCnf.getChildren().length);
+
+		final IFeatureStructure radio = fm.getFeature("Radio").getStructure();
+		radio.setMandatory(!radio.isMandatory());
+		final Node structureCnf = cache.getNodes(createNodeCreator(fm, ModelType.All));
+		assertNotSame(constraintCnf, structureCnf);
+		assertEquals(createNodeCreator(fm, ModelType.All).createNodes(), structureCnf);
+		assertSame(structureCnf, cache.getNodes(createNodeCreator(fm, ModelType.All)));
+	}
+
+	@Test
+	public void testConfigurationAfterModification() {
+		final IFeatureModel fm = Commons.loadTestFeatureModelFromFile("car.xml");
+		assertEquals(Selection.UNDEFINED, new Configuration(fm).getSelectablefeature("Radio").getAutomatic());
+
+		fm.addConstraint(FMFactoryManager.getFactory(fm).createConstraint(fm, new Not(new Literal("Radio"))));
+		assertEquals(Selection.UNSELECTED, new Configuration(fm).getSelectablefeature("Radio").getAutomatic());
+	}
+
+	@Test
+	public void testInvalidate() {
+		final IFeatureModel fm = Commons.loadTestFeatureModelFromFile("car.xml");
+		final Node cnf = cache.getNodes(createNodeCreator(fm, ModelType.All));
+		cache.invalidate(fm);
+		assertNotSame(cnf, cache.getNodes(createNodeCreator(fm, ModelType.All)));
+	}
+
+	@Test
+	public void testClonesAreSeparate() {
+		final IFeatureModel fm = Commons.loadTestFeatureModelFromFile("car.xml");
+		final IFeatureModel clone = fm.clone();
+		final Node cnf = cache.getNodes(createNodeCreator(fm, ModelType.All));
+		assertNotSame(cnf, cache.getNodes(createNodeCreator(clone, ModelType.All)));
+		assertSame(cnf, cache.getNodes(createNodeCreator(fm, ModelType.All)));
+	}
+
+	private static AdvancedNodeCreator createNodeCreator(IFeatureModel fm, ModelType modelType) {
+		final AdvancedNodeCreator nodeCreator = new AdvancedNodeCreator(fm);
+		nodeCreator.setCnfType(CNFType.Regular);
+		nodeCreator.setIncludeBooleanValues(false);
+		nodeCreator.setUseOldNames(false);
+		nodeCreator.setModelType(modelType);
+		return nodeCreator;
+	}
+
+}
@@ -0,0 +1,139 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.editing;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.prop4j.Implies;
+import org.prop4j.Literal;
+import org.prop4j.solver.BasicSolver;
+import org.prop4j.solver.ISatSolver.SatResult;
+import org.prop4j.solver.SatInstance;
+import org.sat4j.specs.ContradictionException;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.CNFType;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.ModelType;
+import de.ovgu.featureide.fm.core.editing.cnf.ClauseStore;
+
+/**
+ * Tests for {@link ClauseStore} and {@link AdvancedNodeCreator#createSatInstance(java.util.Collection)}.
+ */
+public class TClauseStore {
+
+	private static final String[] MODELS = { "car.xml", "berkeley_db_model.xml", "gpl_medium_model.xml", "apl_model.xml", "500-100.xml" };
+
+	@Test
+	public void testStore() {
+		final ClauseStore clauses = new ClauseStore(1, 1);
+		clauses.addClause(1, -2, 3);
+		clauses.addClause();
+		clauses.addLiteral(-4);
+		clauses.closeClause();
+
+		assertEquals(3, clauses.size());
+		assertEquals(4, clauses.getNumberOfLiterals());
+		assertArrayEquals(new int[] { 1, -2, 3 }, clauses.getClause(0));
+		assertEquals(0, clauses.getClauseLength(1));
+		assertEquals(3, clauses.getClauseStart(2));
+		assertEquals(4, clauses.getClauseEnd(2));
+		assertEquals(-4, clauses.getLiteral(3));
+
+		final ClauseStore empty = new ClauseStore();
+		empty.trimToSize();
+		empty.addClause(5);
+		assertArrayEquals(new int[] { 5 }, empty.getClause(0));
+	}
+
+	@Test
+	public void testSameClausesAsNodes() {
+		for (final String modelName : MODELS) {
+			final IFeatureModel fm = Commons.loadTestFeatureModelFromFile(modelName);
+			for (final ModelType modelType : ModelType.values()) {
+				final AdvancedNodeCreator nodeCreator = new AdvancedNodeCreator(fm);
+				nodeCreator.setCnfType(CNFType.Regular);
+				nodeCreator.setIncludeBooleanValues(false);
+				nodeCreator.setUseOldNames(false);
+				nodeCreator.setModelType(modelType);
+
+				final List<String> variables = FeatureUtils.getFeatureNamesPreorder(fm);
+				final SatInstance expected = new SatInstance(nodeCreator.createNodes(), variables);
+				final SatInstance actual = nodeCreator.createSatInstance(variables);
+				final String message = modelName + " " + modelType;
+				assertEquals(message, toList(expected.getClauses()), toList(actual.getClauses()));
+
+				final SatInstance fromNode = new SatInstance(actual.getCnf(), variables);
+				assertEquals(message, toList(expected.getClauses()), toList(fromNode.getClauses()));
+			}
+		}
+	}
+
+	@Test
+	public void testSolver() throws ContradictionException {
+		final IFeatureModel fm = Commons.loadTestFeatureModelFromFile("car.xml");
+		final AdvancedNodeCreator nodeCreator = new AdvancedNodeCreator(fm);
+		nodeCreator.setCnfType(CNFType.Regular);
+		nodeCreator.setIncludeBooleanValues(false);
+		nodeCreator.setUseOldNames(false);
+		final SatInstance satInstance = nodeCreator.createSatInstance(FeatureUtils.getFeatureNamesPreorder(fm));
+
+		final BasicSolver solver = new BasicSolver(satInstance);
+		assertEquals(SatResult.TRUE, solver.isSatisfiable());
+		final BasicSolver clone = solver.clone();
+		clone.assignmentPush(-satInstance.getVariable(FeatureUtils.getRoot(fm).getName()));
+		assertEquals(SatResult.FALSE, clone.isSatisfiable());
+	}
+
+	@Test
+	public void testUnknownVariable() {
+		final IFeatureModel fm = Commons.loadTestFeatureModelFromFile("car.xml");
+		final String featureName = FeatureUtils.getRoot(fm).getName();
+		fm.addConstraint(FMFactoryManager.getFactory(fm).createConstraint(fm, new Implies(new Literal(featureName), new Literal("Unknown"))));
+		final AdvancedNodeCreator nodeCreator = new AdvancedNodeCreator(fm);
+		nodeCreator.setCnfType(CNFType.Regular);
+		nodeCreator.setIncludeBooleanValues(false);
+		nodeCreator.setUseOldNames(false);
+
+		final SatInstance satInstance = nodeCreator.createSatInstance(FeatureUtils.getFeatureNamesPreorder(fm));
+		assertEquals(nodeCreator.createNodes(), satInstance.getCnf());
+	}
+
+	private static List<List<Integer>> toList(ClauseStore clauses) {
+		final List<List<Integer>> list = new ArrayList<>(clauses.size());
+		for (int i = 0; i < clauses.size(); i++) {
+			final List<Integer> clause = new ArrayList<>();
+			for (final int literal : clauses.getClause(i)) {
+				clause.add(literal);
+			}
+			list.add(clause);
+		}
+		return list;
+	}
+
+}
@@ -0,0 +1,166 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+import org.prop4j.analyses.FGBuilder;
+import org.prop4j.solver.SatInstance;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.conf.IFeatureGraph;
+import de.ovgu.featureide.fm.core.conf.MappedFeatureGraph;
+import de.ovgu.featureide.fm.core.conf.MatrixFeatureGraph;
+import de.ovgu.featureide.fm.core.conf.SparseFeatureGraph;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+import de.ovgu.featureide.fm.core.functional.Functional;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Tests for {@link BinaryFeatureGraphFormat}.
+ */
+public class TBinaryFeatureGraphFormat {
+
+	@Test
+	public void testRoundTripCar() throws IOException {
+		testRoundTrip("car.xml", false);
+	}
+
+	@Test
+	public void testRoundTripGPL() throws IOException {
+		testRoundTrip("gpl_medium_model.xml", false);
+	}
+
+	@Test
+	public void testRoundTripSparse() throws IOException {
+		testRoundTrip("gpl_medium_model.xml", true);
+	}
+
+	@Test
+	public void testUnsupportedContent() throws IOException {
+		final Path path = Files.createTempFile("feature_graph", ".fg");
+		try {
+			Files.write(path, new byte[] { 1, 2 });
+			assertFalse(new BinaryFeatureGraphFormat().supportsContent(path));
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void testOverwriteMappedFile() throws IOException {
+		final IFeatureGraph graph = buildGraph("car.xml", false);
+		final IFeatureGraph otherGraph = buildGraph("gpl_medium_model.xml", false);
+		final BinaryFeatureGraphFormat format = new BinaryFeatureGraphFormat();
+		final Path path = Files.createTempFile("feature_graph", ".fg");
+		try {
+			format.write(graph, path);
+			final IFeatureGraph mappedGraph = format.read(path);
+			format.write(otherGraph, path);
+			assertEqualGraphs(graph, mappedGraph);
+			assertEqualGraphs(otherGraph, format.read(path));
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void testSerializeMappedGraph() throws IOException, ClassNotFoundException {
+		final IFeatureGraph graph = buildGraph("car.xml", false);
+		final BinaryFeatureGraphFormat format = new BinaryFeatureGraphFormat();
+		final Path path = Files.createTempFile("feature_graph", ".fg");
+		try {
+			format.write(graph, path);
+			final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+				out.writeObject(format.read(path));
+			}
+			try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+				final IFeatureGraph readGraph = (IFeatureGraph) in.readObject();
+				assertTrue(readGraph instanceof MatrixFeatureGraph);
+				assertEqualGraphs(graph, readGraph);
+			}
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	private static IFeatureGraph buildGraph(String modelName, boolean sparse) {
+		final IFeatureModel fm = Commons.loadTestFeatureModelFromFile(modelName);
+		final SatInstance sat =
+			new SatInstance(AdvancedNodeCreator.createRegularCNF(fm), Functional.mapToList(fm.getFeatures(), FeatureUtils.GET_FEATURE_NAME));
+		final FGBuilder builder = new FGBuilder(sat);
+		builder.setSparse(sparse);
+		return LongRunningWrapper.runMethod(builder);
+	}
+
+	private static void testRoundTrip(String modelName, boolean sparse) throws IOException {
+		final IFeatureGraph graph = buildGraph(modelName, sparse);
+
+		final BinaryFeatureGraphFormat format = new BinaryFeatureGraphFormat();
+		final Path path = Files.createTempFile("feature_graph", ".fg");
+		try {
+			format.write(graph, path);
+			assertTrue(format.supportsContent(path));
+
+			final IFeatureGraph readGraph = format.read(path);
+			assertTrue(sparse ? (readGraph instanceof SparseFeatureGraph) : (readGraph instanceof MappedFeatureGraph));
+
+			final SatInstance sat = graph.getSatInstance();
+			final SatInstance readSat = readGraph.getSatInstance();
+			assertEquals(sat.getNumberOfVariables(), readSat.getNumberOfVariables());
+			for (int i = 1; i <= sat.getNumberOfVariables(); i++) {
+				assertEquals(sat.getVariableObject(i), readSat.getVariableObject(i));
+			}
+			assertEqualGraphs(graph, readGraph);
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	private static void assertEqualGraphs(IFeatureGraph graph, IFeatureGraph readGraph) {
+		assertEquals(graph.getSize(), readGraph.getSize());
+		assertArrayEquals(graph.getIndex(), readGraph.getIndex());
+		final int size = graph.getSize();
+		for (int i = 0; i < size; i++) {
+			for (int j = 0; j < size; j++) {
+				assertEquals(graph.getEdge(i, j), readGraph.getEdge(i, j));
+				assertEquals(graph.getValue(i, j, true), readGraph.getValue(i, j, true));
+				assertEquals(graph.getValue(i, j, false), readGraph.getValue(i, j, false));
+			}
+		}
+	}
+
+}
@@ -0,0 +1,112 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.analyses;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.prop4j.solver.SatInstance;
+
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.CNFType;
+import de.ovgu.featureide.fm.core.io.manager.FeatureModelManager;
+import de.ovgu.featureide.fm.core.io.manager.FileHandler;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Benchmark comparing the {@link BackboneAnalysis} with testing each variable separately (as done by the previous core/dead analysis) on all models of the
+ * bundled {@code featuremodels} directory. Prints the measured times and checks that both compute the same backbone.
+ */
+public class BBackboneAnalysis {
+
+	private static final File MODEL_FOLDER = new File("../../featuremodels");
+
+	/**
+	 * Warm up both configurations.
+	 */
+	static {
+		final SatInstance si = loadSatInstance(new File(MODEL_FOLDER, "GPLmedium"));
+		for (int i = 0; i < 10; i++) {
+			LongRunningWrapper.runMethod(createIterativeAnalysis(si));
+			LongRunningWrapper.runMethod(new BackboneAnalysis(si));
+		}
+	}
+
+	@Test(timeout = 120000)
+	public final void BBackboneAnalysisFeatureModels() {
+		long iterativeTotal = 0;
+		long backboneTotal = 0;
+		final File[] modelFolders = MODEL_FOLDER.listFiles();
+		Arrays.sort(modelFolders);
+		for (final File modelFolder : modelFolders) {
+			final SatInstance si = loadSatInstance(modelFolder);
+			if (si == null) {
+				continue;
+			}
+
+			long start = System.nanoTime();
+			final int[] expected = LongRunningWrapper.runMethod(createIterativeAnalysis(si));
+			final long iterativeTime = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			final int[] actual = LongRunningWrapper.runMethod(new BackboneAnalysis(si));
+			final long backboneTime = System.nanoTime() - start;
+
+			iterativeTotal += iterativeTime;
+			backboneTotal += backboneTime;
+			System.out.println(modelFolder.getName() + " (" + si.getNumberOfVariables() + " variables): iterative " + (iterativeTime / 1000000)
+				+ "ms, backbone " + (backboneTime / 1000000) + "ms");
+			Arrays.sort(expected);
+			Arrays.sort(actual);
+			assertEquals(Arrays.toString(expected), Arrays.toString(actual));
+		}
+		System.out.println("Total: iterative " + (iterativeTotal / 1000000) + "ms, backbone " + (backboneTotal / 1000000) + "ms");
+	}
+
+	private static BackboneAnalysis createIterativeAnalysis(SatInstance si) {
+		final BackboneAnalysis analysis = new BackboneAnalysis(si);
+		analysis.setChunkSize(1);
+		analysis.setClauses(null);
+		return analysis;
+	}
+
+	private static SatInstance loadSatInstance(File modelFolder) {
+		final File modelFile = new File(modelFolder, "model.xml");
+		if (!modelFile.isFile()) {
+			return null;
+		}
+		final FileHandler<IFeatureModel> fileHandler = FeatureModelManager.load(modelFile.toPath());
+		if (fileHandler.getLastProblems().containsError()) {
+			return null;
+		}
+		final IFeatureModel fm = fileHandler.getObject();
+		final AdvancedNodeCreator nodeCreator = new AdvancedNodeCreator(fm);
+		nodeCreator.setCnfType(CNFType.Regular);
+		nodeCreator.setIncludeBooleanValues(false);
+		return new SatInstance(nodeCreator.createNodes(), FeatureUtils.getFeatureNamesPreorder(fm));
+	}
+
+}
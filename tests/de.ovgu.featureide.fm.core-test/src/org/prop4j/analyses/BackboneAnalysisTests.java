@@ -0,0 +1,142 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.analyses;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.prop4j.solver.BasicSolver;
+import org.prop4j.solver.SatInstance;
+import org.sat4j.specs.ContradictionException;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.CNFType;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Tests for {@link BackboneAnalysis}. Compares chunked assumptions and the detection of rotatable literals with testing each variable separately.
+ */
+public class BackboneAnalysisTests {
+
+	@Test
+	public void testCar() {
+		compare(Commons.loadTestFeatureModelFromFile("car.xml"));
+	}
+
+	@Test
+	public void testGPL() {
+		compare(Commons.loadTestFeatureModelFromFile("gpl_medium_model.xml"));
+	}
+
+	@Test
+	public void testBerkeleyDB() {
+		compare(Commons.loadTestFeatureModelFromFile("berkeley_db_model.xml"));
+	}
+
+	@Test
+	public void testBenchmarkModel() {
+		compare(Commons.loadBenchmarkFeatureModelFromFile("200-100.xml"));
+	}
+
+	@Test
+	public void testAssumptions() {
+		final SatInstance si = createSatInstance(Commons.loadTestFeatureModelFromFile("gpl_medium_model.xml"));
+		for (int var = 1; var <= si.getNumberOfVariables(); var++) {
+			for (final int literal : new int[] { var, -var }) {
+				final BackboneAnalysis expected = new BackboneAnalysis(si);
+				expected.setChunkSize(1);
+				expected.setClauses(null);
+				expected.setAssumptions(new int[] { literal });
+
+				final BackboneAnalysis actual = new BackboneAnalysis(si);
+				actual.setAssumptions(new int[] { literal });
+
+				assertEquals(Arrays.toString(sorted(LongRunningWrapper.runMethod(expected))), Arrays.toString(sorted(LongRunningWrapper.runMethod(actual))));
+			}
+		}
+	}
+
+	@Test
+	public void testFeatures() {
+		final SatInstance si = createSatInstance(Commons.loadTestFeatureModelFromFile("berkeley_db_model.xml"));
+		final int[] features = new int[si.getNumberOfVariables() / 2];
+		for (int i = 0; i < features.length; i++) {
+			features[i] = (2 * i) + 1;
+		}
+		final int[] expected = sorted(LongRunningWrapper.runMethod(new CoreDeadAnalysis(si)));
+		int count = 0;
+		for (final int literal : expected) {
+			if ((Math.abs(literal) % 2) == 1) {
+				expected[count++] = literal;
+			}
+		}
+		assertEquals(Arrays.toString(Arrays.copyOf(expected, count)),
+				Arrays.toString(sorted(LongRunningWrapper.runMethod(new BackboneAnalysis(si, features)))));
+	}
+
+	@Test
+	public void testExternalSolver() throws ContradictionException {
+		final SatInstance si = createSatInstance(Commons.loadTestFeatureModelFromFile("berkeley_db_model.xml"));
+		final BackboneAnalysis expected = new BackboneAnalysis(si);
+		final BackboneAnalysis actual = new BackboneAnalysis(new BasicSolver(si));
+		actual.setChunkSize(4);
+		assertEquals(Arrays.toString(sorted(LongRunningWrapper.runMethod(expected))), Arrays.toString(sorted(LongRunningWrapper.runMethod(actual))));
+	}
+
+	private static void compare(IFeatureModel fm) {
+		final SatInstance si = createSatInstance(fm);
+
+		final BackboneAnalysis iterative = new BackboneAnalysis(si);
+		iterative.setChunkSize(1);
+		iterative.setClauses(null);
+		final String expected = Arrays.toString(sorted(LongRunningWrapper.runMethod(iterative)));
+
+		for (final int chunkSize : new int[] { 1, 2, 16, 1000 }) {
+			final BackboneAnalysis chunked = new BackboneAnalysis(si);
+			chunked.setChunkSize(chunkSize);
+			assertEquals(expected, Arrays.toString(sorted(LongRunningWrapper.runMethod(chunked))));
+
+			final BackboneAnalysis chunkedWithoutRotation = new BackboneAnalysis(si);
+			chunkedWithoutRotation.setChunkSize(chunkSize);
+			chunkedWithoutRotation.setClauses(null);
+			assertEquals(expected, Arrays.toString(sorted(LongRunningWrapper.runMethod(chunkedWithoutRotation))));
+		}
+	}
+
+	private static SatInstance createSatInstance(IFeatureModel fm) {
+		final AdvancedNodeCreator nodeCreator = new AdvancedNodeCreator(fm);
+		nodeCreator.setCnfType(CNFType.Regular);
+		nodeCreator.setIncludeBooleanValues(false);
+		return new SatInstance(nodeCreator.createNodes(), FeatureUtils.getFeatureNamesPreorder(fm));
+	}
+
+	private static int[] sorted(int[] literals) {
+		final int[] copy = Arrays.copyOf(literals, literals.length);
+		Arrays.sort(copy);
+		return copy;
+	}
+
+}
@@ -0,0 +1,112 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.analyses;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.prop4j.And;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.Or;
+import org.prop4j.solver.DDNNF;
+import org.prop4j.solver.SatInstance;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.CNFType;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Tests for {@link DDNNFCompiler} and {@link DDNNF}.
+ */
+public class DDNNFCompilerTests {
+
+	private static final String[] MODELS = { "car.xml", "false_optional_test.xml", "gpl_medium_model.xml", "omitMandatory.xml", "simple.xml" };
+
+	@Test
+	public void testCountSolutions() {
+		for (final String modelName : MODELS) {
+			final SatInstance si = createSatInstance(Commons.loadTestFeatureModelFromFile(modelName));
+			final DDNNF ddnnf = LongRunningWrapper.runMethod(new DDNNFCompiler(si));
+			assertNotNull(modelName, ddnnf);
+			assertEquals(modelName, BigInteger.valueOf(countByEnumeration(si, new int[0])), ddnnf.countSolutions());
+		}
+	}
+
+	@Test
+	public void testCountSolutionsWithAssumptions() {
+		for (final String modelName : MODELS) {
+			final SatInstance si = createSatInstance(Commons.loadTestFeatureModelFromFile(modelName));
+			final DDNNF ddnnf = LongRunningWrapper.runMethod(new DDNNFCompiler(si));
+			for (int var = 1; var <= si.getNumberOfVariables(); var++) {
+				for (final int literal : new int[] { var, -var }) {
+					final int[] assumptions = new int[] { literal };
+					assertEquals(modelName, BigInteger.valueOf(countByEnumeration(si, assumptions)), ddnnf.countSolutions(assumptions));
+				}
+			}
+			assertEquals(modelName, BigInteger.ZERO, ddnnf.countSolutions(new int[] { 1, -1 }));
+		}
+	}
+
+	@Test
+	public void testLargeNumberOfSolutions() {
+		final Node[] clauses = new Node[100];
+		final String[] names = new String[200];
+		for (int i = 0; i < clauses.length; i++) {
+			names[2 * i] = "a" + i;
+			names[(2 * i) + 1] = "b" + i;
+			clauses[i] = new Or(new Literal(names[2 * i]), new Literal(names[(2 * i) + 1]));
+		}
+		final SatInstance si = new SatInstance(new And(clauses), Arrays.asList(names));
+		final DDNNF ddnnf = LongRunningWrapper.runMethod(new DDNNFCompiler(si));
+		assertEquals(BigInteger.valueOf(3).pow(100), ddnnf.countSolutions());
+		assertEquals(BigInteger.valueOf(3).pow(99), ddnnf.countSolutions(new int[] { -1 }));
+	}
+
+	@Test
+	public void testContradiction() {
+		final SatInstance si = new SatInstance(new And(new Or(new Literal("a")), new Or(new Literal("a", false))));
+		final DDNNF ddnnf = LongRunningWrapper.runMethod(new DDNNFCompiler(si));
+		assertEquals(BigInteger.ZERO, ddnnf.countSolutions());
+	}
+
+	private static long countByEnumeration(SatInstance si, int[] assumptions) {
+		final CountSolutionAnalysis analysis = new CountSolutionAnalysis(si, 10000);
+		analysis.setAssumptions(assumptions);
+		return LongRunningWrapper.runMethod(analysis);
+	}
+
+	private static SatInstance createSatInstance(IFeatureModel fm) {
+		final AdvancedNodeCreator nodeCreator = new AdvancedNodeCreator(fm);
+		nodeCreator.setCnfType(CNFType.Regular);
+		nodeCreator.setIncludeBooleanValues(false);
+		nodeCreator.setUseOldNames(false);
+		return new SatInstance(nodeCreator.createNodes(), FeatureUtils.getFeatureNamesPreorder(fm));
+	}
+
+}
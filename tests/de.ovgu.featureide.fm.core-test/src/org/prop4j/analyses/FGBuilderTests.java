@@ -0,0 +1,97 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.analyses;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+import org.prop4j.Literal;
+import org.prop4j.Not;
+import org.prop4j.solver.SatInstance;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
+import de.ovgu.featureide.fm.core.conf.IFeatureGraph;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+import de.ovgu.featureide.fm.core.functional.Functional;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Tests for {@link FGBuilder}. Compares the feature graphs built with multiple threads with the one built sequentially.
+ */
+public class FGBuilderTests {
+
+	@Test
+	public void testCar() {
+		compareParallel("car.xml");
+	}
+
+	@Test
+	public void testGPL() {
+		compareParallel("gpl_medium_model.xml");
+	}
+
+	@Test
+	public void testBerkeleyDB() {
+		compareParallel("berkeley_db_model.xml");
+	}
+
+	@Test
+	public void testAPL() {
+		compareParallel("apl_model.xml");
+	}
+
+	@Test
+	public void testVoidModel() {
+		final IFeatureModel fm = Commons.loadTestFeatureModelFromFile("car.xml");
+		fm.addConstraint(FMFactoryManager.getFactory(fm).createConstraint(fm, new Not(new Literal(FeatureUtils.getRoot(fm).getName()))));
+		final FGBuilder builder = new FGBuilder(createSatInstance(fm));
+		builder.setNumberOfThreads(4);
+		assertNull(LongRunningWrapper.runMethod(builder));
+	}
+
+	private static void compareParallel(String modelName) {
+		final IFeatureModel fm = Commons.loadTestFeatureModelFromFile(modelName);
+
+		final IFeatureGraph sequentialGraph = LongRunningWrapper.runMethod(new FGBuilder(createSatInstance(fm)));
+		final FGBuilder parallelBuilder = new FGBuilder(createSatInstance(fm));
+		parallelBuilder.setNumberOfThreads(4);
+		final IFeatureGraph parallelGraph = LongRunningWrapper.runMethod(parallelBuilder);
+
+		assertEquals(sequentialGraph.getSize(), parallelGraph.getSize());
+		assertArrayEquals(sequentialGraph.getIndex(), parallelGraph.getIndex());
+		final int size = sequentialGraph.getSize();
+		for (int i = 0; i < size; i++) {
+			for (int j = 0; j < size; j++) {
+				assertEquals(modelName + " (" + i + ", " + j + ")", sequentialGraph.getEdge(i, j), parallelGraph.getEdge(i, j));
+			}
+		}
+	}
+
+	private static SatInstance createSatInstance(IFeatureModel fm) {
+		return new SatInstance(AdvancedNodeCreator.createRegularCNF(fm), Functional.mapToList(fm.getFeatures(), FeatureUtils.GET_FEATURE_NAME));
+	}
+
+}
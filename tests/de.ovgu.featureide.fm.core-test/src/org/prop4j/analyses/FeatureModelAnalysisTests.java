@@ -0,0 +1,100 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.analyses;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.prop4j.analyses.FeatureModelAnalysis.IAnalysisStage;
+import org.prop4j.solver.SatInstance;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+
+/**
+ * Tests for the stages of {@link FeatureModelAnalysis}.
+ */
+public class FeatureModelAnalysisTests {
+
+	@Test
+	public void testStageTimes() {
+		final FeatureModelAnalysis analysis = new FeatureModelAnalysis(Commons.loadTestFeatureModelFromFile("berkeley_db_model.xml"));
+		LongRunningWrapper.runMethod(analysis);
+
+		final List<String> expectedNames = new ArrayList<>();
+		for (final IAnalysisStage stage : analysis.getFeatureStages()) {
+			expectedNames.add(stage.getName());
+		}
+		for (final IAnalysisStage stage : analysis.getConstraintStages()) {
+			expectedNames.add(stage.getName());
+		}
+		assertEquals(expectedNames, new ArrayList<>(analysis.getStageTimes().keySet()));
+		for (final Long time : analysis.getStageTimes().values()) {
+			assertTrue(time >= 0);
+		}
+	}
+
+	@Test
+	public void testFeatureStagesOnly() {
+		final FeatureModelAnalysis analysis = new FeatureModelAnalysis(Commons.loadTestFeatureModelFromFile("car.xml"));
+		analysis.setCalculateConstraints(false);
+		LongRunningWrapper.runMethod(analysis);
+		assertEquals(analysis.getFeatureStages().size(), analysis.getStageTimes().size());
+	}
+
+	@Test
+	public void testSharedSatInstance() {
+		final IFeatureModel fm = Commons.loadTestFeatureModelFromFile("gpl_medium_model.xml");
+		final FeatureModelAnalysis analysis = new FeatureModelAnalysis(fm);
+		final List<SatInstance> satInstances = new ArrayList<>();
+		analysis.getConstraintStages().add(new IAnalysisStage() {
+
+			@Override
+			public String getName() {
+				return "Test";
+			}
+
+			@Override
+			public void execute(FeatureModelAnalysis analysis, IMonitor monitor) throws Exception {
+				assertNotNull(analysis.getSolver());
+				satInstances.add(analysis.getSatInstance());
+				satInstances.add(analysis.getSolver().getSatInstance());
+				satInstances.add(analysis.getStructureSatInstance());
+			}
+		});
+		LongRunningWrapper.runMethod(analysis);
+
+		assertEquals(3, satInstances.size());
+		assertSame(satInstances.get(0), satInstances.get(1));
+		assertEquals(fm.getNumberOfFeatures(), satInstances.get(2).getNumberOfVariables());
+		assertTrue(analysis.getStageTimes().containsKey("Test"));
+		assertTrue(analysis.isValid());
+	}
+
+}
@@ -0,0 +1,148 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.analyses;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.prop4j.solver.SatInstance;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.CNFType;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Tests for {@link IncrementalConditionallyCoreDeadAnalysis}. Simulates a configuration process by adding, removing, and flipping assumptions and compares the
+ * results after each step with a complete {@link ConditionallyCoreDeadAnalysis}.
+ */
+public class IncrementalConditionallyCoreDeadAnalysisTests {
+
+	private static final int STEPS = 60;
+
+	@Test
+	public void testCar() {
+		compare("car.xml");
+	}
+
+	@Test
+	public void testGPL() {
+		compare("gpl_medium_model.xml");
+	}
+
+	@Test
+	public void testBerkeleyDB() {
+		compare("berkeley_db_model.xml");
+	}
+
+	@Test
+	public void testContradiction() {
+		final SatInstance si = createSatInstance(Commons.loadTestFeatureModelFromFile("car.xml"));
+		final IncrementalConditionallyCoreDeadAnalysis analysis = new IncrementalConditionallyCoreDeadAnalysis(si);
+		final int root = si.getVariable("Car");
+		analysis.setAssumptions(new int[] { -root });
+		assertNull(LongRunningWrapper.runMethod(analysis));
+		analysis.setAssumptions(new int[0]);
+		assertEquals(expected(si, new int[0]), sorted(LongRunningWrapper.runMethod(analysis)));
+	}
+
+	private static void compare(String modelName) {
+		final SatInstance si = createSatInstance(Commons.loadTestFeatureModelFromFile(modelName));
+		final IncrementalConditionallyCoreDeadAnalysis analysis = new IncrementalConditionallyCoreDeadAnalysis(si);
+
+		final Random random = new Random(42);
+		final List<Integer> assumptions = new ArrayList<>();
+		for (int step = 0; step < STEPS; step++) {
+			final int[] assumptionArray = toArray(assumptions);
+			analysis.setAssumptions(assumptionArray);
+			final List<Integer> expected = expected(si, assumptionArray);
+			final int[] actual = LongRunningWrapper.runMethod(analysis);
+			if (expected == null) {
+				assertNull(actual);
+			} else {
+				assertEquals(expected, sorted(actual));
+			}
+
+			if ((expected == null) || (!assumptions.isEmpty() && (random.nextInt(4) == 0))) {
+				// remove or flip an assumption
+				final int index = random.nextInt(assumptions.size());
+				if (random.nextBoolean()) {
+					assumptions.remove(index);
+				} else {
+					assumptions.set(index, -assumptions.get(index));
+				}
+			} else {
+				// select or deselect an open variable
+				final int var = random.nextInt(si.getNumberOfVariables()) + 1;
+				if (!assumptions.contains(var) && !assumptions.contains(-var) && !expected.contains(var) && !expected.contains(-var)) {
+					assumptions.add(random.nextBoolean() ? var : -var);
+				}
+			}
+		}
+	}
+
+	private static List<Integer> expected(SatInstance si, int[] assumptions) {
+		final ConditionallyCoreDeadAnalysis analysis = new ConditionallyCoreDeadAnalysis(si);
+		analysis.setAssumptions(assumptions);
+		final int[] result = LongRunningWrapper.runMethod(analysis);
+		return isSatisfiable(si, assumptions) ? sorted(result) : null;
+	}
+
+	private static boolean isSatisfiable(SatInstance si, int[] assumptions) {
+		final ValidAnalysis analysis = new ValidAnalysis(si);
+		analysis.setAssumptions(assumptions);
+		return LongRunningWrapper.runMethod(analysis) != null;
+	}
+
+	private static SatInstance createSatInstance(IFeatureModel fm) {
+		final AdvancedNodeCreator nodeCreator = new AdvancedNodeCreator(fm);
+		nodeCreator.setCnfType(CNFType.Regular);
+		nodeCreator.setIncludeBooleanValues(false);
+		return new SatInstance(nodeCreator.createNodes(), FeatureUtils.getFeatureNamesPreorder(fm));
+	}
+
+	private static int[] toArray(List<Integer> list) {
+		final int[] array = new int[list.size()];
+		for (int i = 0; i < array.length; i++) {
+			array[i] = list.get(i);
+		}
+		return array;
+	}
+
+	private static List<Integer> sorted(int[] literals) {
+		final int[] copy = Arrays.copyOf(literals, literals.length);
+		Arrays.sort(copy);
+		final List<Integer> list = new ArrayList<>(copy.length);
+		for (final int literal : copy) {
+			list.add(literal);
+		}
+		return list;
+	}
+
+}
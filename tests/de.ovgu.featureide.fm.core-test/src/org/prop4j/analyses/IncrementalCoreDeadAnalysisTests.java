@@ -0,0 +1,156 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.analyses;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.prop4j.Implies;
+import org.prop4j.Literal;
+import org.prop4j.Not;
+import org.prop4j.solver.SatInstance;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IConstraint;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureModelFactory;
+import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.CNFType;
+import de.ovgu.featureide.fm.core.functional.Functional;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Tests for {@link IncrementalCoreDeadAnalysis}. Compares the incremental results after each model change with a complete {@link CoreDeadAnalysis}.
+ */
+public class IncrementalCoreDeadAnalysisTests {
+
+	@Test
+	public void testUnchangedModel() {
+		final IFeatureModel fm = Commons.loadTestFeatureModelFromFile("car.xml");
+		final IncrementalCoreDeadAnalysis analysis = new IncrementalCoreDeadAnalysis(fm);
+		assertEquals(getCoreDead(fm), getCoreDead(analysis));
+		assertEquals(getCoreDead(fm), getCoreDead(analysis));
+	}
+
+	@Test
+	public void testConstraintChanges() {
+		final IFeatureModel fm = Commons.loadTestFeatureModelFromFile("berkeley_db_model.xml");
+		final IFeatureModelFactory factory = FMFactoryManager.getFactory(fm);
+		final IncrementalCoreDeadAnalysis analysis = new IncrementalCoreDeadAnalysis(fm);
+		assertEquals(getCoreDead(fm), getCoreDead(analysis));
+
+		final List<IFeature> features = Functional.toList(fm.getFeatures());
+		final IFeature feature1 = features.get(features.size() / 2);
+		final IFeature feature2 = features.get(features.size() - 1);
+
+		final IConstraint deadConstraint = factory.createConstraint(fm, new Not(new Literal(feature1.getName())));
+		fm.addConstraint(deadConstraint);
+		assertEquals(getCoreDead(fm), getCoreDead(analysis));
+
+		final IConstraint implyConstraint = factory.createConstraint(fm, new Implies(new Literal(feature2.getName()), new Literal(feature1.getName())));
+		fm.addConstraint(implyConstraint);
+		assertEquals(getCoreDead(fm), getCoreDead(analysis));
+
+		fm.removeConstraint(deadConstraint);
+		assertEquals(getCoreDead(fm), getCoreDead(analysis));
+
+		implyConstraint.setNode(new Implies(new Literal(feature1.getName()), new Literal(feature2.getName())));
+		assertEquals(getCoreDead(fm), getCoreDead(analysis));
+
+		fm.removeConstraint(implyConstraint);
+		assertEquals(getCoreDead(fm), getCoreDead(analysis));
+	}
+
+	@Test
+	public void testStructureChanges() {
+		final IFeatureModel fm = Commons.loadTestFeatureModelFromFile("gpl_medium_model.xml");
+		final IFeatureModelFactory factory = FMFactoryManager.getFactory(fm);
+		final IncrementalCoreDeadAnalysis analysis = new IncrementalCoreDeadAnalysis(fm);
+		assertEquals(getCoreDead(fm), getCoreDead(analysis));
+
+		final IFeature root = FeatureUtils.getRoot(fm);
+		final IFeature newFeature = factory.createFeature(fm, "NewFeature");
+		fm.addFeature(newFeature);
+		root.getStructure().addChild(newFeature.getStructure());
+		newFeature.getStructure().setMandatory(true);
+		assertEquals(getCoreDead(fm), getCoreDead(analysis));
+
+		newFeature.getStructure().setMandatory(false);
+		assertEquals(getCoreDead(fm), getCoreDead(analysis));
+
+		for (final IFeature feature : fm.getFeatures()) {
+			if (feature.getStructure().isAnd() && feature.getStructure().hasChildren()) {
+				feature.getStructure().getFirstChild().setMandatory(!feature.getStructure().getFirstChild().isMandatory());
+				assertEquals(getCoreDead(fm), getCoreDead(analysis));
+			}
+		}
+
+		root.getStructure().removeChild(newFeature.getStructure());
+		fm.deleteFeatureFromTable(newFeature);
+		assertEquals(getCoreDead(fm), getCoreDead(analysis));
+	}
+
+	@Test
+	public void testVoidModel() {
+		final IFeatureModel fm = Commons.loadTestFeatureModelFromFile("car.xml");
+		final IFeatureModelFactory factory = FMFactoryManager.getFactory(fm);
+		final IncrementalCoreDeadAnalysis analysis = new IncrementalCoreDeadAnalysis(fm);
+		assertEquals(getCoreDead(fm), getCoreDead(analysis));
+
+		final IConstraint voidConstraint = factory.createConstraint(fm, new Not(new Literal(FeatureUtils.getRoot(fm).getName())));
+		fm.addConstraint(voidConstraint);
+		assertNull(LongRunningWrapper.runMethod(analysis));
+
+		fm.removeConstraint(voidConstraint);
+		assertEquals(getCoreDead(fm), getCoreDead(analysis));
+	}
+
+	private static Set<String> getCoreDead(IncrementalCoreDeadAnalysis analysis) {
+		final int[] result = LongRunningWrapper.runMethod(analysis);
+		return toNames(result, analysis.getSatInstance());
+	}
+
+	private static Set<String> getCoreDead(IFeatureModel fm) {
+		final AdvancedNodeCreator nodeCreator = new AdvancedNodeCreator(fm);
+		nodeCreator.setCnfType(CNFType.Regular);
+		nodeCreator.setIncludeBooleanValues(false);
+		nodeCreator.setUseOldNames(false);
+		final SatInstance si = new SatInstance(nodeCreator.createNodes(), FeatureUtils.getFeatureNamesPreorder(fm));
+		return toNames(LongRunningWrapper.runMethod(new CoreDeadAnalysis(si)), si);
+	}
+
+	private static Set<String> toNames(int[] literals, SatInstance si) {
+		final Set<String> names = new HashSet<>();
+		for (final int literal : literals) {
+			names.add((literal > 0 ? "" : "-") + si.getVariableObject(literal));
+		}
+		return names;
+	}
+
+}
@@ -0,0 +1,277 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.analyses;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.Test;
+import org.prop4j.And;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.Not;
+import org.prop4j.Or;
+import org.prop4j.solver.ModifiableSolver;
+import org.prop4j.solver.SatInstance;
+import org.sat4j.specs.ContradictionException;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.ConstraintAttribute;
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IConstraint;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureModelFactory;
+import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.CNFType;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.ModelType;
+import de.ovgu.featureide.fm.core.functional.Functional;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Tests for {@link ParallelCoreDeadAnalysis}, {@link ParallelImplicationAnalysis}, and the parallel constraint checks of {@link FeatureModelAnalysis}.
+ * Compares the results with the sequential analyses.
+ */
+public class ParallelAnalysesTests {
+
+	private static final String[] MODELS = { "car.xml", "false_optional_test.xml", "berkeley_db_model.xml", "gpl_medium_model.xml", "500-100.xml" };
+
+	@Test
+	public void testCoreDead() {
+		for (final String modelName : MODELS) {
+			final SatInstance si = createSatInstance(Commons.loadTestFeatureModelFromFile(modelName));
+			final int[] expected = sort(LongRunningWrapper.runMethod(new CoreDeadAnalysis(si)), si.getNumberOfVariables());
+			for (int numberOfThreads = 1; numberOfThreads <= 4; numberOfThreads++) {
+				final ParallelCoreDeadAnalysis analysis = new ParallelCoreDeadAnalysis(si);
+				analysis.setNumberOfThreads(numberOfThreads);
+				assertArrayEquals(modelName, expected, LongRunningWrapper.runMethod(analysis));
+			}
+		}
+	}
+
+	@Test
+	public void testFalseOptional() {
+		for (final String modelName : MODELS) {
+			final IFeatureModel fm = Commons.loadTestFeatureModelFromFile(modelName);
+			final SatInstance si = createSatInstance(fm);
+			final List<int[]> pairs = new ArrayList<>();
+			for (final IFeature feature : fm.getFeatures()) {
+				final IFeature parent = FeatureUtils.getParent(feature);
+				if (parent != null) {
+					pairs.add(new int[] { -si.getVariable(parent.getName()), si.getVariable(feature.getName()) });
+				}
+			}
+			final List<int[]> expected = LongRunningWrapper.runMethod(new ImplicationAnalysis(si, pairs));
+			for (int numberOfThreads = 1; numberOfThreads <= 4; numberOfThreads++) {
+				final ParallelImplicationAnalysis analysis = new ParallelImplicationAnalysis(si, pairs);
+				analysis.setNumberOfThreads(numberOfThreads);
+				final List<int[]> actual = LongRunningWrapper.runMethod(analysis);
+				assertEquals(modelName, expected.size(), actual.size());
+				for (int i = 0; i < expected.size(); i++) {
+					assertArrayEquals(modelName, expected.get(i), actual.get(i));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testRedundantConstraints() throws ContradictionException {
+		for (final String modelName : MODELS) {
+			final IFeatureModel fm = addAnomalies(Commons.loadTestFeatureModelFromFile(modelName));
+			final List<Boolean> expected = getRedundantConstraints(fm);
+			for (int numberOfThreads = 2; numberOfThreads <= 4; numberOfThreads++) {
+				final List<Boolean> actual = new ArrayList<>();
+				for (final String attribute : getConstraintAttributes(fm, numberOfThreads, true)) {
+					actual.add(attribute.startsWith(ConstraintAttribute.REDUNDANT.name()) || attribute.startsWith(ConstraintAttribute.TAUTOLOGY.name()));
+				}
+				assertEquals(modelName, expected, actual);
+			}
+		}
+	}
+
+	@Test
+	public void testDeadAndFalseOptionalConstraints() {
+		for (final String modelName : MODELS) {
+			final IFeatureModel fm = addAnomalies(Commons.loadTestFeatureModelFromFile(modelName));
+			assertSameResults(modelName, fm, false);
+		}
+	}
+
+	@Test
+	public void testUnsatisfiableConstraints() {
+		for (final String modelName : MODELS) {
+			final IFeatureModel fm = addAnomalies(Commons.loadTestFeatureModelFromFile(modelName));
+			final IFeatureModelFactory factory = FMFactoryManager.getFactory(fm);
+			final List<IFeature> features = Functional.toList(fm.getFeatures());
+			final String name = features.get(features.size() / 3).getName();
+			fm.addConstraint(factory.createConstraint(fm, new Literal(name)));
+			fm.addConstraint(factory.createConstraint(fm, new Not(new Literal(name))));
+			fm.addConstraint(factory.createConstraint(fm, new And(new Literal(name), new Not(new Literal(name)))));
+			assertSameResults(modelName, fm, true);
+		}
+	}
+
+	/**
+	 * Excluding a core feature is classified as {@link ConstraintAttribute#UNSATISFIABLE} by the sequential check, as adding it to the solver already fails.
+	 */
+	@Test
+	public void testUnsatisfiableCoreFeature() {
+		final IFeatureModel fm = Commons.loadTestFeatureModelFromFile("car.xml");
+		final IFeatureModelFactory factory = FMFactoryManager.getFactory(fm);
+		final IConstraint constraint = factory.createConstraint(fm, new Not(new Literal("Carbody")));
+		fm.addConstraint(constraint);
+
+		assertEquals(ConstraintAttribute.UNSATISFIABLE, getResult(fm, 1, true).get(constraint));
+		for (int numberOfThreads = 2; numberOfThreads <= 4; numberOfThreads++) {
+			assertEquals(ConstraintAttribute.UNSATISFIABLE, getResult(fm, numberOfThreads, true).get(constraint));
+		}
+		assertSameResults("car.xml", fm, true);
+	}
+
+	@Test
+	public void testDeterministicConstraintAttributes() {
+		for (final String modelName : MODELS) {
+			final IFeatureModel fm = addAnomalies(Commons.loadTestFeatureModelFromFile(modelName));
+			assertSameResults(modelName, fm, true);
+		}
+	}
+
+	/**
+	 * Compares the result map and the constraint attributes of the parallel analyses with the sequential analysis.
+	 */
+	private static void assertSameResults(String modelName, IFeatureModel fm, boolean calculateRedundantConstraints) {
+		final HashMap<Object, Object> expectedResult = getResult(fm, 1, calculateRedundantConstraints);
+		final List<String> expectedAttributes = getConstraintAttributes(fm);
+		for (int numberOfThreads = 2; numberOfThreads <= 4; numberOfThreads++) {
+			assertEquals(modelName, expectedResult, getResult(fm, numberOfThreads, calculateRedundantConstraints));
+			assertEquals(modelName, expectedAttributes, getConstraintAttributes(fm));
+		}
+	}
+
+	private static IFeatureModel addAnomalies(IFeatureModel fm) {
+		final IFeatureModelFactory factory = FMFactoryManager.getFactory(fm);
+		final List<IFeature> features = Functional.toList(fm.getFeatures());
+		final String name1 = features.get(features.size() / 2).getName();
+		String name2 = null;
+		for (final IFeature feature : features) {
+			if (!feature.getStructure().isRoot() && !feature.getStructure().isMandatory()) {
+				name2 = feature.getName();
+			}
+		}
+		if (!fm.getConstraints().isEmpty()) {
+			fm.addConstraint(factory.createConstraint(fm, fm.getConstraints().get(0).getNode().clone()));
+		}
+		fm.addConstraint(factory.createConstraint(fm, new Or(new Literal(name1), new Not(new Literal(name1)))));
+		fm.addConstraint(factory.createConstraint(fm, new Not(new Literal(name2))));
+		fm.addConstraint(factory.createConstraint(fm, new Or(new Not(new Literal(name1)), new Not(new Literal(name2)))));
+		return fm;
+	}
+
+	/**
+	 * Checks the constraints in order, each with a new solver containing the structure and all constraints that were not found to be redundant before.
+	 */
+	private static List<Boolean> getRedundantConstraints(IFeatureModel fm) throws ContradictionException {
+		final AdvancedNodeCreator nodeCreator = new AdvancedNodeCreator(fm);
+		nodeCreator.setCnfType(CNFType.Regular);
+		nodeCreator.setIncludeBooleanValues(false);
+		nodeCreator.setUseOldNames(false);
+		nodeCreator.setModelType(ModelType.OnlyStructure);
+		final SatInstance si = new SatInstance(nodeCreator.createNodes(), FeatureUtils.getFeatureNamesPreorder(fm));
+
+		final List<IConstraint> constraints = fm.getConstraints();
+		final List<Boolean> redundant = new ArrayList<>();
+		for (int i = 0; i < constraints.size(); i++) {
+			final ModifiableSolver solver = new ModifiableSolver(si);
+			for (int j = 0; j < constraints.size(); j++) {
+				if ((i != j) && ((j > i) || !redundant.get(j))) {
+					solver.addClauses(constraints.get(j).getNode().toRegularCNF());
+				}
+			}
+			boolean implied = true;
+			for (final Node clause : constraints.get(i).getNode().toRegularCNF().getChildren()) {
+				if (!solver.isImplied(clause.getChildren())) {
+					implied = false;
+					break;
+				}
+			}
+			redundant.add(implied);
+		}
+		return redundant;
+	}
+
+	private static HashMap<Object, Object> getResult(IFeatureModel fm, int numberOfThreads, boolean calculateRedundantConstraints) {
+		final FeatureModelAnalysis analysis = new FeatureModelAnalysis(fm);
+		analysis.setNumberOfThreads(numberOfThreads);
+		analysis.setCalculateRedundantConstraints(calculateRedundantConstraints);
+		analysis.setCalculateTautologyConstraints(calculateRedundantConstraints);
+		return new HashMap<>(LongRunningWrapper.runMethod(analysis));
+	}
+
+	private static List<String> getConstraintAttributes(IFeatureModel fm, int numberOfThreads, boolean calculateRedundantConstraints) {
+		getResult(fm, numberOfThreads, calculateRedundantConstraints);
+		return getConstraintAttributes(fm);
+	}
+
+	private static List<String> getConstraintAttributes(IFeatureModel fm) {
+		final List<String> attributes = new ArrayList<>();
+		for (final IConstraint constraint : fm.getConstraints()) {
+			attributes.add(constraint.getConstraintAttribute() + " " + getNames(constraint.getDeadFeatures()) + " " + getNames(constraint.getFalseOptional()));
+		}
+		return attributes;
+	}
+
+	private static List<String> getNames(Iterable<IFeature> features) {
+		final List<String> names = new ArrayList<>();
+		for (final IFeature feature : features) {
+			names.add(feature.getName());
+		}
+		return names;
+	}
+
+	private static SatInstance createSatInstance(IFeatureModel fm) {
+		final AdvancedNodeCreator nodeCreator = new AdvancedNodeCreator(fm);
+		nodeCreator.setCnfType(CNFType.Regular);
+		nodeCreator.setIncludeBooleanValues(false);
+		nodeCreator.setUseOldNames(false);
+		return new SatInstance(nodeCreator.createNodes(), FeatureUtils.getFeatureNamesPreorder(fm));
+	}
+
+	private static int[] sort(int[] literals, int numberOfVariables) {
+		final int[] sortedLiterals = new int[numberOfVariables];
+		for (final int literal : literals) {
+			sortedLiterals[Math.abs(literal) - 1] = literal;
+		}
+		final int[] result = new int[literals.length];
+		int j = 0;
+		for (final int literal : sortedLiterals) {
+			if (literal != 0) {
+				result[j++] = literal;
+			}
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,195 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.analyses;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.prop4j.solver.BasicSolver;
+import org.prop4j.solver.ISatSolver;
+import org.prop4j.solver.SatInstance;
+import org.sat4j.specs.ContradictionException;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.CNFType;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Tests for {@link TWiseConfigurationGenerator} and {@link ParallelTWiseConfigurationGenerator}. Checks the coverage of the generated samples against a brute force enumeration of all valid combinations.
+ */
+public class TWiseConfigurationGeneratorTests {
+
+	@Test
+	public void testOneWise() throws ContradictionException {
+		checkCoverage("car.xml", 1);
+		checkCoverage("gpl_medium_model.xml", 1);
+	}
+
+	@Test
+	public void testPairWise() throws ContradictionException {
+		checkCoverage("car.xml", 2);
+		checkCoverage("gpl_medium_model.xml", 2);
+	}
+
+	@Test
+	public void testThreeWise() throws ContradictionException {
+		checkCoverage("car.xml", 3);
+		checkCoverage("gpl_medium_model.xml", 3);
+	}
+
+	@Test
+	public void testMaxNumber() throws ContradictionException {
+		final SatInstance si = createSatInstance(Commons.loadTestFeatureModelFromFile("gpl_medium_model.xml"));
+		final TWiseConfigurationGenerator generator = new TWiseConfigurationGenerator(si, 2, 2);
+		final List<List<String>> configurations = LongRunningWrapper.runMethod(generator);
+		assertNotNull(configurations);
+		assertEquals(2, configurations.size());
+		assertTrue(generator.getNumberOfUncoveredCombinations() > 0);
+		checkValid(si, generator.getConfigurationModels());
+	}
+
+	@Test
+	public void testParallel() throws ContradictionException {
+		checkParallelCoverage("car.xml", 2);
+		checkParallelCoverage("gpl_medium_model.xml", 2);
+		checkParallelCoverage("gpl_medium_model.xml", 3);
+	}
+
+	@Test
+	public void testParallelMaxNumber() throws ContradictionException {
+		final SatInstance si = createSatInstance(Commons.loadTestFeatureModelFromFile("gpl_medium_model.xml"));
+		final ParallelTWiseConfigurationGenerator generator = new ParallelTWiseConfigurationGenerator(si, 2, 2);
+		generator.setNumberOfThreads(4);
+		final List<List<String>> configurations = LongRunningWrapper.runMethod(generator);
+		assertNotNull(configurations);
+		assertEquals(2, configurations.size());
+		assertTrue(generator.getNumberOfUncoveredCombinations() > 0);
+		checkValid(si, generator.getConfigurationModels());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidT() {
+		new TWiseConfigurationGenerator(createSatInstance(Commons.loadTestFeatureModelFromFile("car.xml")), 5, 10);
+	}
+
+	private static void checkCoverage(String modelName, int t) throws ContradictionException {
+		final SatInstance si = createSatInstance(Commons.loadTestFeatureModelFromFile(modelName));
+		final TWiseConfigurationGenerator generator = new TWiseConfigurationGenerator(si, t, Integer.MAX_VALUE);
+		final List<List<String>> configurations = LongRunningWrapper.runMethod(generator);
+		assertNotNull(configurations);
+		assertEquals(0, generator.getNumberOfUncoveredCombinations());
+
+		final List<int[]> models = generator.getConfigurationModels();
+		assertEquals(configurations.size(), models.size());
+		checkCoverage(si, t, models);
+	}
+
+	private static void checkParallelCoverage(String modelName, int t) throws ContradictionException {
+		final SatInstance si = createSatInstance(Commons.loadTestFeatureModelFromFile(modelName));
+		final ParallelTWiseConfigurationGenerator generator = new ParallelTWiseConfigurationGenerator(si, t, Integer.MAX_VALUE);
+		generator.setNumberOfThreads(4);
+		final List<List<String>> configurations = LongRunningWrapper.runMethod(generator);
+		assertNotNull(configurations);
+		assertEquals(0, generator.getNumberOfUncoveredCombinations());
+
+		final List<int[]> models = generator.getConfigurationModels();
+		assertEquals(configurations.size(), models.size());
+		checkCoverage(si, t, models);
+	}
+
+	private static void checkCoverage(SatInstance si, int t, List<int[]> models) throws ContradictionException {
+		checkValid(si, models);
+
+		final BasicSolver solver = new BasicSolver(si);
+		final int n = si.getNumberOfVariables();
+		final int[] combination = new int[t];
+		final int[] literals = new int[t];
+		for (int i = 0; i < t; i++) {
+			combination[i] = i + 1;
+		}
+		while (true) {
+			for (int signs = 0; signs < (1 << t); signs++) {
+				for (int i = 0; i < t; i++) {
+					literals[i] = ((signs & (1 << i)) != 0) ? combination[i] : -combination[i];
+				}
+				if (isValid(solver, literals)) {
+					assertTrue(isCovered(models, literals));
+				}
+			}
+			int i = t - 1;
+			while ((i >= 0) && (combination[i] == ((n - t) + i + 1))) {
+				i--;
+			}
+			if (i < 0) {
+				break;
+			}
+			combination[i]++;
+			for (int j = i + 1; j < t; j++) {
+				combination[j] = combination[j - 1] + 1;
+			}
+		}
+	}
+
+	private static void checkValid(SatInstance si, List<int[]> models) throws ContradictionException {
+		final BasicSolver solver = new BasicSolver(si);
+		for (final int[] model : models) {
+			assertEquals(si.getNumberOfVariables(), model.length);
+			assertTrue(isValid(solver, model));
+		}
+	}
+
+	private static boolean isValid(BasicSolver solver, int[] literals) {
+		for (final int literal : literals) {
+			solver.assignmentPush(literal);
+		}
+		final boolean valid = solver.isSatisfiable() == ISatSolver.SatResult.TRUE;
+		solver.assignmentClear(0);
+		return valid;
+	}
+
+	private static boolean isCovered(List<int[]> models, int[] literals) {
+		modelLoop: for (final int[] model : models) {
+			for (final int literal : literals) {
+				if (model[Math.abs(literal) - 1] != literal) {
+					continue modelLoop;
+				}
+			}
+			return true;
+		}
+		return false;
+	}
+
+	private static SatInstance createSatInstance(IFeatureModel fm) {
+		final AdvancedNodeCreator nodeCreator = new AdvancedNodeCreator(fm);
+		nodeCreator.setCnfType(CNFType.Regular);
+		nodeCreator.setIncludeBooleanValues(false);
+		nodeCreator.setUseOldNames(false);
+		return new SatInstance(nodeCreator.createNodes(), FeatureUtils.getFeatureNamesPreorder(fm));
+	}
+
+}
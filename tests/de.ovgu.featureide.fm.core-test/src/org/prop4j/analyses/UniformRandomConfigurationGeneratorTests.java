@@ -0,0 +1,181 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.analyses;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+import org.prop4j.And;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.Or;
+import org.prop4j.solver.BasicSolver;
+import org.prop4j.solver.DDNNF;
+import org.prop4j.solver.ISatSolver;
+import org.prop4j.solver.SatInstance;
+import org.sat4j.specs.ContradictionException;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.CNFType;
+import de.ovgu.featureide.fm.core.functional.Functional.IConsumer;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
+
+/**
+ * Tests for {@link UniformRandomConfigurationGenerator} and {@link DDNNF#sample(Random)}.
+ */
+public class UniformRandomConfigurationGeneratorTests {
+
+	@Test
+	public void testValidConfigurations() throws ContradictionException {
+		for (final String modelName : new String[] { "car.xml", "gpl_medium_model.xml", "berkeley_db_model.xml" }) {
+			final SatInstance si = createSatInstance(Commons.loadTestFeatureModelFromFile(modelName));
+			final DDNNF ddnnf = LongRunningWrapper.runMethod(new DDNNFCompiler(si));
+			assertNotNull(modelName, ddnnf);
+			final BasicSolver solver = new BasicSolver(si);
+			final Random random = new Random(0);
+			for (int i = 0; i < 100; i++) {
+				final int[] model = ddnnf.sample(random);
+				for (int j = 0; j < model.length; j++) {
+					assertEquals(modelName, j + 1, Math.abs(model[j]));
+					solver.assignmentPush(model[j]);
+				}
+				assertEquals(modelName, ISatSolver.SatResult.TRUE, solver.isSatisfiable());
+				solver.assignmentClear(0);
+			}
+		}
+	}
+
+	@Test
+	public void testUniformDistribution() {
+		final SatInstance si = createSatInstance(Commons.loadTestFeatureModelFromFile("car.xml"));
+		final DDNNF ddnnf = LongRunningWrapper.runMethod(new DDNNFCompiler(si));
+		final int numberOfSolutions = ddnnf.countSolutions().intValue();
+		final int samplesPerSolution = 1000;
+
+		final Map<String, Integer> frequencies = new HashMap<>();
+		final Random random = new Random(42);
+		for (int i = 0; i < (numberOfSolutions * samplesPerSolution); i++) {
+			final String key = Arrays.toString(ddnnf.sample(random));
+			final Integer frequency = frequencies.get(key);
+			frequencies.put(key, frequency == null ? 1 : frequency + 1);
+		}
+		assertEquals(numberOfSolutions, frequencies.size());
+		for (final Integer frequency : frequencies.values()) {
+			assertTrue(frequency > (samplesPerSolution * 0.8));
+			assertTrue(frequency < (samplesPerSolution * 1.2));
+		}
+	}
+
+	@Test
+	public void testLargeNumberOfSolutions() {
+		final Node[] clauses = new Node[100];
+		final String[] names = new String[200];
+		for (int i = 0; i < clauses.length; i++) {
+			names[2 * i] = "a" + i;
+			names[(2 * i) + 1] = "b" + i;
+			clauses[i] = new Or(new Literal(names[2 * i]), new Literal(names[(2 * i) + 1]));
+		}
+		final SatInstance si = new SatInstance(new And(clauses), Arrays.asList(names));
+		final DDNNF ddnnf = LongRunningWrapper.runMethod(new DDNNFCompiler(si));
+
+		// each variable is selected in two of the three solutions of its clause
+		int selected = 0;
+		final int numberOfSamples = 1000;
+		final Random random = new Random(0);
+		for (int i = 0; i < numberOfSamples; i++) {
+			final int[] model = ddnnf.sample(random);
+			for (int j = 0; j < model.length; j += 2) {
+				assertTrue((model[j] > 0) || (model[j + 1] > 0));
+			}
+			for (final int literal : model) {
+				if (literal > 0) {
+					selected++;
+				}
+			}
+		}
+		final double ratio = selected / (double) (numberOfSamples * names.length);
+		assertEquals(2.0 / 3.0, ratio, 0.01);
+	}
+
+	@Test
+	public void testSeed() {
+		final SatInstance si = createSatInstance(Commons.loadTestFeatureModelFromFile("gpl_medium_model.xml"));
+		final UniformRandomConfigurationGenerator generator = new UniformRandomConfigurationGenerator(si, 50);
+		generator.setSeed(123);
+		final List<List<String>> configurations1 = LongRunningWrapper.runMethod(generator);
+		final List<List<String>> configurations2 = LongRunningWrapper.runMethod(generator);
+		generator.setSeed(321);
+		final List<List<String>> configurations3 = LongRunningWrapper.runMethod(generator);
+		assertNotNull(configurations1);
+		assertEquals(50, configurations1.size());
+		assertEquals(configurations1, configurations2);
+		assertFalse(configurations1.equals(configurations3));
+	}
+
+	@Test
+	public void testIntermediateFunction() {
+		final SatInstance si = createSatInstance(Commons.loadTestFeatureModelFromFile("car.xml"));
+		final UniformRandomConfigurationGenerator generator = new UniformRandomConfigurationGenerator(si, 1000);
+		generator.setStoreConfigurations(false);
+		final List<int[]> models = new ArrayList<>();
+		final NullMonitor monitor = new NullMonitor();
+		monitor.setIntermediateFunction(new IConsumer<Object>() {
+
+			@Override
+			public void invoke(Object t) {
+				models.add((int[]) t);
+			}
+		});
+		assertTrue(LongRunningWrapper.runMethod(generator, monitor).isEmpty());
+		assertEquals(1000, models.size());
+	}
+
+	@Test
+	public void testContradiction() {
+		final SatInstance si = new SatInstance(new And(new Or(new Literal("a")), new Or(new Literal("a", false))));
+		final List<List<String>> configurations = LongRunningWrapper.runMethod(new UniformRandomConfigurationGenerator(si, 10));
+		assertNotNull(configurations);
+		assertTrue(configurations.isEmpty());
+	}
+
+	private static SatInstance createSatInstance(IFeatureModel fm) {
+		final AdvancedNodeCreator nodeCreator = new AdvancedNodeCreator(fm);
+		nodeCreator.setCnfType(CNFType.Regular);
+		nodeCreator.setIncludeBooleanValues(false);
+		nodeCreator.setUseOldNames(false);
+		return new SatInstance(nodeCreator.createNodes(), FeatureUtils.getFeatureNamesPreorder(fm));
+	}
+
+}
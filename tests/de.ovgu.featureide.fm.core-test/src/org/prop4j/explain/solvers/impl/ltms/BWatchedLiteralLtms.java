@@ -0,0 +1,115 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.explain.solvers.impl.ltms;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.prop4j.Node;
+import org.prop4j.explain.solvers.MusExtractor;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.CNFType;
+import de.ovgu.featureide.fm.core.editing.NodeCreator;
+
+/**
+ * Benchmark comparing {@link WatchedLiteralLtms} with {@link Ltms}. Tries to explain the selection and deselection of each feature, similar to explaining
+ * automatic selections in a configuration. Prints the measured times and checks that both find contradictions for the same premises.
+ */
+public class BWatchedLiteralLtms {
+
+	/**
+	 * Warm up both implementations.
+	 */
+	static {
+		final IFeatureModel fm = Commons.loadBenchmarkFeatureModelFromFile("50-100.xml");
+		for (int i = 0; i < 10; i++) {
+			explainAll(new Ltms(), fm);
+			explainAll(new WatchedLiteralLtms(), fm);
+		}
+	}
+
+	@Test(timeout = 2000)
+	public final void BWatchedLiteralLtms100() {
+		compare("100-100.xml");
+	}
+
+	@Test(timeout = 10000)
+	public final void BWatchedLiteralLtms200() {
+		compare("200-100.xml");
+	}
+
+	@Test(timeout = 60000)
+	public final void BWatchedLiteralLtms500() {
+		compare("500-101.xml");
+	}
+
+	@Test(timeout = 10000)
+	public final void BWatchedLiteralLtmsBerkeleyDB() {
+		compare("berkeley_db_model.xml");
+	}
+
+	private static void compare(String modelName) {
+		final IFeatureModel fm = Commons.loadBenchmarkFeatureModelFromFile(modelName);
+
+		long start = System.nanoTime();
+		final int expected = explainAll(new Ltms(), fm);
+		final long ltmsTime = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		final int actual = explainAll(new WatchedLiteralLtms(), fm);
+		final long watchedLiteralLtmsTime = System.nanoTime() - start;
+
+		System.out.println(modelName + ": Ltms " + (ltmsTime / 1000000) + "ms, WatchedLiteralLtms " + (watchedLiteralLtmsTime / 1000000) + "ms");
+		assertEquals(expected, actual);
+	}
+
+	/**
+	 * Tries to explain why each feature cannot be selected or deselected.
+	 *
+	 * @param ltms the LTMS to use
+	 * @param fm the feature model
+	 * @return the amount of premises leading to a contradiction
+	 */
+	private static int explainAll(MusExtractor ltms, IFeatureModel fm) {
+		final AdvancedNodeCreator nodeCreator = new AdvancedNodeCreator(fm);
+		nodeCreator.setCnfType(CNFType.Regular);
+		nodeCreator.setIncludeBooleanValues(false);
+		final Node cnf = nodeCreator.createNodes();
+		ltms.addFormula(cnf);
+
+		int contradictions = 0;
+		for (final IFeature feature : fm.getFeatures()) {
+			for (final boolean value : new boolean[] { true, false }) {
+				ltms.push();
+				ltms.addAssumption(NodeCreator.getVariable(feature), value);
+				if (!ltms.getAllMinimalUnsatisfiableSubsetIndexes().isEmpty()) {
+					contradictions++;
+				}
+				ltms.pop();
+			}
+		}
+		return contradictions;
+	}
+}
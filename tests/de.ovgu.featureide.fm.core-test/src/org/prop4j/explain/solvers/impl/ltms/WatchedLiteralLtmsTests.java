@@ -0,0 +1,189 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.explain.solvers.impl.ltms;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.prop4j.And;
+import org.prop4j.Equals;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.Not;
+import org.prop4j.Or;
+import org.prop4j.SatSolver;
+import org.prop4j.explain.solvers.MusExtractor;
+import org.prop4j.explain.solvers.MusExtractorTests;
+import org.sat4j.specs.TimeoutException;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.CNFType;
+import de.ovgu.featureide.fm.core.editing.NodeCreator;
+
+/**
+ * Tests for {@link WatchedLiteralLtms}.
+ */
+public class WatchedLiteralLtmsTests extends MusExtractorTests {
+
+	/**
+	 * BCP is incomplete, so the contradiction that can only be found by case distinction remains undetected.
+	 */
+	@Override
+	@Test
+	public void testSatisfiableIncremental() {
+		final MusExtractor solver = getInstance();
+		solver.addFormula(new Or("A", "B"));
+		assertTrue(solver.isSatisfiable());
+		solver.addFormula(new Or("A", new Not("A")));
+		assertTrue(solver.isSatisfiable());
+		solver.addFormula(new Equals("A", "B"));
+		assertTrue(solver.isSatisfiable());
+		solver.addFormula(new Or(new Not("A"), new Not("B")));
+		assertTrue(solver.isSatisfiable());
+		solver.addAssumption("A", true);
+		assertFalse(solver.isSatisfiable());
+	}
+
+	@Test
+	public void testSameAsLtms() {
+		testSameAsLtms("car.xml");
+		testSameAsLtms("gpl_medium_model.xml");
+		testSameAsLtms("berkeley_db_model.xml");
+	}
+
+	@Test
+	public void testRemoveClause() {
+		final WatchedLiteralLtms instance = getInstance();
+		instance.addFormula(new Or("A", "B"));
+		instance.addFormula(new Literal("C"));
+		instance.addFormula(new Or(new Not("B"), new Not("C")));
+		instance.push();
+		instance.addFormula(new Or(new Not("A"), "D"));
+		instance.addFormula(new Literal("D", false));
+		instance.addFormula(new Or(new Not("C"), "E"));
+		assertFalse(instance.isSatisfiable());
+
+		instance.removeClause(4);
+		assertTrue(instance.isSatisfiable());
+		instance.removeClause(1);
+		instance.addFormula(new Literal("D", false));
+		final WatchedLiteralLtms expected = getInstance();
+		expected.addFormulas(new Or("A", "B"), new Or(new Not("B"), new Not("C")), new Or(new Not("A"), "D"), new Or(new Not("C"), "E"),
+				new Literal("D", false));
+		assertEquals(expected.getClauses(), instance.getClauses());
+		instance.addAssumption("C", true);
+		expected.addAssumption("C", true);
+		assertEquals(expected.getAllMinimalUnsatisfiableSubsetIndexes(), instance.getAllMinimalUnsatisfiableSubsetIndexes());
+
+		instance.pop();
+		assertEquals(2, instance.getClauseCount());
+		assertTrue(instance.isSatisfiable());
+		instance.addAssumption("B", true);
+		instance.addAssumption("C", true);
+		assertEquals(Collections.singletonList(Collections.singleton(1)), instance.getAllMinimalUnsatisfiableSubsetIndexes());
+	}
+
+	@Test
+	public void testRemoveClauseSameAsRebuilt() {
+		final IFeatureModel fm = Commons.loadTestFeatureModelFromFile("car.xml");
+		final AdvancedNodeCreator nodeCreator = new AdvancedNodeCreator(fm);
+		nodeCreator.setCnfType(CNFType.Regular);
+		nodeCreator.setIncludeBooleanValues(false);
+		final WatchedLiteralLtms instance = getInstance();
+		instance.addFormula(nodeCreator.createNodes());
+		while (instance.getClauseCount() > 0) {
+			instance.removeClause(instance.getClauseCount() / 2);
+			final WatchedLiteralLtms expected = getInstance();
+			expected.addFormulas(instance.getClauses());
+			assertEquals(expected.getClauses(), instance.getClauses());
+			for (final IFeature feature : fm.getFeatures()) {
+				for (final boolean value : new boolean[] { true, false }) {
+					final Object variable = NodeCreator.getVariable(feature);
+					instance.push();
+					expected.push();
+					instance.addAssumption(variable, value);
+					expected.addAssumption(variable, value);
+					assertEquals(expected.getAllMinimalUnsatisfiableSubsetIndexes(), instance.getAllMinimalUnsatisfiableSubsetIndexes());
+					instance.pop();
+					expected.pop();
+				}
+			}
+		}
+	}
+
+	private void testSameAsLtms(String modelName) {
+		final IFeatureModel fm = Commons.loadTestFeatureModelFromFile(modelName);
+		final AdvancedNodeCreator nodeCreator = new AdvancedNodeCreator(fm);
+		nodeCreator.setCnfType(CNFType.Regular);
+		nodeCreator.setIncludeBooleanValues(false);
+		final Ltms ltms = new Ltms();
+		ltms.addFormula(nodeCreator.createNodes());
+		final WatchedLiteralLtms instance = getInstance();
+		instance.addFormula(nodeCreator.createNodes());
+		assertEquals(ltms.getClauses(), instance.getClauses());
+
+		for (final IFeature feature : fm.getFeatures()) {
+			for (final boolean value : new boolean[] { true, false }) {
+				final Object variable = NodeCreator.getVariable(feature);
+				ltms.push();
+				instance.push();
+				ltms.addAssumption(variable, value);
+				instance.addAssumption(variable, value);
+				final List<Set<Integer>> expected = ltms.getAllMinimalUnsatisfiableSubsetIndexes();
+				final List<Set<Integer>> actual = instance.getAllMinimalUnsatisfiableSubsetIndexes();
+				assertEquals(expected.isEmpty(), actual.isEmpty());
+				for (final Set<Integer> mus : actual) {
+					assertTrue(isUnsatisfiable(instance, mus, variable, value));
+				}
+				ltms.pop();
+				instance.pop();
+			}
+		}
+	}
+
+	private static boolean isUnsatisfiable(MusExtractor solver, Set<Integer> mus, Object variable, boolean value) {
+		final Node[] clauses = new org.prop4j.Node[mus.size() + 1];
+		int i = 0;
+		for (final int index : mus) {
+			clauses[i++] = solver.getClause(index);
+		}
+		clauses[i] = new Literal(variable, value);
+		try {
+			return !new SatSolver(new And(clauses), 1000).isSatisfiable();
+		} catch (final TimeoutException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	@Override
+	protected WatchedLiteralLtms getInstance() {
+		return new WatchedLiteralLtms();
+	}
+}
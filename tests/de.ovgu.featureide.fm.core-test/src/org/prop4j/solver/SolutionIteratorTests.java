@@ -0,0 +1,159 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.solver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.prop4j.analyses.DDNNFCompiler;
+import org.prop4j.analyses.GetSolutionAnalysis;
+import org.sat4j.specs.ContradictionException;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.CNFType;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Tests for {@link SolutionIterator} and {@link ParallelSolutionIterator}.
+ */
+public class SolutionIteratorTests {
+
+	private static final String[] MODELS = { "car.xml", "gpl_medium_model.xml", "false_optional_test.xml" };
+
+	@Test
+	public void testAllSolutions() throws ContradictionException {
+		for (final String modelName : MODELS) {
+			final SatInstance si = createSatInstance(Commons.loadTestFeatureModelFromFile(modelName));
+			final BasicSolver solver = new BasicSolver(si);
+			final int numberOfConstraints = solver.getInternalSolver().nConstraints();
+
+			final Set<String> solutions = getSolutions(new SolutionIterator(solver), si);
+			assertEquals(modelName, getNumberOfSolutions(si), solutions.size());
+			assertEquals(modelName, 0, solver.getAssignment().size());
+			// no blocking clauses were added
+			assertTrue(modelName, solver.getInternalSolver().nConstraints() <= numberOfConstraints);
+		}
+	}
+
+	@Test
+	public void testAssumptions() throws ContradictionException {
+		final SatInstance si = createSatInstance(Commons.loadTestFeatureModelFromFile("gpl_medium_model.xml"));
+		final BasicSolver solver = new BasicSolver(si);
+		final DDNNF ddnnf = LongRunningWrapper.runMethod(new DDNNFCompiler(si));
+		for (int var = 1; var <= si.getNumberOfVariables(); var++) {
+			for (final int literal : new int[] { var, -var }) {
+				solver.assignmentPush(literal);
+				final Set<String> solutions = getSolutions(new SolutionIterator(solver), si);
+				assertEquals(ddnnf.countSolutions(new int[] { literal }).intValue(), solutions.size());
+				assertEquals(1, solver.getAssignment().size());
+				solver.assignmentClear(0);
+			}
+		}
+	}
+
+	@Test
+	public void testContradiction() throws ContradictionException {
+		final SatInstance si = createSatInstance(Commons.loadTestFeatureModelFromFile("car.xml"));
+		final BasicSolver solver = new BasicSolver(si);
+		solver.assignmentPush(1);
+		solver.assignmentPush(-1);
+		assertFalse(new SolutionIterator(solver).hasNext());
+	}
+
+	@Test
+	public void testParallelSolutions() throws ContradictionException {
+		for (final String modelName : MODELS) {
+			final SatInstance si = createSatInstance(Commons.loadTestFeatureModelFromFile(modelName));
+			final BasicSolver solver = new BasicSolver(si);
+			final Set<String> expected = getSolutions(new SolutionIterator(solver), si);
+			assertEquals(modelName, expected, getSolutions(new ParallelSolutionIterator(solver, 4, 16), si));
+			assertEquals(modelName, expected, getSolutions(new ParallelSolutionIterator(solver, 1, 1), si));
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void testParallelClose() throws ContradictionException {
+		final SatInstance si = createSatInstance(Commons.loadTestFeatureModelFromFile("gpl_medium_model.xml"));
+		final ParallelSolutionIterator it = new ParallelSolutionIterator(new BasicSolver(si), 4, 2);
+		for (int i = 0; i < 5; i++) {
+			assertTrue(it.hasNext());
+			it.next();
+		}
+		it.close();
+		assertFalse(it.hasNext());
+	}
+
+	@Test
+	public void testGetSolutionAnalysis() {
+		final SatInstance si = createSatInstance(Commons.loadTestFeatureModelFromFile("gpl_medium_model.xml"));
+		final List<int[]> solutions = LongRunningWrapper.runMethod(new GetSolutionAnalysis(si, 50, true));
+		assertEquals(50, solutions.size());
+		final Set<String> distinctSolutions = new HashSet<>();
+		for (final int[] solution : solutions) {
+			distinctSolutions.add(Arrays.toString(solution));
+		}
+		assertEquals(50, distinctSolutions.size());
+		assertEquals(getNumberOfSolutions(si), LongRunningWrapper.runMethod(new GetSolutionAnalysis(si)).size());
+	}
+
+	/**
+	 * Collects all solutions and checks that each solution is valid and returned only once.
+	 */
+	private static Set<String> getSolutions(Iterator<int[]> it, SatInstance si) throws ContradictionException {
+		final BasicSolver checkSolver = new BasicSolver(si);
+		final Set<String> solutions = new HashSet<>();
+		while (it.hasNext()) {
+			final int[] solution = it.next();
+			assertEquals(si.getNumberOfVariables(), solution.length);
+			for (final int literal : solution) {
+				checkSolver.assignmentPush(literal);
+			}
+			assertEquals(ISatSolver.SatResult.TRUE, checkSolver.isSatisfiable());
+			checkSolver.assignmentClear(0);
+			assertTrue(solutions.add(Arrays.toString(solution)));
+		}
+		return solutions;
+	}
+
+	private static int getNumberOfSolutions(SatInstance si) {
+		return LongRunningWrapper.runMethod(new DDNNFCompiler(si)).countSolutions().intValue();
+	}
+
+	private static SatInstance createSatInstance(IFeatureModel fm) {
+		final AdvancedNodeCreator nodeCreator = new AdvancedNodeCreator(fm);
+		nodeCreator.setCnfType(CNFType.Regular);
+		nodeCreator.setIncludeBooleanValues(false);
+		nodeCreator.setUseOldNames(false);
+		return new SatInstance(nodeCreator.createNodes(), FeatureUtils.getFeatureNamesPreorder(fm));
+	}
+
+}